@@ -29,6 +29,27 @@ android {
         sourceCompatibility = JavaVersion.VERSION_1_8
         targetCompatibility = JavaVersion.VERSION_1_8
     }
+    testOptions {
+        unitTests {
+            isIncludeAndroidResources = true
+        }
+    }
+}
+
+// Benchmarks are skipped unless the build is run with -Pbenchmark, for example
+// ./gradlew :app:testDebugUnitTest -Pbenchmark -PbenchmarkLabel=$(git rev-parse --short HEAD)
+// Results are written as JSON to app/build/benchmarks.
+tasks.withType<Test>().configureEach {
+    systemProperty("dragonscroll.benchmark", project.hasProperty("benchmark").toString())
+    systemProperty("dragonscroll.benchmark.label", project.findProperty("benchmarkLabel")?.toString() ?: "local")
+    systemProperty("dragonscroll.benchmark.output", layout.buildDirectory.dir("benchmarks").get().asFile.absolutePath)
+    // Golden files such as the query plans are rewritten instead of compared with -PupdateGoldens
+    systemProperty("dragonscroll.goldens.update", project.hasProperty("updateGoldens").toString())
+    systemProperty("dragonscroll.goldens.dir", file("src/test/resources").absolutePath)
+    if (project.hasProperty("benchmark")) {
+        maxHeapSize = "2g"
+        outputs.upToDateWhen { false }
+    }
 }
 
 dependencies {
@@ -43,6 +64,9 @@ dependencies {
     implementation(libs.room.common)
     implementation(libs.room.runtime)
     testImplementation(libs.junit)
+    testImplementation(libs.robolectric)
+    testImplementation(libs.test.core)
+    testImplementation(libs.asm.tree)
     androidTestImplementation(libs.ext.junit)
     androidTestImplementation(libs.espresso.core)
     annotationProcessor(libs.room.compiler)
@@ -0,0 +1,294 @@
+package com.teamoranges.dragonscroll;
+
+import android.text.TextUtils;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.teamoranges.dragonscroll.models.Book;
+
+import java.util.List;
+
+/**
+ * AlphabeticalBookAdapter is a java class that extends {@link RecyclerView.Adapter} used to
+ * display every {@link Book} in title order under letter headers. The rows are laid out by
+ * {@link TitleSections} before any book is loaded, and books are loaded one page at a time when
+ * a row of the page is first bound, so jumping to a letter only loads the page it lands on.
+ * @author Joshua Duque
+ * @author Mateo Garcia
+ * @author Emiliano Garza
+ * @author Samatha Poole
+ * @author Alaine Liserio
+ * UTSA CS 3443 - Team Oranges Project
+ * Fall 2024
+ */
+public class AlphabeticalBookAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> implements CoverUriProvider, BookIdProvider {
+
+    // Number of books loaded per page
+    public static final int PAGE_SIZE = 50;
+
+    // View types of the adapter are the layouts, the home list clears its pool when it switches adapters
+    private static final int VIEW_TYPE_HEADER = R.layout.series_header_item;
+    private static final int VIEW_TYPE_BOOK = R.layout.book_item;
+
+    /**
+     * PageLoader is an interface for loading a page of books in title order off the main thread
+     * and handing it back with {@link #setPage(TitleSections, int, List)}.
+     */
+    public interface PageLoader {
+        /**
+         * Method that starts loading a page.
+         * @param sections Sections the page belongs to (TitleSections)
+         * @param page Index of the page (int)
+         */
+        void loadPage(TitleSections sections, int page);
+    }
+
+    // Adapter's book click listener
+    private final OnBookClickListener onBookClickListener;
+    // Loader of the pages that aren't loaded yet
+    private final PageLoader pageLoader;
+
+    // Layout of the rows and the loaded books by index in title order
+    private TitleSections sections = TitleSections.EMPTY;
+    private BookRow[] bookRows = new BookRow[0];
+    // Pages that were requested, loaded or not
+    private boolean[] requestedPages = new boolean[0];
+
+    // Loader that decodes the cover thumbnails, set up with the first view holder
+    private CoverThumbnailLoader coverLoader;
+    // Size of the cover thumbnails in pixels
+    private int coverSizePx;
+
+    /**
+     * Constructor to initialize the {@link AlphabeticalBookAdapter} object.
+     * @param onBookClickListener Book item click listener (OnBookClickListener)
+     * @param pageLoader Loader of the pages of books (PageLoader)
+     */
+    public AlphabeticalBookAdapter(OnBookClickListener onBookClickListener, PageLoader pageLoader) {
+        this.onBookClickListener = onBookClickListener;
+        this.pageLoader = pageLoader;
+    }
+
+    /**
+     * Setter to lay the list out again for new sections, dropping every loaded page.
+     * @param sections Sections of the library (TitleSections)
+     */
+    public void setSections(TitleSections sections) {
+        this.sections = sections;
+        bookRows = new BookRow[sections.getBookCount()];
+        requestedPages = new boolean[(sections.getBookCount() + PAGE_SIZE - 1) / PAGE_SIZE];
+        notifyDataSetChanged();
+    }
+
+    /**
+     * Getter to return the sections the list is laid out with.
+     * @return TitleSections of the list
+     */
+    public TitleSections getSections() {
+        return sections;
+    }
+
+    /**
+     * Setter to fill in a loaded page. Pages loaded for older sections are ignored.
+     * @param pageSections Sections the page was loaded for (TitleSections)
+     * @param page Index of the page (int)
+     * @param books Books of the page in title order (List of type Book)
+     */
+    public void setPage(TitleSections pageSections, int page, List<Book> books) {
+        if (pageSections != sections) {
+            return;
+        }
+
+        int first = page * PAGE_SIZE;
+        int count = Math.min(books.size(), bookRows.length - first);
+        for (int i = 0; i < count; i++) {
+            bookRows[first + i] = new BookRow(books.get(i));
+        }
+
+        // Rebind the rows of the page, which showed placeholders until now
+        if (count > 0) {
+            int firstPosition = sections.getBookPosition(first);
+            notifyItemRangeChanged(firstPosition, sections.getBookPosition(first + count - 1) - firstPosition + 1);
+        }
+    }
+
+    /**
+     * Getter to return the view type of the row at a position.
+     * @param position Position of the row (int)
+     * @return int of the view type of the row
+     */
+    @Override
+    public int getItemViewType(int position) {
+        return sections.isHeader(position) ? VIEW_TYPE_HEADER : VIEW_TYPE_BOOK;
+    }
+
+    /**
+     * Method that sets up a new header or book ViewHolder.
+     * @param parent The ViewGroup into which the new View will be added after it is bound to
+     *               an adapter position.
+     * @param viewType The view type of the new View.
+     * @return New ViewHolder
+     */
+    @NonNull
+    @Override
+    public RecyclerView.ViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        LayoutInflater inflater = LayoutInflater.from(parent.getContext());
+
+        // Get the cover loader and thumbnail size from the parent's context
+        if (coverLoader == null) {
+            coverLoader = CoverThumbnailLoader.getInstance(parent.getContext());
+            coverSizePx = parent.getResources().getDimensionPixelSize(R.dimen.book_item_cover_size);
+        }
+
+        if (viewType == VIEW_TYPE_HEADER) {
+            View view = inflater.inflate(R.layout.series_header_item, parent, false);
+            return new HeaderViewHolder(view);
+        }
+
+        View view = inflater.inflate(R.layout.book_item, parent, false);
+        BookAdapter.BookViewHolder holder = new BookAdapter.BookViewHolder(view);
+
+        // Install the listener once per holder, the clicked row is looked up when the click happens
+        holder.itemView.setOnClickListener(v -> onBookClick(holder));
+        return holder;
+    }
+
+    /**
+     * Method that populates a header or book row into a ViewHolder, requesting the book's page
+     * if it isn't loaded yet.
+     * @param holder The ViewHolder which should be updated to represent the contents of the
+     *        item at the given position in the data set.
+     * @param position The position of the item within the adapter's data set.
+     */
+    @Override
+    public void onBindViewHolder(@NonNull RecyclerView.ViewHolder holder, int position) {
+        if (holder instanceof HeaderViewHolder) {
+            String label = sections.getLabel(sections.getSectionForPosition(position));
+            TextView name = ((HeaderViewHolder) holder).name;
+            if (!TextUtils.equals(name.getText(), label)) {
+                name.setText(label);
+            }
+            return;
+        }
+
+        BookAdapter.BookViewHolder bookHolder = (BookAdapter.BookViewHolder) holder;
+        int bookIndex = sections.getBookIndex(position);
+        BookRow row = bookRows[bookIndex];
+
+        // Show an empty row until the page arrives
+        if (row == null) {
+            requestPage(bookIndex / PAGE_SIZE);
+            bookHolder.title.setText(null);
+            bookHolder.author.setText(null);
+            coverLoader.load(bookHolder.cover, null, null, coverSizePx);
+            return;
+        }
+
+        // Set holder title and author from the row, only when they changed
+        if (!TextUtils.equals(bookHolder.title.getText(), row.getDisplayTitle())) {
+            bookHolder.title.setText(row.getDisplayTitle());
+        }
+        if (!TextUtils.equals(bookHolder.author.getText(), row.getBook().getAuthor())) {
+            bookHolder.author.setText(row.getBook().getAuthor());
+        }
+
+        // Set holder cover thumbnail with the key cached on the row
+        coverLoader.load(bookHolder.cover, row.getCoverKey(coverSizePx), row.getBook().getCoverUri(), coverSizePx);
+    }
+
+    /**
+     * Method that asks the page loader for a page once.
+     * @param page Index of the page (int)
+     */
+    private void requestPage(int page) {
+        if (!requestedPages[page]) {
+            requestedPages[page] = true;
+            pageLoader.loadPage(sections, page);
+        }
+    }
+
+    /**
+     * Method that runs when a book row is clicked. Rows still waiting for their page do nothing.
+     * @param holder Holder of the clicked row (BookViewHolder)
+     */
+    private void onBookClick(BookAdapter.BookViewHolder holder) {
+        int position = holder.getBindingAdapterPosition();
+        if (position == RecyclerView.NO_POSITION) {
+            return;
+        }
+
+        BookRow row = bookRows[sections.getBookIndex(position)];
+        if (row != null) {
+            onBookClickListener.onBookClick(row.getBook(), position);
+        }
+    }
+
+    /**
+     * Getter to return the cover URI of the row at a position.
+     * @param position Position of the row (int)
+     * @return String of the cover URI or null for headers and rows that aren't loaded
+     */
+    @Override
+    public String getCoverUri(int position) {
+        if (sections.isHeader(position)) {
+            return null;
+        }
+        BookRow row = bookRows[sections.getBookIndex(position)];
+        return row != null ? row.getBook().getCoverUri() : null;
+    }
+
+    /**
+     * Getter to return the ID of the book at a position.
+     * @param position Position of the row (int)
+     * @return int of the book ID or NO_BOOK_ID for headers and rows that aren't loaded
+     */
+    @Override
+    public int getBookId(int position) {
+        if (sections.isHeader(position)) {
+            return NO_BOOK_ID;
+        }
+        BookRow row = bookRows[sections.getBookIndex(position)];
+        return row != null ? row.getBook().getId() : NO_BOOK_ID;
+    }
+
+    /**
+     * Getter to return the size the cover thumbnails are decoded at.
+     * @return int of the thumbnail size in pixels
+     */
+    @Override
+    public int getCoverSizePx() {
+        return coverSizePx;
+    }
+
+    /**
+     * Getter to return the number of header and book rows.
+     * @return int of the number of rows
+     */
+    @Override
+    public int getItemCount() {
+        return sections.getItemCount();
+    }
+
+    /**
+     * HeaderViewHolder is a java class for letter header items in the adapter.
+     */
+    public static class HeaderViewHolder extends RecyclerView.ViewHolder {
+        private final TextView name;
+
+        /**
+         * Constructor to initialize the HeaderViewHolder object.
+         * @param itemView Interface components for the HeaderViewHolder (View)
+         */
+        public HeaderViewHolder(@NonNull View itemView) {
+            super(itemView);
+
+            // Set holder views
+            name = itemView.findViewById(R.id.seriesNameTextView);
+        }
+    }
+}
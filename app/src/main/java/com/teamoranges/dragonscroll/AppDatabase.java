@@ -1,9 +1,18 @@
 package com.teamoranges.dragonscroll;
 
+import androidx.annotation.NonNull;
 import androidx.room.Database;
 import androidx.room.RoomDatabase;
+import androidx.room.migration.Migration;
+import androidx.sqlite.db.SupportSQLiteDatabase;
 
 import com.teamoranges.dragonscroll.models.Book;
+import com.teamoranges.dragonscroll.models.BookTerm;
+import com.teamoranges.dragonscroll.models.SearchPending;
+import com.teamoranges.dragonscroll.models.SearchTerm;
+import com.teamoranges.dragonscroll.models.Series;
+import com.teamoranges.dragonscroll.models.TermTrigram;
+import com.teamoranges.dragonscroll.models.UnreadSlot;
 
 /**
  * AppDatabase is a java Room database that exposes a {@link BookDao} to read and write {@link Book} data.
@@ -15,11 +24,180 @@ import com.teamoranges.dragonscroll.models.Book;
  * UTSA CS 3443 - Team Oranges Project
  * Fall 2024
  */
-@Database(entities = {Book.class}, version = 6)
+@Database(entities = {Book.class, Series.class, UnreadSlot.class, SearchTerm.class,
+        TermTrigram.class, BookTerm.class, SearchPending.class}, version = 12)
 public abstract class AppDatabase extends RoomDatabase {
+
+    // Condition of an unread book row, the same one SeriesDao uses for the next unread volume
+    private static final String OLD_UNREAD = "(OLD.end_date IS NULL OR OLD.end_date = '')";
+    private static final String NEW_UNREAD = "(NEW.end_date IS NULL OR NEW.end_date = '')";
+
+    // Gives up a book's unread slot. The last slot moves into it and the last slot is deleted,
+    // which keeps the slots numbered without gaps.
+    private static final String RELEASE_UNREAD_SLOT =
+            "UPDATE unread_slot SET book_id = (SELECT book_id FROM unread_slot ORDER BY slot DESC LIMIT 1) "
+                    + "WHERE book_id = OLD.id; "
+                    + "DELETE FROM unread_slot WHERE slot = (SELECT MAX(slot) FROM unread_slot); ";
+    // Gives a book the slot after the last one, which SQLite assigns to a null rowid
+    private static final String CLAIM_UNREAD_SLOT = "INSERT INTO unread_slot (book_id) VALUES (NEW.id); ";
+
+    // Queues a book for the search index, which FuzzySearch catches up with
+    private static final String QUEUE_SEARCH = "INSERT OR IGNORE INTO search_pending (book_id) VALUES (NEW.id); ";
+
+    // Normalizes a title or author for duplicate detection, ignoring case, spaces and the
+    // punctuation that is typed inconsistently, as in "J.R.R. Tolkien" and "J. R. R. Tolkien"
+    private static final String NORMALIZE_OPEN =
+            "lower(replace(replace(replace(replace(replace(replace(coalesce(";
+    private static final String NORMALIZE_CLOSE =
+            ", ''), ' ', ''), '.', ''), ',', ''), ':', ''), '-', ''), '''', ''))";
+    // Duplicate key of a book row, of the new row in a trigger and of a title and author
+    // parameter in a BookDao query. All three are the same expression.
+    private static final String DEDUPE_KEY_OF_ROW = NORMALIZE_OPEN + "title" + NORMALIZE_CLOSE
+            + " || '|' || " + NORMALIZE_OPEN + "author" + NORMALIZE_CLOSE;
+    private static final String DEDUPE_KEY_OF_NEW = NORMALIZE_OPEN + "NEW.title" + NORMALIZE_CLOSE
+            + " || '|' || " + NORMALIZE_OPEN + "NEW.author" + NORMALIZE_CLOSE;
+    static final String DEDUPE_KEY_OF_PARAMETERS = NORMALIZE_OPEN + ":title" + NORMALIZE_CLOSE
+            + " || '|' || " + NORMALIZE_OPEN + ":author" + NORMALIZE_CLOSE;
+    // Stores the duplicate key of an inserted or renamed book
+    private static final String UPDATE_DEDUPE_KEY =
+            "UPDATE book SET dedupe_key = " + DEDUPE_KEY_OF_NEW + " WHERE id = NEW.id; ";
+
+    /**
+     * Callback that creates the triggers keeping the unread slots, the search index and the
+     * duplicate keys in sync with the book table.
+     * Room doesn't manage triggers, so they are created on every open if they are missing.
+     */
+    public static final RoomDatabase.Callback CALLBACK = new RoomDatabase.Callback() {
+        @Override
+        public void onOpen(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE TRIGGER IF NOT EXISTS unread_slot_after_insert AFTER INSERT ON book "
+                    + "WHEN " + NEW_UNREAD + " BEGIN " + CLAIM_UNREAD_SLOT + "END");
+            db.execSQL("CREATE TRIGGER IF NOT EXISTS unread_slot_after_delete AFTER DELETE ON book "
+                    + "WHEN " + OLD_UNREAD + " BEGIN " + RELEASE_UNREAD_SLOT + "END");
+            db.execSQL("CREATE TRIGGER IF NOT EXISTS unread_slot_after_read AFTER UPDATE OF end_date ON book "
+                    + "WHEN " + OLD_UNREAD + " AND NOT " + NEW_UNREAD + " BEGIN " + RELEASE_UNREAD_SLOT + "END");
+            db.execSQL("CREATE TRIGGER IF NOT EXISTS unread_slot_after_unread AFTER UPDATE OF end_date ON book "
+                    + "WHEN NOT " + OLD_UNREAD + " AND " + NEW_UNREAD + " BEGIN " + CLAIM_UNREAD_SLOT + "END");
+
+            // Changed books are indexed again later, deleted books leave the index right away
+            db.execSQL("CREATE TRIGGER IF NOT EXISTS search_after_insert AFTER INSERT ON book "
+                    + "BEGIN " + QUEUE_SEARCH + "END");
+            db.execSQL("CREATE TRIGGER IF NOT EXISTS search_after_update AFTER UPDATE OF title, author ON book "
+                    + "BEGIN " + QUEUE_SEARCH + "END");
+            db.execSQL("CREATE TRIGGER IF NOT EXISTS search_after_delete AFTER DELETE ON book BEGIN "
+                    + "DELETE FROM book_term WHERE book_id = OLD.id; "
+                    + "DELETE FROM search_pending WHERE book_id = OLD.id; END");
+
+            // The duplicate key is computed in SQL, so lookups normalize exactly the same way
+            db.execSQL("CREATE TRIGGER IF NOT EXISTS dedupe_key_after_insert AFTER INSERT ON book "
+                    + "BEGIN " + UPDATE_DEDUPE_KEY + "END");
+            db.execSQL("CREATE TRIGGER IF NOT EXISTS dedupe_key_after_update AFTER UPDATE OF title, author ON book "
+                    + "BEGIN " + UPDATE_DEDUPE_KEY + "END");
+        }
+    };
+
+    /**
+     * Migration that adds the series table and the series columns of the book table.
+     */
+    public static final Migration MIGRATION_6_7 = new Migration(6, 7) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            // Create the series table and its unique name index
+            db.execSQL("CREATE TABLE IF NOT EXISTS `Series` (`id` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, `name` TEXT COLLATE NOCASE)");
+            db.execSQL("CREATE UNIQUE INDEX IF NOT EXISTS `index_Series_name` ON `Series` (`name`)");
+
+            // Add the series membership columns to the book table
+            db.execSQL("ALTER TABLE `Book` ADD COLUMN `series_id` INTEGER");
+            db.execSQL("ALTER TABLE `Book` ADD COLUMN `volume_index` INTEGER NOT NULL DEFAULT 0");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_Book_series_id_volume_index` ON `Book` (`series_id`, `volume_index`)");
+        }
+    };
+
+    /**
+     * Migration that adds the indexed favorited_at column of the book table.
+     */
+    public static final Migration MIGRATION_7_8 = new Migration(7, 8) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("ALTER TABLE `Book` ADD COLUMN `favorited_at` INTEGER");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_Book_favorited_at` ON `Book` (`favorited_at`)");
+        }
+    };
+
+    /**
+     * Migration that adds the unread slot table and fills it with the unread books. Its
+     * triggers are created by {@link #CALLBACK} when the database opens.
+     */
+    public static final Migration MIGRATION_8_9 = new Migration(8, 9) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS `unread_slot` (`slot` INTEGER NOT NULL, `book_id` INTEGER NOT NULL, PRIMARY KEY(`slot`))");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_unread_slot_book_id` ON `unread_slot` (`book_id`)");
+
+            // Slots are assigned 1, 2, 3 and so on in insertion order
+            db.execSQL("INSERT INTO unread_slot (book_id) SELECT id FROM book "
+                    + "WHERE end_date IS NULL OR end_date = '' ORDER BY id");
+        }
+    };
+
+    /**
+     * Migration that adds the tables of the fuzzy search index and queues every book for it.
+     * Its triggers are created by {@link #CALLBACK} when the database opens.
+     */
+    public static final Migration MIGRATION_9_10 = new Migration(9, 10) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS `search_term` (`id` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, `term` TEXT)");
+            db.execSQL("CREATE UNIQUE INDEX IF NOT EXISTS `index_search_term_term` ON `search_term` (`term`)");
+            db.execSQL("CREATE TABLE IF NOT EXISTS `term_trigram` (`trigram` TEXT NOT NULL, `term_id` INTEGER NOT NULL, PRIMARY KEY(`trigram`, `term_id`))");
+            db.execSQL("CREATE TABLE IF NOT EXISTS `book_term` (`term_id` INTEGER NOT NULL, `book_id` INTEGER NOT NULL, PRIMARY KEY(`term_id`, `book_id`))");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_book_term_book_id` ON `book_term` (`book_id`)");
+            db.execSQL("CREATE TABLE IF NOT EXISTS `search_pending` (`book_id` INTEGER NOT NULL, PRIMARY KEY(`book_id`))");
+
+            // Existing books are indexed in the background after the upgrade
+            db.execSQL("INSERT INTO search_pending (book_id) SELECT id FROM book");
+        }
+    };
+
+    /**
+     * Migration that adds the indexed duplicate key column and computes it for every book. Its
+     * triggers are created by {@link #CALLBACK} when the database opens.
+     */
+    public static final Migration MIGRATION_10_11 = new Migration(10, 11) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("ALTER TABLE `Book` ADD COLUMN `dedupe_key` TEXT");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_Book_dedupe_key` ON `Book` (`dedupe_key`)");
+            db.execSQL("UPDATE book SET dedupe_key = " + DEDUPE_KEY_OF_ROW);
+        }
+    };
+
+    /**
+     * Migration that adds the indexed order key column of the reading queue, which starts empty.
+     */
+    public static final Migration MIGRATION_11_12 = new Migration(11, 12) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("ALTER TABLE `Book` ADD COLUMN `tbr_key` TEXT");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_Book_tbr_key` ON `Book` (`tbr_key`)");
+        }
+    };
+
     /**
      * Method that returns the Book direct access object.
      * @return the database's Book DAO
      */
     public abstract BookDao bookDao();
+
+    /**
+     * Method that returns the Series direct access object.
+     * @return the database's Series DAO
+     */
+    public abstract SeriesDao seriesDao();
+
+    /**
+     * Method that returns the search index direct access object.
+     * @return the database's Search DAO
+     */
+    public abstract SearchDao searchDao();
 }
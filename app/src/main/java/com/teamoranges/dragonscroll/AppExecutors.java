@@ -0,0 +1,62 @@
+package com.teamoranges.dragonscroll;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * AppExecutors is a java class that holds the shared executors of the app. Database reads that
+ * don't need to block the UI run on the disk executor and post their results back to the main
+ * thread.
+ * @author Joshua Duque
+ * @author Mateo Garcia
+ * @author Emiliano Garza
+ * @author Samatha Poole
+ * @author Alaine Liserio
+ * UTSA CS 3443 - Team Oranges Project
+ * Fall 2024
+ */
+public final class AppExecutors {
+
+    // Single background thread used for database and file work
+    private static final Executor DISK_IO = Executors.newSingleThreadExecutor();
+
+    // Single background thread used to inflate views and lay out text ahead of time, kept apart
+    // from disk work
+    private static final Executor LAYOUT = Executors.newSingleThreadExecutor();
+
+    // Handler bound to the main thread
+    private static final Handler MAIN_THREAD = new Handler(Looper.getMainLooper());
+
+    /**
+     * Private constructor since AppExecutors only has static members.
+     */
+    private AppExecutors() {
+    }
+
+    /**
+     * Getter to return the disk executor.
+     * @return Executor for database and file work
+     */
+    public static Executor diskIO() {
+        return DISK_IO;
+    }
+
+    /**
+     * Getter to return the layout executor.
+     * @return Executor for inflating views and laying out text ahead of time
+     */
+    public static Executor layout() {
+        return LAYOUT;
+    }
+
+    /**
+     * Method that runs a Runnable on the main thread.
+     * @param runnable Work to run on the main thread (Runnable)
+     */
+    public static void runOnMainThread(Runnable runnable) {
+        MAIN_THREAD.post(runnable);
+    }
+}
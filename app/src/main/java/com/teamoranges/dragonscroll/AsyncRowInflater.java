@@ -0,0 +1,125 @@
+package com.teamoranges.dragonscroll;
+
+import android.content.Context;
+import android.util.Log;
+import android.util.SparseArray;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.FrameLayout;
+
+import java.util.ArrayDeque;
+
+/**
+ * AsyncRowInflater is a java class that inflates list rows on a background thread ahead of time
+ * and hands them out to adapters, so the first screen of a list doesn't pay for inflation on the
+ * main thread. Rows that aren't ready yet are inflated on the spot.
+ * @author Joshua Duque
+ * @author Mateo Garcia
+ * @author Emiliano Garza
+ * @author Samatha Poole
+ * @author Alaine Liserio
+ * UTSA CS 3443 - Team Oranges Project
+ * Fall 2024
+ */
+public class AsyncRowInflater {
+
+    private static final String TAG = "AsyncRowInflater";
+
+    // Inflater used on the background thread, inflaters aren't safe to share between threads
+    private final LayoutInflater backgroundInflater;
+    // Pre-inflated rows by layout, only touched on the main thread
+    private final SparseArray<ArrayDeque<View>> rows = new SparseArray<>();
+
+    // Incremented on every clear so rows inflated for an old generation are dropped
+    private int generation;
+
+    /**
+     * Constructor to initialize the {@link AsyncRowInflater} object.
+     * @param context Themed context the rows are inflated with (Context)
+     */
+    public AsyncRowInflater(Context context) {
+        backgroundInflater = LayoutInflater.from(context).cloneInContext(context);
+    }
+
+    /**
+     * Method that inflates rows of a layout on the layout executor. Every row is handed to
+     * the main thread as soon as it is inflated, so the first ones can be used early.
+     * @param layoutId Layout of the rows (int)
+     * @param count Number of rows to inflate (int)
+     */
+    public void preinflate(int layoutId, int count) {
+        int startGeneration = generation;
+
+        AppExecutors.layout().execute(() -> {
+            // Throwaway parent so the rows keep the layout params of their root element
+            FrameLayout parent = new FrameLayout(backgroundInflater.getContext());
+
+            for (int i = 0; i < count; i++) {
+                View row;
+                try {
+                    row = backgroundInflater.inflate(layoutId, parent, false);
+                } catch (RuntimeException e) {
+                    // Some views can't be created off the main thread, those rows are inflated on demand
+                    Log.w(TAG, "Could not inflate rows in the background", e);
+                    return;
+                }
+                AppExecutors.runOnMainThread(() -> offer(startGeneration, layoutId, row));
+            }
+        });
+    }
+
+    /**
+     * Method that stores a row inflated in the background on the main thread.
+     * @param rowGeneration Generation the row was inflated for (int)
+     * @param layoutId Layout of the row (int)
+     * @param row Inflated row (View)
+     */
+    private void offer(int rowGeneration, int layoutId, View row) {
+        // Drop rows inflated before the last clear
+        if (rowGeneration != generation) {
+            return;
+        }
+
+        ArrayDeque<View> queue = rows.get(layoutId);
+        if (queue == null) {
+            queue = new ArrayDeque<>();
+            rows.put(layoutId, queue);
+        }
+        queue.add(row);
+    }
+
+    /**
+     * Method that returns a pre-inflated row, or inflates one on the main thread if none is ready.
+     * @param parent Parent the row will be added to (ViewGroup)
+     * @param layoutId Layout of the row (int)
+     * @return View of the row
+     */
+    public View obtain(ViewGroup parent, int layoutId) {
+        ArrayDeque<View> queue = rows.get(layoutId);
+        View row = queue != null ? queue.poll() : null;
+        if (row != null) {
+            return row;
+        }
+
+        return LayoutInflater.from(parent.getContext()).inflate(layoutId, parent, false);
+    }
+
+    /**
+     * Getter to return the number of pre-inflated rows of a layout that are ready.
+     * @param layoutId Layout of the rows (int)
+     * @return int of the number of ready rows
+     */
+    public int getReadyCount(int layoutId) {
+        ArrayDeque<View> queue = rows.get(layoutId);
+        return queue != null ? queue.size() : 0;
+    }
+
+    /**
+     * Method that drops every pre-inflated row, including the ones still being inflated.
+     */
+    public void clear() {
+        generation++;
+        rows.clear();
+    }
+}
@@ -1,6 +1,6 @@
 package com.teamoranges.dragonscroll;
 
-import android.net.Uri;
+import android.text.TextUtils;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
@@ -8,15 +8,19 @@ import android.widget.ImageView;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.core.text.PrecomputedTextCompat;
+import androidx.core.widget.TextViewCompat;
+import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
-import com.teamoranges.dragonscroll.models.Book;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
- * BookAdapter is a java class that extends {@link RecyclerView.Adapter} used to display {@link Book} data.
- * It supports clicks and long clicks on items.
+ * BookAdapter is a java class that extends {@link RecyclerView.Adapter} used to display {@link BookRow} data.
+ * It supports clicks and long clicks on items. Listeners are installed once per view holder and
+ * binding doesn't allocate, so scrolling creates no garbage.
  * @author Joshua Duque
  * @author Mateo Garcia
  * @author Emiliano Garza
@@ -25,25 +29,133 @@ import java.util.List;
  * UTSA CS 3443 - Team Oranges Project
  * Fall 2024
  */
-public class BookAdapter extends RecyclerView.Adapter<BookAdapter.BookViewHolder> {
+public class BookAdapter extends RecyclerView.Adapter<BookAdapter.BookViewHolder> implements CoverUriProvider, BookIdProvider {
 
-    // List of book objects
-    private final List<Book> bookList;
+    // View types of the adapter, the layouts are used so rows and cells never clash in the pool
+    public static final int VIEW_TYPE_ROW = R.layout.book_item;
+    public static final int VIEW_TYPE_CELL = R.layout.book_grid_item;
+
+    // Bind latency, RecyclerView already traces binds so only the duration is recorded
+    private static final LatencyHistogram BIND = Instrumentation.histogram("BookAdapter.onBindViewHolder");
+    // Number of rows laid out ahead of and behind the visible ones
+    private static final int TEXT_PREFETCH_DISTANCE = 30;
+
+    // List of book rows
+    private List<BookRow> bookRows;
     // Adapter's book click listener
     private final OnBookClickListener onBookClickListener;
     // Adapter's book long click listener
     private final OnBookLongClickListener onBookLongClickListener;
 
+    // Loader that decodes the cover thumbnails, set up with the first view holder
+    private CoverThumbnailLoader coverLoader;
+    // Size of the cover thumbnails of list rows in pixels
+    private int coverSizePx;
+
+    // Whether the books are shown as grid cells instead of list rows
+    private boolean gridMode;
+    // Size of the cover thumbnails of grid cells in pixels
+    private int gridCoverSizePx;
+
+    // Source of rows inflated ahead of time, rows are inflated on demand without one
+    private AsyncRowInflater rowInflater;
+
+    // Text parameters of the list row title and author, taken from the first row holder
+    private PrecomputedTextCompat.Params titleParams;
+    private PrecomputedTextCompat.Params authorParams;
+    // Incremented on every text pass so an older pass stops early
+    private volatile int textGeneration;
+    // Rows covered by the last text pass, from the first to one past the last
+    private int textWindowStart;
+    private int textWindowEnd;
+
+    // RecyclerView the adapter is attached to, used to find the visible rows
+    private RecyclerView recyclerView;
+    // Lays out the text of the rows coming into view while the list is scrolled
+    private final RecyclerView.OnScrollListener textScrollListener = new RecyclerView.OnScrollListener() {
+        @Override
+        public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+            // Start a new pass once the visible rows get within half the distance of the window's edge
+            LinearLayoutManager layoutManager = (LinearLayoutManager) recyclerView.getLayoutManager();
+            if (layoutManager == null || gridMode) {
+                return;
+            }
+            int first = layoutManager.findFirstVisibleItemPosition();
+            int last = layoutManager.findLastVisibleItemPosition();
+            if (first == RecyclerView.NO_POSITION) {
+                return;
+            }
+            if ((first - textWindowStart < TEXT_PREFETCH_DISTANCE / 2 && textWindowStart > 0)
+                    || (textWindowEnd - last < TEXT_PREFETCH_DISTANCE / 2 && textWindowEnd < bookRows.size())) {
+                precomputeText();
+            }
+        }
+    };
+
     /**
      * Constructor to initialize the {@link BookAdapter} object.
-     * @param bookList List of Books (List of type Book)
+     * @param bookRows List of Book rows (List of type BookRow)
      * @param onBookClickListener Book item click listener (OnBookClickListener)
      * @param onBookLongClickListener Book item long click listener (OnBookLongClickListener)
      */
-    public BookAdapter(List<Book> bookList, OnBookClickListener onBookClickListener, OnBookLongClickListener onBookLongClickListener) {
-        this.bookList = bookList;
+    public BookAdapter(List<BookRow> bookRows, OnBookClickListener onBookClickListener, OnBookLongClickListener onBookLongClickListener) {
+        this.bookRows = bookRows;
         this.onBookClickListener = onBookClickListener;
         this.onBookLongClickListener = onBookLongClickListener;
+
+        // Book IDs identify rows, so items keep their views across data and layout changes
+        setHasStableIds(true);
+    }
+
+    /**
+     * Setter to show another list of rows, for example search results in place of the library.
+     * The old list is left as it is.
+     * @param bookRows List of Book rows (List of type BookRow)
+     */
+    public void setBookRows(List<BookRow> bookRows) {
+        this.bookRows = bookRows;
+        notifyDataSetChanged();
+        precomputeText();
+    }
+
+    /**
+     * Setter to switch between list rows and grid cells. Call it before swapping the
+     * RecyclerView's layout manager, which recycles every view into the pool so the views of
+     * the new type can be reused from there.
+     * @param gridMode Whether the books are shown as grid cells (boolean)
+     * @param gridCoverSizePx Size of the grid cell covers in pixels (int)
+     */
+    public void setGridMode(boolean gridMode, int gridCoverSizePx) {
+        this.gridMode = gridMode;
+        this.gridCoverSizePx = gridCoverSizePx;
+    }
+
+    /**
+     * Setter to hand out rows inflated ahead of time when view holders are created.
+     * @param rowInflater Source of pre-inflated rows (AsyncRowInflater)
+     */
+    public void setRowInflater(AsyncRowInflater rowInflater) {
+        this.rowInflater = rowInflater;
+    }
+
+    /**
+     * Getter to return the view type of the items.
+     * @param position Position of the item (int)
+     * @return int of the view type of the item
+     */
+    @Override
+    public int getItemViewType(int position) {
+        return gridMode ? VIEW_TYPE_CELL : VIEW_TYPE_ROW;
+    }
+
+    /**
+     * Getter to return the stable ID of the item at a position.
+     * @param position Position of the item (int)
+     * @return long of the Book's ID
+     */
+    @Override
+    public long getItemId(int position) {
+        return bookRows.get(position).getBook().getId();
     }
     /**
      * Method that sets up a new BookViewHolder.
@@ -55,58 +167,224 @@ public class BookAdapter extends RecyclerView.Adapter<BookAdapter.BookViewHolder
     @NonNull
     @Override
     public BookViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
-        View view = LayoutInflater
-                .from(parent.getContext())
-                .inflate(R.layout.book_item, parent, false);
+        // Get the cover loader and thumbnail size from the parent's context
+        if (coverLoader == null) {
+            coverLoader = CoverThumbnailLoader.getInstance(parent.getContext());
+            coverSizePx = parent.getResources().getDimensionPixelSize(R.dimen.book_item_cover_size);
+        }
+
+        // The view types are the layouts to inflate, pre-inflated rows are used when ready
+        View view = rowInflater != null
+                ? rowInflater.obtain(parent, viewType)
+                : LayoutInflater.from(parent.getContext()).inflate(viewType, parent, false);
+
+        BookViewHolder holder = new BookViewHolder(view);
+
+        // Grid covers are sized once per holder, keeping every cell the same size
+        if (viewType == VIEW_TYPE_CELL) {
+            holder.cover.getLayoutParams().height = gridCoverSizePx;
+        }
 
-        return new BookViewHolder(view);
+        // The first row tells how its text is laid out, start laying out every row's text with it
+        if (viewType == VIEW_TYPE_ROW && titleParams == null) {
+            titleParams = TextViewCompat.getTextMetricsParams(holder.title);
+            authorParams = TextViewCompat.getTextMetricsParams(holder.author);
+            precomputeText();
+        }
+
+        // Install the listeners once per holder, the clicked row is looked up when the click happens
+        holder.itemView.setOnClickListener(v -> onItemClick(holder));
+        holder.itemView.setOnLongClickListener(v -> onItemLongClick(holder));
+
+        return holder;
     }
+
     /**
-     * Method that populates a Book object into a BookViewHolder
+     * Method that populates a BookRow into a BookViewHolder. Text is only set when it changed,
+     * so rebinding the row a holder already shows does no work.
      * @param holder The ViewHolder which should be updated to represent the contents of the
      *        item at the given position in the data set.
      * @param position The position of the item within the adapter's data set.
      */
     @Override
     public void onBindViewHolder(@NonNull BookViewHolder holder, int position) {
-        // Get book at position
-        Book book = bookList.get(position);
+        long start = System.nanoTime();
 
-        // Set holder title and author from book
-        holder.title.setText(book.getTitle());
-        holder.author.setText(book.getAuthor());
+        // Get row at position
+        BookRow row = bookRows.get(position);
 
-        // Set holder cover if book has a uri for it
-        if (book.getCoverUri() != null && !book.getCoverUri().isEmpty()) {
-            holder.cover.setImageURI(Uri.parse(book.getCoverUri()));
+        // Set holder title and author from the row, list rows attach the text laid out ahead of time
+        if (holder.getItemViewType() == VIEW_TYPE_ROW) {
+            setText(holder.title, row.getPrecomputedTitle(titleParams), row.getDisplayTitle());
+            setText(holder.author, row.getPrecomputedAuthor(authorParams), row.getBook().getAuthor());
+        } else {
+            setText(holder.title, null, row.getDisplayTitle());
+            setText(holder.author, null, row.getBook().getAuthor());
         }
 
-        // Set holder on book click listener
-        holder.itemView.setOnClickListener(view -> {
-            onBookClickListener.onBookClick(book, position);
-        });
+        // Set holder cover thumbnail with the key cached on the row, at the size of the holder's type
+        int sizePx = holder.getItemViewType() == VIEW_TYPE_CELL ? gridCoverSizePx : coverSizePx;
+        coverLoader.load(holder.cover, row.getCoverKey(sizePx), row.getBook().getCoverUri(), sizePx);
+
+        BIND.record(System.nanoTime() - start);
+    }
+
+    /**
+     * Method that sets the text of a TextView only when it changed.
+     * @param textView View to set the text of (TextView)
+     * @param precomputed Text laid out for the view or null if it isn't ready (PrecomputedTextCompat)
+     * @param text Plain text used when nothing was laid out (String)
+     */
+    private static void setText(TextView textView, PrecomputedTextCompat precomputed, String text) {
+        if (precomputed != null) {
+            if (!TextUtils.equals(textView.getText(), precomputed)) {
+                TextViewCompat.setPrecomputedText(textView, precomputed);
+            }
+        } else if (!TextUtils.equals(textView.getText(), text)) {
+            textView.setText(text);
+        }
+    }
+
+    /**
+     * Method that keeps track of the RecyclerView so text passes can follow the visible rows.
+     * @param recyclerView The RecyclerView instance which started observing this adapter.
+     */
+    @Override
+    public void onAttachedToRecyclerView(@NonNull RecyclerView recyclerView) {
+        this.recyclerView = recyclerView;
+        recyclerView.addOnScrollListener(textScrollListener);
+    }
+
+    /**
+     * Method that stops following a RecyclerView's visible rows.
+     * @param recyclerView The RecyclerView instance which stopped observing this adapter.
+     */
+    @Override
+    public void onDetachedFromRecyclerView(@NonNull RecyclerView recyclerView) {
+        recyclerView.removeOnScrollListener(textScrollListener);
+        this.recyclerView = null;
+    }
+
+    /**
+     * Method that lays out the title and author text of the visible rows, and the
+     * TEXT_PREFETCH_DISTANCE rows on either side, on the layout executor, so binds only attach
+     * it. Rows bound before their text is ready show the plain text. The text is kept in the row
+     * text cache, so rows that are already laid out are skipped. Call it after rows are added to
+     * the list, scrolling starts new passes by itself.
+     */
+    public void precomputeText() {
+        // Nothing to lay out for until the first list row exists
+        if (titleParams == null) {
+            return;
+        }
+
+        // Start at the top of the list until it's laid out
+        int first = 0;
+        int last = 0;
+        if (recyclerView != null && recyclerView.getLayoutManager() instanceof LinearLayoutManager) {
+            LinearLayoutManager layoutManager = (LinearLayoutManager) recyclerView.getLayoutManager();
+            if (layoutManager.findFirstVisibleItemPosition() != RecyclerView.NO_POSITION) {
+                first = layoutManager.findFirstVisibleItemPosition();
+                last = layoutManager.findLastVisibleItemPosition();
+            }
+        }
+        textWindowStart = Math.max(0, first - TEXT_PREFETCH_DISTANCE);
+        textWindowEnd = Math.min(bookRows.size(), last + 1 + TEXT_PREFETCH_DISTANCE);
+        if (textWindowStart >= textWindowEnd) {
+            return;
+        }
 
-        // Set holder on book long click listener
-        holder.itemView.setOnLongClickListener(view -> {
-            return onBookLongClickListener.onBookLongClick(book, position);
+        PrecomputedTextCompat.Params title = titleParams;
+        PrecomputedTextCompat.Params author = authorParams;
+        int generation = ++textGeneration;
+
+        // Work on a copy of the window, the list is only changed on the main thread
+        List<BookRow> rows = new ArrayList<>(bookRows.subList(textWindowStart, textWindowEnd));
+
+        AppExecutors.layout().execute(() -> {
+            for (BookRow row : rows) {
+                // Stop if a newer pass started
+                if (generation != textGeneration) {
+                    return;
+                }
+                row.precomputeText(title, author);
+            }
         });
     }
 
     /**
-     * Getter to return the size of the bookList.
-     * @return int of the size of the bookList
+     * Method that runs when a holder's item is clicked.
+     * @param holder Holder of the clicked item (BookViewHolder)
+     */
+    private void onItemClick(BookViewHolder holder) {
+        // Ignore clicks on rows that are being removed
+        int position = holder.getBindingAdapterPosition();
+        if (position == RecyclerView.NO_POSITION) {
+            return;
+        }
+
+        onBookClickListener.onBookClick(bookRows.get(position).getBook(), position);
+    }
+
+    /**
+     * Method that runs when a holder's item is long clicked.
+     * @param holder Holder of the long clicked item (BookViewHolder)
+     * @return boolean of whether the long click was consumed
+     */
+    private boolean onItemLongClick(BookViewHolder holder) {
+        // Ignore long clicks on rows that are being removed
+        int position = holder.getBindingAdapterPosition();
+        if (position == RecyclerView.NO_POSITION) {
+            return false;
+        }
+
+        return onBookLongClickListener.onBookLongClick(bookRows.get(position).getBook(), position);
+    }
+
+    /**
+     * Getter to return the cover URI of the Book at a position.
+     * @param position Position of the Book in the bookRows (int)
+     * @return String of the cover URI or null if the Book has no cover
+     */
+    @Override
+    public String getCoverUri(int position) {
+        return bookRows.get(position).getBook().getCoverUri();
+    }
+
+    /**
+     * Getter to return the ID of the book at a position.
+     * @param position Position of the row (int)
+     * @return int of the book ID
+     */
+    @Override
+    public int getBookId(int position) {
+        return bookRows.get(position).getBook().getId();
+    }
+
+    /**
+     * Getter to return the size the cover thumbnails are decoded at in the current mode.
+     * @return int of the thumbnail size in pixels
+     */
+    @Override
+    public int getCoverSizePx() {
+        return gridMode ? gridCoverSizePx : coverSizePx;
+    }
+
+    /**
+     * Getter to return the size of the bookRows.
+     * @return int of the size of the bookRows
      */
     @Override
     public int getItemCount() {
-        return bookList.size();
+        return bookRows.size();
     }
 
     /**
      * BookViewHolder is a java class for book items in the adapter.
      */
     public static class BookViewHolder extends RecyclerView.ViewHolder {
-        private final TextView title, author;
-        private final ImageView cover;
+        final TextView title, author;
+        final ImageView cover;
 
         /**
          * Constructor to initialize the BookViewHolder object.
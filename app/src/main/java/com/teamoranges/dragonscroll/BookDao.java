@@ -4,13 +4,19 @@ import androidx.room.Dao;
 import androidx.room.Delete;
 import androidx.room.Insert;
 import androidx.room.Query;
+import androidx.room.RoomDatabase;
+import androidx.sqlite.db.SupportSQLiteStatement;
 
 import com.teamoranges.dragonscroll.models.Book;
+import com.teamoranges.dragonscroll.models.BookUpdate;
+import com.teamoranges.dragonscroll.models.LetterCount;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
- * BookDao is a direct access java object interface for the app's Room database.
+ * BookDao is a direct access java object abstract class for the app's Room database.
  * It defines methods that translate to SQLite queries for reading and writing
  * {@link Book} data.
  * @author Joshua Duque
@@ -22,20 +28,32 @@ import java.util.List;
  * Fall 2024
  */
 @Dao
-public interface BookDao {
+public abstract class BookDao {
+
+    // Database the DAO belongs to, used to compile the bulk update statements
+    private final RoomDatabase database;
+
+    /**
+     * Constructor to initialize the {@link BookDao} object, called by the generated DAO.
+     * @param database Database the DAO belongs to (RoomDatabase)
+     */
+    public BookDao(RoomDatabase database) {
+        this.database = database;
+    }
+
     /**
      * Getter to return every Book in the table
      * @return List of all Books in the table
      */
     @Query("SELECT * FROM book")
-    List<Book> getAll();
+    public abstract List<Book> getAll();
 
     /**
      * Getter to return the number of Books in the table.
      * @return int of the number of Books in the table.
      */
     @Query("SELECT COUNT(*) FROM book")
-    int getCount();
+    public abstract int getCount();
 
     /**
      * Getter to return a Book from the table by ID.
@@ -43,7 +61,179 @@ public interface BookDao {
      * @return Book that matches the ID
      */
     @Query("SELECT * FROM book WHERE id = :id LIMIT 1")
-    Book getBook(int id);
+    public abstract Book getBook(int id);
+
+    /**
+     * Getter to return a Book from the table by title.
+     * @param title Title of the Book (String)
+     * @return Book that matches the title or null
+     */
+    @Query("SELECT * FROM book WHERE title = :title LIMIT 1")
+    public abstract Book getBookByTitle(String title);
+
+    /**
+     * Getter to return a Book with the same normalized title and author. The parameters are
+     * normalized by the same expression the triggers store in dedupe_key, so the lookup is a
+     * search of the dedupe_key index.
+     * @param title Title of the new Book (String)
+     * @param author Author of the new Book (String)
+     * @return Book with the same title and author or null
+     */
+    @Query("SELECT * FROM book WHERE dedupe_key = " + AppDatabase.DEDUPE_KEY_OF_PARAMETERS + " LIMIT 1")
+    public abstract Book getDuplicate(String title, String author);
+
+    /**
+     * Getter to return how many Books start with each first character of the normalized title,
+     * in title order. Only the dedupe_key index is read, no Book rows are loaded.
+     * @return List of the first characters and their counts
+     */
+    @Query("SELECT substr(dedupe_key, 1, 1) AS letter, COUNT(*) AS count FROM book "
+            + "GROUP BY letter ORDER BY letter")
+    public abstract List<LetterCount> getTitleLetterCounts();
+
+    /**
+     * Getter to return how many favorite Books start with each first character of the
+     * normalized title, in title order. Favorite times are always positive, so the range search
+     * of the favorited_at index finds every favorite without reading the other Books.
+     * @return List of the first characters and their counts
+     */
+    @Query("SELECT substr(dedupe_key, 1, 1) AS letter, COUNT(*) AS count FROM book "
+            + "WHERE favorited_at > 0 GROUP BY letter ORDER BY letter")
+    public abstract List<LetterCount> getFavoriteTitleLetterCounts();
+
+    /**
+     * Getter to return one page of Books in title order, starting at the first Book whose
+     * normalized title is at least a given prefix. The index search skips every earlier title,
+     * so only the offset inside the section is stepped over.
+     * @param from Normalized prefix the page starts at (String)
+     * @param favoritesOnly Whether only favorite Books are paged (boolean)
+     * @param limit Maximum number of Books in the page (int)
+     * @param offset Number of Books from the prefix to the page (int)
+     * @return List of the Books in the page
+     */
+    @Query("SELECT * FROM book WHERE dedupe_key >= :from "
+            + "AND (:favoritesOnly = 0 OR favorited_at IS NOT NULL) "
+            + "ORDER BY dedupe_key, id LIMIT :limit OFFSET :offset")
+    public abstract List<Book> getTitlePage(String from, boolean favoritesOnly, int limit, int offset);
+
+    /**
+     * Getter to return one page of the Books whose normalized title is between two prefixes, in
+     * title order. Same as {@link #getTitlePage(String, boolean, int, int)} but stops before the
+     * end prefix, for sections that don't run to the end of the title order.
+     * @param from Normalized prefix the page starts at (String)
+     * @param to Normalized prefix the page stops before (String)
+     * @param favoritesOnly Whether only favorite Books are paged (boolean)
+     * @param limit Maximum number of Books in the page (int)
+     * @param offset Number of Books from the prefix to the page (int)
+     * @return List of the Books in the page
+     */
+    @Query("SELECT * FROM book WHERE dedupe_key >= :from AND dedupe_key < :to "
+            + "AND (:favoritesOnly = 0 OR favorited_at IS NOT NULL) "
+            + "ORDER BY dedupe_key, id LIMIT :limit OFFSET :offset")
+    public abstract List<Book> getTitleRange(String from, String to, boolean favoritesOnly, int limit, int offset);
+
+    /**
+     * Getter to return one page of the reading queue in order, starting after a key. The page
+     * is an index search from the key, so later pages cost the same as the first.
+     * @param after Order key the page starts after, empty for the first page (String)
+     * @param limit Maximum number of Books in the page (int)
+     * @return List of the queued Books in the page
+     */
+    @Query("SELECT * FROM book WHERE tbr_key > :after ORDER BY tbr_key LIMIT :limit")
+    public abstract List<Book> getQueuePage(String after, int limit);
+
+    /**
+     * Getter to return the order key of a Book in the reading queue by ID.
+     * @param id ID of the Book (int)
+     * @return String of the order key or null if the Book isn't queued
+     */
+    @Query("SELECT tbr_key FROM book WHERE id = :id")
+    public abstract String getQueueKey(int id);
+
+    /**
+     * Getter to return the first order key after a key, skipping one Book. It is the key a
+     * moved Book is placed before.
+     * @param after Order key to look after, empty for the start of the queue (String)
+     * @param skippedId ID of the Book being moved (int)
+     * @return String of the next order key or null if the queue ends there
+     */
+    @Query("SELECT tbr_key FROM book WHERE tbr_key > :after AND id != :skippedId ORDER BY tbr_key LIMIT 1")
+    public abstract String getNextQueueKey(String after, int skippedId);
+
+    /**
+     * Getter to return the last order key of the reading queue.
+     * @return String of the last order key or null if the queue is empty
+     */
+    @Query("SELECT MAX(tbr_key) FROM book")
+    public abstract String getLastQueueKey();
+
+    /**
+     * Getter to return the IDs of every queued Book in queue order, for rebalancing the keys.
+     * @return List of the IDs of the queued Books
+     */
+    @Query("SELECT id FROM book WHERE tbr_key IS NOT NULL ORDER BY tbr_key")
+    public abstract List<Integer> getQueueIds();
+
+    /**
+     * Getter to return every Book whose cover is still a content URI from older versions.
+     * @return List of the Books with content URI covers
+     */
+    @Query("SELECT * FROM book WHERE cover_uri LIKE 'content:%'")
+    public abstract List<Book> getBooksWithContentCovers();
+
+    /**
+     * Getter to return every favorite Book, most recently favorited first.
+     * Served by the favorited_at index.
+     * @return List of the favorite Books
+     */
+    @Query("SELECT * FROM book WHERE favorited_at IS NOT NULL ORDER BY favorited_at DESC")
+    public abstract List<Book> getFavorites();
+
+    /**
+     * Getter to return the most recently favorited Book.
+     * @return Book that was favorited last or null if there are no favorites
+     */
+    @Query("SELECT * FROM book WHERE favorited_at IS NOT NULL ORDER BY favorited_at DESC LIMIT 1")
+    public abstract Book getTopFavorite();
+
+    /**
+     * Getter to return the number of unread Books, which is also the last unread slot.
+     * @return int of the number of unread Books
+     */
+    @Query("SELECT COALESCE(MAX(slot), 0) FROM unread_slot")
+    public abstract int getUnreadCount();
+
+    /**
+     * Getter to return the unread Book holding a slot. Both lookups are primary key searches.
+     * @param slot Slot between 1 and the number of unread Books (int)
+     * @return Book in the slot or null if the slot is empty
+     */
+    @Query("SELECT book.* FROM unread_slot JOIN book ON book.id = unread_slot.book_id "
+            + "WHERE unread_slot.slot = :slot")
+    public abstract Book getUnreadBookAtSlot(int slot);
+
+    /**
+     * Getter to return the IDs of the unread favorite Books. Served by the favorited_at index,
+     * and the ordering makes SQLite walk that index instead of the table.
+     * @return List of the IDs of the unread favorite Books
+     */
+    @Query("SELECT id FROM book WHERE favorited_at IS NOT NULL "
+            + "AND (end_date IS NULL OR end_date = '') ORDER BY favorited_at")
+    public abstract List<Integer> getUnreadFavoriteIds();
+
+    /**
+     * Getter to return every distinct title, for the title suggestions of the add dialog.
+     * @return List of the distinct titles in no particular order
+     */
+    @Query("SELECT DISTINCT title FROM book WHERE title IS NOT NULL")
+    public abstract List<String> getDistinctTitles();
+
+    /**
+     * Getter to return every distinct author, for the author suggestions of the add dialog.
+     * @return List of the distinct authors in no particular order
+     */
+    @Query("SELECT DISTINCT author FROM book WHERE author IS NOT NULL")
+    public abstract List<String> getDistinctAuthors();
 
     /**
      * Setter to set a Book's title by ID.
@@ -51,7 +241,7 @@ public interface BookDao {
      * @param title Title of the Book (String)
      */
     @Query("UPDATE book SET title = :title WHERE id = :id")
-    void setTitle(int id, String title);
+    public abstract void setTitle(int id, String title);
 
     /**
      * Setter to set a Book's author by ID.
@@ -59,7 +249,7 @@ public interface BookDao {
      * @param author Author of the Book (String)
      */
     @Query("UPDATE book SET author = :author WHERE id = :id")
-    void setAuthor(int id, String author);
+    public abstract void setAuthor(int id, String author);
 
     /**
      * Setter to set a Book's rating by ID.
@@ -67,7 +257,7 @@ public interface BookDao {
      * @param rating Rating of the Book (int)
      */
     @Query("UPDATE book SET rating = :rating WHERE id = :id")
-    void setRating(int id, int rating);
+    public abstract void setRating(int id, int rating);
 
     /**
      * Setter to set a Book's Cover URI by ID.
@@ -75,7 +265,7 @@ public interface BookDao {
      * @param coverUri Cover URI of the Book (String)
      */
     @Query("UPDATE book SET cover_uri = :coverUri WHERE id = :id")
-    void setCoverUri(int id, String coverUri);
+    public abstract void setCoverUri(int id, String coverUri);
 
     /**
      * Setter to set a Book's summary by ID.
@@ -83,7 +273,7 @@ public interface BookDao {
      * @param summary Summary of the Book (String)
      */
     @Query("UPDATE book SET summary = :summary WHERE id =:id")
-    void setSummary(int id, String summary);
+    public abstract void setSummary(int id, String summary);
 
     /**
      * Setter to set a Book's notes by ID.
@@ -91,7 +281,7 @@ public interface BookDao {
      * @param notes Notes of the Book (String)
      */
     @Query("UPDATE book SET notes = :notes WHERE id =:id")
-    void setNotes(int id, String notes);
+    public abstract void setNotes(int id, String notes);
 
     /**
      * Setter to set a Book's reading start date by ID.
@@ -99,7 +289,7 @@ public interface BookDao {
      * @param startDate Reading start date of the Book (String)
      */
     @Query("UPDATE book SET start_date = :startDate WHERE id = :id")
-    void setStartDate(int id, String startDate);
+    public abstract void setStartDate(int id, String startDate);
 
     /**
      * Setter to set a Book's reading end date by ID.
@@ -107,14 +297,39 @@ public interface BookDao {
      * @param endDate Reading end date of the Book (String)
      */
     @Query("UPDATE book SET end_date = :endDate WHERE id = :id")
-    void setEndDate(int id, String endDate);
+    public abstract void setEndDate(int id, String endDate);
+
+    /**
+     * Setter to set a Book's series and volume index by ID.
+     * @param id ID of the Book (int)
+     * @param seriesId ID of the series or null to make the Book standalone (Integer)
+     * @param volumeIndex Volume index of the Book inside of the series (int)
+     */
+    @Query("UPDATE book SET series_id = :seriesId, volume_index = :volumeIndex WHERE id = :id")
+    public abstract void setSeries(int id, Integer seriesId, int volumeIndex);
+
+    /**
+     * Setter to set the time a Book was favorited at by ID.
+     * @param id ID of the Book (int)
+     * @param favoritedAt Time in milliseconds or null to remove the Book from the favorites (Long)
+     */
+    @Query("UPDATE book SET favorited_at = :favoritedAt WHERE id = :id")
+    public abstract void setFavoritedAt(int id, Long favoritedAt);
+
+    /**
+     * Setter to set the order key of a Book in the reading queue by ID.
+     * @param id ID of the Book (int)
+     * @param tbrKey Order key or null to remove the Book from the queue (String)
+     */
+    @Query("UPDATE book SET tbr_key = :tbrKey WHERE id = :id")
+    public abstract void setQueueKey(int id, String tbrKey);
 
     /**
      * Method that inserts a Book or List of Books into the table.
      * @param books Book or List of Books to be inserted (Book)
      */
     @Insert
-    void insertAll(Book... books);
+    public abstract void insertAll(Book... books);
 
     /**
      * Method that inserts a Book into the table and returns its ID.
@@ -122,18 +337,82 @@ public interface BookDao {
      * @return int of the ID of the Book
      */
     @Insert
-    long insert(Book book);
+    public abstract long insert(Book book);
 
     /**
      * Method that deletes a Book from the table.
      * @param book Deleted Book (Book)
      */
     @Delete
-    void delete(Book book);
+    public abstract void delete(Book book);
 
     /**
      * Method that deletes every Book from the table.
      */
     @Query("DELETE FROM book")
-    void nukeTable();
+    public abstract void nukeTable();
+
+    /**
+     * Method that applies many partial updates in one transaction. Updates that change the same
+     * columns share one compiled statement, which is rebound for each of them, so a batch costs
+     * a single commit and one compile per distinct set of columns.
+     * @param updates Partial updates to apply (List of type BookUpdate)
+     * @return int of the number of updated rows
+     */
+    public int updateAll(List<BookUpdate> updates) {
+        return database.runInTransaction(() -> {
+            // Compiled statements of the batch by changed columns mask
+            Map<Integer, SupportSQLiteStatement> statements = new HashMap<>();
+            int updated = 0;
+
+            try {
+                for (BookUpdate update : updates) {
+                    int changedColumns = update.getChangedColumns();
+                    if (changedColumns == 0) {
+                        continue;
+                    }
+
+                    SupportSQLiteStatement statement = statements.get(changedColumns);
+                    if (statement == null) {
+                        statement = database.compileStatement(BookUpdate.buildSql(changedColumns));
+                        statements.put(changedColumns, statement);
+                    }
+
+                    // Bind the changed columns in index order, then the ID
+                    statement.clearBindings();
+                    int index = 1;
+                    for (int column = 0; column < BookUpdate.getColumnCount(); column++) {
+                        if ((changedColumns & (1 << column)) != 0) {
+                            bindValue(statement, index++, update.getValue(column));
+                        }
+                    }
+                    statement.bindLong(index, update.getId());
+
+                    updated += statement.executeUpdateDelete();
+                }
+            } finally {
+                for (SupportSQLiteStatement statement : statements.values()) {
+                    statement.close();
+                }
+            }
+
+            return updated;
+        });
+    }
+
+    /**
+     * Method that binds a value of a partial update to a statement parameter.
+     * @param statement Statement to bind to (SupportSQLiteStatement)
+     * @param index Index of the parameter, starting at 1 (int)
+     * @param value String, Number or null value (Object)
+     */
+    private static void bindValue(SupportSQLiteStatement statement, int index, Object value) {
+        if (value == null) {
+            statement.bindNull(index);
+        } else if (value instanceof Number) {
+            statement.bindLong(index, ((Number) value).longValue());
+        } else {
+            statement.bindString(index, value.toString());
+        }
+    }
 }
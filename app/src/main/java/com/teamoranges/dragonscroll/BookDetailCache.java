@@ -0,0 +1,145 @@
+package com.teamoranges.dragonscroll;
+
+import com.teamoranges.dragonscroll.models.Book;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * BookDetailCache is a java class that keeps the recently opened {@link Book} objects of the
+ * detail screen in a small most recently used cache. Loading can start when a row is pressed,
+ * before the click navigates, so {@link BookFragment} usually finds its book ready. The detail
+ * screen updates the cached object along with the database, and screens that change a book some
+ * other way invalidate it.
+ * @author Joshua Duque
+ * @author Mateo Garcia
+ * @author Emiliano Garza
+ * @author Samatha Poole
+ * @author Alaine Liserio
+ * UTSA CS 3443 - Team Oranges Project
+ * Fall 2024
+ */
+public class BookDetailCache {
+
+    // Number of recently opened books kept
+    private static final int MAX_BOOKS = 16;
+
+    private final BookDao bookDao;
+    private final TrimmableLruCache<Integer, Book> cache = new TrimmableLruCache<>("Book details", MAX_BOOKS);
+    // Loads started by a press that haven't finished, by book ID
+    private final Map<Integer, CompletableFuture<Book>> pending = new HashMap<>();
+    // Incremented by every invalidation, so a read that raced with one isn't cached
+    private int generation;
+    // Single thread for the loads, kept apart from the disk executor so a press never waits
+    // behind a search or a page
+    private final ExecutorService loadExecutor = Executors.newSingleThreadExecutor();
+
+    /**
+     * Constructor to initialize the {@link BookDetailCache} object.
+     * @param bookDao DAO to load the books with (BookDao)
+     */
+    public BookDetailCache(BookDao bookDao) {
+        this.bookDao = bookDao;
+
+        // Release books under memory pressure
+        CacheRegistry.register(cache);
+    }
+
+    /**
+     * Method that starts loading a Book in the background unless it's cached or already loading.
+     * @param bookId ID of the Book (int)
+     */
+    public synchronized void prefetch(int bookId) {
+        if (cache.get(bookId) != null || pending.containsKey(bookId)) {
+            return;
+        }
+
+        CompletableFuture<Book> future = new CompletableFuture<>();
+        pending.put(bookId, future);
+        loadExecutor.execute(() -> {
+            Book book = null;
+            try {
+                book = bookDao.getBook(bookId);
+            } finally {
+                finishLoad(bookId, future, book);
+            }
+        });
+    }
+
+    /**
+     * Method that returns a Book from the cache, waits for a load a press started, or loads it
+     * right away.
+     * @param bookId ID of the Book (int)
+     * @return Book of the ID or null if it doesn't exist
+     */
+    public Book get(int bookId) {
+        CompletableFuture<Book> future;
+        synchronized (this) {
+            Book cached = cache.get(bookId);
+            if (cached != null) {
+                return cached;
+            }
+            future = pending.get(bookId);
+        }
+
+        // The rest of the read started on press, the load caches it unless it was invalidated
+        if (future != null) {
+            future.join();
+            synchronized (this) {
+                Book cached = cache.get(bookId);
+                if (cached != null) {
+                    return cached;
+                }
+            }
+        }
+
+        int readGeneration;
+        synchronized (this) {
+            readGeneration = generation;
+        }
+        Book book = bookDao.getBook(bookId);
+        synchronized (this) {
+            // A book invalidated during the read may be stale, it's returned but not kept
+            if (book != null && readGeneration == generation) {
+                cache.put(bookId, book);
+            }
+        }
+        return book;
+    }
+
+    /**
+     * Method that drops a Book that was changed or deleted outside the detail screen, including
+     * a load of it that is still running.
+     * @param bookId ID of the Book (int)
+     */
+    public synchronized void invalidate(int bookId) {
+        generation++;
+        cache.remove(bookId);
+        pending.remove(bookId);
+    }
+
+    /**
+     * Method that drops every Book, for example after the database is emptied.
+     */
+    public synchronized void clear() {
+        generation++;
+        cache.evictAll();
+        pending.clear();
+    }
+
+    /**
+     * Method that caches a loaded Book, unless it was invalidated while it loaded.
+     * @param bookId ID of the Book (int)
+     * @param future Future of the load (CompletableFuture of type Book)
+     * @param book Loaded Book or null (Book)
+     */
+    private synchronized void finishLoad(int bookId, CompletableFuture<Book> future, Book book) {
+        if (pending.remove(bookId, future) && book != null) {
+            cache.put(bookId, book);
+        }
+        future.complete(book);
+    }
+}
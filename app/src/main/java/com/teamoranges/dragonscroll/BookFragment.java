@@ -3,9 +3,6 @@ package com.teamoranges.dragonscroll;
 import android.app.AlertDialog;
 import android.app.DatePickerDialog;
 import android.content.Context;
-import android.content.Intent;
-import android.content.SharedPreferences;
-import android.net.Uri;
 import android.os.Bundle;
 
 import androidx.activity.result.ActivityResultLauncher;
@@ -22,11 +19,14 @@ import android.widget.Button;
 import android.widget.DatePicker;
 import android.widget.EditText;
 import android.widget.ImageView;
+import android.widget.LinearLayout;
 import android.widget.TextView;
 import android.widget.Toast;
 
 import com.teamoranges.dragonscroll.models.Book;
+import com.teamoranges.dragonscroll.models.Series;
 
+import java.io.IOException;
 import java.util.Calendar;
 import java.util.Locale;
 
@@ -45,16 +45,19 @@ public class BookFragment extends Fragment {
 
     // Key string used to pass in a book ID
     private static final String BOOK_ID_KEY = "bookId";
+    // Latency of building the fragment's view, traced as its own section
+    private static final LatencyHistogram CREATE_VIEW = Instrumentation.histogram("BookFragment.onCreateView");
 
     // Book ID passed to the book fragment
     private int bookIdParam;
 
-    // Book retrieved from database by ID
+    // Book retrieved by ID, shared with the detail cache so edits keep the cached copy current
     private Book book;
 
     private BookDao bookDao;
+    private SeriesDao seriesDao;
+    private ReadingQueue readingQueue;
     private ActivityResultLauncher<PickVisualMediaRequest> pickMedia;
-    private SharedPreferences sharedPreferences;
 
     private ImageView coverImageView;
     private EditText summaryEditText;
@@ -97,17 +100,13 @@ public class BookFragment extends Fragment {
             bookIdParam = getArguments().getInt(BOOK_ID_KEY);
         }
 
-        // Get SharedPreferences
-        sharedPreferences = requireContext().getSharedPreferences(
-                getString(R.string.preference_file_key),
-                Context.MODE_PRIVATE
-        );
-
         // Get BookDao from MainActivity
         bookDao = ((MainActivity) requireActivity()).getBookDao();
+        seriesDao = ((MainActivity) requireActivity()).getSeriesDao();
+        readingQueue = new ReadingQueue(((MainActivity) requireActivity()).getDatabase(), bookDao);
 
-        // Get Book by ID from database
-        book = bookDao.getBook(bookIdParam);
+        // Get Book by ID, usually already loaded when its row was pressed
+        book = ((MainActivity) requireActivity()).getBookDetails().get(bookIdParam);
 
         // Registers a photo picker activity launcher in single-select mode.
         pickMedia =
@@ -124,18 +123,28 @@ public class BookFragment extends Fragment {
                             return;
                         }
 
-                        // Configure uri permission since we store them persistently in the database.
-                        try {
-                            // Do some nonsense with permissions
-                            Context context = requireContext();
-                            context.getContentResolver().takePersistableUriPermission(uri, Intent.FLAG_GRANT_READ_URI_PERMISSION);
-                        } catch (Exception exception) {
-                            Log.d("PhotoPicker", "Permissions failed ig");
-                            return;
-                        }
-
-                        // Update book cover
-                        updateBookCover(coverImageView, uri);
+                        // Copy the image into app storage off the main thread. The picker's
+                        // read grant only has to last until the copy is done.
+                        Context appContext = requireContext().getApplicationContext();
+                        AppExecutors.diskIO().execute(() -> {
+                            String coverUri;
+                            try {
+                                coverUri = CoverStore.ingest(appContext, uri, bookIdParam);
+                            } catch (IOException | SecurityException exception) {
+                                Log.d("PhotoPicker", "Cover ingestion failed", exception);
+                                AppExecutors.runOnMainThread(() -> Toast.makeText(appContext,
+                                        "Unable to load image", Toast.LENGTH_SHORT).show());
+                                return;
+                            }
+
+                            AppExecutors.runOnMainThread(() -> {
+                                // Drop the old stored cover now that it's replaced
+                                CoverStore.delete(appContext, book.getCoverUri());
+
+                                // Update book cover, skipping the view if it's gone
+                                updateBookCover(getView() != null ? coverImageView : null, coverUri);
+                            });
+                        });
                     } else {
                         Log.d("PhotoPicker", "No media selected");
                     }
@@ -156,16 +165,30 @@ public class BookFragment extends Fragment {
     @Override
     public View onCreateView(LayoutInflater inflater, ViewGroup container,
                              Bundle savedInstanceState) {
+        long start = CREATE_VIEW.begin();
+        try {
+            return createView(inflater, container, savedInstanceState);
+        } finally {
+            CREATE_VIEW.end(start);
+        }
+    }
+
+    /**
+     * Method that inflates and sets up the fragment's view, timed by onCreateView.
+     * @param inflater Inflater of the fragment (LayoutInflater)
+     * @param container Parent the view will be attached to or null (ViewGroup)
+     * @param savedInstanceState Saved state of the fragment or null (Bundle)
+     * @return View that is created
+     */
+    private View createView(LayoutInflater inflater, ViewGroup container,
+                            Bundle savedInstanceState) {
         // Inflate the layout for this fragment
         View view = inflater.inflate(R.layout.fragment_book, container, false);
 
-        // Get cover ImageView
+        // Get cover ImageView and bind the cover decoded at its size, which is usually cached
+        // since its row was pressed
         coverImageView = view.findViewById(R.id.profileImageView);
-        if (book.getCoverUri() != null && !book.getCoverUri().isEmpty()) {
-            // Set cover uri
-            String uri = book.getCoverUri();
-            coverImageView.setImageURI(Uri.parse(uri));
-        }
+        loadCover(coverImageView, book.getCoverUri());
         // Set cover on click listener
         coverImageView.setOnClickListener(this::onCoverImageViewClicked);
 
@@ -208,6 +231,13 @@ public class BookFragment extends Fragment {
         // Set rating on click listener
         ratingTextView.setOnClickListener(this::onRatingTextViewClicked);
 
+        // Get series TextView
+        TextView seriesTextView = view.findViewById(R.id.seriesTextView);
+        // Set series text
+        updateSeriesText(seriesTextView);
+        // Set series on click listener
+        seriesTextView.setOnClickListener(this::onSeriesTextViewClicked);
+
         // Get save summary Button
         Button saveSummaryButton = view.findViewById(R.id.saveSummaryButton);
         // Set save summary on click listener
@@ -238,9 +268,18 @@ public class BookFragment extends Fragment {
 
         // Get favorite button
         Button favoriteButton = view.findViewById(R.id.favoritesButton);
+        // Set favorite text
+        favoriteButton.setText(book.getFavoritedAt() != null ? R.string.remove_favorite : R.string.set_as_favorite);
         // Set favorite on click listener
         favoriteButton.setOnClickListener(this::onFavoriteButtonClicked);
 
+        // Get queue button
+        Button queueButton = view.findViewById(R.id.queueButton);
+        // Set queue text
+        queueButton.setText(book.getTbrKey() != null ? R.string.remove_from_queue : R.string.add_to_queue);
+        // Set queue on click listener
+        queueButton.setOnClickListener(this::onQueueButtonClicked);
+
         return view;
     }
 
@@ -249,16 +288,61 @@ public class BookFragment extends Fragment {
      * @param view Current view (View)
      */
     private void onFavoriteButtonClicked(View view) {
-        // Get the key we use to store the favorite book in SharedPreferences
-        String favoriteBookKey = getString(R.string.favorite_book_key);
+        // Toggle the favorite state, favoriting stores the current time so favorites stay ranked
+        Long favoritedAt = book.getFavoritedAt() == null ? System.currentTimeMillis() : null;
 
-        // Store the favorite boo title in SharedPreferences
-        SharedPreferences.Editor editor = sharedPreferences.edit();
-        editor.putString(favoriteBookKey, book.getTitle());
-        editor.apply();
+        // Update favorite in database
+        bookDao.setFavoritedAt(bookIdParam, favoritedAt);
+        // Update local book favorite
+        book.setFavoritedAt(favoritedAt);
+        // Update favorite in view
+        ((Button) view).setText(favoritedAt != null ? R.string.remove_favorite : R.string.set_as_favorite);
 
         // Display a toast stating that we saved the favorite book
-        Toast.makeText(requireContext(), "Set as favorite book", Toast.LENGTH_SHORT).show();
+        String message = favoritedAt != null ? "Set as favorite book" : "Removed from favorites";
+        Toast.makeText(requireContext(), message, Toast.LENGTH_SHORT).show();
+    }
+
+    /**
+     * Method that runs when the Queue Button is clicked. The queue is changed on the disk
+     * executor and the button is updated once that is done.
+     * @param view Current view (View)
+     */
+    private void onQueueButtonClicked(View view) {
+        // Toggle the queue state, queued books go to the end of the queue
+        boolean queue = book.getTbrKey() == null;
+        int bookId = bookIdParam;
+
+        // Ignore clicks until this one is stored
+        view.setEnabled(false);
+
+        AppExecutors.diskIO().execute(() -> {
+            String tbrKey = null;
+            if (queue) {
+                tbrKey = readingQueue.add(bookId);
+            } else {
+                readingQueue.remove(bookId);
+            }
+            String key = tbrKey;
+
+            AppExecutors.runOnMainThread(() -> {
+                // Update local book queue key, which the detail cache shares
+                book.setTbrKey(key);
+
+                // Drop the view update if the view is gone
+                if (getView() == null) {
+                    return;
+                }
+
+                // Update queue in view
+                view.setEnabled(true);
+                ((Button) view).setText(key != null ? R.string.remove_from_queue : R.string.add_to_queue);
+
+                // Display a toast stating whether the book was queued
+                String message = key != null ? "Added to the reading queue" : "Removed from the reading queue";
+                Toast.makeText(requireContext(), message, Toast.LENGTH_SHORT).show();
+            });
+        });
     }
 
     /**
@@ -316,6 +400,8 @@ public class BookFragment extends Fragment {
         String text = summaryEditText.getText().toString();
         // Write text to database
         bookDao.setSummary(bookIdParam, text);
+        // Update local book variable, which the detail cache shares
+        book.setSummary(text);
         // Show confirmation toast
         Toast.makeText(getContext(), "Summary saved", Toast.LENGTH_SHORT).show();
     }
@@ -329,6 +415,8 @@ public class BookFragment extends Fragment {
         String text = notesEditText.getText().toString();
         // Write text to database
         bookDao.setNotes(bookIdParam, text);
+        // Update local book variable, which the detail cache shares
+        book.setNotes(text);
         // Show confirmation toast
         Toast.makeText(getContext(), "Notes saved", Toast.LENGTH_SHORT).show();
     }
@@ -391,6 +479,75 @@ public class BookFragment extends Fragment {
         alertDialog.show();
     }
 
+    /**
+     * Method that runs when the Series TextView is clicked.
+     * @param view Current view (View)
+     */
+    private void onSeriesTextViewClicked(View view) {
+        // Get Context
+        Context context = this.getContext();
+
+        // Create a LinearLayout to hold the EditTexts
+        LinearLayout layout = new LinearLayout(context);
+        layout.setOrientation(LinearLayout.VERTICAL);
+        layout.setPadding(16, 16, 16, 16);
+
+        // Create EditText for the series name
+        EditText nameEditText = new EditText(context);
+        nameEditText.setHint("Series name (empty for none)");
+        layout.addView(nameEditText);
+
+        // Create EditText for the volume index
+        EditText volumeEditText = new EditText(context);
+        volumeEditText.setHint("Volume number");
+        volumeEditText.setInputType(InputType.TYPE_CLASS_NUMBER);
+        layout.addView(volumeEditText);
+
+        // Prefill the current series
+        if (book.getSeriesId() != null) {
+            Series series = seriesDao.getSeries(book.getSeriesId());
+            if (series != null) {
+                nameEditText.setText(series.getName());
+            }
+            volumeEditText.setText(String.valueOf(book.getVolumeIndex()));
+        }
+
+        // Create AlertDialog
+        AlertDialog.Builder alertDialog = new AlertDialog.Builder(context)
+                .setMessage("Enter series")
+                .setView(layout);
+
+        // Set positive button
+        alertDialog.setPositiveButton("Save", (dialogInterface, i) -> {
+            // Get EditText text
+            String name = nameEditText.getText().toString().trim();
+            int volumeIndex = tryParseInt(volumeEditText.getText().toString().trim());
+
+            // An empty name makes the book standalone
+            if (name.isEmpty()) {
+                updateBookSeries(view, null, 0);
+                return;
+            }
+
+            // Volume numbers start at 1
+            if (volumeIndex < 1) {
+                Toast.makeText(context, "Please enter a volume number", Toast.LENGTH_SHORT).show();
+                return;
+            }
+
+            // Update book series
+            updateBookSeries(view, name, volumeIndex);
+        });
+
+        // Set negative button
+        alertDialog.setNegativeButton("Cancel", (dialogInterface, i) -> {
+            // Empty lambda to make negative button show
+        });
+
+        // Show AlertDialog
+        alertDialog.show();
+    }
+
     /**
      * Method that runs when the Author TextView is clicked.
      * @param view Current view (View)
@@ -495,6 +652,8 @@ public class BookFragment extends Fragment {
         authorTextView.setText(author);
         // Update local book variable
         book.setAuthor(author);
+        // The old author may be gone from the library, suggestions are read again
+        ((MainActivity) requireActivity()).getBookSuggestions().invalidate();
     }
 
     /**
@@ -510,22 +669,80 @@ public class BookFragment extends Fragment {
         titleTextView.setText(title);
         // Update local book title
         book.setTitle(title);
+        // The old title may be gone from the library, suggestions are read again
+        ((MainActivity) requireActivity()).getBookSuggestions().invalidate();
     }
 
     /**
-     * Method to update a Book's Cover URI.
+     * Method to update a Book's series and volume index.
      * @param view Current view (View)
-     * @param uri New Cover URI (Uri)
+     * @param seriesName Name of the series or null to make the Book standalone (String)
+     * @param volumeIndex Volume index of the Book inside of the series (int)
+     */
+    private void updateBookSeries(View view, String seriesName, int volumeIndex) {
+        Integer seriesId = null;
+
+        if (seriesName != null) {
+            // Find the series by name or create it
+            Series series = seriesDao.getSeriesByName(seriesName);
+            if (series != null) {
+                seriesId = series.getId();
+            } else {
+                series = new Series();
+                series.setName(seriesName);
+                seriesId = (int) seriesDao.insert(series);
+            }
+        }
+
+        // Update series in database and drop series that lost their last volume
+        bookDao.setSeries(bookIdParam, seriesId, volumeIndex);
+        seriesDao.deleteEmptySeries();
+        // Update local book series
+        book.setSeriesId(seriesId);
+        book.setVolumeIndex(volumeIndex);
+        // Update series in view
+        updateSeriesText((TextView) view);
+    }
+
+    /**
+     * Method that sets the Series TextView text from the Book's series.
+     * @param seriesTextView Series TextView (TextView)
      */
-    private void updateBookCover(View view, Uri uri) {
-        // Get the uri string
-        String uriString = uri.toString();
+    private void updateSeriesText(TextView seriesTextView) {
+        // Standalone books show no series
+        if (book.getSeriesId() == null) {
+            seriesTextView.setText(R.string.series_none);
+            return;
+        }
 
+        // Look up the series name by ID
+        Series series = seriesDao.getSeries(book.getSeriesId());
+        String name = series != null ? series.getName() : "unknown";
+        seriesTextView.setText(String.format(Locale.getDefault(), "Series: %s #%d", name, book.getVolumeIndex()));
+    }
+
+    /**
+     * Method that binds a cover decoded at the detail size to an ImageView off the main thread.
+     * @param imageView Cover ImageView (ImageView)
+     * @param coverUri Cover URI of the Book or null (String)
+     */
+    private void loadCover(ImageView imageView, String coverUri) {
+        int sizePx = getResources().getDimensionPixelSize(R.dimen.book_detail_cover_size);
+        CoverThumbnailLoader.getInstance(requireContext()).load(imageView, coverUri, sizePx);
+    }
+
+    /**
+     * Method to update a Book's Cover URI.
+     * @param view Current view or null if the view is gone (View)
+     * @param uriString New Cover URI of a stored cover (String)
+     */
+    private void updateBookCover(View view, String uriString) {
         // Update uri in database
         bookDao.setCoverUri(bookIdParam, uriString);
         // Update uri in view
-        ImageView coverImageView = (ImageView) view;
-        coverImageView.setImageURI(uri);
+        if (view != null) {
+            loadCover((ImageView) view, uriString);
+        }
         // Update local book uri
         book.setCoverUri(uriString);
     }
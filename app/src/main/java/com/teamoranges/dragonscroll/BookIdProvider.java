@@ -0,0 +1,26 @@
+package com.teamoranges.dragonscroll;
+
+/**
+ * BookIdProvider is a java Interface implemented by adapters that can report the ID of the book
+ * at a position without binding it. {@link DetailPrefetcher} uses it to start loading a book's
+ * details as soon as its row is pressed.
+ * @author Joshua Duque
+ * @author Mateo Garcia
+ * @author Emiliano Garza
+ * @author Samatha Poole
+ * @author Alaine Liserio
+ * UTSA CS 3443 - Team Oranges Project
+ * Fall 2024
+ */
+public interface BookIdProvider {
+
+    // ID reported for rows that don't show a book, such as headers
+    int NO_BOOK_ID = -1;
+
+    /**
+     * Getter to return the ID of the book at a position.
+     * @param position Position of the item in the adapter (int)
+     * @return int of the book ID or NO_BOOK_ID if the item isn't a loaded book
+     */
+    int getBookId(int position);
+}
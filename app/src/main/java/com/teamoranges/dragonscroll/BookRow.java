@@ -0,0 +1,176 @@
+package com.teamoranges.dragonscroll;
+
+import androidx.core.text.PrecomputedTextCompat;
+
+import com.teamoranges.dragonscroll.models.Book;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * BookRow is a java class for the row model of the book lists. It wraps a {@link Book} together
+ * with the values its row displays, so they are worked out once per row instead of on every bind.
+ * @author Joshua Duque
+ * @author Mateo Garcia
+ * @author Emiliano Garza
+ * @author Samatha Poole
+ * @author Alaine Liserio
+ * UTSA CS 3443 - Team Oranges Project
+ * Fall 2024
+ */
+public class BookRow {
+
+    // Number of rows whose laid out text is kept, a few screens of rows at the largest text size
+    private static final int MAX_TEXT_ROWS = 200;
+    // Title and author laid out ahead of time on a background thread, by row
+    private static final TrimmableLruCache<BookRow, PrecomputedTexts> TEXTS =
+            new TrimmableLruCache<>("Row text", MAX_TEXT_ROWS);
+
+    static {
+        // Drop laid out text under memory pressure, rows show plain text until it's laid out again
+        CacheRegistry.register(TEXTS);
+    }
+
+    // Book shown by the row
+    private final Book book;
+    // Title text shown by the row
+    private final String displayTitle;
+
+    // Cached thumbnail cache key and the cover URI and size it was built for
+    private String coverKey;
+    private String coverKeyUri;
+    private int coverKeySizePx;
+
+    /**
+     * Constructor to initialize the {@link BookRow} object with the Book's own title.
+     * @param book Book shown by the row (Book)
+     */
+    public BookRow(Book book) {
+        this(book, book.getTitle());
+    }
+
+    /**
+     * Constructor to initialize the {@link BookRow} object.
+     * @param book Book shown by the row (Book)
+     * @param displayTitle Title text shown by the row (String)
+     */
+    public BookRow(Book book, String displayTitle) {
+        this.book = book;
+        this.displayTitle = displayTitle;
+    }
+
+    /**
+     * Method that wraps every Book of a list into a row.
+     * @param books Books to wrap (List of type Book)
+     * @return List of the rows in the same order
+     */
+    public static List<BookRow> wrap(List<Book> books) {
+        List<BookRow> rows = new ArrayList<>(books.size());
+        for (Book book : books) {
+            rows.add(new BookRow(book));
+        }
+        return rows;
+    }
+
+    /**
+     * Getter to return the Book shown by the row.
+     * @return Book of the row
+     */
+    public Book getBook() {
+        return book;
+    }
+
+    /**
+     * Getter to return the title text shown by the row.
+     * @return String of the title text
+     */
+    public String getDisplayTitle() {
+        return displayTitle;
+    }
+
+    /**
+     * Method that lays out the title and author text for the given text views' parameters and
+     * keeps it in the row text cache. It is meant to run on a background thread and does nothing
+     * if the text is cached for the same parameters.
+     * @param titleParams Text parameters of the title view (PrecomputedTextCompat.Params)
+     * @param authorParams Text parameters of the author view (PrecomputedTextCompat.Params)
+     */
+    public void precomputeText(PrecomputedTextCompat.Params titleParams, PrecomputedTextCompat.Params authorParams) {
+        PrecomputedTexts texts = TEXTS.get(this);
+        if (texts != null && texts.titleParams.equals(titleParams) && texts.authorParams.equals(authorParams)) {
+            return;
+        }
+
+        // Missing text is laid out as empty text, which is what the text views show for it
+        String title = displayTitle != null ? displayTitle : "";
+        String author = book.getAuthor() != null ? book.getAuthor() : "";
+        TEXTS.put(this, new PrecomputedTexts(
+                titleParams, PrecomputedTextCompat.create(title, titleParams),
+                authorParams, PrecomputedTextCompat.create(author, authorParams)));
+    }
+
+    /**
+     * Getter to return the title laid out for a text view's parameters.
+     * @param params Text parameters of the title view (PrecomputedTextCompat.Params)
+     * @return PrecomputedTextCompat of the title or null if it isn't cached for the parameters
+     */
+    public PrecomputedTextCompat getPrecomputedTitle(PrecomputedTextCompat.Params params) {
+        PrecomputedTexts texts = TEXTS.get(this);
+        return texts != null && texts.titleParams.equals(params) ? texts.title : null;
+    }
+
+    /**
+     * Getter to return the author laid out for a text view's parameters.
+     * @param params Text parameters of the author view (PrecomputedTextCompat.Params)
+     * @return PrecomputedTextCompat of the author or null if it isn't cached for the parameters
+     */
+    public PrecomputedTextCompat getPrecomputedAuthor(PrecomputedTextCompat.Params params) {
+        PrecomputedTexts texts = TEXTS.get(this);
+        return texts != null && texts.authorParams.equals(params) ? texts.author : null;
+    }
+
+    /**
+     * Getter to return the thumbnail cache key of the Book's cover. The key is built on first use
+     * and rebuilt only when the cover URI or the size changes.
+     * @param sizePx Size of the thumbnail in pixels (int)
+     * @return String of the cache key or null if the Book has no cover
+     */
+    public String getCoverKey(int sizePx) {
+        String coverUri = book.getCoverUri();
+
+        // Compare by reference, the cover URI string is only replaced when the cover changes
+        if (coverUri != coverKeyUri || sizePx != coverKeySizePx) {
+            coverKey = CoverThumbnailLoader.getKey(coverUri, sizePx);
+            coverKeyUri = coverUri;
+            coverKeySizePx = sizePx;
+        }
+
+        return coverKey;
+    }
+
+    /**
+     * PrecomputedTexts is a java class for the title and author of a row laid out together, so
+     * they are published to the main thread at once.
+     */
+    private static class PrecomputedTexts {
+        private final PrecomputedTextCompat.Params titleParams;
+        private final PrecomputedTextCompat title;
+        private final PrecomputedTextCompat.Params authorParams;
+        private final PrecomputedTextCompat author;
+
+        /**
+         * Constructor to initialize the PrecomputedTexts object.
+         * @param titleParams Parameters the title was laid out with (PrecomputedTextCompat.Params)
+         * @param title Laid out title (PrecomputedTextCompat)
+         * @param authorParams Parameters the author was laid out with (PrecomputedTextCompat.Params)
+         * @param author Laid out author (PrecomputedTextCompat)
+         */
+        private PrecomputedTexts(PrecomputedTextCompat.Params titleParams, PrecomputedTextCompat title,
+                                 PrecomputedTextCompat.Params authorParams, PrecomputedTextCompat author) {
+            this.titleParams = titleParams;
+            this.title = title;
+            this.authorParams = authorParams;
+            this.author = author;
+        }
+    }
+}
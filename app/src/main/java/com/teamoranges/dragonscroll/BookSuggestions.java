@@ -0,0 +1,143 @@
+package com.teamoranges.dragonscroll;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * BookSuggestions is a java class that holds the distinct titles and authors of the library in
+ * {@link PrefixIndex} objects, so the add dialog can suggest them while the user types without
+ * querying the database. The indexes are read once on the disk executor the first time they are
+ * needed and are kept up to date as books are added. Deleting or renaming a book may leave a
+ * title or author no other book has, so the indexes are dropped then and read again the next
+ * time they are needed.
+ * @author Joshua Duque
+ * @author Mateo Garcia
+ * @author Emiliano Garza
+ * @author Samatha Poole
+ * @author Alaine Liserio
+ * UTSA CS 3443 - Team Oranges Project
+ * Fall 2024
+ */
+public class BookSuggestions {
+
+    private final BookDao bookDao;
+
+    // Current indexes, replaced as a whole so lookups never see a half updated index
+    private volatile PrefixIndex titles = PrefixIndex.EMPTY;
+    private volatile PrefixIndex authors = PrefixIndex.EMPTY;
+
+    // Load state and the values added while loading, guarded by this
+    private int generation;
+    private boolean loadStarted;
+    private boolean loaded;
+    private final List<String> pendingTitles = new ArrayList<>();
+    private final List<String> pendingAuthors = new ArrayList<>();
+
+    /**
+     * Constructor to initialize the {@link BookSuggestions} object. Nothing is read until
+     * {@link #prepare()} is called.
+     * @param bookDao DAO to read the titles and authors from (BookDao)
+     */
+    public BookSuggestions(BookDao bookDao) {
+        this.bookDao = bookDao;
+    }
+
+    /**
+     * Method that starts reading the titles and authors on the disk executor, unless they were
+     * already read. Suggestions are empty until the read finishes.
+     */
+    public synchronized void prepare() {
+        if (loadStarted) {
+            return;
+        }
+        loadStarted = true;
+
+        int loadGeneration = generation;
+        AppExecutors.diskIO().execute(() -> load(loadGeneration));
+    }
+
+    /**
+     * Method that drops the indexes after books were deleted or renamed, or the library was
+     * cleared. They are read again on the next {@link #prepare()}.
+     */
+    public synchronized void invalidate() {
+        // A read still running was started before the change, its indexes are dropped too
+        generation++;
+        loadStarted = false;
+        loaded = false;
+        pendingTitles.clear();
+        pendingAuthors.clear();
+        titles = PrefixIndex.EMPTY;
+        authors = PrefixIndex.EMPTY;
+    }
+
+    /**
+     * Method that reads the titles and authors and builds the indexes, called on the disk
+     * executor.
+     * @param loadGeneration Generation the read was started in (int)
+     */
+    private void load(int loadGeneration) {
+        PrefixIndex loadedTitles = PrefixIndex.of(bookDao.getDistinctTitles());
+        PrefixIndex loadedAuthors = PrefixIndex.of(bookDao.getDistinctAuthors());
+
+        synchronized (this) {
+            if (loadGeneration != generation) {
+                return;
+            }
+
+            // Values added during the read may have been missed by it
+            for (String title : pendingTitles) {
+                loadedTitles = loadedTitles.plus(title);
+            }
+            for (String author : pendingAuthors) {
+                loadedAuthors = loadedAuthors.plus(author);
+            }
+            pendingTitles.clear();
+            pendingAuthors.clear();
+
+            titles = loadedTitles;
+            authors = loadedAuthors;
+            loaded = true;
+        }
+    }
+
+    /**
+     * Method that adds the title and author of a new book to the suggestions.
+     * @param title Title of the book or null (String)
+     * @param author Author of the book or null (String)
+     */
+    public synchronized void add(String title, String author) {
+        if (!loadStarted) {
+            // The first read will include the book
+            return;
+        }
+        if (!loaded) {
+            if (title != null) {
+                pendingTitles.add(title);
+            }
+            if (author != null) {
+                pendingAuthors.add(author);
+            }
+            return;
+        }
+
+        titles = titles.plus(title);
+        authors = authors.plus(author);
+    }
+
+    /**
+     * Getter to return the index of the distinct titles.
+     * @return PrefixIndex of the titles, empty until they are read
+     */
+    public PrefixIndex getTitles() {
+        return titles;
+    }
+
+    /**
+     * Getter to return the index of the distinct authors.
+     * @return PrefixIndex of the authors, empty until they are read
+     */
+    public PrefixIndex getAuthors() {
+        return authors;
+    }
+}
@@ -0,0 +1,96 @@
+package com.teamoranges.dragonscroll;
+
+import android.content.ComponentCallbacks2;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * CacheRegistry is a java class that keeps track of the app's in-memory caches. The
+ * {@link DragonScrollApplication} forwards memory pressure callbacks to it, and it trims every
+ * registered {@link TrimmableCache} in turn.
+ * @author Joshua Duque
+ * @author Mateo Garcia
+ * @author Emiliano Garza
+ * @author Samatha Poole
+ * @author Alaine Liserio
+ * UTSA CS 3443 - Team Oranges Project
+ * Fall 2024
+ */
+public final class CacheRegistry {
+
+    // Registered caches, iterated without locking while trimming
+    private static final List<TrimmableCache> CACHES = new CopyOnWriteArrayList<>();
+
+    /**
+     * Private constructor since CacheRegistry only has static members.
+     */
+    private CacheRegistry() {
+    }
+
+    /**
+     * Method that registers a cache so it is trimmed under memory pressure.
+     * @param cache Cache to register (TrimmableCache)
+     */
+    public static void register(TrimmableCache cache) {
+        if (!CACHES.contains(cache)) {
+            CACHES.add(cache);
+        }
+    }
+
+    /**
+     * Method that unregisters a cache.
+     * @param cache Cache to unregister (TrimmableCache)
+     */
+    public static void unregister(TrimmableCache cache) {
+        CACHES.remove(cache);
+    }
+
+    /**
+     * Getter to return a snapshot of the registered caches.
+     * @return List of the registered caches
+     */
+    public static List<TrimmableCache> getCaches() {
+        return new ArrayList<>(CACHES);
+    }
+
+    /**
+     * Method that trims every registered cache for a trim level.
+     * @param level Trim level reported by the system (int)
+     */
+    public static void trimAll(int level) {
+        for (TrimmableCache cache : CACHES) {
+            cache.trim(level);
+        }
+    }
+
+    /**
+     * Method that empties every registered cache.
+     */
+    public static void clearAll() {
+        trimAll(ComponentCallbacks2.TRIM_MEMORY_COMPLETE);
+    }
+
+    /**
+     * Method that describes the statistics of every registered cache, one line per cache.
+     * @return String of the cache statistics
+     */
+    public static String describe() {
+        StringBuilder builder = new StringBuilder();
+
+        for (TrimmableCache cache : CACHES) {
+            int hits = cache.hitCount();
+            int lookups = hits + cache.missCount();
+            float hitRate = lookups == 0 ? 0f : 100f * hits / lookups;
+
+            builder.append(String.format(Locale.US,
+                    "%s%n  size %d / %d, hit rate %.1f%% (%d / %d), evictions %d%n",
+                    cache.getName(), cache.size(), cache.maxSize(),
+                    hitRate, hits, lookups, cache.evictionCount()));
+        }
+
+        return builder.toString();
+    }
+}
@@ -0,0 +1,141 @@
+package com.teamoranges.dragonscroll;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.GridLayoutManager;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+
+/**
+ * CoverPrefetcher is a java class that extends {@link RecyclerView.OnScrollListener} to warm cover
+ * thumbnails for the items just past the visible range, in the direction the list is scrolling.
+ * It reads cover URIs from adapters implementing {@link CoverUriProvider} and cancels its pending
+ * prefetches when the scroll direction reverses.
+ * @author Joshua Duque
+ * @author Mateo Garcia
+ * @author Emiliano Garza
+ * @author Samatha Poole
+ * @author Alaine Liserio
+ * UTSA CS 3443 - Team Oranges Project
+ * Fall 2024
+ */
+public class CoverPrefetcher extends RecyclerView.OnScrollListener {
+
+    private final CoverThumbnailLoader loader;
+    // Number of rows to prefetch while dragging, doubled while flinging
+    private final int distance;
+
+    // Prefetches that haven't been cancelled yet
+    private final List<Future<?>> pending = new ArrayList<>();
+
+    // Scroll direction of the last prefetch, 1 for down, -1 for up and 0 before the first one
+    private int direction;
+    // Last position that has been prefetched in the current direction
+    private int prefetchedUntil = RecyclerView.NO_POSITION;
+    // Whether the list is flinging
+    private boolean settling;
+
+    /**
+     * Constructor to initialize the {@link CoverPrefetcher} object.
+     * @param loader Loader that decodes and caches the thumbnails (CoverThumbnailLoader)
+     * @param distance Number of rows to prefetch ahead of the visible range (int)
+     */
+    public CoverPrefetcher(CoverThumbnailLoader loader, int distance) {
+        this.loader = loader;
+        this.distance = Math.max(1, distance);
+    }
+
+    /**
+     * Method that runs when the scroll state of the RecyclerView changes.
+     * @param recyclerView The RecyclerView whose scroll state has changed.
+     * @param newState The updated scroll state.
+     */
+    @Override
+    public void onScrollStateChanged(@NonNull RecyclerView recyclerView, int newState) {
+        settling = newState == RecyclerView.SCROLL_STATE_SETTLING;
+    }
+
+    /**
+     * Method that runs when the RecyclerView has been scrolled.
+     * @param recyclerView The RecyclerView which scrolled.
+     * @param dx The amount of horizontal scroll.
+     * @param dy The amount of vertical scroll.
+     */
+    @Override
+    public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+        if (dy == 0) {
+            return;
+        }
+
+        // Only adapters that can report cover URIs are prefetched
+        RecyclerView.Adapter<?> adapter = recyclerView.getAdapter();
+        RecyclerView.LayoutManager layoutManager = recyclerView.getLayoutManager();
+        if (!(adapter instanceof CoverUriProvider) || !(layoutManager instanceof LinearLayoutManager)) {
+            return;
+        }
+
+        // Cancel the prefetches behind the user when the direction reverses
+        int newDirection = dy > 0 ? 1 : -1;
+        if (newDirection != direction) {
+            cancel();
+            direction = newDirection;
+        }
+
+        // Prefetch past the edge of the visible range in the scroll direction
+        LinearLayoutManager linearLayoutManager = (LinearLayoutManager) layoutManager;
+        int edge = direction > 0
+                ? linearLayoutManager.findLastVisibleItemPosition()
+                : linearLayoutManager.findFirstVisibleItemPosition();
+        if (edge == RecyclerView.NO_POSITION) {
+            return;
+        }
+
+        // Thumbnails are decoded at the adapter's current size, which changes with the layout
+        CoverUriProvider provider = (CoverUriProvider) adapter;
+        int sizePx = provider.getCoverSizePx();
+        if (sizePx <= 0) {
+            return;
+        }
+
+        // Grids prefetch whole rows, but never more than the cache can hold next to the
+        // visible thumbnails
+        int spanCount = layoutManager instanceof GridLayoutManager
+                ? ((GridLayoutManager) layoutManager).getSpanCount()
+                : 1;
+        int count = (settling ? distance * 2 : distance) * spanCount;
+        count = Math.max(1, Math.min(count, loader.getPrefetchCapacity(sizePx) / 2));
+        int first = edge + direction;
+        int last = Math.max(0, Math.min(adapter.getItemCount() - 1, edge + direction * count));
+
+        for (int position = first; direction > 0 ? position <= last : position >= last; position += direction) {
+            // Skip the positions an earlier scroll event already prefetched
+            if (prefetchedUntil != RecyclerView.NO_POSITION
+                    && (direction > 0 ? position <= prefetchedUntil : position >= prefetchedUntil)) {
+                continue;
+            }
+
+            Future<?> future = loader.prefetch(provider.getCoverUri(position), sizePx);
+            if (future != null) {
+                pending.add(future);
+            }
+            prefetchedUntil = position;
+        }
+
+        // Forget the prefetches that are done
+        pending.removeIf(Future::isDone);
+    }
+
+    /**
+     * Method that cancels every pending prefetch.
+     */
+    public void cancel() {
+        for (Future<?> future : pending) {
+            future.cancel(false);
+        }
+        pending.clear();
+        prefetchedUntil = RecyclerView.NO_POSITION;
+    }
+}
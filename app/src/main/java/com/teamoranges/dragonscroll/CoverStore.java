@@ -0,0 +1,245 @@
+package com.teamoranges.dragonscroll;
+
+import android.content.ContentResolver;
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.net.Uri;
+import android.os.Build;
+import android.util.Log;
+
+import androidx.annotation.WorkerThread;
+
+import com.teamoranges.dragonscroll.models.Book;
+import com.teamoranges.dragonscroll.models.BookUpdate;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * CoverStore is a java class that copies cover images picked by the user into app-private
+ * storage. Images are decoded bounded to {@link #MAX_DIMENSION} pixels and re-encoded as WebP,
+ * so displaying a cover is a small local file read instead of a content provider round trip.
+ * @author Joshua Duque
+ * @author Mateo Garcia
+ * @author Emiliano Garza
+ * @author Samatha Poole
+ * @author Alaine Liserio
+ * UTSA CS 3443 - Team Oranges Project
+ * Fall 2024
+ */
+public final class CoverStore {
+
+    // Largest width or height of a stored cover in pixels
+    public static final int MAX_DIMENSION = 1024;
+    // WebP quality of a stored cover
+    private static final int WEBP_QUALITY = 80;
+    // Directory inside of the app's files directory that holds the covers
+    private static final String COVERS_DIRECTORY = "covers";
+
+    private static final String TAG = "CoverStore";
+
+    /**
+     * Private constructor since CoverStore only has static members.
+     */
+    private CoverStore() {
+    }
+
+    /**
+     * Method that copies an image into app storage as a bounded WebP cover.
+     * @param context Context used to open the image and find the files directory (Context)
+     * @param source URI of the picked image (Uri)
+     * @param bookId ID of the Book the cover belongs to (int)
+     * @return String of the file URI of the stored cover
+     * @throws IOException if the image can't be read, decoded or written
+     */
+    @WorkerThread
+    public static String ingest(Context context, Uri source, int bookId) throws IOException {
+        ContentResolver resolver = context.getContentResolver();
+
+        // Read only the image bounds first
+        BitmapFactory.Options options = new BitmapFactory.Options();
+        options.inJustDecodeBounds = true;
+        try (InputStream input = resolver.openInputStream(source)) {
+            if (input == null) {
+                throw new IOException("Unable to open " + source);
+            }
+            BitmapFactory.decodeStream(input, null, options);
+        }
+        if (options.outWidth <= 0 || options.outHeight <= 0) {
+            throw new IOException("Unable to decode " + source);
+        }
+
+        // Decode subsampled close to the bound so huge photos never load at full size
+        options.inSampleSize = calculateInSampleSize(options.outWidth, options.outHeight, MAX_DIMENSION);
+        options.inJustDecodeBounds = false;
+        Bitmap bitmap;
+        try (InputStream input = resolver.openInputStream(source)) {
+            bitmap = BitmapFactory.decodeStream(input, null, options);
+        }
+        if (bitmap == null) {
+            throw new IOException("Unable to decode " + source);
+        }
+
+        // Scale the rest of the way down to the bound
+        Bitmap scaled = scaleToBound(bitmap, MAX_DIMENSION);
+        if (scaled != bitmap) {
+            bitmap.recycle();
+        }
+
+        // Write to a temporary file and rename it so a crash never leaves half a cover
+        File directory = getCoversDirectory(context);
+        File target = new File(directory, "book_" + bookId + "_" + System.currentTimeMillis() + ".webp");
+        File temporary = new File(directory, target.getName() + ".tmp");
+        try (OutputStream output = new FileOutputStream(temporary)) {
+            if (!scaled.compress(getWebpFormat(), WEBP_QUALITY, output)) {
+                throw new IOException("Unable to encode cover for book " + bookId);
+            }
+        } finally {
+            scaled.recycle();
+        }
+        if (!temporary.renameTo(target)) {
+            temporary.delete();
+            throw new IOException("Unable to store cover for book " + bookId);
+        }
+
+        return Uri.fromFile(target).toString();
+    }
+
+    /**
+     * Method that deletes a stored cover. Covers that aren't in app storage are left alone.
+     * @param context Context used to find the files directory (Context)
+     * @param coverUri Cover URI of a Book (String)
+     */
+    public static void delete(Context context, String coverUri) {
+        File file = toStoredFile(context, coverUri);
+        if (file != null && !file.delete()) {
+            Log.w(TAG, "Unable to delete " + file);
+        }
+    }
+
+    /**
+     * Method that deletes every stored cover.
+     * @param context Context used to find the files directory (Context)
+     */
+    public static void deleteAll(Context context) {
+        File[] files = getCoversDirectory(context).listFiles();
+        if (files == null) {
+            return;
+        }
+        for (File file : files) {
+            file.delete();
+        }
+    }
+
+    /**
+     * Method that copies the covers of older versions, which were content URIs with a
+     * persisted read permission, into app storage. Covers that can no longer be read keep their
+     * old URI.
+     * @param context Context used to open the images (Context)
+     * @param bookDao Book DAO used to find and update the covers (BookDao)
+     */
+    @WorkerThread
+    public static void migrateContentCovers(Context context, BookDao bookDao) {
+        List<Book> books = bookDao.getBooksWithContentCovers();
+        List<BookUpdate> updates = new ArrayList<>(books.size());
+
+        for (Book book : books) {
+            try {
+                String coverUri = ingest(context, Uri.parse(book.getCoverUri()), book.getId());
+                updates.add(new BookUpdate(book.getId()).setCoverUri(coverUri));
+            } catch (IOException | SecurityException exception) {
+                Log.w(TAG, "Unable to migrate cover of book " + book.getId(), exception);
+            }
+        }
+
+        // Point every migrated book at its stored cover in a single transaction
+        bookDao.updateAll(updates);
+    }
+
+    /**
+     * Method that returns the stored cover file of a cover URI.
+     * @param context Context used to find the files directory (Context)
+     * @param coverUri Cover URI of a Book (String)
+     * @return File of the stored cover or null if the URI isn't a stored cover
+     */
+    public static File toStoredFile(Context context, String coverUri) {
+        if (coverUri == null || !coverUri.startsWith("file:")) {
+            return null;
+        }
+
+        String path = Uri.parse(coverUri).getPath();
+        if (path == null) {
+            return null;
+        }
+
+        File file = new File(path);
+        File directory = getCoversDirectory(context);
+        return directory.equals(file.getParentFile()) ? file : null;
+    }
+
+    /**
+     * Method that calculates the largest power of two subsample that keeps both sides of an
+     * image at or above the bound.
+     * @param width Width of the image in pixels (int)
+     * @param height Height of the image in pixels (int)
+     * @param bound Target size of the longest side in pixels (int)
+     * @return int of the subsample for {@link BitmapFactory.Options#inSampleSize}
+     */
+    public static int calculateInSampleSize(int width, int height, int bound) {
+        int inSampleSize = 1;
+        int longest = Math.max(width, height);
+        while (longest / (inSampleSize * 2) >= bound) {
+            inSampleSize *= 2;
+        }
+        return inSampleSize;
+    }
+
+    /**
+     * Method that scales a Bitmap down so its longest side fits the bound.
+     * @param bitmap Bitmap to scale (Bitmap)
+     * @param bound Largest allowed side in pixels (int)
+     * @return Bitmap that fits the bound, the same Bitmap if it already fits
+     */
+    private static Bitmap scaleToBound(Bitmap bitmap, int bound) {
+        int longest = Math.max(bitmap.getWidth(), bitmap.getHeight());
+        if (longest <= bound) {
+            return bitmap;
+        }
+
+        float scale = (float) bound / longest;
+        int width = Math.max(1, Math.round(bitmap.getWidth() * scale));
+        int height = Math.max(1, Math.round(bitmap.getHeight() * scale));
+        return Bitmap.createScaledBitmap(bitmap, width, height, true);
+    }
+
+    /**
+     * Getter to return the lossy WebP format of the running API level.
+     * @return Bitmap.CompressFormat for lossy WebP
+     */
+    @SuppressWarnings("deprecation")
+    private static Bitmap.CompressFormat getWebpFormat() {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.R) {
+            return Bitmap.CompressFormat.WEBP_LOSSY;
+        }
+        return Bitmap.CompressFormat.WEBP;
+    }
+
+    /**
+     * Getter to return the covers directory, creating it if needed.
+     * @param context Context used to find the files directory (Context)
+     * @return File of the covers directory
+     */
+    private static File getCoversDirectory(Context context) {
+        File directory = new File(context.getFilesDir(), COVERS_DIRECTORY);
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            Log.w(TAG, "Unable to create " + directory);
+        }
+        return directory;
+    }
+}
@@ -0,0 +1,257 @@
+package com.teamoranges.dragonscroll;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.net.Uri;
+import android.util.Log;
+import android.widget.ImageView;
+
+import androidx.annotation.WorkerThread;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * CoverThumbnailLoader is a java class that decodes cover thumbnails off the main thread and
+ * keeps them in a memory cache bounded by bytes. Views are bound through
+ * {@link #load(ImageView, String, int)} and upcoming items can be warmed through
+ * {@link #prefetch(String, int)}.
+ * @author Joshua Duque
+ * @author Mateo Garcia
+ * @author Emiliano Garza
+ * @author Samatha Poole
+ * @author Alaine Liserio
+ * UTSA CS 3443 - Team Oranges Project
+ * Fall 2024
+ */
+public final class CoverThumbnailLoader {
+
+    // Placeholder shown while a thumbnail decodes or when a book has no cover
+    public static final int PLACEHOLDER = android.R.drawable.sym_def_app_icon;
+
+    // Fraction of the app's heap the thumbnail cache may use
+    private static final int CACHE_HEAP_DIVISOR = 8;
+    // Number of decoding threads
+    private static final int DECODE_THREADS = 2;
+
+    // Key tag of views that show the placeholder because their book has no cover
+    private static final String NO_COVER_KEY = "no-cover";
+
+    private static final String TAG = "CoverThumbnailLoader";
+
+    private static CoverThumbnailLoader instance;
+
+    private final Context context;
+    private final TrimmableLruCache<String, Bitmap> cache;
+    private final ExecutorService decodeExecutor = Executors.newFixedThreadPool(DECODE_THREADS);
+    // Told about decodes so frames drawn meanwhile are attributed to image loading
+    private final FrameTelemetry frameTelemetry;
+
+    /**
+     * Constructor to initialize the {@link CoverThumbnailLoader} object.
+     * @param context Application context used to open content URIs (Context)
+     */
+    private CoverThumbnailLoader(Context context) {
+        this.context = context;
+        frameTelemetry = FrameTelemetry.getInstance(context);
+
+        // Bound the cache by bytes so large thumbnails count for more
+        int maxBytes = (int) (Runtime.getRuntime().maxMemory() / CACHE_HEAP_DIVISOR);
+        cache = new TrimmableLruCache<String, Bitmap>("Cover thumbnails (bytes)", maxBytes) {
+            @Override
+            protected int sizeOf(String key, Bitmap bitmap) {
+                return bitmap.getAllocationByteCount();
+            }
+        };
+
+        // Release thumbnails under memory pressure
+        CacheRegistry.register(cache);
+    }
+
+    /**
+     * Getter to return the shared loader, creating it on first use.
+     * @param context Any context of the app (Context)
+     * @return the app's CoverThumbnailLoader
+     */
+    public static synchronized CoverThumbnailLoader getInstance(Context context) {
+        if (instance == null) {
+            instance = new CoverThumbnailLoader(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    /**
+     * Method that binds a cover thumbnail to an ImageView.
+     * @param imageView ImageView to bind (ImageView)
+     * @param coverUri Cover URI of a Book or null (String)
+     * @param sizePx Size of the thumbnail in pixels (int)
+     */
+    public void load(ImageView imageView, String coverUri, int sizePx) {
+        load(imageView, getKey(coverUri, sizePx), coverUri, sizePx);
+    }
+
+    /**
+     * Method that binds a cover thumbnail to an ImageView with a precomputed cache key. Cached
+     * thumbnails are set right away, others show the placeholder until they are decoded. A
+     * recycled view's previous request is cancelled so it never shows a stale cover, and binding
+     * the key a view already shows or waits for does nothing. A failed decode keeps the
+     * placeholder and lets the next bind try again.
+     * @param imageView ImageView to bind (ImageView)
+     * @param key Cache key from {@link #getKey(String, int)} (String)
+     * @param coverUri Cover URI of a Book or null (String)
+     * @param sizePx Size of the thumbnail in pixels (int)
+     */
+    public void load(ImageView imageView, String key, String coverUri, int sizePx) {
+        // Nothing to do if the view already shows or waits for this cover
+        String viewKey = key != null ? key : NO_COVER_KEY;
+        if (viewKey.equals(imageView.getTag(R.id.cover_key_tag))) {
+            return;
+        }
+
+        // Cancel the view's previous request
+        Future<?> previous = (Future<?>) imageView.getTag(R.id.cover_request_tag);
+        if (previous != null) {
+            previous.cancel(false);
+            imageView.setTag(R.id.cover_request_tag, null);
+        }
+        imageView.setTag(R.id.cover_key_tag, viewKey);
+
+        // Books without a cover show the placeholder
+        if (key == null) {
+            imageView.setImageResource(PLACEHOLDER);
+            return;
+        }
+
+        // Set cached thumbnails right away
+        Bitmap cached = cache.get(key);
+        if (cached != null) {
+            imageView.setImageBitmap(cached);
+            return;
+        }
+
+        // Decode in the background and only set the result if the view still wants it
+        imageView.setImageResource(PLACEHOLDER);
+        Future<?> request = decodeExecutor.submit(() -> {
+            Bitmap bitmap = getOrDecode(key, coverUri, sizePx);
+            AppExecutors.runOnMainThread(() -> {
+                if (!key.equals(imageView.getTag(R.id.cover_key_tag))) {
+                    return;
+                }
+                imageView.setTag(R.id.cover_request_tag, null);
+                if (bitmap != null) {
+                    imageView.setImageBitmap(bitmap);
+                } else {
+                    // Keep the placeholder but forget the key, so the next bind tries again
+                    imageView.setTag(R.id.cover_key_tag, null);
+                }
+            });
+        });
+        imageView.setTag(R.id.cover_request_tag, request);
+    }
+
+    /**
+     * Method that decodes a thumbnail into the cache without binding it.
+     * @param coverUri Cover URI of a Book or null (String)
+     * @param sizePx Size of the thumbnail in pixels (int)
+     * @return Future of the decode, or null if there is nothing to decode
+     */
+    public Future<?> prefetch(String coverUri, int sizePx) {
+        String key = getKey(coverUri, sizePx);
+        if (key == null || cache.get(key) != null) {
+            return null;
+        }
+
+        return decodeExecutor.submit(() -> {
+            getOrDecode(key, coverUri, sizePx);
+        });
+    }
+
+    /**
+     * Getter to return how many thumbnails of a size fit into half of the cache. The other half
+     * is left for the thumbnails on screen.
+     * @param sizePx Size of the thumbnail in pixels (int)
+     * @return int of the number of thumbnails that can be prefetched
+     */
+    public int getPrefetchCapacity(int sizePx) {
+        // ARGB_8888 uses four bytes per pixel
+        long bytesPerThumbnail = Math.max(1L, 4L * sizePx * sizePx);
+        return (int) Math.min(Integer.MAX_VALUE, cache.maxSize() / 2 / bytesPerThumbnail);
+    }
+
+    /**
+     * Method that returns a cached thumbnail or decodes and caches it.
+     * @param key Cache key of the thumbnail (String)
+     * @param coverUri Cover URI of a Book (String)
+     * @param sizePx Size of the thumbnail in pixels (int)
+     * @return Bitmap of the thumbnail or null if it can't be decoded
+     */
+    @WorkerThread
+    private Bitmap getOrDecode(String key, String coverUri, int sizePx) {
+        // Another request may have decoded it in the meantime
+        Bitmap cached = cache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        frameTelemetry.beginImageLoad();
+        try {
+            Bitmap bitmap = decode(coverUri, sizePx);
+            if (bitmap != null) {
+                cache.put(key, bitmap);
+            }
+            return bitmap;
+        } finally {
+            frameTelemetry.endImageLoad();
+        }
+    }
+
+    /**
+     * Method that decodes a cover subsampled to a thumbnail size.
+     * @param coverUri Cover URI of a Book (String)
+     * @param sizePx Size of the thumbnail in pixels (int)
+     * @return Bitmap of the thumbnail or null if it can't be decoded
+     */
+    @WorkerThread
+    private Bitmap decode(String coverUri, int sizePx) {
+        Uri uri = Uri.parse(coverUri);
+
+        try {
+            // Read only the image bounds first
+            BitmapFactory.Options options = new BitmapFactory.Options();
+            options.inJustDecodeBounds = true;
+            try (InputStream input = context.getContentResolver().openInputStream(uri)) {
+                BitmapFactory.decodeStream(input, null, options);
+            }
+            if (options.outWidth <= 0 || options.outHeight <= 0) {
+                return null;
+            }
+
+            // Decode subsampled close to the thumbnail size
+            options.inSampleSize = CoverStore.calculateInSampleSize(options.outWidth, options.outHeight, sizePx);
+            options.inJustDecodeBounds = false;
+            try (InputStream input = context.getContentResolver().openInputStream(uri)) {
+                return BitmapFactory.decodeStream(input, null, options);
+            }
+        } catch (IOException | SecurityException exception) {
+            Log.d(TAG, "Unable to decode " + coverUri, exception);
+            return null;
+        }
+    }
+
+    /**
+     * Method that builds the cache key of a thumbnail.
+     * @param coverUri Cover URI of a Book or null (String)
+     * @param sizePx Size of the thumbnail in pixels (int)
+     * @return String of the cache key or null if there is no cover
+     */
+    public static String getKey(String coverUri, int sizePx) {
+        if (coverUri == null || coverUri.isEmpty()) {
+            return null;
+        }
+        return sizePx + "@" + coverUri;
+    }
+}
@@ -0,0 +1,28 @@
+package com.teamoranges.dragonscroll;
+
+/**
+ * CoverUriProvider is a java Interface implemented by adapters that can report the cover URI of
+ * the item at a position without binding it. {@link CoverPrefetcher} uses it to warm thumbnails
+ * ahead of the scroll.
+ * @author Joshua Duque
+ * @author Mateo Garcia
+ * @author Emiliano Garza
+ * @author Samatha Poole
+ * @author Alaine Liserio
+ * UTSA CS 3443 - Team Oranges Project
+ * Fall 2024
+ */
+public interface CoverUriProvider {
+    /**
+     * Getter to return the cover URI of the item at a position.
+     * @param position Position of the item in the adapter (int)
+     * @return String of the cover URI or null if the item has no cover
+     */
+    String getCoverUri(int position);
+
+    /**
+     * Getter to return the size the adapter's cover thumbnails are decoded at.
+     * @return int of the thumbnail size in pixels, or 0 before the first view holder exists
+     */
+    int getCoverSizePx();
+}
@@ -0,0 +1,245 @@
+package com.teamoranges.dragonscroll;
+
+import android.database.Cursor;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.WorkerThread;
+import androidx.room.RoomDatabase;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+
+import java.util.Locale;
+
+/**
+ * DatabaseTuning is a java class for a SQLite tuning profile of the {@link AppDatabase}. The
+ * journal mode is set on the Room builder, and the other settings are applied by a
+ * {@link RoomDatabase.Callback} every time the database is opened. Room only hands the callback
+ * the primary connection, and neither Room nor the framework can run a PRAGMA on the read
+ * connections WAL adds, so the profile only holds settings that reach every query: the journal
+ * mode and auto vacuum mode are stored in the file, and the synchronous mode only matters to
+ * writes, which all run on the primary connection. Read side settings such as cache_size or
+ * mmap_size would only tune one of the connections the list queries run on, so they are left
+ * at SQLite's defaults. The auto vacuum mode is changed by
+ * {@link #runMaintenance(SupportSQLiteDatabase)}, which rewrites the file and runs in the
+ * background.
+ * @author Joshua Duque
+ * @author Mateo Garcia
+ * @author Emiliano Garza
+ * @author Samatha Poole
+ * @author Alaine Liserio
+ * UTSA CS 3443 - Team Oranges Project
+ * Fall 2024
+ */
+public class DatabaseTuning {
+
+    private static final String TAG = "DatabaseTuning";
+
+    // PRAGMAs reported by the diagnostics, in display order
+    private static final String[] DIAGNOSTIC_PRAGMAS = {
+            "journal_mode", "synchronous", "cache_size", "mmap_size", "temp_store", "auto_vacuum",
+            "page_size", "page_count", "freelist_count"
+    };
+
+    /**
+     * Profile the app's database is opened with. WAL lets the list queries read while a write is
+     * in progress, NORMAL sync is durable in WAL mode apart from the last commits on power loss,
+     * and incremental auto vacuum gives pages back after books are deleted without rewriting the
+     * whole file.
+     */
+    public static final DatabaseTuning DEFAULT = new Builder()
+            .setJournalMode(RoomDatabase.JournalMode.WRITE_AHEAD_LOGGING)
+            .setSynchronous("NORMAL")
+            .setAutoVacuum("INCREMENTAL")
+            .build();
+
+    /**
+     * Profile with SQLite's own defaults and a rollback journal, used as the untuned baseline of
+     * the benchmarks. Leaving the settings unset isn't enough, since Room would still pick WAL.
+     */
+    public static final DatabaseTuning UNTUNED = new Builder()
+            .setJournalMode(RoomDatabase.JournalMode.TRUNCATE)
+            .setSynchronous("FULL")
+            .setAutoVacuum("NONE")
+            .build();
+
+    // Settings of the profile, null settings are left at their defaults
+    private final RoomDatabase.JournalMode journalMode;
+    private final String synchronous;
+    private final String autoVacuum;
+
+    /**
+     * Constructor to initialize the {@link DatabaseTuning} object from its builder.
+     * @param builder Builder holding the settings (Builder)
+     */
+    private DatabaseTuning(Builder builder) {
+        journalMode = builder.journalMode;
+        synchronous = builder.synchronous;
+        autoVacuum = builder.autoVacuum;
+    }
+
+    /**
+     * Method that applies the profile to a Room database builder.
+     * @param builder Builder of the database (RoomDatabase.Builder)
+     * @param <T> Type of the database
+     * @return the same builder
+     */
+    public <T extends RoomDatabase> RoomDatabase.Builder<T> applyTo(RoomDatabase.Builder<T> builder) {
+        if (journalMode != null) {
+            // The journal mode goes through Room, so the framework sizes its connection pool for it
+            builder.setJournalMode(journalMode);
+        }
+        return builder.addCallback(new RoomDatabase.Callback() {
+            @Override
+            public void onOpen(@NonNull SupportSQLiteDatabase db) {
+                applyPragmas(db);
+            }
+        });
+    }
+
+    /**
+     * Method that applies the connection settings of the profile to an open database. The
+     * synchronous mode is per connection, and it's applied to the connection Room opens the
+     * database with, which is the one every write runs on. Nothing here rewrites the file, so
+     * it's cheap enough for the first open on the main thread.
+     * @param db Open database (SupportSQLiteDatabase)
+     */
+    private void applyPragmas(SupportSQLiteDatabase db) {
+        if (synchronous != null) {
+            setPragma(db, "synchronous", synchronous);
+        }
+    }
+
+    /**
+     * Method that switches the file to the profile's auto vacuum mode and gives back the pages
+     * freed since the last run. Switching the mode of an existing file takes a VACUUM, which
+     * rewrites the whole file once, so call this on the disk executor and never on the main thread.
+     * @param db Open database (SupportSQLiteDatabase)
+     */
+    @WorkerThread
+    public void runMaintenance(SupportSQLiteDatabase db) {
+        if (autoVacuum == null) {
+            return;
+        }
+        if (!getAutoVacuumCode(autoVacuum).equals(queryPragma(db, "auto_vacuum"))) {
+            // The new mode only takes effect after the VACUUM
+            setPragma(db, "auto_vacuum", autoVacuum);
+            db.execSQL("VACUUM");
+        }
+        if ("INCREMENTAL".equalsIgnoreCase(autoVacuum)) {
+            queryPragma(db, "incremental_vacuum");
+        }
+    }
+
+    /**
+     * Method that maps an auto vacuum mode to the number the auto_vacuum PRAGMA reports it as.
+     * @param autoVacuum Auto vacuum mode (String)
+     * @return String of the reported number
+     */
+    private static String getAutoVacuumCode(String autoVacuum) {
+        switch (autoVacuum.toUpperCase(Locale.ROOT)) {
+            case "FULL":
+                return "1";
+            case "INCREMENTAL":
+                return "2";
+            default:
+                return "0";
+        }
+    }
+
+    /**
+     * Method that sets a PRAGMA, logging instead of failing if this SQLite build rejects it.
+     * @param db Open database (SupportSQLiteDatabase)
+     * @param name Name of the PRAGMA (String)
+     * @param value Value of the PRAGMA (String)
+     */
+    private static void setPragma(SupportSQLiteDatabase db, String name, String value) {
+        try {
+            // Some PRAGMAs return the new value, so they are run as queries
+            queryPragma(db, name + " = " + value);
+        } catch (RuntimeException e) {
+            Log.w(TAG, "Could not set PRAGMA " + name, e);
+        }
+    }
+
+    /**
+     * Method that runs a PRAGMA and returns the first column of its first row.
+     * @param db Open database (SupportSQLiteDatabase)
+     * @param pragma PRAGMA to run, without the PRAGMA keyword (String)
+     * @return String of the value or null if the PRAGMA returned no rows
+     */
+    private static String queryPragma(SupportSQLiteDatabase db, String pragma) {
+        try (Cursor cursor = db.query("PRAGMA " + pragma)) {
+            return cursor.moveToFirst() ? cursor.getString(0) : null;
+        }
+    }
+
+    /**
+     * Method that reports the effective values of the tuned PRAGMAs and the size of the file.
+     * The values are read inside a transaction, so they come from the primary connection the
+     * profile was applied to. The cache, memory map and temporary storage values are the
+     * SQLite build's defaults, the same on every connection.
+     * @param db Open database (SupportSQLiteDatabase)
+     * @return String with one "name = value" line per PRAGMA
+     */
+    public static String describe(SupportSQLiteDatabase db) {
+        StringBuilder builder = new StringBuilder();
+        db.beginTransactionNonExclusive();
+        try {
+            for (String pragma : DIAGNOSTIC_PRAGMAS) {
+                builder.append(pragma).append(" = ").append(queryPragma(db, pragma)).append('\n');
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Builder is a java class used to create {@link DatabaseTuning} profiles. Settings that
+     * aren't set are left at their defaults.
+     */
+    public static class Builder {
+        private RoomDatabase.JournalMode journalMode;
+        private String synchronous;
+        private String autoVacuum;
+
+        /**
+         * Setter to choose the journal mode.
+         * @param journalMode Journal mode (RoomDatabase.JournalMode)
+         * @return this Builder
+         */
+        public Builder setJournalMode(RoomDatabase.JournalMode journalMode) {
+            this.journalMode = journalMode;
+            return this;
+        }
+
+        /**
+         * Setter to choose the synchronous mode, for example OFF, NORMAL or FULL.
+         * @param synchronous Synchronous mode (String)
+         * @return this Builder
+         */
+        public Builder setSynchronous(String synchronous) {
+            this.synchronous = synchronous;
+            return this;
+        }
+
+        /**
+         * Setter to choose the auto vacuum mode, NONE, FULL or INCREMENTAL.
+         * @param autoVacuum Auto vacuum mode (String)
+         * @return this Builder
+         */
+        public Builder setAutoVacuum(String autoVacuum) {
+            this.autoVacuum = autoVacuum;
+            return this;
+        }
+
+        /**
+         * Method that creates the profile.
+         * @return DatabaseTuning with the chosen settings
+         */
+        public DatabaseTuning build() {
+            return new DatabaseTuning(this);
+        }
+    }
+}
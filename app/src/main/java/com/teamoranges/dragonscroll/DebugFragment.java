@@ -0,0 +1,133 @@
+package com.teamoranges.dragonscroll;
+
+import android.content.ComponentCallbacks2;
+import android.content.Context;
+import android.os.Bundle;
+import android.util.Log;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.Button;
+import android.widget.TextView;
+import android.widget.Toast;
+
+import androidx.fragment.app.Fragment;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * DebugFragment is a java class that represents the debug screen reached from the settings of
+ * debuggable builds. It shows the size, hit rate and eviction count of every cache in the
+ * {@link CacheRegistry}, the latency histograms of the {@link Instrumentation} hot paths, the
+ * frame time summaries of the {@link FrameTelemetry} and the effective SQLite settings of the
+ * {@link AppDatabase}. The histograms can be dumped as a JSON
+ * report to the app's files directory.
+ * @author Joshua Duque
+ * @author Mateo Garcia
+ * @author Emiliano Garza
+ * @author Samatha Poole
+ * @author Alaine Liserio
+ * UTSA CS 3443 - Team Oranges Project
+ * Fall 2024
+ */
+public class DebugFragment extends Fragment {
+
+    private static final String TAG = "DebugFragment";
+
+    private TextView statsTextView;
+
+    /**
+     * Constructor for the DebugFragment
+     */
+    public DebugFragment() {
+        // Required empty public constructor
+    }
+
+    /**
+     * Method that runs when a new view is created
+     * @param inflater The LayoutInflater object that can be used to inflate
+     * any views in the fragment,
+     * @param container If non-null, this is the parent view that the fragment's
+     * UI should be attached to.  The fragment should not add the view itself,
+     * but this can be used to generate the LayoutParams of the view.
+     * @param savedInstanceState If non-null, this fragment is being re-constructed
+     * from a previous saved state as given here.
+     * @return View that is created
+     */
+    @Override
+    public View onCreateView(LayoutInflater inflater, ViewGroup container,
+                             Bundle savedInstanceState) {
+        // Inflate the layout for this fragment
+        View view = inflater.inflate(R.layout.fragment_debug, container, false);
+
+        // Get statistics TextView
+        statsTextView = view.findViewById(R.id.statsTextView);
+
+        // Set refresh on click listener
+        Button refreshButton = view.findViewById(R.id.refreshButton);
+        refreshButton.setOnClickListener(v -> updateStats());
+
+        // Set trim on click listener, which simulates background memory pressure
+        Button trimButton = view.findViewById(R.id.trimButton);
+        trimButton.setOnClickListener(v -> {
+            CacheRegistry.trimAll(ComponentCallbacks2.TRIM_MEMORY_BACKGROUND);
+            updateStats();
+        });
+
+        // Set reset on click listener, which clears the latency histograms
+        Button resetButton = view.findViewById(R.id.resetButton);
+        resetButton.setOnClickListener(v -> {
+            Instrumentation.resetAll();
+            updateStats();
+        });
+
+        // Set dump on click listener
+        Button dumpButton = view.findViewById(R.id.dumpButton);
+        dumpButton.setOnClickListener(v -> dumpReport());
+
+        // Show the current statistics
+        updateStats();
+
+        return view;
+    }
+
+    /**
+     * Method that sets the statistics TextView text from the registered caches.
+     */
+    private void updateStats() {
+        String caches = CacheRegistry.describe();
+        String latency = Instrumentation.describe();
+        String frames = FrameTelemetry.getInstance(requireContext()).describe();
+        AppDatabase database = ((MainActivity) requireActivity()).getDatabase();
+        String sqlite = DatabaseTuning.describe(database.getOpenHelper().getWritableDatabase());
+
+        statsTextView.setText((caches.isEmpty() ? "No caches registered" : "Caches\n" + caches)
+                + "\nLatency\n" + (latency.isEmpty() ? "Nothing recorded\n" : latency)
+                + "\nFrames\n" + (frames.isEmpty() ? "Nothing recorded\n" : frames)
+                + "\nSQLite (primary connection)\n" + sqlite);
+    }
+
+    /**
+     * Method that writes the latency histograms as a JSON report on the disk executor and
+     * shows where it was written.
+     */
+    private void dumpReport() {
+        Context appContext = requireContext().getApplicationContext();
+        File file = new File(appContext.getFilesDir(), Instrumentation.REPORT_FILE_NAME);
+
+        AppExecutors.diskIO().execute(() -> {
+            String message;
+            try {
+                Instrumentation.writeReport(file);
+                message = "Report written to " + file.getAbsolutePath();
+            } catch (IOException e) {
+                Log.e(TAG, "Could not write the instrumentation report", e);
+                message = "Could not write the report";
+            }
+
+            String result = message;
+            AppExecutors.runOnMainThread(() -> Toast.makeText(appContext, result, Toast.LENGTH_LONG).show());
+        });
+    }
+}
@@ -0,0 +1,78 @@
+package com.teamoranges.dragonscroll;
+
+import android.view.MotionEvent;
+import android.view.View;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+
+/**
+ * DetailPrefetcher is a java class that extends {@link RecyclerView.SimpleOnItemTouchListener} to
+ * start loading a book's detail screen as soon as its row is pressed. The press comes a tap's
+ * length before the click, which is enough to read the {@link BookDetailCache} entry and decode
+ * the cover at the detail size. It reads book IDs from adapters implementing
+ * {@link BookIdProvider} and cover URIs from adapters implementing {@link CoverUriProvider}.
+ * @author Joshua Duque
+ * @author Mateo Garcia
+ * @author Emiliano Garza
+ * @author Samatha Poole
+ * @author Alaine Liserio
+ * UTSA CS 3443 - Team Oranges Project
+ * Fall 2024
+ */
+public class DetailPrefetcher extends RecyclerView.SimpleOnItemTouchListener {
+
+    private final BookDetailCache bookDetails;
+    private final CoverThumbnailLoader coverLoader;
+    // Size the detail screen decodes its cover at
+    private final int coverSizePx;
+
+    /**
+     * Constructor to initialize the {@link DetailPrefetcher} object.
+     * @param bookDetails Cache of the detail screen's books (BookDetailCache)
+     * @param coverLoader Loader that decodes and caches the covers (CoverThumbnailLoader)
+     * @param coverSizePx Size of the detail screen's cover in pixels (int)
+     */
+    public DetailPrefetcher(BookDetailCache bookDetails, CoverThumbnailLoader coverLoader, int coverSizePx) {
+        this.bookDetails = bookDetails;
+        this.coverLoader = coverLoader;
+        this.coverSizePx = coverSizePx;
+    }
+
+    /**
+     * Method that watches the touches of the RecyclerView for a press on a book row. It never
+     * takes the touch, so scrolling and clicking work as before.
+     * @param recyclerView The RecyclerView the touch happened in.
+     * @param event The touch event.
+     * @return false so the RecyclerView and its rows handle the touch
+     */
+    @Override
+    public boolean onInterceptTouchEvent(@NonNull RecyclerView recyclerView, @NonNull MotionEvent event) {
+        if (event.getActionMasked() != MotionEvent.ACTION_DOWN) {
+            return false;
+        }
+
+        // Only adapters that can report book IDs are prefetched
+        RecyclerView.Adapter<?> adapter = recyclerView.getAdapter();
+        View child = recyclerView.findChildViewUnder(event.getX(), event.getY());
+        if (!(adapter instanceof BookIdProvider) || child == null) {
+            return false;
+        }
+
+        int position = recyclerView.getChildViewHolder(child).getBindingAdapterPosition();
+        if (position == RecyclerView.NO_POSITION) {
+            return false;
+        }
+        int bookId = ((BookIdProvider) adapter).getBookId(position);
+        if (bookId == BookIdProvider.NO_BOOK_ID) {
+            return false;
+        }
+
+        // Read the book and decode its cover while the finger is still down
+        bookDetails.prefetch(bookId);
+        if (adapter instanceof CoverUriProvider) {
+            coverLoader.prefetch(((CoverUriProvider) adapter).getCoverUri(position), coverSizePx);
+        }
+        return false;
+    }
+}
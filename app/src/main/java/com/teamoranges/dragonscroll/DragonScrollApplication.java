@@ -0,0 +1,222 @@
+package com.teamoranges.dragonscroll;
+
+import android.app.Application;
+
+import androidx.annotation.NonNull;
+import androidx.room.InvalidationTracker;
+import androidx.room.Room;
+import androidx.room.RoomDatabase;
+
+import com.teamoranges.dragonscroll.models.Book;
+
+import java.util.Set;
+
+/**
+ * DragonScrollApplication is a java class that extends {@link Application}. It owns the
+ * {@link AppDatabase}, so the database stays open while activities are recreated, and it forwards
+ * memory pressure callbacks to the {@link CacheRegistry} so the app's caches shrink before the
+ * process is killed.
+ * @author Joshua Duque
+ * @author Mateo Garcia
+ * @author Emiliano Garza
+ * @author Samatha Poole
+ * @author Alaine Liserio
+ * UTSA CS 3443 - Team Oranges Project
+ * Fall 2024
+ */
+public class DragonScrollApplication extends Application {
+
+    // Database of the app, built on first use
+    private AppDatabase database;
+    // Book DAO shared by every screen and worker, its queries are timed for the debug screen
+    private BookDao bookDao;
+    // Fuzzy search over the database, created with it
+    private FuzzySearch fuzzySearch;
+    // Title and author suggestions, created with the database and read on first use
+    private BookSuggestions bookSuggestions;
+    // Recently opened books of the detail screen, created with the database
+    private BookDetailCache bookDetails;
+    // Incremented after every committed write to the book table, by any screen or worker
+    private volatile int libraryVersion;
+
+    /**
+     * Method that runs when the app process starts.
+     */
+    @Override
+    public void onCreate() {
+        super.onCreate();
+
+        // Start reading the settings right away, the first activity needs them for its theme
+        SettingsStore.getInstance(this);
+    }
+
+    /**
+     * Getter to return the database of the app. The database is built on first use and the
+     * one-time data migrations run with it.
+     * @return database of the app (AppDatabase)
+     */
+    public AppDatabase getDatabase() {
+        if (database == null) {
+            // NOTE: Notice how we allow queries on the main thread. This is very bad but we have no
+            // time to scaffold out something proper. We'll use movie magic to reduce load times in
+            // the presentation.
+            RoomDatabase.Builder<AppDatabase> builder = Room.databaseBuilder(
+                    this, AppDatabase.class, "books-db"
+            ).allowMainThreadQueries()
+                    .addMigrations(AppDatabase.MIGRATION_6_7, AppDatabase.MIGRATION_7_8,
+                            AppDatabase.MIGRATION_8_9, AppDatabase.MIGRATION_9_10,
+                            AppDatabase.MIGRATION_10_11, AppDatabase.MIGRATION_11_12)
+                    .addCallback(AppDatabase.CALLBACK)
+                    .fallbackToDestructiveMigration();
+
+            // Open the database with the tuned journal, cache and vacuum settings
+            database = DatabaseTuning.DEFAULT.applyTo(builder).build();
+
+            // Count the library's changes, so kept copies of it can tell they're stale
+            database.getInvalidationTracker().addObserver(new InvalidationTracker.Observer("book") {
+                @Override
+                public void onInvalidated(@NonNull Set<String> tables) {
+                    libraryVersion++;
+                }
+            });
+
+            // Switch the vacuum mode in the background, it rewrites the file the first time
+            AppExecutors.diskIO().execute(() ->
+                    DatabaseTuning.DEFAULT.runMaintenance(database.getOpenHelper().getWritableDatabase()));
+
+            // Wrap the book DAO once, so every consumer's queries are timed
+            bookDao = new InstrumentedBookDao(database, database.bookDao());
+
+            // Move a favorite book saved by title into the database
+            migrateFavoriteBookPreference();
+
+            // Copy covers that are still content URIs into app storage
+            migrateContentCovers();
+
+            bookSuggestions = new BookSuggestions(bookDao);
+            bookDetails = new BookDetailCache(bookDao);
+
+            // Index the books queued for the search index while the app is idle
+            fuzzySearch = new FuzzySearch(database);
+            AppExecutors.diskIO().execute(() -> {
+                fuzzySearch.catchUp();
+                fuzzySearch.deleteUnusedTerms();
+            });
+        }
+        return database;
+    }
+
+    /**
+     * Getter to return the timed book DAO of the app, building the database if needed.
+     * @return book DAO of the app (BookDao)
+     */
+    public BookDao getBookDao() {
+        getDatabase();
+        return bookDao;
+    }
+
+    /**
+     * Getter to return the fuzzy search of the app, building the database if needed.
+     * @return fuzzy search of the app (FuzzySearch)
+     */
+    public FuzzySearch getFuzzySearch() {
+        getDatabase();
+        return fuzzySearch;
+    }
+
+    /**
+     * Getter to return the title and author suggestions of the app, building the database if
+     * needed.
+     * @return suggestions of the app (BookSuggestions)
+     */
+    public BookSuggestions getBookSuggestions() {
+        getDatabase();
+        return bookSuggestions;
+    }
+
+    /**
+     * Getter to return the cache of the detail screen's books, building the database if needed.
+     * @return detail cache of the app (BookDetailCache)
+     */
+    public BookDetailCache getBookDetails() {
+        getDatabase();
+        return bookDetails;
+    }
+
+    /**
+     * Getter to return how many times the book table has changed since the process started.
+     * Room reports the changes once their transaction commits, on its own executor.
+     * @return int of the version of the library
+     */
+    public int getLibraryVersion() {
+        getDatabase();
+        return libraryVersion;
+    }
+
+    /**
+     * Method that moves the favorite book title older versions stored in the settings
+     * into the book table on the disk executor. It only does work once, since the preference is
+     * removed afterwards.
+     */
+    private void migrateFavoriteBookPreference() {
+        SettingsStore settings = SettingsStore.getInstance(this);
+
+        // The settings are read on the same executor first, so checking them there never waits
+        AppExecutors.diskIO().execute(() -> {
+            // Check for a favorite book title
+            String favoriteBookTitle = settings.getLegacyFavoriteBookTitle();
+            if (favoriteBookTitle == null) {
+                return;
+            }
+
+            // Favorite the book with that title if it still exists
+            Book book = bookDao.getBookByTitle(favoriteBookTitle);
+            if (book != null && book.getFavoritedAt() == null) {
+                bookDao.setFavoritedAt(book.getId(), System.currentTimeMillis());
+            }
+
+            // Remove the title so the migration doesn't run again
+            settings.edit().removeLegacyFavoriteBookTitle().apply();
+        });
+    }
+
+    /**
+     * Method that copies covers older versions stored as content URIs into app storage on the
+     * disk executor. It only does work once, since a setting is stored when it finishes.
+     */
+    private void migrateContentCovers() {
+        SettingsStore settings = SettingsStore.getInstance(this);
+        AppExecutors.diskIO().execute(() -> {
+            // Check if the covers were already migrated
+            if (settings.isCoversMigrated()) {
+                return;
+            }
+            CoverStore.migrateContentCovers(this, bookDao);
+            settings.edit().setCoversMigrated(true).apply();
+        });
+    }
+
+    /**
+     * Method that runs when the system asks the app to release memory.
+     * @param level The context of the trim, giving a hint of the amount of
+     * trimming the application may like to perform.
+     */
+    @Override
+    public void onTrimMemory(int level) {
+        super.onTrimMemory(level);
+
+        // Trim every registered cache for the level
+        CacheRegistry.trimAll(level);
+    }
+
+    /**
+     * Method that runs when the whole system is running low on memory.
+     */
+    @Override
+    public void onLowMemory() {
+        super.onLowMemory();
+
+        // Empty every registered cache
+        CacheRegistry.clearAll();
+    }
+}
@@ -0,0 +1,190 @@
+package com.teamoranges.dragonscroll;
+
+import androidx.annotation.WorkerThread;
+
+import com.teamoranges.dragonscroll.models.Book;
+import com.teamoranges.dragonscroll.models.BookUpdate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * DuplicateFinder is a java class that finds {@link Book} objects already in the library before
+ * a book is added again. Exact duplicates share the normalized title and author the database
+ * keeps in the indexed dedupe_key column, so finding one is a single index search. Books that
+ * only look alike, such as a misspelled title, are found through the {@link FuzzySearch} index.
+ * @author Joshua Duque
+ * @author Mateo Garcia
+ * @author Emiliano Garza
+ * @author Samatha Poole
+ * @author Alaine Liserio
+ * UTSA CS 3443 - Team Oranges Project
+ * Fall 2024
+ */
+public class DuplicateFinder {
+
+    // Number of search results checked for a similar book
+    private static final int SIMILAR_CANDIDATES = 5;
+    // Lowest trigram similarity of both the title and the author for a book to look alike
+    private static final double MIN_SIMILARITY = 0.6;
+
+    private final AppDatabase database;
+    private final BookDao bookDao;
+    private final FuzzySearch fuzzySearch;
+    private final BookDetailCache bookDetails;
+
+    /**
+     * Constructor to initialize the {@link DuplicateFinder} object.
+     * @param database Database the books are imported into (AppDatabase)
+     * @param bookDao DAO to look up and write the books with (BookDao)
+     * @param fuzzySearch Search used to find similar books (FuzzySearch)
+     * @param bookDetails Cache of the detail screen's books, merged books are dropped from it (BookDetailCache)
+     */
+    public DuplicateFinder(AppDatabase database, BookDao bookDao, FuzzySearch fuzzySearch, BookDetailCache bookDetails) {
+        this.database = database;
+        this.bookDao = bookDao;
+        this.fuzzySearch = fuzzySearch;
+        this.bookDetails = bookDetails;
+    }
+
+    /**
+     * Method that finds a Book with the same title and author, ignoring case, spaces and
+     * punctuation.
+     * @param title Title of the new Book (String)
+     * @param author Author of the new Book (String)
+     * @return Book that is a duplicate or null
+     */
+    @WorkerThread
+    public Book findDuplicate(String title, String author) {
+        return bookDao.getDuplicate(title, author);
+    }
+
+    /**
+     * Method that finds a Book whose title and author are both close to the given ones, for
+     * example because one of them is misspelled.
+     * @param title Title of the new Book (String)
+     * @param author Author of the new Book (String)
+     * @return Book that looks alike or null
+     */
+    @WorkerThread
+    public Book findSimilar(String title, String author) {
+        for (Book candidate : fuzzySearch.search(title + " " + author, SIMILAR_CANDIDATES)) {
+            if (similarity(title, candidate.getTitle()) >= MIN_SIMILARITY
+                    && similarity(author, candidate.getAuthor()) >= MIN_SIMILARITY) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Method that adds many Books in one transaction without adding any of them twice. A Book
+     * that duplicates one in the library, or one earlier in the list, is merged into it instead:
+     * the fields it has that the existing Book is missing are copied over.
+     * @param books Books to import (List of type Book)
+     * @return int of the number of Books that were inserted, the others were merged
+     */
+    @WorkerThread
+    public int importBooks(List<Book> books) {
+        // One update per existing Book, and the Book as the earlier duplicates filled it in
+        Map<Integer, BookUpdate> merges = new LinkedHashMap<>();
+        Map<Integer, Book> mergedBooks = new HashMap<>();
+        int imported = database.runInTransaction(() -> {
+            int inserted = 0;
+
+            for (Book book : books) {
+                // Inserted books get their key from the trigger, so later duplicates find them
+                Book existing = bookDao.getDuplicate(book.getTitle(), book.getAuthor());
+                if (existing == null) {
+                    book.setId((int) bookDao.insert(book));
+                    inserted++;
+                } else {
+                    // A later duplicate of the same Book only fills what is still missing, so
+                    // the first value of every field wins
+                    int id = existing.getId();
+                    merge(mergedBooks.computeIfAbsent(id, key -> existing), book,
+                            merges.computeIfAbsent(id, BookUpdate::new));
+                }
+            }
+
+            merges.values().removeIf(merge -> merge.getChangedColumns() == 0);
+            bookDao.updateAll(new ArrayList<>(merges.values()));
+            return inserted;
+        });
+
+        // Drop the merged books once the changes are committed, so they aren't cached again
+        // from before the merge
+        for (int id : merges.keySet()) {
+            bookDetails.invalidate(id);
+        }
+        return imported;
+    }
+
+    /**
+     * Method that fills in the fields an existing Book is missing from a duplicate, both in the
+     * update and in the Book, so a later duplicate sees them as filled.
+     * @param existing Book in the library, with the earlier merges applied (Book)
+     * @param imported Duplicate being imported (Book)
+     * @param update Update of the existing Book the filled fields are added to (BookUpdate)
+     */
+    private static void merge(Book existing, Book imported, BookUpdate update) {
+        if (existing.getRating() == 0 && imported.getRating() != 0) {
+            update.setRating(imported.getRating());
+            existing.setRating(imported.getRating());
+        }
+        if (isEmpty(existing.getCoverUri()) && !isEmpty(imported.getCoverUri())) {
+            update.setCoverUri(imported.getCoverUri());
+            existing.setCoverUri(imported.getCoverUri());
+        }
+        if (isEmpty(existing.getSummary()) && !isEmpty(imported.getSummary())) {
+            update.setSummary(imported.getSummary());
+            existing.setSummary(imported.getSummary());
+        }
+        if (isEmpty(existing.getNotes()) && !isEmpty(imported.getNotes())) {
+            update.setNotes(imported.getNotes());
+            existing.setNotes(imported.getNotes());
+        }
+        if (isEmpty(existing.getStartDate()) && !isEmpty(imported.getStartDate())) {
+            update.setStartDate(imported.getStartDate());
+            existing.setStartDate(imported.getStartDate());
+        }
+        if (isEmpty(existing.getEndDate()) && !isEmpty(imported.getEndDate())) {
+            update.setEndDate(imported.getEndDate());
+            existing.setEndDate(imported.getEndDate());
+        }
+        if (existing.getFavoritedAt() == null && imported.getFavoritedAt() != null) {
+            update.setFavoritedAt(imported.getFavoritedAt());
+            existing.setFavoritedAt(imported.getFavoritedAt());
+        }
+    }
+
+    /**
+     * Method that measures how alike two titles or authors are, as the Jaccard similarity of the
+     * trigrams of their normalized words.
+     * @param a First text or null (String)
+     * @param b Second text or null (String)
+     * @return double between 0 for nothing in common and 1 for the same words
+     */
+    static double similarity(String a, String b) {
+        Set<String> trigramsA = FuzzySearch.trigrams(String.join(" ", FuzzySearch.tokenize(a)));
+        Set<String> trigramsB = FuzzySearch.trigrams(String.join(" ", FuzzySearch.tokenize(b)));
+
+        Set<String> shared = new HashSet<>(trigramsA);
+        shared.retainAll(trigramsB);
+        return (double) shared.size() / (trigramsA.size() + trigramsB.size() - shared.size());
+    }
+
+    /**
+     * Method that checks whether a field is missing.
+     * @param value Value of the field (String)
+     * @return boolean of whether the value is null or empty
+     */
+    private static boolean isEmpty(String value) {
+        return value == null || value.isEmpty();
+    }
+}
@@ -0,0 +1,106 @@
+package com.teamoranges.dragonscroll;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * FrameStats is a java class that counts the frame times of the current screen visit in one
+ * millisecond buckets, separately for every combination of UI state flags. It is only used from
+ * the thread frame metrics are delivered on, so it isn't synchronized, and recording a frame
+ * doesn't allocate.
+ * @author Joshua Duque
+ * @author Mateo Garcia
+ * @author Emiliano Garza
+ * @author Samatha Poole
+ * @author Alaine Liserio
+ * UTSA CS 3443 - Team Oranges Project
+ * Fall 2024
+ */
+public class FrameStats {
+
+    // Frames are counted in one millisecond buckets, slower frames share the last bucket
+    private static final int BUCKET_COUNT = 151;
+
+    // Counts by state flags
+    private final int[][] buckets;
+    private final int[] frames;
+    private final int[] jankyFrames;
+    private final long[] maxNs;
+
+    /**
+     * Constructor to initialize the {@link FrameStats} object.
+     * @param stateCount Number of state flag combinations (int)
+     */
+    public FrameStats(int stateCount) {
+        buckets = new int[stateCount][BUCKET_COUNT];
+        frames = new int[stateCount];
+        jankyFrames = new int[stateCount];
+        maxNs = new long[stateCount];
+    }
+
+    /**
+     * Method that records one frame.
+     * @param state UI state flags the frame was drawn in (int)
+     * @param durationNs Frame time in nanoseconds (long)
+     * @param janky Whether the frame missed its deadline (boolean)
+     */
+    public void record(int state, long durationNs, boolean janky) {
+        int bucket = (int) Math.min(durationNs / 1_000_000, BUCKET_COUNT - 1);
+        buckets[state][bucket]++;
+        frames[state]++;
+        if (janky) {
+            jankyFrames[state]++;
+        }
+        if (durationNs > maxNs[state]) {
+            maxNs[state] = durationNs;
+        }
+    }
+
+    /**
+     * Method that adds a summary for every state with frames to a list and clears the counts.
+     * @param screen Name of the navigation destination (String)
+     * @param startedAt Time the visit started at in milliseconds (long)
+     * @param endedAt Time the visit ended at in milliseconds (long)
+     * @param summaries List to add the summaries to (List of type FrameSummary)
+     */
+    public void drainTo(String screen, long startedAt, long endedAt, List<FrameSummary> summaries) {
+        for (int state = 0; state < frames.length; state++) {
+            if (frames[state] == 0) {
+                continue;
+            }
+
+            // Frame times are rounded up to whole milliseconds
+            int maxMs = (int) ((maxNs[state] + 999_999) / 1_000_000);
+            summaries.add(new FrameSummary(screen, state, startedAt, endedAt, frames[state],
+                    jankyFrames[state], getPercentileMs(state, 50, maxMs),
+                    getPercentileMs(state, 90, maxMs), getPercentileMs(state, 95, maxMs),
+                    getPercentileMs(state, 99, maxMs), maxMs));
+
+            // Clear the state's counts for the next visit
+            Arrays.fill(buckets[state], 0);
+            frames[state] = 0;
+            jankyFrames[state] = 0;
+            maxNs[state] = 0;
+        }
+    }
+
+    /**
+     * Getter to return a percentile of the frame times of a state, rounded up to the next
+     * millisecond.
+     * @param state UI state flags (int)
+     * @param percentile Percentile between 0 and 100 (double)
+     * @param maxMs Longest frame time in milliseconds, which bounds the result (int)
+     * @return int of the frame time in milliseconds
+     */
+    private int getPercentileMs(int state, double percentile, int maxMs) {
+        long target = (long) Math.ceil(frames[state] * percentile / 100.0);
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKET_COUNT - 1; bucket++) {
+            seen += buckets[state][bucket];
+            if (seen >= target) {
+                return Math.min(bucket + 1, maxMs);
+            }
+        }
+        return maxMs;
+    }
+}
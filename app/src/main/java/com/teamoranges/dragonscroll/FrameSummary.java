@@ -0,0 +1,146 @@
+package com.teamoranges.dragonscroll;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.Locale;
+
+/**
+ * FrameSummary is a java class that holds the frame times of one visit to a screen in one UI
+ * state, such as the home screen while scrolling. Summaries are created by {@link FrameStats}
+ * and kept by {@link FrameTelemetry}.
+ * @author Joshua Duque
+ * @author Mateo Garcia
+ * @author Emiliano Garza
+ * @author Samatha Poole
+ * @author Alaine Liserio
+ * UTSA CS 3443 - Team Oranges Project
+ * Fall 2024
+ */
+public class FrameSummary {
+
+    private final String screen;
+    private final int state;
+    private final long startedAt;
+    private final long endedAt;
+    private final int frames;
+    private final int jankyFrames;
+    private final int p50Ms;
+    private final int p90Ms;
+    private final int p95Ms;
+    private final int p99Ms;
+    private final int maxMs;
+
+    /**
+     * Constructor to initialize the {@link FrameSummary} object.
+     * @param screen Name of the navigation destination (String)
+     * @param state UI state flags from {@link FrameTelemetry} (int)
+     * @param startedAt Time the visit started at in milliseconds (long)
+     * @param endedAt Time the visit ended at in milliseconds (long)
+     * @param frames Number of frames drawn (int)
+     * @param jankyFrames Number of frames that missed their deadline (int)
+     * @param p50Ms Median frame time in milliseconds (int)
+     * @param p90Ms 90th percentile frame time in milliseconds (int)
+     * @param p95Ms 95th percentile frame time in milliseconds (int)
+     * @param p99Ms 99th percentile frame time in milliseconds (int)
+     * @param maxMs Longest frame time in milliseconds (int)
+     */
+    public FrameSummary(String screen, int state, long startedAt, long endedAt, int frames,
+                        int jankyFrames, int p50Ms, int p90Ms, int p95Ms, int p99Ms, int maxMs) {
+        this.screen = screen;
+        this.state = state;
+        this.startedAt = startedAt;
+        this.endedAt = endedAt;
+        this.frames = frames;
+        this.jankyFrames = jankyFrames;
+        this.p50Ms = p50Ms;
+        this.p90Ms = p90Ms;
+        this.p95Ms = p95Ms;
+        this.p99Ms = p99Ms;
+        this.maxMs = maxMs;
+    }
+
+    /**
+     * Getter to return the name of the navigation destination.
+     * @return String of the screen name
+     */
+    public String getScreen() {
+        return screen;
+    }
+
+    /**
+     * Getter to return the UI state flags the frames were drawn in.
+     * @return int of the state flags
+     */
+    public int getState() {
+        return state;
+    }
+
+    /**
+     * Getter to return the number of frames drawn.
+     * @return int of the number of frames
+     */
+    public int getFrames() {
+        return frames;
+    }
+
+    /**
+     * Getter to return the number of frames that missed their deadline.
+     * @return int of the number of janky frames
+     */
+    public int getJankyFrames() {
+        return jankyFrames;
+    }
+
+    /**
+     * Getter to return the 90th percentile frame time.
+     * @return int of the frame time in milliseconds
+     */
+    public int getP90Ms() {
+        return p90Ms;
+    }
+
+    /**
+     * Method that describes the summary on two lines.
+     * @return String of the summary
+     */
+    public String describe() {
+        return String.format(Locale.US,
+                "%s [%s] %ds%n  frames %d, janky %.1f%%, p50 %d ms, p90 %d ms, p95 %d ms, p99 %d ms, max %d ms%n",
+                screen, FrameTelemetry.describeState(state), (endedAt - startedAt) / 1_000, frames,
+                frames == 0 ? 0 : 100.0 * jankyFrames / frames, p50Ms, p90Ms, p95Ms, p99Ms, maxMs);
+    }
+
+    /**
+     * Method that converts the summary to JSON.
+     * @return JSONObject of the summary
+     * @throws JSONException if a value can't be written
+     */
+    public JSONObject toJson() throws JSONException {
+        return new JSONObject()
+                .put("screen", screen)
+                .put("state", state)
+                .put("startedAt", startedAt)
+                .put("endedAt", endedAt)
+                .put("frames", frames)
+                .put("jankyFrames", jankyFrames)
+                .put("p50Ms", p50Ms)
+                .put("p90Ms", p90Ms)
+                .put("p95Ms", p95Ms)
+                .put("p99Ms", p99Ms)
+                .put("maxMs", maxMs);
+    }
+
+    /**
+     * Method that reads a summary written by {@link #toJson()}.
+     * @param json JSON of the summary (JSONObject)
+     * @return FrameSummary that was read
+     * @throws JSONException if a value is missing
+     */
+    public static FrameSummary fromJson(JSONObject json) throws JSONException {
+        return new FrameSummary(json.getString("screen"), json.getInt("state"),
+                json.getLong("startedAt"), json.getLong("endedAt"), json.getInt("frames"),
+                json.getInt("jankyFrames"), json.getInt("p50Ms"), json.getInt("p90Ms"),
+                json.getInt("p95Ms"), json.getInt("p99Ms"), json.getInt("maxMs"));
+    }
+}
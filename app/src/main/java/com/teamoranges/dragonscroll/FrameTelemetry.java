@@ -0,0 +1,375 @@
+package com.teamoranges.dragonscroll;
+
+import android.content.Context;
+import android.content.pm.ApplicationInfo;
+import android.os.Build;
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.util.Log;
+import android.view.FrameMetrics;
+import android.view.Window;
+
+import androidx.annotation.MainThread;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * FrameTelemetry is a java class that tracks the frame times of the main window with
+ * {@link FrameMetrics}. Frames are attributed to the current navigation destination and UI
+ * state, and every screen visit is summarized into percentiles when the screen changes or the
+ * app goes to the background. The newest summaries are kept in a bounded ring buffer that is
+ * stored in the app's files directory. Nothing leaves the device.
+ * <p>
+ * Debuggable builds track every screen visit. Release builds only track a sample of the visits
+ * and don't register the frame listener at all for the others.
+ * @author Joshua Duque
+ * @author Mateo Garcia
+ * @author Emiliano Garza
+ * @author Samatha Poole
+ * @author Alaine Liserio
+ * UTSA CS 3443 - Team Oranges Project
+ * Fall 2024
+ */
+public class FrameTelemetry {
+
+    // UI state flags, frames are counted separately for every combination
+    public static final int STATE_SCROLLING = 1;
+    public static final int STATE_DIALOG = 1 << 1;
+    public static final int STATE_IMAGE_LOADING = 1 << 2;
+    private static final int STATE_COUNT = 1 << 3;
+
+    // Name of the file the summaries are stored in
+    public static final String FILE_NAME = "frame-telemetry.json";
+
+    // Number of summaries kept, the oldest ones are dropped first
+    private static final int CAPACITY = 64;
+    // One in this many screen visits is tracked in release builds
+    private static final int RELEASE_SAMPLE_RATE = 10;
+
+    private static final String TAG = "FrameTelemetry";
+
+    private static FrameTelemetry instance;
+
+    private final File file;
+    private final boolean trackEveryVisit;
+    private final Random random = new Random();
+
+    // Thread the frame metrics are delivered and aggregated on
+    private final Handler handler;
+    private final Window.OnFrameMetricsAvailableListener listener = this::onFrameMetricsAvailable;
+
+    // UI state set from the main thread and read when a frame is recorded
+    private volatile int stateFlags;
+    // Number of images decoding, which sets STATE_IMAGE_LOADING while it isn't zero
+    private final AtomicInteger imageLoads = new AtomicInteger();
+
+    // Window and visit state, only used from the main thread
+    private Window window;
+    private boolean listening;
+    private boolean sampled;
+    private long frameIntervalNs = 16_666_667L;
+
+    // Visit being aggregated, only used from the frame metrics thread
+    private final FrameStats stats = new FrameStats(STATE_COUNT);
+    private String visitScreen;
+    private long visitStartedAt;
+
+    // Newest summaries, guarded by itself
+    private final ArrayDeque<FrameSummary> summaries = new ArrayDeque<>(CAPACITY);
+
+    /**
+     * Getter to return the frame telemetry of the app, creating it on first use.
+     * @param context Context of the app (Context)
+     * @return FrameTelemetry of the app
+     */
+    public static synchronized FrameTelemetry getInstance(Context context) {
+        if (instance == null) {
+            instance = new FrameTelemetry(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    /**
+     * Constructor to initialize the {@link FrameTelemetry} object and start reading the stored
+     * summaries.
+     * @param context Context of the app (Context)
+     */
+    private FrameTelemetry(Context context) {
+        file = new File(context.getFilesDir(), FILE_NAME);
+        trackEveryVisit = (context.getApplicationInfo().flags & ApplicationInfo.FLAG_DEBUGGABLE) != 0;
+
+        HandlerThread thread = new HandlerThread(TAG);
+        thread.start();
+        handler = new Handler(thread.getLooper());
+
+        AppExecutors.diskIO().execute(this::load);
+    }
+
+    /**
+     * Method that starts tracking the frames of a window, called when the activity starts.
+     * @param window Window of the activity (Window)
+     */
+    @MainThread
+    public void attach(Window window) {
+        this.window = window;
+
+        // Frames that take longer than one refresh interval miss their deadline
+        float refreshRate = window.getWindowManager().getDefaultDisplay().getRefreshRate();
+        if (refreshRate > 0) {
+            frameIntervalNs = (long) (1_000_000_000L / refreshRate);
+        }
+
+        updateListener();
+    }
+
+    /**
+     * Method that stops tracking the window's frames and summarizes the current visit, called
+     * when the activity stops.
+     */
+    @MainThread
+    public void detach() {
+        Window attached = window;
+        window = null;
+        if (listening) {
+            attached.removeOnFrameMetricsAvailableListener(listener);
+            listening = false;
+        }
+
+        // Summarize after the frames that were already delivered
+        handler.post(() -> endVisit(visitScreen));
+    }
+
+    /**
+     * Setter to set the navigation destination frames are attributed to. The previous visit is
+     * summarized, and release builds decide whether the new visit is sampled.
+     * @param screen Name of the navigation destination (String)
+     */
+    @MainThread
+    public void setScreen(String screen) {
+        sampled = trackEveryVisit || random.nextInt(RELEASE_SAMPLE_RATE) == 0;
+        updateListener();
+
+        // Frames delivered before this runs still belong to the previous screen
+        handler.post(() -> endVisit(screen));
+    }
+
+    /**
+     * Setter to turn a UI state flag on or off.
+     * @param flag One of the STATE flags (int)
+     * @param on Whether the state is active (boolean)
+     */
+    @MainThread
+    public void setState(int flag, boolean on) {
+        stateFlags = on ? stateFlags | flag : stateFlags & ~flag;
+    }
+
+    /**
+     * Method that marks an image as loading until {@link #endImageLoad()} is called. It can be
+     * called from any thread.
+     */
+    public void beginImageLoad() {
+        imageLoads.incrementAndGet();
+    }
+
+    /**
+     * Method that marks an image started by {@link #beginImageLoad()} as loaded.
+     */
+    public void endImageLoad() {
+        imageLoads.decrementAndGet();
+    }
+
+    /**
+     * Method that registers or unregisters the frame listener depending on whether a window is
+     * attached and the current visit is sampled.
+     */
+    private void updateListener() {
+        boolean wanted = window != null && sampled;
+        if (wanted && !listening) {
+            window.addOnFrameMetricsAvailableListener(listener, handler);
+            listening = true;
+        } else if (!wanted && listening) {
+            window.removeOnFrameMetricsAvailableListener(listener);
+            listening = false;
+        }
+    }
+
+    /**
+     * Method that records a frame, called on the frame metrics thread.
+     * @param window Window the frame was drawn in (Window)
+     * @param frameMetrics Metrics of the frame (FrameMetrics)
+     * @param dropCount Number of frames whose metrics were dropped since the last call (int)
+     */
+    private void onFrameMetricsAvailable(Window window, FrameMetrics frameMetrics, int dropCount) {
+        // The first frame of a window measures the layout pass, not the app's frame pacing
+        if (visitScreen == null || frameMetrics.getMetric(FrameMetrics.FIRST_DRAW_FRAME) == 1) {
+            return;
+        }
+
+        long durationNs = frameMetrics.getMetric(FrameMetrics.TOTAL_DURATION);
+        long deadlineNs = Build.VERSION.SDK_INT >= Build.VERSION_CODES.S
+                ? frameMetrics.getMetric(FrameMetrics.DEADLINE) : frameIntervalNs;
+
+        int state = stateFlags;
+        if (imageLoads.get() > 0) {
+            state |= STATE_IMAGE_LOADING;
+        }
+        stats.record(state, durationNs, durationNs > deadlineNs);
+    }
+
+    /**
+     * Method that summarizes the current visit and starts the next one, called on the frame
+     * metrics thread.
+     * @param nextScreen Screen of the next visit (String)
+     */
+    private void endVisit(String nextScreen) {
+        long now = System.currentTimeMillis();
+        List<FrameSummary> visit = new ArrayList<>();
+        if (visitScreen != null) {
+            stats.drainTo(visitScreen, visitStartedAt, now, visit);
+        }
+
+        visitScreen = nextScreen;
+        visitStartedAt = now;
+
+        if (visit.isEmpty()) {
+            return;
+        }
+        synchronized (summaries) {
+            for (FrameSummary summary : visit) {
+                add(summary);
+            }
+        }
+        AppExecutors.diskIO().execute(this::save);
+    }
+
+    /**
+     * Method that adds a summary to the ring buffer, dropping the oldest one when it is full.
+     * Must be called while holding the summaries lock.
+     * @param summary Summary to add (FrameSummary)
+     */
+    private void add(FrameSummary summary) {
+        if (summaries.size() == CAPACITY) {
+            summaries.removeFirst();
+        }
+        summaries.addLast(summary);
+    }
+
+    /**
+     * Getter to return the kept summaries, oldest first.
+     * @return List of the summaries
+     */
+    public List<FrameSummary> getSummaries() {
+        synchronized (summaries) {
+            return new ArrayList<>(summaries);
+        }
+    }
+
+    /**
+     * Method that describes the kept summaries, newest first.
+     * @return String of the summaries
+     */
+    public String describe() {
+        List<FrameSummary> kept = getSummaries();
+        StringBuilder builder = new StringBuilder();
+        for (int i = kept.size() - 1; i >= 0; i--) {
+            builder.append(kept.get(i).describe());
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Method that describes UI state flags.
+     * @param state UI state flags (int)
+     * @return String such as "scrolling, image loading" or "idle"
+     */
+    public static String describeState(int state) {
+        if (state == 0) {
+            return "idle";
+        }
+
+        StringBuilder builder = new StringBuilder();
+        if ((state & STATE_SCROLLING) != 0) {
+            builder.append("scrolling");
+        }
+        if ((state & STATE_DIALOG) != 0) {
+            builder.append(builder.length() > 0 ? ", " : "").append("dialog");
+        }
+        if ((state & STATE_IMAGE_LOADING) != 0) {
+            builder.append(builder.length() > 0 ? ", " : "").append("image loading");
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Method that reads the stored summaries in front of the ones recorded since the app
+     * started, called on the disk executor.
+     */
+    private void load() {
+        if (!file.exists()) {
+            return;
+        }
+
+        List<FrameSummary> stored = new ArrayList<>();
+        try (InputStream inputStream = new FileInputStream(file)) {
+            byte[] bytes = new byte[(int) file.length()];
+            int read = 0;
+            while (read < bytes.length) {
+                int count = inputStream.read(bytes, read, bytes.length - read);
+                if (count < 0) {
+                    break;
+                }
+                read += count;
+            }
+
+            JSONArray array = new JSONObject(new String(bytes, 0, read, StandardCharsets.UTF_8))
+                    .getJSONArray("summaries");
+            for (int i = 0; i < array.length(); i++) {
+                stored.add(FrameSummary.fromJson(array.getJSONObject(i)));
+            }
+        } catch (IOException | JSONException e) {
+            Log.w(TAG, "Could not read the stored frame summaries", e);
+            return;
+        }
+
+        synchronized (summaries) {
+            // Stored summaries are older than the ones recorded since the app started
+            for (int i = stored.size() - 1; i >= 0 && summaries.size() < CAPACITY; i--) {
+                summaries.addFirst(stored.get(i));
+            }
+        }
+    }
+
+    /**
+     * Method that writes the kept summaries to the file, called on the disk executor.
+     */
+    private void save() {
+        try {
+            JSONArray array = new JSONArray();
+            for (FrameSummary summary : getSummaries()) {
+                array.put(summary.toJson());
+            }
+            String json = new JSONObject().put("summaries", array).toString();
+
+            try (OutputStream outputStream = new FileOutputStream(file)) {
+                outputStream.write(json.getBytes(StandardCharsets.UTF_8));
+            }
+        } catch (IOException | JSONException e) {
+            Log.w(TAG, "Could not store the frame summaries", e);
+        }
+    }
+}
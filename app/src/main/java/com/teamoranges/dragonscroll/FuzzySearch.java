@@ -0,0 +1,277 @@
+package com.teamoranges.dragonscroll;
+
+import androidx.annotation.WorkerThread;
+
+import com.teamoranges.dragonscroll.models.Book;
+import com.teamoranges.dragonscroll.models.BookTerm;
+import com.teamoranges.dragonscroll.models.SearchTerm;
+import com.teamoranges.dragonscroll.models.TermMatch;
+import com.teamoranges.dragonscroll.models.TermTrigram;
+
+import java.text.Normalizer;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * FuzzySearch is a java class that finds {@link Book} objects by title and author while
+ * tolerating typos. Every distinct word of the titles and authors is a {@link SearchTerm} split
+ * into trigrams. A query word is compared with the terms sharing the most trigrams with it,
+ * which SQLite finds through the trigram index, and only those few terms are scored in Java.
+ * Books are then ranked by how well their terms match the query words.
+ * <p>
+ * Triggers on the book table queue changed books, which are indexed again before every search
+ * and in the background when the app starts.
+ * @author Joshua Duque
+ * @author Mateo Garcia
+ * @author Emiliano Garza
+ * @author Samatha Poole
+ * @author Alaine Liserio
+ * UTSA CS 3443 - Team Oranges Project
+ * Fall 2024
+ */
+public class FuzzySearch {
+
+    // Number of queued books indexed per transaction
+    private static final int INDEX_BATCH_SIZE = 500;
+    // Number of terms scored in Java per query word
+    private static final int TERM_CANDIDATES = 32;
+    // Lowest trigram similarity between a query word and a term that still counts as a match
+    private static final double MIN_SIMILARITY = 0.3;
+    // Query words after this many are ignored
+    private static final int MAX_QUERY_WORDS = 8;
+
+    // Accents left behind by decomposing characters
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    // Anything that isn't a letter or digit separates words
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final AppDatabase database;
+    private final SearchDao searchDao;
+
+    /**
+     * Constructor to initialize the {@link FuzzySearch} object.
+     * @param database Database holding the books and the search index (AppDatabase)
+     */
+    public FuzzySearch(AppDatabase database) {
+        this.database = database;
+        searchDao = database.searchDao();
+    }
+
+    /**
+     * Method that indexes every queued book, a batch per transaction.
+     * @return int of the number of books that were indexed
+     */
+    @WorkerThread
+    public synchronized int catchUp() {
+        int indexed = 0;
+        while (true) {
+            List<Integer> bookIds = searchDao.getPendingBookIds(INDEX_BATCH_SIZE);
+            if (bookIds.isEmpty()) {
+                return indexed;
+            }
+
+            database.runInTransaction(() -> {
+                for (Book book : searchDao.getBooks(bookIds)) {
+                    indexBook(book);
+                }
+                searchDao.deletePending(bookIds);
+            });
+            indexed += bookIds.size();
+        }
+    }
+
+    /**
+     * Method that removes the terms no book uses anymore, such as the words of renamed titles.
+     * Unused terms never match a book, but they take up candidate slots until they are removed.
+     */
+    @WorkerThread
+    public synchronized void deleteUnusedTerms() {
+        database.runInTransaction(() -> {
+            searchDao.deleteUnusedTerms();
+            searchDao.deleteUnusedTrigrams();
+        });
+    }
+
+    /**
+     * Method that replaces the terms of a book with the words of its title and author.
+     * @param book Indexed book (Book)
+     */
+    private void indexBook(Book book) {
+        searchDao.deleteBookTerms(book.getId());
+
+        // Title and author words, without repeating words that appear in both
+        Set<String> words = new LinkedHashSet<>(tokenize(book.getTitle()));
+        words.addAll(tokenize(book.getAuthor()));
+
+        List<BookTerm> bookTerms = new ArrayList<>();
+        for (String word : words) {
+            BookTerm bookTerm = new BookTerm();
+            bookTerm.setTermId(getOrInsertTerm(word));
+            bookTerm.setBookId(book.getId());
+            bookTerms.add(bookTerm);
+        }
+        searchDao.insertBookTerms(bookTerms);
+    }
+
+    /**
+     * Method that returns the ID of a term, inserting it and its trigrams if it is new.
+     * @param word Normalized word (String)
+     * @return int of the ID of the term
+     */
+    private int getOrInsertTerm(String word) {
+        Integer id = searchDao.getTermId(word);
+        if (id != null) {
+            return id;
+        }
+
+        SearchTerm term = new SearchTerm();
+        term.setTerm(word);
+        int termId = (int) searchDao.insertTerm(term);
+
+        List<TermTrigram> trigrams = new ArrayList<>();
+        for (String trigram : trigrams(word)) {
+            TermTrigram termTrigram = new TermTrigram();
+            termTrigram.setTrigram(trigram);
+            termTrigram.setTermId(termId);
+            trigrams.add(termTrigram);
+        }
+        searchDao.insertTermTrigrams(trigrams);
+        return termId;
+    }
+
+    /**
+     * Method that finds the books matching a query best. Each query word scores the similarity
+     * of the closest term a book has for it, and books are ranked by the average over the
+     * query words.
+     * @param query Words to look for, possibly misspelled (String)
+     * @param limit Maximum number of books (int)
+     * @return List of the matching books, best match first
+     */
+    @WorkerThread
+    public List<Book> search(String query, int limit) {
+        catchUp();
+
+        List<String> words = tokenize(query);
+        if (words.size() > MAX_QUERY_WORDS) {
+            words = words.subList(0, MAX_QUERY_WORDS);
+        }
+        if (words.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        // Score the candidate terms of every query word, keeping the best word for each term
+        Map<Integer, double[]> termScores = new HashMap<>();
+        for (int w = 0; w < words.size(); w++) {
+            Set<String> wordTrigrams = trigrams(words.get(w));
+            for (TermMatch match : searchDao.getTermCandidates(new ArrayList<>(wordTrigrams), TERM_CANDIDATES)) {
+                // Jaccard similarity from the shared count and both trigram counts
+                int termTrigramCount = trigrams(match.getTerm()).size();
+                double similarity = (double) match.getShared()
+                        / (wordTrigrams.size() + termTrigramCount - match.getShared());
+                if (similarity < MIN_SIMILARITY) {
+                    continue;
+                }
+
+                double[] scores = termScores.get(match.getId());
+                if (scores == null) {
+                    scores = new double[words.size()];
+                    termScores.put(match.getId(), scores);
+                }
+                scores[w] = Math.max(scores[w], similarity);
+            }
+        }
+        if (termScores.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        // Give every book the best score of its terms for every query word
+        Map<Integer, double[]> bookScores = new HashMap<>();
+        for (BookTerm posting : searchDao.getPostings(new ArrayList<>(termScores.keySet()))) {
+            double[] termScore = termScores.get(posting.getTermId());
+            double[] bookScore = bookScores.get(posting.getBookId());
+            if (bookScore == null) {
+                bookScore = new double[words.size()];
+                bookScores.put(posting.getBookId(), bookScore);
+            }
+            for (int w = 0; w < bookScore.length; w++) {
+                bookScore[w] = Math.max(bookScore[w], termScore[w]);
+            }
+        }
+
+        // Rank the books by their average score, then by ID so equal scores keep a stable order
+        List<Map.Entry<Integer, Double>> ranked = new ArrayList<>(bookScores.size());
+        for (Map.Entry<Integer, double[]> entry : bookScores.entrySet()) {
+            double total = 0;
+            for (double score : entry.getValue()) {
+                total += score;
+            }
+            ranked.add(new AbstractMap.SimpleEntry<>(entry.getKey(), total / words.size()));
+        }
+        ranked.sort((a, b) -> {
+            int byScore = Double.compare(b.getValue(), a.getValue());
+            return byScore != 0 ? byScore : Integer.compare(a.getKey(), b.getKey());
+        });
+
+        // Load only the books that made the cut, in ranked order
+        List<Integer> ids = new ArrayList<>();
+        for (int i = 0; i < Math.min(limit, ranked.size()); i++) {
+            ids.add(ranked.get(i).getKey());
+        }
+        Map<Integer, Book> booksById = new HashMap<>();
+        for (Book book : searchDao.getBooks(ids)) {
+            booksById.put(book.getId(), book);
+        }
+        List<Book> books = new ArrayList<>(ids.size());
+        for (int id : ids) {
+            Book book = booksById.get(id);
+            if (book != null) {
+                books.add(book);
+            }
+        }
+        return books;
+    }
+
+    /**
+     * Method that splits text into distinct lowercase words without accents.
+     * @param text Text to split, may be null (String)
+     * @return List of the words in order of first appearance
+     */
+    public static List<String> tokenize(String text) {
+        if (text == null) {
+            return Collections.emptyList();
+        }
+
+        String normalized = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        Set<String> words = new LinkedHashSet<>();
+        for (String word : SEPARATORS.split(normalized)) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return new ArrayList<>(words);
+    }
+
+    /**
+     * Method that splits a word into its distinct trigrams. The word is padded with two spaces
+     * in front and one behind, so the start of a word weighs more than its end.
+     * @param word Normalized word (String)
+     * @return Set of the trigrams
+     */
+    public static Set<String> trigrams(String word) {
+        String padded = "  " + word + " ";
+        Set<String> trigrams = new LinkedHashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            trigrams.add(padded.substring(i, i + 3));
+        }
+        return trigrams;
+    }
+}
@@ -0,0 +1,311 @@
+package com.teamoranges.dragonscroll;
+
+import android.text.TextUtils;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.ImageView;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.teamoranges.dragonscroll.models.Book;
+import com.teamoranges.dragonscroll.models.SeriesVolume;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * GroupedBookAdapter is a java class that extends {@link RecyclerView.Adapter} used to display
+ * {@link Book} data grouped under series headers. Volumes are appended one page at a time and a
+ * header is placed in front of every run of volumes from the same series.
+ * @author Joshua Duque
+ * @author Mateo Garcia
+ * @author Emiliano Garza
+ * @author Samatha Poole
+ * @author Alaine Liserio
+ * UTSA CS 3443 - Team Oranges Project
+ * Fall 2024
+ */
+public class GroupedBookAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> implements CoverUriProvider, BookIdProvider {
+
+    // View types of the adapter are the layouts, the home list clears its pool when it switches adapters
+    private static final int VIEW_TYPE_HEADER = R.layout.series_header_item;
+    private static final int VIEW_TYPE_VOLUME = R.layout.book_item;
+
+    // Header and volume rows in display order
+    private final List<Row> rows = new ArrayList<>();
+    // Adapter's book click listener
+    private final OnBookClickListener onBookClickListener;
+    // Adapter's series header click listener
+    private final OnSeriesClickListener onSeriesClickListener;
+
+    // Loader that decodes the cover thumbnails, set up with the first view holder
+    private CoverThumbnailLoader coverLoader;
+    // Size of the cover thumbnails in pixels
+    private int coverSizePx;
+
+    // Series ID of the last appended volume, used to continue a group across pages
+    private Integer lastSeriesId;
+    // Whether any volume has been appended yet
+    private boolean hasVolumes;
+
+    /**
+     * Constructor to initialize the {@link GroupedBookAdapter} object.
+     * @param onBookClickListener Book item click listener (OnBookClickListener)
+     * @param onSeriesClickListener Series header click listener (OnSeriesClickListener)
+     */
+    public GroupedBookAdapter(OnBookClickListener onBookClickListener, OnSeriesClickListener onSeriesClickListener) {
+        this.onBookClickListener = onBookClickListener;
+        this.onSeriesClickListener = onSeriesClickListener;
+    }
+
+    /**
+     * Method that appends a page of volumes to the end of the list. A header row is added every
+     * time the series changes, including between the last row of the previous page and the first
+     * row of this one.
+     * @param volumes Volumes of the page in query order (List of type SeriesVolume)
+     */
+    public void appendPage(List<SeriesVolume> volumes) {
+        int start = rows.size();
+
+        for (SeriesVolume volume : volumes) {
+            Integer seriesId = volume.getBook().getSeriesId();
+
+            // Start a new group when the series changes
+            if (!hasVolumes || !Objects.equals(seriesId, lastSeriesId)) {
+                rows.add(new Row(volume, null));
+                lastSeriesId = seriesId;
+                hasVolumes = true;
+            }
+
+            // Prefix the title with the volume index for series books, once per row
+            Book book = volume.getBook();
+            String title = seriesId != null
+                    ? String.format(Locale.getDefault(), "%d. %s", book.getVolumeIndex(), book.getTitle())
+                    : book.getTitle();
+            rows.add(new Row(volume, new BookRow(book, title)));
+        }
+
+        // Notify about the appended rows only
+        notifyItemRangeInserted(start, rows.size() - start);
+    }
+
+    /**
+     * Method that removes every row so the list can be paged in again from the start.
+     */
+    public void clear() {
+        int count = rows.size();
+        rows.clear();
+        lastSeriesId = null;
+        hasVolumes = false;
+        notifyItemRangeRemoved(0, count);
+    }
+
+    /**
+     * Getter to return the view type of the row at a position.
+     * @param position Position of the row (int)
+     * @return int of the view type of the row
+     */
+    @Override
+    public int getItemViewType(int position) {
+        return rows.get(position).isHeader() ? VIEW_TYPE_HEADER : VIEW_TYPE_VOLUME;
+    }
+
+    /**
+     * Method that sets up a new header or volume ViewHolder.
+     * @param parent The ViewGroup into which the new View will be added after it is bound to
+     *               an adapter position.
+     * @param viewType The view type of the new View.
+     * @return New ViewHolder
+     */
+    @NonNull
+    @Override
+    public RecyclerView.ViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        LayoutInflater inflater = LayoutInflater.from(parent.getContext());
+
+        // Get the cover loader and thumbnail size from the parent's context
+        if (coverLoader == null) {
+            coverLoader = CoverThumbnailLoader.getInstance(parent.getContext());
+            coverSizePx = parent.getResources().getDimensionPixelSize(R.dimen.book_item_cover_size);
+        }
+
+        if (viewType == VIEW_TYPE_HEADER) {
+            View view = inflater.inflate(R.layout.series_header_item, parent, false);
+            HeaderViewHolder holder = new HeaderViewHolder(view);
+
+            // Install the listener once per holder, the clicked row is looked up when the click happens
+            holder.itemView.setOnClickListener(v -> onHeaderClick(holder));
+            return holder;
+        }
+
+        View view = inflater.inflate(R.layout.book_item, parent, false);
+        BookAdapter.BookViewHolder holder = new BookAdapter.BookViewHolder(view);
+
+        // Install the listener once per holder, the clicked row is looked up when the click happens
+        holder.itemView.setOnClickListener(v -> onVolumeClick(holder));
+        return holder;
+    }
+
+    /**
+     * Method that populates a header or volume row into a ViewHolder.
+     * @param holder The ViewHolder which should be updated to represent the contents of the
+     *        item at the given position in the data set.
+     * @param position The position of the item within the adapter's data set.
+     */
+    @Override
+    public void onBindViewHolder(@NonNull RecyclerView.ViewHolder holder, int position) {
+        Row row = rows.get(position);
+
+        if (row.isHeader()) {
+            HeaderViewHolder headerHolder = (HeaderViewHolder) holder;
+
+            // Standalone books are grouped under their own header, which isn't clickable
+            if (row.volume.getBook().getSeriesId() == null) {
+                headerHolder.name.setText(R.string.standalone_books);
+                headerHolder.itemView.setClickable(false);
+                return;
+            }
+
+            // Set header name, clicking it opens the next unread volume
+            if (!TextUtils.equals(headerHolder.name.getText(), row.volume.getSeriesName())) {
+                headerHolder.name.setText(row.volume.getSeriesName());
+            }
+            headerHolder.itemView.setClickable(true);
+            return;
+        }
+
+        BookAdapter.BookViewHolder bookHolder = (BookAdapter.BookViewHolder) holder;
+        BookRow bookRow = row.bookRow;
+
+        // Set holder title and author from the row, only when they changed
+        if (!TextUtils.equals(bookHolder.title.getText(), bookRow.getDisplayTitle())) {
+            bookHolder.title.setText(bookRow.getDisplayTitle());
+        }
+        if (!TextUtils.equals(bookHolder.author.getText(), bookRow.getBook().getAuthor())) {
+            bookHolder.author.setText(bookRow.getBook().getAuthor());
+        }
+
+        // Set holder cover thumbnail with the key cached on the row
+        coverLoader.load(bookHolder.cover, bookRow.getCoverKey(coverSizePx), bookRow.getBook().getCoverUri(), coverSizePx);
+    }
+
+    /**
+     * Method that runs when a series header is clicked.
+     * @param holder Holder of the clicked header (HeaderViewHolder)
+     */
+    private void onHeaderClick(HeaderViewHolder holder) {
+        int position = holder.getBindingAdapterPosition();
+        if (position == RecyclerView.NO_POSITION) {
+            return;
+        }
+
+        // Standalone headers don't open anything
+        SeriesVolume volume = rows.get(position).volume;
+        Integer seriesId = volume.getBook().getSeriesId();
+        if (seriesId != null) {
+            onSeriesClickListener.onSeriesClick(seriesId, volume.getSeriesName());
+        }
+    }
+
+    /**
+     * Method that runs when a volume is clicked.
+     * @param holder Holder of the clicked volume (BookViewHolder)
+     */
+    private void onVolumeClick(BookAdapter.BookViewHolder holder) {
+        int position = holder.getBindingAdapterPosition();
+        if (position == RecyclerView.NO_POSITION) {
+            return;
+        }
+
+        onBookClickListener.onBookClick(rows.get(position).volume.getBook(), position);
+    }
+
+    /**
+     * Getter to return the cover URI of the row at a position.
+     * @param position Position of the row (int)
+     * @return String of the cover URI or null for headers and books without a cover
+     */
+    @Override
+    public String getCoverUri(int position) {
+        Row row = rows.get(position);
+        return row.isHeader() ? null : row.volume.getBook().getCoverUri();
+    }
+
+    /**
+     * Getter to return the ID of the book at a position.
+     * @param position Position of the row (int)
+     * @return int of the book ID or NO_BOOK_ID for headers
+     */
+    @Override
+    public int getBookId(int position) {
+        Row row = rows.get(position);
+        return row.isHeader() ? NO_BOOK_ID : row.volume.getBook().getId();
+    }
+
+    /**
+     * Getter to return the size the cover thumbnails are decoded at.
+     * @return int of the thumbnail size in pixels
+     */
+    @Override
+    public int getCoverSizePx() {
+        return coverSizePx;
+    }
+
+    /**
+     * Getter to return the number of header and volume rows.
+     * @return int of the number of rows
+     */
+    @Override
+    public int getItemCount() {
+        return rows.size();
+    }
+
+    /**
+     * Row is a java class for a single header or volume row of the adapter.
+     */
+    private static class Row {
+        private final SeriesVolume volume;
+        // Row model of a volume, null for headers
+        private final BookRow bookRow;
+
+        /**
+         * Constructor to initialize the Row object.
+         * @param volume Volume the row was created from (SeriesVolume)
+         * @param bookRow Row model of the volume or null for the header of its series (BookRow)
+         */
+        private Row(SeriesVolume volume, BookRow bookRow) {
+            this.volume = volume;
+            this.bookRow = bookRow;
+        }
+
+        /**
+         * Getter to return whether the row is a series header.
+         * @return boolean of whether the row is a header
+         */
+        private boolean isHeader() {
+            return bookRow == null;
+        }
+    }
+
+    /**
+     * HeaderViewHolder is a java class for series header items in the adapter.
+     */
+    public static class HeaderViewHolder extends RecyclerView.ViewHolder {
+        private final TextView name;
+
+        /**
+         * Constructor to initialize the HeaderViewHolder object.
+         * @param itemView Interface components for the HeaderViewHolder (View)
+         */
+        public HeaderViewHolder(@NonNull View itemView) {
+            super(itemView);
+
+            // Set holder views
+            name = itemView.findViewById(R.id.seriesNameTextView);
+        }
+    }
+}
@@ -4,27 +4,39 @@ import android.app.AlertDialog;
 import android.content.Context;
 import android.os.Bundle;
 
+import androidx.annotation.NonNull;
+import androidx.appcompat.widget.SearchView;
+import androidx.core.view.MenuProvider;
 import androidx.fragment.app.Fragment;
+import androidx.lifecycle.Lifecycle;
+import androidx.lifecycle.ViewModelProvider;
 import androidx.navigation.NavController;
 import androidx.navigation.fragment.NavHostFragment;
+import androidx.recyclerview.widget.GridLayoutManager;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
 import android.text.Layout;
+import android.util.DisplayMetrics;
 import android.util.Log;
 import android.view.LayoutInflater;
+import android.view.Menu;
+import android.view.MenuInflater;
+import android.view.MenuItem;
 import android.view.View;
 import android.view.ViewGroup;
 import android.view.ViewParent;
+import android.widget.AutoCompleteTextView;
 import android.widget.Button;
-import android.widget.EditText;
 import android.widget.LinearLayout;
 import android.widget.TextView;
 import android.widget.Toast;
 
 import com.google.android.material.floatingactionbutton.FloatingActionButton;
 import com.teamoranges.dragonscroll.models.Book;
+import com.teamoranges.dragonscroll.models.SeriesVolume;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
 
@@ -42,13 +54,79 @@ import java.util.Random;
  */
 public class HomeFragment extends Fragment {
 
+    // Number of books shown for a search
+    private static final int SEARCH_LIMIT = 50;
+    // Number of volumes loaded per page in the grouped list
+    private static final int GROUPED_PAGE_SIZE = 50;
+    // Number of rows from the end of the grouped list at which the next page is loaded
+    private static final int GROUPED_LOAD_DISTANCE = 10;
+    // Number of cover thumbnails warmed ahead of the scroll direction
+    private static final int COVER_PREFETCH_DISTANCE = 12;
+    // Number of recycled views kept per view type, enough to refill a screen of grid cells
+    private static final int RECYCLED_VIEWS_PER_TYPE = 30;
+    // Narrowest width of a grid cell in dp, used to pick the span count
+    private static final int GRID_CELL_MIN_WIDTH_DP = 110;
+    // Latency of building the fragment's view, traced as its own section
+    private static final LatencyHistogram CREATE_VIEW = Instrumentation.histogram("HomeFragment.onCreateView");
+
+    // Saved state keys of the list modes
+    private static final String FAVORITES_ONLY_KEY = "favoritesOnly";
+    private static final String GROUPED_MODE_KEY = "groupedMode";
+    private static final String GRID_MODE_KEY = "gridMode";
+    private static final String ALPHABETICAL_MODE_KEY = "alphabeticalMode";
+
     private Context context;
 
-    private List<Book> bookList;
+    private List<BookRow> bookRows;
     private BookDao bookDao;
     private BookAdapter bookAdapter;
     private NavController navController;
 
+    private SeriesDao seriesDao;
+    // Picker of the surprise me action
+    private RandomBookPicker randomBookPicker;
+    private DuplicateFinder duplicateFinder;
+    private GroupedBookAdapter groupedBookAdapter;
+    private AlphabeticalBookAdapter alphabeticalBookAdapter;
+    private SectionIndexBar sectionIndexBar;
+    private RecyclerView recyclerView;
+    private CoverPrefetcher coverPrefetcher;
+    private LinearLayoutManager listLayoutManager;
+    private GridLayoutManager gridLayoutManager;
+    // Size of the grid cell covers in pixels
+    private int gridCoverSizePx;
+
+    // Whether the flat list only shows favorite books
+    private boolean favoritesOnly;
+    // Whether the list is grouped by series
+    private boolean groupedMode;
+    // Whether the flat list is shown as a cover grid
+    private boolean gridMode;
+    // Whether the list shows every book in title order under letter headers
+    private boolean alphabeticalMode;
+    // Incremented on every section load so late sections can be dropped
+    private int sectionsGeneration;
+    // Last volume paged into the grouped list, the next page starts after it
+    private SeriesVolume groupedLast;
+    // Whether a grouped page is being loaded
+    private boolean groupedLoading;
+    // Whether the last grouped page has been loaded
+    private boolean groupedExhausted;
+    // Incremented on every grouped list reset so late pages can be dropped
+    private int groupedGeneration;
+    // Whether the flat list shows search results instead of the library
+    private boolean searching;
+    // Rows of the search results, kept apart so the library rows are never replaced
+    private final List<BookRow> searchRows = new ArrayList<>();
+    // List modes that were on when the search started, turned back on when it ends
+    private boolean groupedBeforeSearch;
+    private boolean alphabeticalBeforeSearch;
+    // Incremented on every search so results of older queries can be dropped
+    private int searchGeneration;
+    private FuzzySearch fuzzySearch;
+    // Toolbar menu while the view is resumed, used to keep the mode checks in sync
+    private Menu homeMenu;
+
     private TextView noBooksTextView;
     private LinearLayout inputContainer;
 
@@ -101,6 +179,23 @@ public class HomeFragment extends Fragment {
     @Override
     public View onCreateView(LayoutInflater inflater, ViewGroup container,
                              Bundle savedInstanceState) {
+        long start = CREATE_VIEW.begin();
+        try {
+            return createView(inflater, container, savedInstanceState);
+        } finally {
+            CREATE_VIEW.end(start);
+        }
+    }
+
+    /**
+     * Method that inflates and sets up the fragment's view, timed by onCreateView.
+     * @param inflater Inflater of the fragment (LayoutInflater)
+     * @param container Parent the view will be attached to or null (ViewGroup)
+     * @param savedInstanceState Saved state of the fragment or null (Bundle)
+     * @return View that is created
+     */
+    private View createView(LayoutInflater inflater, ViewGroup container,
+                            Bundle savedInstanceState) {
         // Inflate the layout for this fragment
         View view = inflater.inflate(R.layout.fragment_home, container, false);
 
@@ -108,14 +203,64 @@ public class HomeFragment extends Fragment {
         context = requireContext();
 
         // Create RecyclerView for displaying books
-        RecyclerView recyclerView = view.findViewById(R.id.recyclerView);
-        recyclerView.setLayoutManager(new LinearLayoutManager(context));
+        recyclerView = view.findViewById(R.id.recyclerView);
+        // Rows never change the RecyclerView's own size, so item changes skip a full relayout
+        recyclerView.setHasFixedSize(true);
+
+        // Keep recycled rows and cells in one pool, switching between the list and the grid
+        // keeps it so switching back reuses them instead of inflating a new screen. Switching
+        // adapters clears it on purpose: the adapters share view types but their holders carry
+        // the click listeners of the adapter that created them
+        RecyclerView.RecycledViewPool viewPool = new RecyclerView.RecycledViewPool();
+        viewPool.setMaxRecycledViews(BookAdapter.VIEW_TYPE_ROW, RECYCLED_VIEWS_PER_TYPE);
+        viewPool.setMaxRecycledViews(BookAdapter.VIEW_TYPE_CELL, RECYCLED_VIEWS_PER_TYPE);
+        recyclerView.setRecycledViewPool(viewPool);
+
+        // Size the grid from the screen width, covers keep a 2:3 book shape
+        DisplayMetrics displayMetrics = getResources().getDisplayMetrics();
+        int spanCount = Math.max(2, getResources().getConfiguration().screenWidthDp / GRID_CELL_MIN_WIDTH_DP);
+        gridCoverSizePx = displayMetrics.widthPixels / spanCount * 3 / 2;
 
-        // Get the BookDao from the Activity
+        // Both layout managers live as long as the view, only one is attached at a time
+        listLayoutManager = new LinearLayoutManager(context);
+        gridLayoutManager = new GridLayoutManager(context, spanCount);
+
+        // Warm the cover thumbnails ahead of the scroll direction
+        coverPrefetcher = new CoverPrefetcher(CoverThumbnailLoader.getInstance(context), COVER_PREFETCH_DISTANCE);
+        recyclerView.addOnScrollListener(coverPrefetcher);
+
+        // Start loading a book's detail screen as soon as its row is pressed
+        recyclerView.addOnItemTouchListener(new DetailPrefetcher(((MainActivity) requireActivity()).getBookDetails(),
+                CoverThumbnailLoader.getInstance(context), getResources().getDimensionPixelSize(R.dimen.book_detail_cover_size)));
+
+        // Get the BookDao and SeriesDao from the Activity
         bookDao = ((MainActivity) requireActivity()).getBookDao();
+        randomBookPicker = new RandomBookPicker(bookDao, new Random());
+        seriesDao = ((MainActivity) requireActivity()).getSeriesDao();
+        fuzzySearch = ((MainActivity) requireActivity()).getFuzzySearch();
+        duplicateFinder = new DuplicateFinder(((MainActivity) requireActivity()).getDatabase(), bookDao, fuzzySearch,
+                ((MainActivity) requireActivity()).getBookDetails());
+        searching = false;
+        searchRows.clear();
 
-        // Populate the book list with items from the BookDao
-        bookList = bookDao.getAll();
+        // Restore the list modes, for example after a theme or text size change
+        if (savedInstanceState != null) {
+            favoritesOnly = savedInstanceState.getBoolean(FAVORITES_ONLY_KEY);
+            groupedMode = savedInstanceState.getBoolean(GROUPED_MODE_KEY);
+            gridMode = savedInstanceState.getBoolean(GRID_MODE_KEY);
+            alphabeticalMode = savedInstanceState.getBoolean(ALPHABETICAL_MODE_KEY);
+        }
+
+        // Reuse the rows kept while the activity was recreated if nothing wrote to the library
+        // since, otherwise the book list is populated with items from the BookDao. The version
+        // is read first, so a write during the read makes the rows stale
+        LibraryViewModel library = new ViewModelProvider(requireActivity()).get(LibraryViewModel.class);
+        int libraryVersion = ((MainActivity) requireActivity()).getLibraryVersion();
+        bookRows = savedInstanceState != null ? library.getBookRows(libraryVersion) : null;
+        if (bookRows == null) {
+            bookRows = BookRow.wrap(favoritesOnly ? bookDao.getFavorites() : bookDao.getAll());
+            library.setBookRows(bookRows, libraryVersion);
+        }
 
         // Get the no books TextView from the View
         noBooksTextView = view.findViewById(R.id.noBooksTextView);
@@ -123,10 +268,129 @@ public class HomeFragment extends Fragment {
         updateNoBooksTextViewVisibility();
 
         // Initialize the BookAdapter with the book list and click listeners
-        bookAdapter = new BookAdapter(bookList, this::onBookClick, this::onBookLongClick);
+        bookAdapter = new BookAdapter(bookRows, this::onBookClick, this::onBookLongClick);
+        // Create the first rows from the ones the activity inflated in the background
+        bookAdapter.setRowInflater(((MainActivity) requireActivity()).getRowInflater());
+
+        // Initialize the GroupedBookAdapter, which pages its rows in as the list is scrolled
+        groupedBookAdapter = new GroupedBookAdapter(this::onBookClick, this::onSeriesClick);
+        groupedLast = null;
+        groupedLoading = false;
+        groupedExhausted = false;
+        groupedGeneration++;
+
+        // Initialize the AlphabeticalBookAdapter, which loads the page of a row when it's shown
+        alphabeticalBookAdapter = new AlphabeticalBookAdapter(this::onBookClick, this::loadTitlePage);
+
+        // Jump to a letter's header when it's picked on the index bar
+        sectionIndexBar = view.findViewById(R.id.sectionIndexBar);
+        sectionIndexBar.setOnSectionSelectedListener(this::scrollToSection);
+        sectionIndexBar.setVisibility(alphabeticalMode ? View.VISIBLE : View.GONE);
+
+        // Configure the RecyclerView with the adapter and layout of the current mode
+        applyLayoutMode();
+        if (groupedMode) {
+            recyclerView.setAdapter(groupedBookAdapter);
+            loadNextGroupedPage();
+        } else if (alphabeticalMode) {
+            recyclerView.setAdapter(alphabeticalBookAdapter);
+            loadTitleSections();
+        } else {
+            recyclerView.setAdapter(bookAdapter);
+        }
+
+        // Load the next grouped page when the end of the grouped list comes into view, and mark
+        // frames drawn while the list moves as scrolling frames
+        FrameTelemetry frameTelemetry = FrameTelemetry.getInstance(context);
+        recyclerView.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrollStateChanged(@NonNull RecyclerView recyclerView, int newState) {
+                frameTelemetry.setState(FrameTelemetry.STATE_SCROLLING,
+                        newState != RecyclerView.SCROLL_STATE_IDLE);
+            }
 
-        // Configure the RecyclerView with the BookAdapter
-        recyclerView.setAdapter(bookAdapter);
+            @Override
+            public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+                // Highlight the letter of the first visible row on the index bar
+                if (alphabeticalMode) {
+                    updateSelectedSection();
+                    return;
+                }
+                if (!groupedMode) {
+                    return;
+                }
+
+                LinearLayoutManager layoutManager = (LinearLayoutManager) recyclerView.getLayoutManager();
+                if (layoutManager != null && layoutManager.findLastVisibleItemPosition()
+                        >= groupedBookAdapter.getItemCount() - GROUPED_LOAD_DISTANCE) {
+                    loadNextGroupedPage();
+                }
+            }
+        });
+
+        // Add the group by series toggle to the toolbar while this view is resumed
+        requireActivity().addMenuProvider(new MenuProvider() {
+            @Override
+            public void onCreateMenu(@NonNull Menu menu, @NonNull MenuInflater menuInflater) {
+                menuInflater.inflate(R.menu.home_menu, menu);
+                homeMenu = menu;
+                updateModeChecks();
+                menu.findItem(R.id.action_favorites_only).setChecked(favoritesOnly);
+                menu.findItem(R.id.action_cover_grid).setChecked(gridMode);
+
+                // Search the library as the query is typed
+                SearchView searchView = (SearchView) menu.findItem(R.id.action_search).getActionView();
+                if (searchView != null) {
+                    searchView.setOnQueryTextListener(new SearchView.OnQueryTextListener() {
+                        @Override
+                        public boolean onQueryTextSubmit(String query) {
+                            search(query);
+                            return true;
+                        }
+
+                        @Override
+                        public boolean onQueryTextChange(String newText) {
+                            search(newText);
+                            return true;
+                        }
+                    });
+                }
+            }
+
+            @Override
+            public boolean onMenuItemSelected(@NonNull MenuItem menuItem) {
+                if (menuItem.getItemId() == R.id.action_group_by_series) {
+                    // Picking a mode shows the library again, without the modes from before the search
+                    stopSearch(false);
+                    setGroupedMode(!groupedMode);
+                    return true;
+                }
+                if (menuItem.getItemId() == R.id.action_alphabetical) {
+                    stopSearch(false);
+                    setAlphabeticalMode(!alphabeticalMode);
+                    return true;
+                }
+                if (menuItem.getItemId() == R.id.action_favorites_only) {
+                    setFavoritesOnly(!favoritesOnly);
+                    menuItem.setChecked(favoritesOnly);
+                    return true;
+                }
+                if (menuItem.getItemId() == R.id.action_cover_grid) {
+                    setGridMode(!gridMode);
+                    menuItem.setChecked(gridMode);
+                    return true;
+                }
+                if (menuItem.getItemId() == R.id.action_reading_queue) {
+                    navController.navigate(R.id.navigation_queue);
+                    return true;
+                }
+                if (menuItem.getItemId() == R.id.action_surprise_me) {
+                    openRandomUnreadBook();
+                    return true;
+                }
+                return false;
+            }
+        }, getViewLifecycleOwner(), Lifecycle.State.RESUMED);
 
         // Set FloatingActionButton on click listener
         FloatingActionButton floatingActionButton = view.findViewById(R.id.floatingActionButton);
@@ -135,6 +399,35 @@ public class HomeFragment extends Fragment {
         return view;
     }
     
+    /**
+     * Method that saves the list modes so they survive the activity being recreated. A search
+     * isn't kept, so the modes from before it are saved.
+     * @param outState Bundle in which to place your saved state.
+     */
+    @Override
+    public void onSaveInstanceState(@NonNull Bundle outState) {
+        super.onSaveInstanceState(outState);
+        outState.putBoolean(FAVORITES_ONLY_KEY, favoritesOnly);
+        outState.putBoolean(GROUPED_MODE_KEY, searching ? groupedBeforeSearch : groupedMode);
+        outState.putBoolean(GRID_MODE_KEY, gridMode);
+        outState.putBoolean(ALPHABETICAL_MODE_KEY, searching ? alphabeticalBeforeSearch : alphabeticalMode);
+    }
+
+    /**
+     * Method that runs when the view of the HomeFragment is destroyed.
+     */
+    @Override
+    public void onDestroyView() {
+        super.onDestroyView();
+
+        // Stop warming covers for a list that is gone
+        coverPrefetcher.cancel();
+        homeMenu = null;
+
+        // A list that is gone can't be scrolling anymore
+        FrameTelemetry.getInstance(requireContext()).setState(FrameTelemetry.STATE_SCROLLING, false);
+    }
+
     /**
     * Method that runs when the floating action button is clicked to add a new book.
     */
@@ -146,14 +439,22 @@ public class HomeFragment extends Fragment {
         layout.setOrientation(LinearLayout.VERTICAL);
         layout.setPadding(16, 16, 16, 16);
 
-        // Create EditText for book title
-        EditText titleEditText = new EditText(context);
+        // Suggest the library's titles and authors while typing, read once in the background
+        BookSuggestions suggestions = ((MainActivity) requireActivity()).getBookSuggestions();
+        suggestions.prepare();
+
+        // Create AutoCompleteTextView for book title
+        AutoCompleteTextView titleEditText = new AutoCompleteTextView(context);
         titleEditText.setHint("Book Title");
+        titleEditText.setThreshold(1);
+        titleEditText.setAdapter(new PrefixIndexAdapter(context, suggestions::getTitles));
         layout.addView(titleEditText);  // Add to layout
 
-        // Create EditText for author
-        EditText authorEditText = new EditText(context);
+        // Create AutoCompleteTextView for author
+        AutoCompleteTextView authorEditText = new AutoCompleteTextView(context);
         authorEditText.setHint("Author");
+        authorEditText.setThreshold(1);
+        authorEditText.setAdapter(new PrefixIndexAdapter(context, suggestions::getAuthors));
         layout.addView(authorEditText);  // Add to layout
 
         // Create AlertDialog
@@ -178,11 +479,8 @@ public class HomeFragment extends Fragment {
             book.setTitle(title);
             book.setAuthor(author);
 
-            // Add the book to the list
-            addBook(book);
-
-            // Notify user
-            Toast.makeText(context, "Book added!", Toast.LENGTH_SHORT).show();
+            // Add the book to the list unless the user already has it
+            addBookUnlessDuplicate(book);
         });
 
         // Set AlertDialog negative button with empty listener
@@ -194,6 +492,51 @@ public class HomeFragment extends Fragment {
         alert.show();
     }
 
+    /**
+     * Method that looks for the book in the library on the disk executor before adding it. If
+     * the same or a similar book is found, the user is asked whether to add it anyway.
+     * @param book Book to be added (Book)
+     */
+    private void addBookUnlessDuplicate(Book book) {
+        AppExecutors.diskIO().execute(() -> {
+            // An exact duplicate is an index search, a similar book goes through the search index
+            Book duplicate = duplicateFinder.findDuplicate(book.getTitle(), book.getAuthor());
+            boolean exact = duplicate != null;
+            if (!exact) {
+                duplicate = duplicateFinder.findSimilar(book.getTitle(), book.getAuthor());
+            }
+            Book existing = duplicate;
+
+            AppExecutors.runOnMainThread(() -> {
+                // Drop the check if the view is gone
+                if (getView() == null) {
+                    return;
+                }
+                if (existing == null) {
+                    addBook(book);
+                    Toast.makeText(context, "Book added!", Toast.LENGTH_SHORT).show();
+                    return;
+                }
+
+                // Warn about the duplicate and let the user decide
+                String message = exact
+                        ? String.format("%s by %s is already in your library.", existing.getTitle(), existing.getAuthor())
+                        : String.format("Your library has %s by %s. Is this the same book?", existing.getTitle(), existing.getAuthor());
+                new AlertDialog.Builder(context)
+                        .setMessage(message)
+                        .setPositiveButton("Add anyway", (dialog, button) -> {
+                            addBook(book);
+                            Toast.makeText(context, "Book added!", Toast.LENGTH_SHORT).show();
+                        })
+                        .setNeutralButton("Open", (dialog, button) -> onBookClick(existing, RecyclerView.NO_POSITION))
+                        .setNegativeButton("Cancel", (dialog, button) -> {
+                            // Keep the library as it is
+                        })
+                        .show();
+            });
+        });
+    }
+
     /**
      * Method that runs when a Book is clicked.
      * @param book Book that is clicked (Book)
@@ -208,6 +551,395 @@ public class HomeFragment extends Fragment {
         navController.navigate(R.id.navigation_book, bundle);
     }
 
+    /**
+     * Method that runs when a series header is clicked. It opens the first unread volume of the
+     * series.
+     * @param seriesId ID of the series that is clicked (int)
+     * @param seriesName Name of the series that is clicked (String)
+     */
+    private void onSeriesClick(int seriesId, String seriesName) {
+        // Look up the next unread volume through the series index
+        Book nextVolume = seriesDao.getNextUnreadVolume(seriesId);
+
+        // Let the user know if the series is finished
+        if (nextVolume == null) {
+            Toast.makeText(context, String.format("Every volume of %s is read", seriesName), Toast.LENGTH_SHORT).show();
+            return;
+        }
+
+        // Open the next unread volume
+        onBookClick(nextVolume, RecyclerView.NO_POSITION);
+    }
+
+    /**
+     * Method that opens a random unread book, only picking favorites while the list shows
+     * favorites only. The pick runs on the disk executor.
+     */
+    private void openRandomUnreadBook() {
+        boolean favorites = favoritesOnly;
+
+        AppExecutors.diskIO().execute(() -> {
+            Book book = randomBookPicker.pickUnread(favorites);
+
+            AppExecutors.runOnMainThread(() -> {
+                // Drop the pick if the view is gone
+                if (getView() == null) {
+                    return;
+                }
+                if (book == null) {
+                    Toast.makeText(context, favorites ? "Every favorite is read" : "Every book is read", Toast.LENGTH_SHORT).show();
+                    return;
+                }
+                onBookClick(book, RecyclerView.NO_POSITION);
+            });
+        });
+    }
+
+    /**
+     * Method that shows the books matching a query in the flat list, or the library again when
+     * the query is empty. The search runs on the disk executor and only the newest query's
+     * results are shown.
+     * @param query Words to look for, possibly misspelled (String)
+     */
+    private void search(String query) {
+        int generation = ++searchGeneration;
+
+        if (query == null || query.trim().isEmpty()) {
+            endSearch();
+            return;
+        }
+
+        AppExecutors.diskIO().execute(() -> {
+            List<Book> books = fuzzySearch.search(query, SEARCH_LIMIT);
+
+            AppExecutors.runOnMainThread(() -> {
+                // Drop the results if a newer query was typed or the view is gone
+                if (generation != searchGeneration || getView() == null) {
+                    return;
+                }
+
+                // Results are shown as a flat list, remember the modes to turn back on after
+                if (!searching) {
+                    searching = true;
+                    groupedBeforeSearch = groupedMode;
+                    alphabeticalBeforeSearch = alphabeticalMode;
+                    if (groupedMode) {
+                        setGroupedMode(false);
+                    }
+                    if (alphabeticalMode) {
+                        setAlphabeticalMode(false);
+                    }
+                }
+                searchRows.clear();
+                searchRows.addAll(BookRow.wrap(books));
+                bookAdapter.setBookRows(searchRows);
+                updateNoBooksTextViewVisibility();
+            });
+        });
+    }
+
+    /**
+     * Method that ends a search once its query is cleared, showing the library rows again in
+     * the list modes that were on before the search.
+     */
+    private void endSearch() {
+        if (!searching) {
+            return;
+        }
+        boolean grouped = groupedBeforeSearch;
+        boolean alphabetical = alphabeticalBeforeSearch;
+
+        // The query is already empty, so the search field stays open
+        searching = false;
+        searchRows.clear();
+        bookAdapter.setBookRows(bookRows);
+        updateNoBooksTextViewVisibility();
+
+        if (grouped) {
+            setGroupedMode(true);
+        } else if (alphabetical) {
+            setAlphabeticalMode(true);
+        }
+    }
+
+    /**
+     * Method that ends a search because the library is shown another way, showing the library
+     * rows in the flat list again. Results of queries still running are dropped and the search
+     * field is closed.
+     * @param restoreModes Whether the list modes from before the search are turned back on (boolean)
+     */
+    private void stopSearch(boolean restoreModes) {
+        if (!searching) {
+            return;
+        }
+        searchGeneration++;
+        if (restoreModes) {
+            endSearch();
+        } else {
+            searching = false;
+            searchRows.clear();
+            bookAdapter.setBookRows(bookRows);
+            updateNoBooksTextViewVisibility();
+        }
+
+        // Closing the field clears the query, which finds the search already ended
+        if (homeMenu != null) {
+            homeMenu.findItem(R.id.action_search).collapseActionView();
+        }
+    }
+
+    /**
+     * Method that filters the flat and alphabetical lists to favorite books or shows every book
+     * again. A search is ended, since the list shows the library again.
+     * @param favorites Whether only favorite books should be shown (boolean)
+     */
+    private void setFavoritesOnly(boolean favorites) {
+        favoritesOnly = favorites;
+        stopSearch(true);
+
+        // Reload the book list through the favorited_at index or the whole table
+        bookRows.clear();
+        bookRows.addAll(BookRow.wrap(favorites ? bookDao.getFavorites() : bookDao.getAll()));
+        bookAdapter.notifyDataSetChanged();
+        bookAdapter.precomputeText();
+        updateNoBooksTextViewVisibility();
+
+        // The alphabetical list counts and pages the same books
+        if (alphabeticalMode) {
+            loadTitleSections();
+        }
+    }
+
+    /**
+     * Method that switches the list between the flat and the grouped by series mode.
+     * @param grouped Whether the list should be grouped by series (boolean)
+     */
+    private void setGroupedMode(boolean grouped) {
+        groupedMode = grouped;
+
+        // The grouped and alphabetical lists replace each other
+        if (grouped && alphabeticalMode) {
+            alphabeticalMode = false;
+            sectionIndexBar.setVisibility(View.GONE);
+        }
+        updateModeChecks();
+
+        // The grouped list is always shown as rows
+        applyLayoutMode();
+
+        if (grouped) {
+            // Page the grouped list in from the start
+            resetGroupedList();
+            recyclerView.setAdapter(groupedBookAdapter);
+            loadNextGroupedPage();
+        } else {
+            recyclerView.setAdapter(bookAdapter);
+        }
+    }
+
+    /**
+     * Method that switches the list between the flat and the alphabetical mode, which shows
+     * every book in title order with an index bar to jump between letters.
+     * @param alphabetical Whether the list should be shown in title order (boolean)
+     */
+    private void setAlphabeticalMode(boolean alphabetical) {
+        alphabeticalMode = alphabetical;
+
+        // The grouped and alphabetical lists replace each other
+        if (alphabetical) {
+            groupedMode = false;
+        }
+        updateModeChecks();
+
+        // The alphabetical list is always shown as rows
+        applyLayoutMode();
+        sectionIndexBar.setVisibility(alphabetical ? View.VISIBLE : View.GONE);
+
+        if (alphabetical) {
+            // Lay the list out from the letter counts, books are paged in as they're shown
+            recyclerView.setAdapter(alphabeticalBookAdapter);
+            loadTitleSections();
+        } else {
+            recyclerView.setAdapter(bookAdapter);
+        }
+    }
+
+    /**
+     * Method that checks the menu items of the list modes that are on.
+     */
+    private void updateModeChecks() {
+        if (homeMenu == null) {
+            return;
+        }
+        homeMenu.findItem(R.id.action_group_by_series).setChecked(groupedMode);
+        homeMenu.findItem(R.id.action_alphabetical).setChecked(alphabeticalMode);
+    }
+
+    /**
+     * Method that switches the flat list between rows and a cover grid. The loaded rows are
+     * kept, so switching doesn't query the database again.
+     * @param grid Whether the flat list should be shown as a cover grid (boolean)
+     */
+    private void setGridMode(boolean grid) {
+        gridMode = grid;
+        applyLayoutMode();
+    }
+
+    /**
+     * Method that attaches the layout manager of the current mode to the RecyclerView, keeping
+     * the first visible book in view.
+     */
+    private void applyLayoutMode() {
+        boolean grid = gridMode && !groupedMode && !alphabeticalMode;
+        LinearLayoutManager layoutManager = grid ? gridLayoutManager : listLayoutManager;
+        LinearLayoutManager current = (LinearLayoutManager) recyclerView.getLayoutManager();
+        if (current == layoutManager) {
+            return;
+        }
+
+        // Remember where the user was before the views are recycled
+        int firstPosition = current != null ? current.findFirstVisibleItemPosition() : RecyclerView.NO_POSITION;
+
+        // Covers queued for the old size are no longer needed
+        coverPrefetcher.cancel();
+
+        // Switch the view type first, the old views go to the pool with the swap
+        bookAdapter.setGridMode(grid, gridCoverSizePx);
+        recyclerView.setLayoutManager(layoutManager);
+
+        if (firstPosition != RecyclerView.NO_POSITION) {
+            layoutManager.scrollToPosition(firstPosition);
+        }
+    }
+
+    /**
+     * Method that drops every grouped row so the grouped list pages in again from the start.
+     */
+    private void resetGroupedList() {
+        groupedGeneration++;
+        groupedLast = null;
+        groupedLoading = false;
+        groupedExhausted = false;
+        groupedBookAdapter.clear();
+    }
+
+    /**
+     * Method that loads the next page of the grouped list on the disk executor and appends it
+     * to the GroupedBookAdapter on the main thread.
+     */
+    private void loadNextGroupedPage() {
+        // Only load one page at a time, and stop once every volume is loaded
+        if (groupedLoading || groupedExhausted) {
+            return;
+        }
+        groupedLoading = true;
+
+        SeriesVolume after = groupedLast;
+        int generation = groupedGeneration;
+
+        AppExecutors.diskIO().execute(() -> {
+            // Header and volume rows come from the same volumes, read past the last loaded one
+            List<SeriesVolume> page = seriesDao.getVolumePage(after, GROUPED_PAGE_SIZE);
+
+            AppExecutors.runOnMainThread(() -> {
+                // Drop the page if the list was reset or the view is gone
+                if (generation != groupedGeneration || getView() == null) {
+                    return;
+                }
+
+                groupedLoading = false;
+                if (!page.isEmpty()) {
+                    groupedLast = page.get(page.size() - 1);
+                }
+                groupedExhausted = page.size() < GROUPED_PAGE_SIZE;
+                groupedBookAdapter.appendPage(page);
+            });
+        });
+    }
+
+    /**
+     * Method that loads the number of books per first letter on the disk executor and lays the
+     * alphabetical list out with them on the main thread.
+     */
+    private void loadTitleSections() {
+        int generation = ++sectionsGeneration;
+        boolean favorites = favoritesOnly;
+
+        AppExecutors.diskIO().execute(() -> {
+            // One grouped count over the dedupe_key or favorited_at index, no book is loaded
+            TitleSections sections = new TitleSections(favorites
+                    ? bookDao.getFavoriteTitleLetterCounts() : bookDao.getTitleLetterCounts(), favorites);
+
+            AppExecutors.runOnMainThread(() -> {
+                // Drop the sections if newer ones were requested or the view is gone
+                if (generation != sectionsGeneration || getView() == null) {
+                    return;
+                }
+
+                alphabeticalBookAdapter.setSections(sections);
+                sectionIndexBar.setLabels(sections.getLabels());
+                updateSelectedSection();
+            });
+        });
+    }
+
+    /**
+     * Method that loads a page of the alphabetical list on the disk executor and fills it into
+     * the AlphabeticalBookAdapter on the main thread.
+     * @param sections Sections the page belongs to (TitleSections)
+     * @param page Index of the page (int)
+     */
+    private void loadTitlePage(TitleSections sections, int page) {
+        int first = page * AlphabeticalBookAdapter.PAGE_SIZE;
+
+        AppExecutors.diskIO().execute(() -> {
+            // Start from the run holding the page's first book, the offset is never more than
+            // the run's size, and go on through the next runs until the page is full
+            List<Book> books = new ArrayList<>();
+            int run = sections.getRunForBook(first);
+            int offset = first - sections.getRunStart(run);
+            for (; run < sections.getRunCount() && books.size() < AlphabeticalBookAdapter.PAGE_SIZE; run++) {
+                String from = sections.getRunFrom(run);
+                String to = sections.getRunTo(run);
+                int limit = AlphabeticalBookAdapter.PAGE_SIZE - books.size();
+                books.addAll(to != null
+                        ? bookDao.getTitleRange(from, to, sections.isFavoritesOnly(), limit, offset)
+                        : bookDao.getTitlePage(from, sections.isFavoritesOnly(), limit, offset));
+                offset = 0;
+            }
+
+            AppExecutors.runOnMainThread(() -> {
+                // Drop the page if the view is gone, the adapter drops pages of older sections
+                if (getView() == null) {
+                    return;
+                }
+                alphabeticalBookAdapter.setPage(sections, page, books);
+            });
+        });
+    }
+
+    /**
+     * Method that scrolls the alphabetical list so a section's header is at the top.
+     * @param section Index of the section (int)
+     */
+    private void scrollToSection(int section) {
+        TitleSections sections = alphabeticalBookAdapter.getSections();
+        if (section < sections.getSectionCount()) {
+            listLayoutManager.scrollToPositionWithOffset(sections.getHeaderPosition(section), 0);
+        }
+    }
+
+    /**
+     * Method that highlights the section of the first visible row on the index bar.
+     */
+    private void updateSelectedSection() {
+        int firstPosition = listLayoutManager.findFirstVisibleItemPosition();
+        if (firstPosition != RecyclerView.NO_POSITION
+                && firstPosition < alphabeticalBookAdapter.getItemCount()) {
+            sectionIndexBar.setSelectedSection(alphabeticalBookAdapter.getSections().getSectionForPosition(firstPosition));
+        }
+    }
+
     /**
      * Method that runs when a Book is long clicked.
      * @param book Book that is long clicked (Book)
@@ -242,7 +974,7 @@ public class HomeFragment extends Fragment {
     private void updateNoBooksTextViewVisibility() {
         // Set the visibility of the "No books" TextView depending on whether the
         // book list is empty.
-        noBooksTextView.setVisibility(bookList.isEmpty() ? View.VISIBLE : View.GONE);
+        noBooksTextView.setVisibility((searching ? searchRows : bookRows).isEmpty() ? View.VISIBLE : View.GONE);
     }
 
     /**
@@ -256,13 +988,31 @@ public class HomeFragment extends Fragment {
 
         // Insert book into database
         long insertId = bookDao.insert(book);
+        // Suggest its title and author the next time
+        ((MainActivity) requireActivity()).getBookSuggestions().add(book.getTitle(), book.getAuthor());
 
-        // Update the data list
+        // Update the data list, new books aren't favorites yet
         book.setId((int) insertId);
-        bookList.add(book);
+        if (!favoritesOnly) {
+            bookRows.add(new BookRow(book));
 
-        // Notify the adapter
-        bookAdapter.notifyItemInserted(bookList.size() - 1);
+            // Notify the adapter unless it shows search results, the library rows are shown
+            // again when the search ends
+            if (!searching) {
+                bookAdapter.notifyItemInserted(bookRows.size() - 1);
+                bookAdapter.precomputeText();
+            }
+        }
+
+        // The new book may belong anywhere in the grouped order, so page it in again
+        if (groupedMode) {
+            resetGroupedList();
+            loadNextGroupedPage();
+        }
+        // It also moves every book after it in title order, so lay the sections out again
+        if (alphabeticalMode) {
+            loadTitleSections();
+        }
     }
 
     /**
@@ -271,14 +1021,30 @@ public class HomeFragment extends Fragment {
      * @param position Position of the Book in the table (int)
      */
     private void deleteBook(Book book, int position) {
-        // Delete book from database
+        // Delete book from database, and its series if it was the last volume
         bookDao.delete(book);
+        seriesDao.deleteEmptySeries();
+        // Delete its stored cover
+        CoverStore.delete(context, book.getCoverUri());
+        // Forget it if it was opened recently
+        ((MainActivity) requireActivity()).getBookDetails().invalidate(book.getId());
+        // Its title and author may be gone from the library, suggestions are read again
+        ((MainActivity) requireActivity()).getBookSuggestions().invalidate();
 
-        // Update the data list
-        bookList.remove(position);
+        // Update the data list, a search result is also removed from the library rows
+        if (searching) {
+            searchRows.remove(position);
+            for (int i = 0; i < bookRows.size(); i++) {
+                if (bookRows.get(i).getBook().getId() == book.getId()) {
+                    bookRows.remove(i);
+                    break;
+                }
+            }
+        } else {
+            bookRows.remove(position);
+        }
 
-        // Notify the adapter
+        // Notify the adapter, rows below don't need a rebind since clicks look up their position
         bookAdapter.notifyItemRemoved(position);
-        bookAdapter.notifyItemRangeChanged(position, bookList.size());
     }
 }
\ No newline at end of file
@@ -0,0 +1,130 @@
+package com.teamoranges.dragonscroll;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Instrumentation is a java class that keeps the app's {@link LatencyHistogram}s by name. Hot
+ * paths hold on to their histogram, and the debug screen reads every histogram as text or dumps
+ * them as a JSON report.
+ * @author Joshua Duque
+ * @author Mateo Garcia
+ * @author Emiliano Garza
+ * @author Samatha Poole
+ * @author Alaine Liserio
+ * UTSA CS 3443 - Team Oranges Project
+ * Fall 2024
+ */
+public final class Instrumentation {
+
+    // Name of the JSON report in the app's files directory
+    public static final String REPORT_FILE_NAME = "instrumentation-report.json";
+
+    // Histograms by name
+    private static final Map<String, LatencyHistogram> HISTOGRAMS = new ConcurrentHashMap<>();
+
+    /**
+     * Private constructor since Instrumentation only has static members.
+     */
+    private Instrumentation() {
+    }
+
+    /**
+     * Getter to return the histogram of a hot path, creating it on first use. Callers keep the
+     * histogram in a field so recording doesn't look it up.
+     * @param name Name of the hot path, also its trace section name (String)
+     * @return LatencyHistogram of the hot path
+     */
+    public static LatencyHistogram histogram(String name) {
+        LatencyHistogram histogram = HISTOGRAMS.get(name);
+        if (histogram == null) {
+            LatencyHistogram created = new LatencyHistogram(name);
+            histogram = HISTOGRAMS.putIfAbsent(name, created);
+            if (histogram == null) {
+                histogram = created;
+            }
+        }
+        return histogram;
+    }
+
+    /**
+     * Getter to return the histograms that recorded anything, sorted by name.
+     * @return List of the histograms
+     */
+    private static List<LatencyHistogram> getRecordedHistograms() {
+        List<LatencyHistogram> histograms = new ArrayList<>();
+        for (LatencyHistogram histogram : HISTOGRAMS.values()) {
+            if (histogram.getCount() > 0) {
+                histograms.add(histogram);
+            }
+        }
+        histograms.sort((a, b) -> a.getName().compareTo(b.getName()));
+        return histograms;
+    }
+
+    /**
+     * Method that describes every histogram that recorded anything.
+     * @return String of the summaries
+     */
+    public static String describe() {
+        StringBuilder builder = new StringBuilder();
+        for (LatencyHistogram histogram : getRecordedHistograms()) {
+            builder.append(histogram.describe());
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Method that clears every histogram.
+     */
+    public static void resetAll() {
+        for (LatencyHistogram histogram : HISTOGRAMS.values()) {
+            histogram.reset();
+        }
+    }
+
+    /**
+     * Method that builds the JSON report of every histogram that recorded anything.
+     * @return JSONObject of the report
+     * @throws JSONException if a value can't be written
+     */
+    public static JSONObject toJson() throws JSONException {
+        JSONArray histograms = new JSONArray();
+        for (LatencyHistogram histogram : getRecordedHistograms()) {
+            histograms.put(histogram.toJson());
+        }
+
+        return new JSONObject()
+                .put("generatedAt", System.currentTimeMillis())
+                .put("histograms", histograms);
+    }
+
+    /**
+     * Method that writes the JSON report to a file, replacing an older report.
+     * @param file File to write the report to (File)
+     * @throws IOException if the file can't be written
+     */
+    public static void writeReport(File file) throws IOException {
+        String report;
+        try {
+            report = toJson().toString(2);
+        } catch (JSONException e) {
+            throw new IOException("Unable to build the instrumentation report", e);
+        }
+
+        try (OutputStream outputStream = new FileOutputStream(file)) {
+            outputStream.write(report.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,499 @@
+package com.teamoranges.dragonscroll;
+
+import androidx.room.RoomDatabase;
+
+import com.teamoranges.dragonscroll.models.Book;
+import com.teamoranges.dragonscroll.models.BookUpdate;
+import com.teamoranges.dragonscroll.models.LetterCount;
+
+import java.util.List;
+
+/**
+ * InstrumentedBookDao is a java class that wraps the generated {@link BookDao} and records the
+ * latency and row count of every query into the {@link Instrumentation} histograms. Every DAO
+ * method has its own histogram and trace section named after it, so the percentiles of a fast
+ * lookup never mix with those of a scan.
+ * @author Joshua Duque
+ * @author Mateo Garcia
+ * @author Emiliano Garza
+ * @author Samatha Poole
+ * @author Alaine Liserio
+ * UTSA CS 3443 - Team Oranges Project
+ * Fall 2024
+ */
+public class InstrumentedBookDao extends BookDao {
+
+    // Histograms of the read queries
+    private static final LatencyHistogram GET_ALL = Instrumentation.histogram("BookDao.getAll");
+    private static final LatencyHistogram GET_COUNT = Instrumentation.histogram("BookDao.getCount");
+    private static final LatencyHistogram GET_BOOK = Instrumentation.histogram("BookDao.getBook");
+    private static final LatencyHistogram GET_BOOK_BY_TITLE = Instrumentation.histogram("BookDao.getBookByTitle");
+    private static final LatencyHistogram GET_DUPLICATE = Instrumentation.histogram("BookDao.getDuplicate");
+    private static final LatencyHistogram GET_TITLE_LETTER_COUNTS = Instrumentation.histogram("BookDao.getTitleLetterCounts");
+    private static final LatencyHistogram GET_FAVORITE_TITLE_LETTER_COUNTS = Instrumentation.histogram("BookDao.getFavoriteTitleLetterCounts");
+    private static final LatencyHistogram GET_TITLE_PAGE = Instrumentation.histogram("BookDao.getTitlePage");
+    private static final LatencyHistogram GET_TITLE_RANGE = Instrumentation.histogram("BookDao.getTitleRange");
+    private static final LatencyHistogram GET_BOOKS_WITH_CONTENT_COVERS = Instrumentation.histogram("BookDao.getBooksWithContentCovers");
+    private static final LatencyHistogram GET_FAVORITES = Instrumentation.histogram("BookDao.getFavorites");
+    private static final LatencyHistogram GET_TOP_FAVORITE = Instrumentation.histogram("BookDao.getTopFavorite");
+    private static final LatencyHistogram GET_UNREAD_COUNT = Instrumentation.histogram("BookDao.getUnreadCount");
+    private static final LatencyHistogram GET_UNREAD_BOOK_AT_SLOT = Instrumentation.histogram("BookDao.getUnreadBookAtSlot");
+    private static final LatencyHistogram GET_UNREAD_FAVORITE_IDS = Instrumentation.histogram("BookDao.getUnreadFavoriteIds");
+    private static final LatencyHistogram GET_DISTINCT_TITLES = Instrumentation.histogram("BookDao.getDistinctTitles");
+    private static final LatencyHistogram GET_DISTINCT_AUTHORS = Instrumentation.histogram("BookDao.getDistinctAuthors");
+    private static final LatencyHistogram GET_QUEUE_PAGE = Instrumentation.histogram("BookDao.getQueuePage");
+    private static final LatencyHistogram GET_QUEUE_KEY = Instrumentation.histogram("BookDao.getQueueKey");
+    private static final LatencyHistogram GET_NEXT_QUEUE_KEY = Instrumentation.histogram("BookDao.getNextQueueKey");
+    private static final LatencyHistogram GET_LAST_QUEUE_KEY = Instrumentation.histogram("BookDao.getLastQueueKey");
+    private static final LatencyHistogram GET_QUEUE_IDS = Instrumentation.histogram("BookDao.getQueueIds");
+
+    // Histograms of the writes
+    private static final LatencyHistogram SET_TITLE = Instrumentation.histogram("BookDao.setTitle");
+    private static final LatencyHistogram SET_AUTHOR = Instrumentation.histogram("BookDao.setAuthor");
+    private static final LatencyHistogram SET_RATING = Instrumentation.histogram("BookDao.setRating");
+    private static final LatencyHistogram SET_COVER_URI = Instrumentation.histogram("BookDao.setCoverUri");
+    private static final LatencyHistogram SET_SUMMARY = Instrumentation.histogram("BookDao.setSummary");
+    private static final LatencyHistogram SET_NOTES = Instrumentation.histogram("BookDao.setNotes");
+    private static final LatencyHistogram SET_START_DATE = Instrumentation.histogram("BookDao.setStartDate");
+    private static final LatencyHistogram SET_END_DATE = Instrumentation.histogram("BookDao.setEndDate");
+    private static final LatencyHistogram SET_SERIES = Instrumentation.histogram("BookDao.setSeries");
+    private static final LatencyHistogram SET_FAVORITED_AT = Instrumentation.histogram("BookDao.setFavoritedAt");
+    private static final LatencyHistogram SET_QUEUE_KEY = Instrumentation.histogram("BookDao.setQueueKey");
+    private static final LatencyHistogram INSERT = Instrumentation.histogram("BookDao.insert");
+    private static final LatencyHistogram INSERT_ALL = Instrumentation.histogram("BookDao.insertAll");
+    private static final LatencyHistogram DELETE = Instrumentation.histogram("BookDao.delete");
+    private static final LatencyHistogram NUKE_TABLE = Instrumentation.histogram("BookDao.nukeTable");
+    private static final LatencyHistogram UPDATE_ALL = Instrumentation.histogram("BookDao.updateAll");
+
+    // Generated DAO the queries are forwarded to
+    private final BookDao delegate;
+
+    /**
+     * Constructor to initialize the {@link InstrumentedBookDao} object.
+     * @param database Database the DAO belongs to (RoomDatabase)
+     * @param delegate Generated DAO to forward the queries to (BookDao)
+     */
+    public InstrumentedBookDao(RoomDatabase database, BookDao delegate) {
+        super(database);
+        this.delegate = delegate;
+    }
+
+    @Override
+    public List<Book> getAll() {
+        long start = GET_ALL.begin();
+        try {
+            List<Book> books = delegate.getAll();
+            GET_ALL.addRows(books.size());
+            return books;
+        } finally {
+            GET_ALL.end(start);
+        }
+    }
+
+    @Override
+    public int getCount() {
+        long start = GET_COUNT.begin();
+        try {
+            return delegate.getCount();
+        } finally {
+            GET_COUNT.end(start);
+        }
+    }
+
+    @Override
+    public Book getBook(int id) {
+        long start = GET_BOOK.begin();
+        try {
+            Book book = delegate.getBook(id);
+            GET_BOOK.addRows(book != null ? 1 : 0);
+            return book;
+        } finally {
+            GET_BOOK.end(start);
+        }
+    }
+
+    @Override
+    public Book getBookByTitle(String title) {
+        long start = GET_BOOK_BY_TITLE.begin();
+        try {
+            Book book = delegate.getBookByTitle(title);
+            GET_BOOK_BY_TITLE.addRows(book != null ? 1 : 0);
+            return book;
+        } finally {
+            GET_BOOK_BY_TITLE.end(start);
+        }
+    }
+
+    @Override
+    public Book getDuplicate(String title, String author) {
+        long start = GET_DUPLICATE.begin();
+        try {
+            Book book = delegate.getDuplicate(title, author);
+            GET_DUPLICATE.addRows(book != null ? 1 : 0);
+            return book;
+        } finally {
+            GET_DUPLICATE.end(start);
+        }
+    }
+
+    @Override
+    public List<LetterCount> getTitleLetterCounts() {
+        long start = GET_TITLE_LETTER_COUNTS.begin();
+        try {
+            List<LetterCount> counts = delegate.getTitleLetterCounts();
+            GET_TITLE_LETTER_COUNTS.addRows(counts.size());
+            return counts;
+        } finally {
+            GET_TITLE_LETTER_COUNTS.end(start);
+        }
+    }
+
+    @Override
+    public List<LetterCount> getFavoriteTitleLetterCounts() {
+        long start = GET_FAVORITE_TITLE_LETTER_COUNTS.begin();
+        try {
+            List<LetterCount> counts = delegate.getFavoriteTitleLetterCounts();
+            GET_FAVORITE_TITLE_LETTER_COUNTS.addRows(counts.size());
+            return counts;
+        } finally {
+            GET_FAVORITE_TITLE_LETTER_COUNTS.end(start);
+        }
+    }
+
+    @Override
+    public List<Book> getTitlePage(String from, boolean favoritesOnly, int limit, int offset) {
+        long start = GET_TITLE_PAGE.begin();
+        try {
+            List<Book> books = delegate.getTitlePage(from, favoritesOnly, limit, offset);
+            GET_TITLE_PAGE.addRows(books.size());
+            return books;
+        } finally {
+            GET_TITLE_PAGE.end(start);
+        }
+    }
+
+    @Override
+    public List<Book> getTitleRange(String from, String to, boolean favoritesOnly, int limit, int offset) {
+        long start = GET_TITLE_RANGE.begin();
+        try {
+            List<Book> books = delegate.getTitleRange(from, to, favoritesOnly, limit, offset);
+            GET_TITLE_RANGE.addRows(books.size());
+            return books;
+        } finally {
+            GET_TITLE_RANGE.end(start);
+        }
+    }
+
+    @Override
+    public List<Book> getQueuePage(String after, int limit) {
+        long start = GET_QUEUE_PAGE.begin();
+        try {
+            List<Book> books = delegate.getQueuePage(after, limit);
+            GET_QUEUE_PAGE.addRows(books.size());
+            return books;
+        } finally {
+            GET_QUEUE_PAGE.end(start);
+        }
+    }
+
+    @Override
+    public String getQueueKey(int id) {
+        long start = GET_QUEUE_KEY.begin();
+        try {
+            return delegate.getQueueKey(id);
+        } finally {
+            GET_QUEUE_KEY.end(start);
+        }
+    }
+
+    @Override
+    public String getNextQueueKey(String after, int skippedId) {
+        long start = GET_NEXT_QUEUE_KEY.begin();
+        try {
+            return delegate.getNextQueueKey(after, skippedId);
+        } finally {
+            GET_NEXT_QUEUE_KEY.end(start);
+        }
+    }
+
+    @Override
+    public String getLastQueueKey() {
+        long start = GET_LAST_QUEUE_KEY.begin();
+        try {
+            return delegate.getLastQueueKey();
+        } finally {
+            GET_LAST_QUEUE_KEY.end(start);
+        }
+    }
+
+    @Override
+    public List<Integer> getQueueIds() {
+        long start = GET_QUEUE_IDS.begin();
+        try {
+            List<Integer> ids = delegate.getQueueIds();
+            GET_QUEUE_IDS.addRows(ids.size());
+            return ids;
+        } finally {
+            GET_QUEUE_IDS.end(start);
+        }
+    }
+
+    @Override
+    public List<Book> getBooksWithContentCovers() {
+        long start = GET_BOOKS_WITH_CONTENT_COVERS.begin();
+        try {
+            List<Book> books = delegate.getBooksWithContentCovers();
+            GET_BOOKS_WITH_CONTENT_COVERS.addRows(books.size());
+            return books;
+        } finally {
+            GET_BOOKS_WITH_CONTENT_COVERS.end(start);
+        }
+    }
+
+    @Override
+    public List<Book> getFavorites() {
+        long start = GET_FAVORITES.begin();
+        try {
+            List<Book> books = delegate.getFavorites();
+            GET_FAVORITES.addRows(books.size());
+            return books;
+        } finally {
+            GET_FAVORITES.end(start);
+        }
+    }
+
+    @Override
+    public Book getTopFavorite() {
+        long start = GET_TOP_FAVORITE.begin();
+        try {
+            Book book = delegate.getTopFavorite();
+            GET_TOP_FAVORITE.addRows(book != null ? 1 : 0);
+            return book;
+        } finally {
+            GET_TOP_FAVORITE.end(start);
+        }
+    }
+
+    @Override
+    public int getUnreadCount() {
+        long start = GET_UNREAD_COUNT.begin();
+        try {
+            return delegate.getUnreadCount();
+        } finally {
+            GET_UNREAD_COUNT.end(start);
+        }
+    }
+
+    @Override
+    public Book getUnreadBookAtSlot(int slot) {
+        long start = GET_UNREAD_BOOK_AT_SLOT.begin();
+        try {
+            Book book = delegate.getUnreadBookAtSlot(slot);
+            GET_UNREAD_BOOK_AT_SLOT.addRows(book != null ? 1 : 0);
+            return book;
+        } finally {
+            GET_UNREAD_BOOK_AT_SLOT.end(start);
+        }
+    }
+
+    @Override
+    public List<Integer> getUnreadFavoriteIds() {
+        long start = GET_UNREAD_FAVORITE_IDS.begin();
+        try {
+            List<Integer> ids = delegate.getUnreadFavoriteIds();
+            GET_UNREAD_FAVORITE_IDS.addRows(ids.size());
+            return ids;
+        } finally {
+            GET_UNREAD_FAVORITE_IDS.end(start);
+        }
+    }
+
+    @Override
+    public List<String> getDistinctTitles() {
+        long start = GET_DISTINCT_TITLES.begin();
+        try {
+            List<String> titles = delegate.getDistinctTitles();
+            GET_DISTINCT_TITLES.addRows(titles.size());
+            return titles;
+        } finally {
+            GET_DISTINCT_TITLES.end(start);
+        }
+    }
+
+    @Override
+    public List<String> getDistinctAuthors() {
+        long start = GET_DISTINCT_AUTHORS.begin();
+        try {
+            List<String> authors = delegate.getDistinctAuthors();
+            GET_DISTINCT_AUTHORS.addRows(authors.size());
+            return authors;
+        } finally {
+            GET_DISTINCT_AUTHORS.end(start);
+        }
+    }
+
+    @Override
+    public void setTitle(int id, String title) {
+        long start = SET_TITLE.begin();
+        try {
+            delegate.setTitle(id, title);
+        } finally {
+            SET_TITLE.end(start);
+        }
+    }
+
+    @Override
+    public void setAuthor(int id, String author) {
+        long start = SET_AUTHOR.begin();
+        try {
+            delegate.setAuthor(id, author);
+        } finally {
+            SET_AUTHOR.end(start);
+        }
+    }
+
+    @Override
+    public void setRating(int id, int rating) {
+        long start = SET_RATING.begin();
+        try {
+            delegate.setRating(id, rating);
+        } finally {
+            SET_RATING.end(start);
+        }
+    }
+
+    @Override
+    public void setCoverUri(int id, String coverUri) {
+        long start = SET_COVER_URI.begin();
+        try {
+            delegate.setCoverUri(id, coverUri);
+        } finally {
+            SET_COVER_URI.end(start);
+        }
+    }
+
+    @Override
+    public void setSummary(int id, String summary) {
+        long start = SET_SUMMARY.begin();
+        try {
+            delegate.setSummary(id, summary);
+        } finally {
+            SET_SUMMARY.end(start);
+        }
+    }
+
+    @Override
+    public void setNotes(int id, String notes) {
+        long start = SET_NOTES.begin();
+        try {
+            delegate.setNotes(id, notes);
+        } finally {
+            SET_NOTES.end(start);
+        }
+    }
+
+    @Override
+    public void setStartDate(int id, String startDate) {
+        long start = SET_START_DATE.begin();
+        try {
+            delegate.setStartDate(id, startDate);
+        } finally {
+            SET_START_DATE.end(start);
+        }
+    }
+
+    @Override
+    public void setEndDate(int id, String endDate) {
+        long start = SET_END_DATE.begin();
+        try {
+            delegate.setEndDate(id, endDate);
+        } finally {
+            SET_END_DATE.end(start);
+        }
+    }
+
+    @Override
+    public void setSeries(int id, Integer seriesId, int volumeIndex) {
+        long start = SET_SERIES.begin();
+        try {
+            delegate.setSeries(id, seriesId, volumeIndex);
+        } finally {
+            SET_SERIES.end(start);
+        }
+    }
+
+    @Override
+    public void setFavoritedAt(int id, Long favoritedAt) {
+        long start = SET_FAVORITED_AT.begin();
+        try {
+            delegate.setFavoritedAt(id, favoritedAt);
+        } finally {
+            SET_FAVORITED_AT.end(start);
+        }
+    }
+
+    @Override
+    public void setQueueKey(int id, String tbrKey) {
+        long start = SET_QUEUE_KEY.begin();
+        try {
+            delegate.setQueueKey(id, tbrKey);
+        } finally {
+            SET_QUEUE_KEY.end(start);
+        }
+    }
+
+    @Override
+    public void insertAll(Book... books) {
+        long start = INSERT_ALL.begin();
+        try {
+            delegate.insertAll(books);
+            INSERT_ALL.addRows(books.length);
+        } finally {
+            INSERT_ALL.end(start);
+        }
+    }
+
+    @Override
+    public long insert(Book book) {
+        long start = INSERT.begin();
+        try {
+            long id = delegate.insert(book);
+            INSERT.addRows(1);
+            return id;
+        } finally {
+            INSERT.end(start);
+        }
+    }
+
+    @Override
+    public void delete(Book book) {
+        long start = DELETE.begin();
+        try {
+            delegate.delete(book);
+        } finally {
+            DELETE.end(start);
+        }
+    }
+
+    @Override
+    public void nukeTable() {
+        long start = NUKE_TABLE.begin();
+        try {
+            delegate.nukeTable();
+        } finally {
+            NUKE_TABLE.end(start);
+        }
+    }
+
+    @Override
+    public int updateAll(List<BookUpdate> updates) {
+        long start = UPDATE_ALL.begin();
+        try {
+            int updated = delegate.updateAll(updates);
+            UPDATE_ALL.addRows(updated);
+            return updated;
+        } finally {
+            UPDATE_ALL.end(start);
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.teamoranges.dragonscroll;
+
+import android.os.Trace;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * LatencyHistogram is a java class that records how long a hot path takes into power of two
+ * buckets and emits a {@link Trace} section around it. Recording is lock free and doesn't
+ * allocate, so it can wrap binds and queries. Histograms are created through
+ * {@link Instrumentation#histogram(String)}.
+ * @author Joshua Duque
+ * @author Mateo Garcia
+ * @author Emiliano Garza
+ * @author Samatha Poole
+ * @author Alaine Liserio
+ * UTSA CS 3443 - Team Oranges Project
+ * Fall 2024
+ */
+public class LatencyHistogram {
+
+    // Bucket i counts durations from 2^i up to 2^(i + 1) nanoseconds, the last one is open ended
+    private static final int BUCKET_COUNT = 40;
+
+    // Name of the hot path, also used as the trace section name
+    private final String name;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong totalNs = new AtomicLong();
+    private final AtomicLong maxNs = new AtomicLong();
+    private final AtomicLong rows = new AtomicLong();
+
+    /**
+     * Constructor to initialize the {@link LatencyHistogram} object.
+     * @param name Name of the hot path (String)
+     */
+    LatencyHistogram(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Getter to return the name of the hot path.
+     * @return String of the name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Method that starts timing the hot path and opens its trace section. Every call must be
+     * followed by {@link #end(long)} on the same thread, usually from a finally block.
+     * @return long of the start time in nanoseconds
+     */
+    public long begin() {
+        Trace.beginSection(name);
+        return System.nanoTime();
+    }
+
+    /**
+     * Method that records the time since {@link #begin()} and closes the trace section.
+     * @param startNs Start time returned by begin (long)
+     */
+    public void end(long startNs) {
+        record(System.nanoTime() - startNs);
+        Trace.endSection();
+    }
+
+    /**
+     * Method that records a single duration.
+     * @param durationNs Duration in nanoseconds (long)
+     */
+    public void record(long durationNs) {
+        long duration = Math.max(durationNs, 1);
+        int bucket = Math.min(63 - Long.numberOfLeadingZeros(duration), BUCKET_COUNT - 1);
+
+        buckets.incrementAndGet(bucket);
+        count.incrementAndGet();
+        totalNs.addAndGet(duration);
+
+        // Raise the maximum unless another thread raised it further
+        long max = maxNs.get();
+        while (duration > max && !maxNs.compareAndSet(max, duration)) {
+            max = maxNs.get();
+        }
+    }
+
+    /**
+     * Method that adds to the number of rows the hot path returned.
+     * @param rowCount Number of rows (int)
+     */
+    public void addRows(int rowCount) {
+        rows.addAndGet(rowCount);
+    }
+
+    /**
+     * Getter to return the number of recorded durations.
+     * @return long of the count
+     */
+    public long getCount() {
+        return count.get();
+    }
+
+    /**
+     * Getter to return the mean of the recorded durations.
+     * @return double of the mean in nanoseconds, 0 if nothing was recorded
+     */
+    public double getMeanNs() {
+        long recorded = count.get();
+        return recorded == 0 ? 0 : (double) totalNs.get() / recorded;
+    }
+
+    /**
+     * Getter to return an upper bound for a percentile of the recorded durations. The bound is
+     * the end of the bucket the percentile falls in, so it is within a factor of two.
+     * @param percentile Percentile between 0 and 100 (double)
+     * @return long of the bound in nanoseconds, 0 if nothing was recorded
+     */
+    public long getPercentileNs(double percentile) {
+        long recorded = count.get();
+        if (recorded == 0) {
+            return 0;
+        }
+
+        long target = (long) Math.ceil(recorded * percentile / 100.0);
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+            seen += buckets.get(bucket);
+            if (seen >= target) {
+                return Math.min(1L << (bucket + 1), maxNs.get());
+            }
+        }
+        return maxNs.get();
+    }
+
+    /**
+     * Method that clears every recorded value.
+     */
+    public void reset() {
+        for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+            buckets.set(bucket, 0);
+        }
+        count.set(0);
+        totalNs.set(0);
+        maxNs.set(0);
+        rows.set(0);
+    }
+
+    /**
+     * Method that describes the histogram on a single line, with durations in microseconds.
+     * @return String of the summary
+     */
+    public String describe() {
+        return String.format(Locale.US,
+                "%s%n  n %d, mean %.0f us, p50 %d us, p90 %d us, p99 %d us, max %d us, rows %d%n",
+                name, count.get(), getMeanNs() / 1_000, getPercentileNs(50) / 1_000,
+                getPercentileNs(90) / 1_000, getPercentileNs(99) / 1_000, maxNs.get() / 1_000,
+                rows.get());
+    }
+
+    /**
+     * Method that converts the histogram to JSON, including the raw bucket counts.
+     * @return JSONObject of the histogram
+     * @throws JSONException if a value can't be written
+     */
+    public JSONObject toJson() throws JSONException {
+        JSONArray bucketCounts = new JSONArray();
+        for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+            bucketCounts.put(buckets.get(bucket));
+        }
+
+        return new JSONObject()
+                .put("name", name)
+                .put("count", count.get())
+                .put("rows", rows.get())
+                .put("meanNs", getMeanNs())
+                .put("p50Ns", getPercentileNs(50))
+                .put("p90Ns", getPercentileNs(90))
+                .put("p99Ns", getPercentileNs(99))
+                .put("maxNs", maxNs.get())
+                .put("log2Buckets", bucketCounts);
+    }
+}
@@ -0,0 +1,52 @@
+package com.teamoranges.dragonscroll;
+
+import androidx.lifecycle.ViewModel;
+
+import java.util.List;
+
+/**
+ * LibraryViewModel is a java class that extends {@link ViewModel}. It keeps the rows of the home
+ * list loaded while the activity is recreated for a theme or text size change, so the library
+ * isn't read from the database again. The rows are only handed out while the library is at the
+ * version they were loaded at, any write from another screen or worker makes them stale.
+ * @author Joshua Duque
+ * @author Mateo Garcia
+ * @author Emiliano Garza
+ * @author Samatha Poole
+ * @author Alaine Liserio
+ * UTSA CS 3443 - Team Oranges Project
+ * Fall 2024
+ */
+public class LibraryViewModel extends ViewModel {
+
+    // Rows of the home list, null until the list is loaded or after the library changed
+    private List<BookRow> bookRows;
+    // Version of the library the rows were loaded at
+    private int libraryVersion;
+
+    /**
+     * Getter to return the loaded rows of the home list if the library hasn't changed since.
+     * @param currentVersion Current version of the library (int)
+     * @return List of type BookRow or null if nothing is loaded or the rows are stale
+     */
+    public List<BookRow> getBookRows(int currentVersion) {
+        return currentVersion == libraryVersion ? bookRows : null;
+    }
+
+    /**
+     * Setter to keep the loaded rows of the home list.
+     * @param bookRows Rows of the home list (List of type BookRow)
+     * @param libraryVersion Version of the library read before the rows were loaded (int)
+     */
+    public void setBookRows(List<BookRow> bookRows, int libraryVersion) {
+        this.bookRows = bookRows;
+        this.libraryVersion = libraryVersion;
+    }
+
+    /**
+     * Method that drops the kept rows after the library was changed outside the home list.
+     */
+    public void invalidate() {
+        bookRows = null;
+    }
+}
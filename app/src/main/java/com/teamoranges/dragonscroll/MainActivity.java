@@ -1,6 +1,6 @@
 package com.teamoranges.dragonscroll;
 
-import android.content.SharedPreferences;
+import android.content.Context;
 import android.content.res.Configuration;
 import android.os.Bundle;
 
@@ -15,10 +15,11 @@ import androidx.navigation.NavController;
 import androidx.navigation.fragment.NavHostFragment;
 import androidx.navigation.ui.AppBarConfiguration;
 import androidx.navigation.ui.NavigationUI;
-import androidx.room.Room;
 
 import com.google.android.material.bottomnavigation.BottomNavigationView;
 
+import java.util.Objects;
+
 /**
  * MainActivity is a java class for the sole activity of the app. It configures things like the app's theme,
  * {@link BottomNavigationView}, and {@link AppDatabase}.
@@ -32,9 +33,37 @@ import com.google.android.material.bottomnavigation.BottomNavigationView;
  */
 public class MainActivity extends AppCompatActivity {
 
+    // Height of a home list row in dp, cover plus its vertical padding
+    private static final int BOOK_ROW_HEIGHT_DP = 96;
+
     private NavController navController;
     private AppDatabase database;
     private BookDao bookDao;
+    private SeriesDao seriesDao;
+    private AsyncRowInflater rowInflater;
+    private FrameTelemetry frameTelemetry;
+
+    // Theme and text size the activity's views were built with
+    private String appliedTheme;
+    private float appliedTextSize;
+
+    /**
+     * Method that attaches the activity to its base context. The text size is applied here
+     * through a configuration context, so the app's shared resources aren't changed. If the
+     * settings aren't read yet, the default size is used and the stored one is applied once
+     * they are, so launching never waits on the disk.
+     * @param newBase The new base context for this activity.
+     */
+    @Override
+    protected void attachBaseContext(Context newBase) {
+        SettingsStore settings = SettingsStore.getInstance(newBase);
+        appliedTextSize = settings.isLoaded() ? settings.getTextSize() : SettingsStore.DEFAULT_TEXT_SIZE;
+
+        // Override only the font scale, every other field follows the system
+        Configuration configuration = new Configuration();
+        configuration.fontScale = appliedTextSize;
+        super.attachBaseContext(newBase.createConfigurationContext(configuration));
+    }
 
     /**
      * Method that runs when the app is started.
@@ -59,6 +88,13 @@ public class MainActivity extends AppCompatActivity {
             return insets;
         });
 
+        // Inflate the first screen of home list rows in the background while the navigation
+        // and database are set up. This starts after setContentView, so the activity's view
+        // factory is fully set up before it is used off the main thread.
+        rowInflater = new AsyncRowInflater(this);
+        rowInflater.preinflate(R.layout.book_item,
+                getResources().getConfiguration().screenHeightDp / BOOK_ROW_HEIGHT_DP + 1);
+
         // Get the activity's BottomNavigationView
         BottomNavigationView bottomNavigationView = findViewById(R.id.bottomNavView);
 
@@ -85,16 +121,64 @@ public class MainActivity extends AppCompatActivity {
             NavigationUI.setupWithNavController(bottomNavigationView, navController, false);
         }
 
-        // Initialize the database.
-        // NOTE: Notice how we allow queries on the main thread. This is very bad but we have no
-        // time to scaffold out something proper. We'll use movie magic to reduce load times in
-        // the presentation.
-        database = Room.databaseBuilder(
-                getApplicationContext(), AppDatabase.class, "books-db"
-        ).allowMainThreadQueries().fallbackToDestructiveMigration().build();
+        // Attribute frame times to the current destination, such as navigation_home
+        frameTelemetry = FrameTelemetry.getInstance(this);
+        if (navController != null) {
+            navController.addOnDestinationChangedListener((controller, destination, arguments) ->
+                    frameTelemetry.setScreen(getResources().getResourceEntryName(destination.getId())));
+        }
+
+        // Get the database data access objects, the database itself belongs to the application
+        // so it stays open when the activity is recreated. Book queries are timed for the debug
+        // screen by the DAO the application shares with its caches
+        database = ((DragonScrollApplication) getApplication()).getDatabase();
+        bookDao = ((DragonScrollApplication) getApplication()).getBookDao();
+        seriesDao = database.seriesDao();
+    }
+
+    /**
+     * Method that runs when the activity becomes visible.
+     */
+    @Override
+    protected void onStart() {
+        super.onStart();
 
-        // Initialize the book database data access objects
-        bookDao = database.bookDao();
+        // Track the frames of this activity's window
+        frameTelemetry.attach(getWindow());
+    }
+
+    /**
+     * Method that runs when the activity is no longer visible.
+     */
+    @Override
+    protected void onStop() {
+        super.onStop();
+
+        // Summarize the current screen visit while the app is in the background
+        frameTelemetry.detach();
+    }
+
+    /**
+     * Method that runs when the activity's window gains or loses focus, which it loses while a
+     * dialog is shown on top of it.
+     * @param hasFocus Whether the window has focus (boolean)
+     */
+    @Override
+    public void onWindowFocusChanged(boolean hasFocus) {
+        super.onWindowFocusChanged(hasFocus);
+
+        frameTelemetry.setState(FrameTelemetry.STATE_DIALOG, !hasFocus);
+    }
+
+    /**
+     * Method that runs when the activity is destroyed.
+     */
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+
+        // Drop rows inflated for this activity's context
+        rowInflater.clear();
     }
 
     @Override
@@ -106,76 +190,105 @@ public class MainActivity extends AppCompatActivity {
     }
 
     /**
-     * Method that configures the settings a user has inputted for the app
+     * Method that configures the settings a user has inputted for the app. If the settings
+     * aren't read yet, the default theme is used and the stored settings are applied once they
+     * are, so launching never waits on the disk.
      */
     private void configureTheme() {
-        // Get shared preferences
-        String preferenceFileKey = getString(R.string.preference_file_key);
-        SharedPreferences sharedPreferences = getSharedPreferences(preferenceFileKey, MODE_PRIVATE);
-
-        // Check if we got shared preferences successfully
-        if (sharedPreferences != null) {
-            // Check shared preferences for current theme
-            String themesPreferenceKey = getString(R.string.themes_preference_key);
-            String theme = sharedPreferences.getString(themesPreferenceKey, null);
-
-            // Set theme if it exists in shared preferences
-            if (theme != null) {
-                switch (theme) {
-                    case "theme_red":
-                        setTheme(R.style.Red_Theme_DragonScroll);
-                        break;
-                    case "theme_orange":
-                        setTheme(R.style.Orange_Theme_DragonScroll);
-                        break;
-                    case "theme_yellow":
-                        setTheme(R.style.Yellow_Theme_DragonScroll);
-                        break;
-                    case "theme_green":
-                        setTheme(R.style.Green_Theme_DragonScroll);
-                        break;
-                    case "theme_blue":
-                        setTheme(R.style.Blue_Theme_DragonScroll);
-                        break;
-                    case "theme_purple":
-                        setTheme(R.style.Purple_Theme_DragonScroll);
-                        break;
-                    case "theme_pink":
-                        setTheme(R.style.Pink_Theme_DragonScroll);
-                        break;
-                    case "theme_brown":
-                        setTheme(R.style.Brown_Theme_DragonScroll);
-                        break;
-                    case "theme_gray":
-                        setTheme(R.style.Gray_Theme_DragonScroll);
-                        break;
-                    default:
-                        setTheme(R.style.Base_Theme_DragonScroll);
-                        break;
-                }
-            }
-            // Apply text size changes
-            float textSizeMultiplier = sharedPreferences.getFloat(
-                    getString(R.string.text_size_preference_key), 1.0f
-            );
-            Configuration configuration = getResources().getConfiguration();
-            configuration.fontScale = textSizeMultiplier;
-            getResources().updateConfiguration(configuration, getResources().getDisplayMetrics());
-            // Apply dark mode preference
-            String darkModePreferenceKey = getString(R.string.dark_mode_key);
-            String darkMode = sharedPreferences.getString(darkModePreferenceKey, "system");
-            switch (darkMode) {
-                case "light":
-                    AppCompatDelegate.setDefaultNightMode(AppCompatDelegate.MODE_NIGHT_NO);
+        // Get the settings, read from disk while the app was starting
+        SettingsStore settings = SettingsStore.getInstance(this);
+        if (!settings.isLoaded()) {
+            appliedTheme = null;
+            settings.runWhenLoaded(this::onSettingsLoaded);
+            return;
+        }
+
+        // Set theme if one was selected
+        String theme = settings.getTheme();
+        appliedTheme = theme;
+        if (theme != null) {
+            switch (theme) {
+                case "theme_red":
+                    setTheme(R.style.Red_Theme_DragonScroll);
+                    break;
+                case "theme_orange":
+                    setTheme(R.style.Orange_Theme_DragonScroll);
+                    break;
+                case "theme_yellow":
+                    setTheme(R.style.Yellow_Theme_DragonScroll);
+                    break;
+                case "theme_green":
+                    setTheme(R.style.Green_Theme_DragonScroll);
+                    break;
+                case "theme_blue":
+                    setTheme(R.style.Blue_Theme_DragonScroll);
+                    break;
+                case "theme_purple":
+                    setTheme(R.style.Purple_Theme_DragonScroll);
                     break;
-                case "dark":
-                    AppCompatDelegate.setDefaultNightMode(AppCompatDelegate.MODE_NIGHT_YES);
+                case "theme_pink":
+                    setTheme(R.style.Pink_Theme_DragonScroll);
+                    break;
+                case "theme_brown":
+                    setTheme(R.style.Brown_Theme_DragonScroll);
+                    break;
+                case "theme_gray":
+                    setTheme(R.style.Gray_Theme_DragonScroll);
                     break;
                 default:
-                    AppCompatDelegate.setDefaultNightMode(AppCompatDelegate.MODE_NIGHT_FOLLOW_SYSTEM);
+                    setTheme(R.style.Base_Theme_DragonScroll);
                     break;
             }
         }
+        // Text size is applied in attachBaseContext
+        // Apply dark mode preference
+        AppCompatDelegate.setDefaultNightMode(getNightMode(settings.getDarkMode()));
+    }
+
+    /**
+     * Method that applies the stored dark mode, theme and text size once the settings are read,
+     * for an activity that was started with the defaults.
+     */
+    private void onSettingsLoaded() {
+        if (isFinishing() || isDestroyed()) {
+            return;
+        }
+
+        // AppCompat only updates the activity if the resulting mode is different
+        AppCompatDelegate.setDefaultNightMode(getNightMode(SettingsStore.getInstance(this).getDarkMode()));
+        applyAppearance();
+    }
+
+    /**
+     * Method that maps a dark mode preference value to an AppCompat night mode.
+     * @param darkMode Dark mode preference value (String)
+     * @return int of the night mode
+     */
+    public static int getNightMode(String darkMode) {
+        switch (darkMode) {
+            case "light":
+                return AppCompatDelegate.MODE_NIGHT_NO;
+            case "dark":
+                return AppCompatDelegate.MODE_NIGHT_YES;
+            default:
+                return AppCompatDelegate.MODE_NIGHT_FOLLOW_SYSTEM;
+        }
+    }
+
+    /**
+     * Method that applies a changed theme or text size. Nothing is done if the activity's views
+     * already use the stored ones. Otherwise the activity is recreated, while the database, the
+     * loaded library and the image caches are kept. The font scale is part of the configuration
+     * context the activity is attached to, and theme attributes are resolved into the views when
+     * they are inflated, so neither can be changed on the live views without the deprecated
+     * updateConfiguration this replaced.
+     */
+    public void applyAppearance() {
+        SettingsStore settings = SettingsStore.getInstance(this);
+        if (Objects.equals(settings.getTheme(), appliedTheme) && settings.getTextSize() == appliedTextSize) {
+            return;
+        }
+        recreate();
     }
 
     /**
@@ -186,6 +299,38 @@ public class MainActivity extends AppCompatActivity {
         return database;
     }
 
+    /**
+     * Getter to return the fuzzy search over the app's books.
+     * @return fuzzy search of the app (FuzzySearch)
+     */
+    public FuzzySearch getFuzzySearch() {
+        return ((DragonScrollApplication) getApplication()).getFuzzySearch();
+    }
+
+    /**
+     * Getter to return the title and author suggestions of the add dialog.
+     * @return suggestions of the app (BookSuggestions)
+     */
+    public BookSuggestions getBookSuggestions() {
+        return ((DragonScrollApplication) getApplication()).getBookSuggestions();
+    }
+
+    /**
+     * Getter to return the cache of the detail screen's books.
+     * @return detail cache of the app (BookDetailCache)
+     */
+    public BookDetailCache getBookDetails() {
+        return ((DragonScrollApplication) getApplication()).getBookDetails();
+    }
+
+    /**
+     * Getter to return the version of the library, which changes with every write to it.
+     * @return int of the version of the library
+     */
+    public int getLibraryVersion() {
+        return ((DragonScrollApplication) getApplication()).getLibraryVersion();
+    }
+
     /**
      * Getter to return a Book's DAO.
      * @return Book's DAO (BookDao)
@@ -193,4 +338,20 @@ public class MainActivity extends AppCompatActivity {
     public BookDao getBookDao() {
         return bookDao;
     }
+
+    /**
+     * Getter to return the source of home list rows inflated ahead of time.
+     * @return rows inflated ahead of time (AsyncRowInflater)
+     */
+    public AsyncRowInflater getRowInflater() {
+        return rowInflater;
+    }
+
+    /**
+     * Getter to return a Series' DAO.
+     * @return Series' DAO (SeriesDao)
+     */
+    public SeriesDao getSeriesDao() {
+        return seriesDao;
+    }
 }
\ No newline at end of file
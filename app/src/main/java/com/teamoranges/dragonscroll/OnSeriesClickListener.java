@@ -0,0 +1,21 @@
+package com.teamoranges.dragonscroll;
+
+/**
+ * OnSeriesClickListener is a java Interface used to define a series header click listener for the
+ * app's {@link GroupedBookAdapter}.
+ * @author Joshua Duque
+ * @author Mateo Garcia
+ * @author Emiliano Garza
+ * @author Samatha Poole
+ * @author Alaine Liserio
+ * UTSA CS 3443 - Team Oranges Project
+ * Fall 2024
+ */
+public interface OnSeriesClickListener {
+    /**
+     * Method that runs when a series header is clicked.
+     * @param seriesId ID of the series that is clicked (int)
+     * @param seriesName Name of the series that is clicked (String)
+     */
+    void onSeriesClick(int seriesId, String seriesName);
+}
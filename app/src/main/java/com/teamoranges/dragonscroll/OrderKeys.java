@@ -0,0 +1,154 @@
+package com.teamoranges.dragonscroll;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * OrderKeys is a java class that makes the order keys of the reading queue. Keys are strings of
+ * base 62 digits compared as plain text, and a key can always be made between any two others,
+ * so moving a book only gives that one book a new key. Keys grow as books are moved between
+ * the same neighbours again and again, and {@link #spread(int)} hands out short ones again.
+ * @author Joshua Duque
+ * @author Mateo Garcia
+ * @author Emiliano Garza
+ * @author Samatha Poole
+ * @author Alaine Liserio
+ * UTSA CS 3443 - Team Oranges Project
+ * Fall 2024
+ */
+public final class OrderKeys {
+
+    // Digits of the keys in the order SQLite's binary collation sorts them
+    private static final String DIGITS = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz";
+    private static final int BASE = DIGITS.length();
+
+    /**
+     * Private constructor since OrderKeys only has static members.
+     */
+    private OrderKeys() {
+    }
+
+    /**
+     * Method that makes a key sorting between two keys. Keys never end in the lowest digit, so
+     * there is always room for another key below any of them.
+     * @param before Key to sort after or null for the start of the queue (String)
+     * @param after Key to sort before or null for the end of the queue (String)
+     * @return String of the new key
+     */
+    public static String between(String before, String after) {
+        String low = before != null ? before : "";
+        if (after != null && low.compareTo(after) >= 0) {
+            throw new IllegalArgumentException(String.format("%s doesn't sort before %s", before, after));
+        }
+
+        // Appending counts up from the last key, which keeps the keys short
+        if (after == null && !low.isEmpty()) {
+            return increment(low);
+        }
+        return midpoint(low, after);
+    }
+
+    /**
+     * Method that makes evenly spaced keys of the same length, the shortest length that fits.
+     * @param count Number of keys (int)
+     * @return List of the keys in ascending order
+     */
+    public static List<String> spread(int count) {
+        // Find the shortest length with more keys than needed
+        int length = 1;
+        long capacity = BASE;
+        while (capacity <= count) {
+            length++;
+            capacity *= BASE;
+        }
+
+        long step = capacity / (count + 1);
+        List<String> keys = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            keys.add(toKey(i * step, length));
+        }
+        return keys;
+    }
+
+    /**
+     * Method that makes the next key of the same length, or a longer key once the last digit
+     * can't count up anymore.
+     * @param key Key to count up from (String)
+     * @return String of a key sorting after the given one
+     */
+    private static String increment(String key) {
+        int last = key.length() - 1;
+        int digit = DIGITS.indexOf(key.charAt(last));
+        if (digit < BASE - 1) {
+            return key.substring(0, last) + DIGITS.charAt(digit + 1);
+        }
+        return key + DIGITS.charAt(1);
+    }
+
+    /**
+     * Method that makes the shortest key between two keys.
+     * @param low Key to sort after, empty for the start of the queue (String)
+     * @param high Key to sort before or null for the end of the queue (String)
+     * @return String of the key between them
+     */
+    private static String midpoint(String low, String high) {
+        // Keep the digits both keys share, treating missing digits of the lower key as zeros
+        if (high != null) {
+            int shared = 0;
+            while (shared < high.length() && digitAt(low, shared) == high.charAt(shared)) {
+                shared++;
+            }
+            if (shared > 0) {
+                String lowRest = shared < low.length() ? low.substring(shared) : "";
+                return high.substring(0, shared) + midpoint(lowRest, high.substring(shared));
+            }
+        }
+
+        int lowDigit = low.isEmpty() ? 0 : DIGITS.indexOf(low.charAt(0));
+        int highDigit = high != null ? DIGITS.indexOf(high.charAt(0)) : BASE;
+
+        // A digit fits between the first digits
+        if (highDigit - lowDigit > 1) {
+            return String.valueOf(DIGITS.charAt((lowDigit + highDigit + 1) / 2));
+        }
+
+        // The first digits are neighbours, the longer high key's first digit already sorts between
+        if (high != null && high.length() > 1) {
+            return high.substring(0, 1);
+        }
+
+        // Keep the low digit and go on past the rest of the low key
+        return DIGITS.charAt(lowDigit) + midpoint(low.length() > 1 ? low.substring(1) : "", null);
+    }
+
+    /**
+     * Method that returns a digit of a key, zero past its end.
+     * @param key Key to read (String)
+     * @param index Index of the digit (int)
+     * @return char of the digit
+     */
+    private static char digitAt(String key, int index) {
+        return index < key.length() ? key.charAt(index) : DIGITS.charAt(0);
+    }
+
+    /**
+     * Method that writes a number as a key of a fixed length, dropping trailing zeros, which
+     * doesn't change where the key sorts.
+     * @param value Number to write (long)
+     * @param length Number of digits (int)
+     * @return String of the key
+     */
+    private static String toKey(long value, int length) {
+        char[] digits = new char[length];
+        for (int i = length - 1; i >= 0; i--) {
+            digits[i] = DIGITS.charAt((int) (value % BASE));
+            value /= BASE;
+        }
+
+        int end = length;
+        while (digits[end - 1] == DIGITS.charAt(0)) {
+            end--;
+        }
+        return new String(digits, 0, end);
+    }
+}
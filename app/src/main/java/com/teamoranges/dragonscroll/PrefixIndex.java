@@ -0,0 +1,144 @@
+package com.teamoranges.dragonscroll;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * PrefixIndex is a java class that finds the values starting with a prefix, ignoring case. The
+ * distinct values are kept in two parallel arrays sorted by their lowercase key, so a lookup is
+ * a binary search for the first match followed by a walk over the matches. An index is never
+ * changed after it is built, adding a value returns a new index, so lookups on any thread don't
+ * need a lock.
+ * @author Joshua Duque
+ * @author Mateo Garcia
+ * @author Emiliano Garza
+ * @author Samatha Poole
+ * @author Alaine Liserio
+ * UTSA CS 3443 - Team Oranges Project
+ * Fall 2024
+ */
+public class PrefixIndex {
+
+    // Index without values
+    public static final PrefixIndex EMPTY = new PrefixIndex(new String[0], new String[0]);
+
+    // Lowercase keys in sorted order
+    private final String[] keys;
+    // Values in the same order as their keys
+    private final String[] values;
+
+    /**
+     * Constructor to initialize the {@link PrefixIndex} object.
+     * @param keys Sorted distinct lowercase keys (String[])
+     * @param values Values of the keys (String[])
+     */
+    private PrefixIndex(String[] keys, String[] values) {
+        this.keys = keys;
+        this.values = values;
+    }
+
+    /**
+     * Method that builds an index of values. Blank values are skipped, and of values that only
+     * differ in case the first one is kept.
+     * @param values Values to index, in any order (Collection of type String)
+     * @return PrefixIndex of the values
+     */
+    public static PrefixIndex of(Collection<String> values) {
+        // Sort the values by key, keeping the original order of equal keys
+        List<String[]> entries = new ArrayList<>(values.size());
+        for (String value : values) {
+            if (value != null && !value.trim().isEmpty()) {
+                String trimmed = value.trim();
+                entries.add(new String[]{toKey(trimmed), trimmed});
+            }
+        }
+        Collections.sort(entries, (a, b) -> a[0].compareTo(b[0]));
+
+        // Keep one value per key
+        List<String> keys = new ArrayList<>(entries.size());
+        List<String> kept = new ArrayList<>(entries.size());
+        for (String[] entry : entries) {
+            if (keys.isEmpty() || !keys.get(keys.size() - 1).equals(entry[0])) {
+                keys.add(entry[0]);
+                kept.add(entry[1]);
+            }
+        }
+        return new PrefixIndex(keys.toArray(new String[0]), kept.toArray(new String[0]));
+    }
+
+    /**
+     * Method that returns an index that also holds a value. The arrays are copied once, so
+     * adding a single value costs a copy instead of a new sort.
+     * @param value Value to add (String)
+     * @return PrefixIndex with the value, or this index if the value is blank or already in it
+     */
+    public PrefixIndex plus(String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return this;
+        }
+
+        String trimmed = value.trim();
+        String key = toKey(trimmed);
+        int position = Arrays.binarySearch(keys, key);
+        if (position >= 0) {
+            return this;
+        }
+
+        // Open a gap at the insertion point
+        int insertion = -position - 1;
+        String[] newKeys = new String[keys.length + 1];
+        String[] newValues = new String[values.length + 1];
+        System.arraycopy(keys, 0, newKeys, 0, insertion);
+        System.arraycopy(values, 0, newValues, 0, insertion);
+        newKeys[insertion] = key;
+        newValues[insertion] = trimmed;
+        System.arraycopy(keys, insertion, newKeys, insertion + 1, keys.length - insertion);
+        System.arraycopy(values, insertion, newValues, insertion + 1, values.length - insertion);
+        return new PrefixIndex(newKeys, newValues);
+    }
+
+    /**
+     * Method that finds the values starting with a prefix, in alphabetical order.
+     * @param prefix Typed prefix, any case (String)
+     * @param limit Maximum number of values (int)
+     * @return List of the matching values
+     */
+    public List<String> find(String prefix, int limit) {
+        if (prefix == null || prefix.trim().isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        String key = toKey(prefix.trim());
+
+        // Every key starting with the prefix sorts at or after the prefix itself
+        int position = Arrays.binarySearch(keys, key);
+        int first = position >= 0 ? position : -position - 1;
+
+        List<String> matches = new ArrayList<>();
+        for (int i = first; i < keys.length && matches.size() < limit && keys[i].startsWith(key); i++) {
+            matches.add(values[i]);
+        }
+        return matches;
+    }
+
+    /**
+     * Getter to return the number of distinct values.
+     * @return int of the number of values
+     */
+    public int size() {
+        return keys.length;
+    }
+
+    /**
+     * Method that returns the key a value is sorted and matched by.
+     * @param value Trimmed value (String)
+     * @return String of the key
+     */
+    private static String toKey(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+}
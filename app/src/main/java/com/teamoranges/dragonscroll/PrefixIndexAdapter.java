@@ -0,0 +1,76 @@
+package com.teamoranges.dragonscroll;
+
+import android.content.Context;
+import android.widget.ArrayAdapter;
+import android.widget.Filter;
+
+import androidx.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * PrefixIndexAdapter is a java class that extends {@link ArrayAdapter} to show the values of a
+ * {@link PrefixIndex} starting with the typed text in an AutoCompleteTextView. Matching runs on
+ * the filter's background thread against the index in memory.
+ * @author Joshua Duque
+ * @author Mateo Garcia
+ * @author Emiliano Garza
+ * @author Samatha Poole
+ * @author Alaine Liserio
+ * UTSA CS 3443 - Team Oranges Project
+ * Fall 2024
+ */
+public class PrefixIndexAdapter extends ArrayAdapter<String> {
+
+    // Number of suggestions shown in the dropdown
+    private static final int MAX_SUGGESTIONS = 8;
+
+    // Source of the current index, which is replaced as books are added
+    private final Supplier<PrefixIndex> index;
+
+    private final Filter filter = new Filter() {
+        @Override
+        protected FilterResults performFiltering(CharSequence constraint) {
+            List<String> matches = constraint == null ? new ArrayList<>()
+                    : index.get().find(constraint.toString(), MAX_SUGGESTIONS);
+
+            FilterResults results = new FilterResults();
+            results.values = matches;
+            results.count = matches.size();
+            return results;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        protected void publishResults(CharSequence constraint, FilterResults results) {
+            clear();
+            if (results.values != null) {
+                addAll((List<String>) results.values);
+            }
+            notifyDataSetChanged();
+        }
+    };
+
+    /**
+     * Constructor to initialize the {@link PrefixIndexAdapter} object.
+     * @param context Context of the dropdown (Context)
+     * @param index Source of the current index (Supplier of type PrefixIndex)
+     */
+    public PrefixIndexAdapter(Context context, Supplier<PrefixIndex> index) {
+        super(context, android.R.layout.simple_dropdown_item_1line, new ArrayList<>());
+        this.index = index;
+        setNotifyOnChange(false);
+    }
+
+    /**
+     * Getter to return the filter that matches the typed text against the index.
+     * @return Filter of the adapter
+     */
+    @NonNull
+    @Override
+    public Filter getFilter() {
+        return filter;
+    }
+}
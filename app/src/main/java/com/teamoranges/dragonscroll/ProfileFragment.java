@@ -3,7 +3,6 @@ package com.teamoranges.dragonscroll;
 import android.app.AlertDialog;
 import android.content.Context;
 import android.content.Intent;
-import android.content.SharedPreferences;
 import android.net.Uri;
 import android.os.Bundle;
 
@@ -20,6 +19,8 @@ import android.widget.EditText;
 import android.widget.ImageView;
 import android.widget.TextView;
 
+import com.teamoranges.dragonscroll.models.Book;
+
 import java.util.Locale;
 
 /**
@@ -39,11 +40,11 @@ public class ProfileFragment extends Fragment {
     private int booksRead;
     private String profileName;
     private String profileImageUri;
-    private String favoriteBook;
+    private Book favoriteBook;
 
     private ImageView profileImageView;
 
-    private SharedPreferences sharedPrefs;
+    private SettingsStore settings;
     private ActivityResultLauncher<PickVisualMediaRequest> pickMedia;
 
     /**
@@ -79,27 +80,17 @@ public class ProfileFragment extends Fragment {
         // Get books read
         booksRead = bookDao.getCount();
 
-        // Get SharedPreferences
-        sharedPrefs = requireContext().getSharedPreferences(
-                getString(R.string.preference_file_key),
-                Context.MODE_PRIVATE
-        );
+        // Get settings
+        settings = SettingsStore.getInstance(requireContext());
 
         // Get profile name
-        profileName = sharedPrefs.getString(
-                getString(R.string.profile_name_key),
-                getString(R.string.profile_name_default)
-        );
+        profileName = settings.getProfileName();
 
         // Get profile image
-        profileImageUri = sharedPrefs.getString(
-                getString(R.string.profile_uri_key),
-                null);
+        profileImageUri = settings.getProfileUri();
 
-        // Get favorite book
-        favoriteBook = sharedPrefs.getString(
-                getString(R.string.favorite_book_key),
-                null);
+        // Get favorite book from the database so it follows renames and deletions
+        favoriteBook = bookDao.getTopFavorite();
 
         // Registers a photo picker activity launcher in single-select mode.
         pickMedia =
@@ -166,7 +157,7 @@ public class ProfileFragment extends Fragment {
         // Setup favorite book
         TextView favoriteBookTextView = view.findViewById(R.id.favoriteBookTextView);
         if (favoriteBook != null) {
-            String favoriteBookText = String.format(Locale.getDefault(), "Favorite Book: %s", favoriteBook);
+            String favoriteBookText = String.format(Locale.getDefault(), "Favorite Book: %s", favoriteBook.getTitle());
             favoriteBookTextView.setText(favoriteBookText);
         }
 
@@ -213,12 +204,8 @@ public class ProfileFragment extends Fragment {
             // Set text of TextView with user profile name
             ((TextView) view).setText(editTextValue);
 
-            // Save new profile name to SharedPreferences
-            SharedPreferences.Editor editor = sharedPrefs.edit();
-            editor.putString(
-                    getString(R.string.profile_name_key),
-                    editTextValue);
-            editor.apply();
+            // Save new profile name to the settings
+            settings.edit().setProfileName(editTextValue).apply();
         });
 
         // Give AlertDialog negative button and empty on click listener
@@ -243,11 +230,7 @@ public class ProfileFragment extends Fragment {
         // Set profile image uri
         profileImageView.setImageURI(uri);
 
-        // Update uri in SharedPreferences
-        SharedPreferences.Editor editor = sharedPrefs.edit();
-        editor.putString(
-                getString(R.string.profile_uri_key),
-                uriString);
-        editor.apply();
+        // Update uri in the settings
+        settings.edit().setProfileUri(uriString).apply();
     }
 }
\ No newline at end of file
@@ -0,0 +1,182 @@
+package com.teamoranges.dragonscroll;
+
+import android.text.TextUtils;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.teamoranges.dragonscroll.models.Book;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * QueueAdapter is a java class that extends {@link RecyclerView.Adapter} used to display the
+ * reading queue in order. Pages are appended as the list is scrolled, and rows are moved and
+ * removed in place while the user drags and swipes them.
+ * @author Joshua Duque
+ * @author Mateo Garcia
+ * @author Emiliano Garza
+ * @author Samatha Poole
+ * @author Alaine Liserio
+ * UTSA CS 3443 - Team Oranges Project
+ * Fall 2024
+ */
+public class QueueAdapter extends RecyclerView.Adapter<BookAdapter.BookViewHolder> implements CoverUriProvider, BookIdProvider {
+
+    // Adapter's book click listener
+    private final OnBookClickListener onBookClickListener;
+    // Loaded rows of the queue in order
+    private final List<BookRow> bookRows = new ArrayList<>();
+
+    // Loader that decodes the cover thumbnails, set up with the first view holder
+    private CoverThumbnailLoader coverLoader;
+    // Size of the cover thumbnails in pixels
+    private int coverSizePx;
+
+    /**
+     * Constructor to initialize the {@link QueueAdapter} object.
+     * @param onBookClickListener Book item click listener (OnBookClickListener)
+     */
+    public QueueAdapter(OnBookClickListener onBookClickListener) {
+        this.onBookClickListener = onBookClickListener;
+    }
+
+    /**
+     * Method that adds the next page of the queue to the end of the list.
+     * @param page Books of the page in queue order (List of type Book)
+     */
+    public void appendPage(List<Book> page) {
+        int start = bookRows.size();
+        bookRows.addAll(BookRow.wrap(page));
+        notifyItemRangeInserted(start, page.size());
+    }
+
+    /**
+     * Method that moves a row while it's dragged.
+     * @param from Position the row is dragged from (int)
+     * @param to Position the row is dragged to (int)
+     */
+    public void moveItem(int from, int to) {
+        bookRows.add(to, bookRows.remove(from));
+        notifyItemMoved(from, to);
+    }
+
+    /**
+     * Method that removes a row.
+     * @param position Position of the row (int)
+     * @return Book of the removed row
+     */
+    public Book removeItem(int position) {
+        Book book = bookRows.remove(position).getBook();
+        notifyItemRemoved(position);
+        return book;
+    }
+
+    /**
+     * Getter to return the Book of a row.
+     * @param position Position of the row (int)
+     * @return Book of the row
+     */
+    public Book getBook(int position) {
+        return bookRows.get(position).getBook();
+    }
+
+    /**
+     * Method that sets up a new book ViewHolder.
+     * @param parent The ViewGroup into which the new View will be added after it is bound to
+     *               an adapter position.
+     * @param viewType The view type of the new View.
+     * @return New BookViewHolder
+     */
+    @NonNull
+    @Override
+    public BookAdapter.BookViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        // Get the cover loader and thumbnail size from the parent's context
+        if (coverLoader == null) {
+            coverLoader = CoverThumbnailLoader.getInstance(parent.getContext());
+            coverSizePx = parent.getResources().getDimensionPixelSize(R.dimen.book_item_cover_size);
+        }
+
+        View view = LayoutInflater.from(parent.getContext()).inflate(R.layout.book_item, parent, false);
+        BookAdapter.BookViewHolder holder = new BookAdapter.BookViewHolder(view);
+
+        // Install the listener once per holder, the clicked row is looked up when the click happens
+        holder.itemView.setOnClickListener(v -> onBookClick(holder));
+        return holder;
+    }
+
+    /**
+     * Method that populates a BookRow into a BookViewHolder.
+     * @param holder The ViewHolder which should be updated to represent the contents of the
+     *        item at the given position in the data set.
+     * @param position The position of the item within the adapter's data set.
+     */
+    @Override
+    public void onBindViewHolder(@NonNull BookAdapter.BookViewHolder holder, int position) {
+        BookRow row = bookRows.get(position);
+
+        // Set holder title and author from the row, only when they changed
+        if (!TextUtils.equals(holder.title.getText(), row.getDisplayTitle())) {
+            holder.title.setText(row.getDisplayTitle());
+        }
+        if (!TextUtils.equals(holder.author.getText(), row.getBook().getAuthor())) {
+            holder.author.setText(row.getBook().getAuthor());
+        }
+
+        // Set holder cover thumbnail with the key cached on the row
+        coverLoader.load(holder.cover, row.getCoverKey(coverSizePx), row.getBook().getCoverUri(), coverSizePx);
+    }
+
+    /**
+     * Method that runs when a row is clicked.
+     * @param holder Holder of the clicked row (BookViewHolder)
+     */
+    private void onBookClick(BookAdapter.BookViewHolder holder) {
+        int position = holder.getBindingAdapterPosition();
+        if (position != RecyclerView.NO_POSITION) {
+            onBookClickListener.onBookClick(bookRows.get(position).getBook(), position);
+        }
+    }
+
+    /**
+     * Getter to return the cover URI of the row at a position.
+     * @param position Position of the row (int)
+     * @return String of the cover URI or null for books without a cover
+     */
+    @Override
+    public String getCoverUri(int position) {
+        return bookRows.get(position).getBook().getCoverUri();
+    }
+
+    /**
+     * Getter to return the ID of the book at a position.
+     * @param position Position of the row (int)
+     * @return int of the book ID
+     */
+    @Override
+    public int getBookId(int position) {
+        return bookRows.get(position).getBook().getId();
+    }
+
+    /**
+     * Getter to return the size the cover thumbnails are decoded at.
+     * @return int of the thumbnail size in pixels
+     */
+    @Override
+    public int getCoverSizePx() {
+        return coverSizePx;
+    }
+
+    /**
+     * Getter to return the number of loaded rows.
+     * @return int of the number of rows
+     */
+    @Override
+    public int getItemCount() {
+        return bookRows.size();
+    }
+}
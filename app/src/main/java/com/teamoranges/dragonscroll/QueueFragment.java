@@ -0,0 +1,222 @@
+package com.teamoranges.dragonscroll;
+
+import android.os.Bundle;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.TextView;
+import android.widget.Toast;
+
+import androidx.annotation.NonNull;
+import androidx.fragment.app.Fragment;
+import androidx.navigation.fragment.NavHostFragment;
+import androidx.recyclerview.widget.ItemTouchHelper;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.teamoranges.dragonscroll.models.Book;
+
+import java.util.List;
+
+/**
+ * QueueFragment is a java class that represents the reading queue screen reached from the home
+ * menu. It lists the queued books in order, pages them in as the list is scrolled, and lets the
+ * user drag a book to a new place or swipe it out of the queue. Each change writes one row.
+ * @author Joshua Duque
+ * @author Mateo Garcia
+ * @author Emiliano Garza
+ * @author Samatha Poole
+ * @author Alaine Liserio
+ * UTSA CS 3443 - Team Oranges Project
+ * Fall 2024
+ */
+public class QueueFragment extends Fragment {
+
+    // Number of books loaded per page
+    private static final int PAGE_SIZE = 50;
+    // Number of rows from the end of the list at which the next page is loaded
+    private static final int LOAD_DISTANCE = 10;
+
+    private ReadingQueue readingQueue;
+    private QueueAdapter queueAdapter;
+    private TextView emptyQueueTextView;
+
+    // Whether a page is being loaded
+    private boolean loading;
+    // Whether the last page has been loaded
+    private boolean exhausted;
+    // Position a dragged row started at, NO_POSITION while nothing is dragged
+    private int dragFrom = RecyclerView.NO_POSITION;
+
+    /**
+     * Constructor for the QueueFragment
+     */
+    public QueueFragment() {
+        // Required empty public constructor
+    }
+
+    /**
+     * Method that runs when a new view is created
+     * @param inflater The LayoutInflater object that can be used to inflate
+     * any views in the fragment,
+     * @param container If non-null, this is the parent view that the fragment's
+     * UI should be attached to.  The fragment should not add the view itself,
+     * but this can be used to generate the LayoutParams of the view.
+     * @param savedInstanceState If non-null, this fragment is being re-constructed
+     * from a previous saved state as given here.
+     * @return View that is created
+     */
+    @Override
+    public View onCreateView(LayoutInflater inflater, ViewGroup container,
+                             Bundle savedInstanceState) {
+        // Inflate the layout for this fragment
+        View view = inflater.inflate(R.layout.fragment_queue, container, false);
+
+        MainActivity activity = (MainActivity) requireActivity();
+        readingQueue = new ReadingQueue(activity.getDatabase(), activity.getBookDao());
+
+        emptyQueueTextView = view.findViewById(R.id.emptyQueueTextView);
+
+        // Set up the list, which starts empty and pages the queue in from the top
+        RecyclerView recyclerView = view.findViewById(R.id.queueRecyclerView);
+        recyclerView.setLayoutManager(new LinearLayoutManager(requireContext()));
+        queueAdapter = new QueueAdapter(this::onBookClick);
+        recyclerView.setAdapter(queueAdapter);
+        loading = false;
+        exhausted = false;
+
+        // Start loading a book's detail screen as soon as its row is pressed
+        recyclerView.addOnItemTouchListener(new DetailPrefetcher(activity.getBookDetails(),
+                CoverThumbnailLoader.getInstance(requireContext()), getResources().getDimensionPixelSize(R.dimen.book_detail_cover_size)));
+
+        // Load the next page when the end of the list comes into view
+        recyclerView.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+                LinearLayoutManager layoutManager = (LinearLayoutManager) recyclerView.getLayoutManager();
+                if (layoutManager != null && layoutManager.findLastVisibleItemPosition()
+                        >= queueAdapter.getItemCount() - LOAD_DISTANCE) {
+                    loadNextPage();
+                }
+            }
+        });
+
+        // Long press and drag to reorder, swipe to remove from the queue
+        new ItemTouchHelper(new ItemTouchHelper.SimpleCallback(
+                ItemTouchHelper.UP | ItemTouchHelper.DOWN, ItemTouchHelper.START | ItemTouchHelper.END) {
+            @Override
+            public boolean onMove(@NonNull RecyclerView recyclerView, @NonNull RecyclerView.ViewHolder source,
+                                  @NonNull RecyclerView.ViewHolder target) {
+                int from = source.getBindingAdapterPosition();
+                if (dragFrom == RecyclerView.NO_POSITION) {
+                    dragFrom = from;
+                }
+                queueAdapter.moveItem(from, target.getBindingAdapterPosition());
+                return true;
+            }
+
+            @Override
+            public void onSwiped(@NonNull RecyclerView.ViewHolder viewHolder, int direction) {
+                removeBook(viewHolder.getBindingAdapterPosition());
+            }
+
+            @Override
+            public void clearView(@NonNull RecyclerView recyclerView, @NonNull RecyclerView.ViewHolder viewHolder) {
+                super.clearView(recyclerView, viewHolder);
+
+                // Store the move once the row is dropped
+                int to = viewHolder.getBindingAdapterPosition();
+                if (dragFrom != RecyclerView.NO_POSITION && to != RecyclerView.NO_POSITION && to != dragFrom) {
+                    saveMove(to);
+                }
+                dragFrom = RecyclerView.NO_POSITION;
+            }
+        }).attachToRecyclerView(recyclerView);
+
+        loadNextPage();
+
+        return view;
+    }
+
+    /**
+     * Method that loads the page after the last loaded book on the disk executor and appends it
+     * on the main thread. Moves are written on the same executor, so a page never sees half of one.
+     */
+    private void loadNextPage() {
+        // Only load one page at a time, and stop once every book is loaded
+        if (loading || exhausted) {
+            return;
+        }
+        loading = true;
+
+        int count = queueAdapter.getItemCount();
+        Integer afterBookId = count > 0 ? queueAdapter.getBook(count - 1).getId() : null;
+
+        AppExecutors.diskIO().execute(() -> {
+            List<Book> page = readingQueue.getPage(afterBookId, PAGE_SIZE);
+
+            AppExecutors.runOnMainThread(() -> {
+                // Drop the page if the view is gone
+                if (getView() == null) {
+                    return;
+                }
+
+                loading = false;
+                exhausted = page.size() < PAGE_SIZE;
+                queueAdapter.appendPage(page);
+                updateEmptyQueueTextViewVisibility();
+            });
+        });
+    }
+
+    /**
+     * Method that stores a dropped row's new place on the disk executor, rebalancing the keys
+     * there when the new key grew too long.
+     * @param position Position the row was dropped at (int)
+     */
+    private void saveMove(int position) {
+        int bookId = queueAdapter.getBook(position).getId();
+        Integer previousBookId = position > 0 ? queueAdapter.getBook(position - 1).getId() : null;
+
+        AppExecutors.diskIO().execute(() -> {
+            String key = readingQueue.move(bookId, previousBookId);
+            if (ReadingQueue.needsRebalance(key)) {
+                readingQueue.rebalance();
+            }
+        });
+    }
+
+    /**
+     * Method that removes a swiped row from the list and the book from the queue.
+     * @param position Position of the swiped row (int)
+     */
+    private void removeBook(int position) {
+        Book book = queueAdapter.removeItem(position);
+        updateEmptyQueueTextViewVisibility();
+
+        // The detail screen shows whether the book is queued, so forget it if it was opened recently
+        ((MainActivity) requireActivity()).getBookDetails().invalidate(book.getId());
+
+        AppExecutors.diskIO().execute(() -> readingQueue.remove(book.getId()));
+        Toast.makeText(requireContext(), String.format("Removed %s from the queue", book.getTitle()), Toast.LENGTH_SHORT).show();
+    }
+
+    /**
+     * Method that runs when a Book is clicked.
+     * @param book Book that is clicked (Book)
+     * @param position Position of the Book in the queue (int)
+     */
+    private void onBookClick(Book book, int position) {
+        // Create a bundle with the book ID and navigate to BookFragment with it
+        Bundle bundle = new Bundle();
+        bundle.putInt("bookId", book.getId());
+        NavHostFragment.findNavController(this).navigate(R.id.navigation_book, bundle);
+    }
+
+    /**
+     * Method that shows the empty queue TextView when no book is queued.
+     */
+    private void updateEmptyQueueTextViewVisibility() {
+        emptyQueueTextView.setVisibility(queueAdapter.getItemCount() == 0 ? View.VISIBLE : View.GONE);
+    }
+}
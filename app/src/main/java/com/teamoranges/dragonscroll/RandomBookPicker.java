@@ -0,0 +1,72 @@
+package com.teamoranges.dragonscroll;
+
+import androidx.annotation.WorkerThread;
+
+import com.teamoranges.dragonscroll.models.Book;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * RandomBookPicker is a java class that picks what to read next: a uniformly random unread
+ * {@link Book}. It draws a slot of the unread slot table, so a pick is a couple of primary key
+ * lookups no matter how large the library is, and the library is never loaded.
+ * @author Joshua Duque
+ * @author Mateo Garcia
+ * @author Emiliano Garza
+ * @author Samatha Poole
+ * @author Alaine Liserio
+ * UTSA CS 3443 - Team Oranges Project
+ * Fall 2024
+ */
+public class RandomBookPicker {
+
+    // Draws among every unread book before favorites are looked up through their index instead
+    private static final int FAVORITE_ATTEMPTS = 16;
+
+    private final BookDao bookDao;
+    private final Random random;
+
+    /**
+     * Constructor to initialize the {@link RandomBookPicker} object.
+     * @param bookDao DAO to read the unread books from (BookDao)
+     * @param random Source of randomness (Random)
+     */
+    public RandomBookPicker(BookDao bookDao, Random random) {
+        this.bookDao = bookDao;
+        this.random = random;
+    }
+
+    /**
+     * Method that picks a uniformly random unread Book.
+     * @param favoritesOnly Whether only favorite Books can be picked (boolean)
+     * @return Book that was picked or null if there are no unread Books to pick from
+     */
+    @WorkerThread
+    public Book pickUnread(boolean favoritesOnly) {
+        int unreadCount = bookDao.getUnreadCount();
+        if (unreadCount == 0) {
+            return null;
+        }
+
+        if (!favoritesOnly) {
+            return bookDao.getUnreadBookAtSlot(1 + random.nextInt(unreadCount));
+        }
+
+        // Draw unread books until one is a favorite. Every draw that succeeds is uniform among
+        // the unread favorites, and it usually succeeds quickly when favorites are common.
+        for (int attempt = 0; attempt < FAVORITE_ATTEMPTS; attempt++) {
+            Book book = bookDao.getUnreadBookAtSlot(1 + random.nextInt(unreadCount));
+            if (book != null && book.getFavoritedAt() != null) {
+                return book;
+            }
+        }
+
+        // Favorites are rare, so there are few of them to read from the favorited_at index
+        List<Integer> favoriteIds = bookDao.getUnreadFavoriteIds();
+        if (favoriteIds.isEmpty()) {
+            return null;
+        }
+        return bookDao.getBook(favoriteIds.get(random.nextInt(favoriteIds.size())));
+    }
+}
@@ -0,0 +1,132 @@
+package com.teamoranges.dragonscroll;
+
+import androidx.annotation.WorkerThread;
+
+import com.teamoranges.dragonscroll.models.Book;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ReadingQueue is a java class for the "to be read" queue. Every queued {@link Book} holds an
+ * order key from {@link OrderKeys} in the indexed tbr_key column, so adding, removing or moving
+ * a book writes that book's row only. Keys are looked up by book ID at the time of the write,
+ * which keeps moves correct after the keys were rebalanced.
+ * @author Joshua Duque
+ * @author Mateo Garcia
+ * @author Emiliano Garza
+ * @author Samatha Poole
+ * @author Alaine Liserio
+ * UTSA CS 3443 - Team Oranges Project
+ * Fall 2024
+ */
+public class ReadingQueue {
+
+    // Length past which a new key makes the queue spread its keys out again
+    private static final int REBALANCE_KEY_LENGTH = 12;
+
+    private final AppDatabase database;
+    private final BookDao bookDao;
+
+    /**
+     * Constructor to initialize the {@link ReadingQueue} object.
+     * @param database Database the queue is stored in (AppDatabase)
+     * @param bookDao DAO to read and write the order keys with (BookDao)
+     */
+    public ReadingQueue(AppDatabase database, BookDao bookDao) {
+        this.database = database;
+        this.bookDao = bookDao;
+    }
+
+    /**
+     * Method that adds a Book to the end of the queue, unless it's already queued. Every key
+     * appended grows a little, so the queue is rebalanced once the new key is too long.
+     * @param bookId ID of the Book (int)
+     * @return String of the Book's order key
+     */
+    @WorkerThread
+    public String add(int bookId) {
+        return database.runInTransaction(() -> {
+            String key = bookDao.getQueueKey(bookId);
+            if (key == null) {
+                key = OrderKeys.between(bookDao.getLastQueueKey(), null);
+                bookDao.setQueueKey(bookId, key);
+                if (needsRebalance(key)) {
+                    rebalance();
+                    key = bookDao.getQueueKey(bookId);
+                }
+            }
+            return key;
+        });
+    }
+
+    /**
+     * Method that removes a Book from the queue.
+     * @param bookId ID of the Book (int)
+     */
+    @WorkerThread
+    public void remove(int bookId) {
+        bookDao.setQueueKey(bookId, null);
+    }
+
+    /**
+     * Method that moves a queued Book right after another one, writing only the moved Book's
+     * key. The key is made between the previous Book's key and the key that follows it.
+     * @param bookId ID of the moved Book (int)
+     * @param previousBookId ID of the Book it now follows or null to move it to the top (Integer)
+     * @return String of the moved Book's new key
+     */
+    @WorkerThread
+    public String move(int bookId, Integer previousBookId) {
+        return database.runInTransaction(() -> {
+            String previous = previousBookId != null ? bookDao.getQueueKey(previousBookId) : null;
+            String next = bookDao.getNextQueueKey(previous != null ? previous : "", bookId);
+
+            String key = OrderKeys.between(previous, next);
+            bookDao.setQueueKey(bookId, key);
+            return key;
+        });
+    }
+
+    /**
+     * Method that checks whether a key got long enough for the queue to be rebalanced.
+     * @param key Key that was just written (String)
+     * @return boolean of whether {@link #rebalance()} should run
+     */
+    public static boolean needsRebalance(String key) {
+        return key.length() > REBALANCE_KEY_LENGTH;
+    }
+
+    /**
+     * Method that gives every queued Book a short key again, keeping the order. This rewrites
+     * the whole queue in one transaction, so it only runs when a key grew too long.
+     * @return int of the number of queued Books
+     */
+    @WorkerThread
+    public int rebalance() {
+        return database.runInTransaction(() -> {
+            List<Integer> ids = bookDao.getQueueIds();
+            List<String> keys = OrderKeys.spread(ids.size());
+            for (int i = 0; i < ids.size(); i++) {
+                bookDao.setQueueKey(ids.get(i), keys.get(i));
+            }
+            return ids.size();
+        });
+    }
+
+    /**
+     * Method that returns the page of the queue following a Book.
+     * @param afterBookId ID of the last Book of the previous page or null for the first page (Integer)
+     * @param limit Maximum number of Books in the page (int)
+     * @return List of the queued Books in the page, empty if the Book left the queue
+     */
+    @WorkerThread
+    public List<Book> getPage(Integer afterBookId, int limit) {
+        if (afterBookId == null) {
+            return bookDao.getQueuePage("", limit);
+        }
+
+        String after = bookDao.getQueueKey(afterBookId);
+        return after != null ? bookDao.getQueuePage(after, limit) : new ArrayList<>();
+    }
+}
@@ -0,0 +1,125 @@
+package com.teamoranges.dragonscroll;
+
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
+import androidx.room.Query;
+
+import com.teamoranges.dragonscroll.models.Book;
+import com.teamoranges.dragonscroll.models.BookTerm;
+import com.teamoranges.dragonscroll.models.SearchTerm;
+import com.teamoranges.dragonscroll.models.TermMatch;
+import com.teamoranges.dragonscroll.models.TermTrigram;
+
+import java.util.List;
+
+/**
+ * SearchDao is a direct access java object interface for the app's Room database.
+ * It defines methods that translate to SQLite queries for maintaining and reading the
+ * trigram index used by {@link FuzzySearch}.
+ * @author Joshua Duque
+ * @author Mateo Garcia
+ * @author Emiliano Garza
+ * @author Samatha Poole
+ * @author Alaine Liserio
+ * UTSA CS 3443 - Team Oranges Project
+ * Fall 2024
+ */
+@Dao
+public interface SearchDao {
+    /**
+     * Getter to return the IDs of Books waiting to be indexed.
+     * @param limit Maximum number of IDs (int)
+     * @return List of the Book IDs
+     */
+    @Query("SELECT book_id FROM search_pending LIMIT :limit")
+    List<Integer> getPendingBookIds(int limit);
+
+    /**
+     * Method that removes Books from the ones waiting to be indexed.
+     * @param bookIds IDs of the Books (List of type Integer)
+     */
+    @Query("DELETE FROM search_pending WHERE book_id IN (:bookIds)")
+    void deletePending(List<Integer> bookIds);
+
+    /**
+     * Getter to return Books by ID, in no particular order.
+     * @param ids IDs of the Books (List of type Integer)
+     * @return List of the Books that exist
+     */
+    @Query("SELECT * FROM book WHERE id IN (:ids)")
+    List<Book> getBooks(List<Integer> ids);
+
+    /**
+     * Method that removes every term of a Book.
+     * @param bookId ID of the Book (int)
+     */
+    @Query("DELETE FROM book_term WHERE book_id = :bookId")
+    void deleteBookTerms(int bookId);
+
+    /**
+     * Getter to return the ID of a term.
+     * @param term Normalized word (String)
+     * @return Integer of the ID or null if the term isn't indexed
+     */
+    @Query("SELECT id FROM search_term WHERE term = :term")
+    Integer getTermId(String term);
+
+    /**
+     * Method that inserts a new term.
+     * @param term Inserted term (SearchTerm)
+     * @return long of the ID of the term
+     */
+    @Insert
+    long insertTerm(SearchTerm term);
+
+    /**
+     * Method that inserts the trigrams of a new term.
+     * @param trigrams Inserted trigrams (List of type TermTrigram)
+     */
+    @Insert(onConflict = OnConflictStrategy.IGNORE)
+    void insertTermTrigrams(List<TermTrigram> trigrams);
+
+    /**
+     * Method that inserts the terms of a Book.
+     * @param bookTerms Inserted Book terms (List of type BookTerm)
+     */
+    @Insert(onConflict = OnConflictStrategy.IGNORE)
+    void insertBookTerms(List<BookTerm> bookTerms);
+
+    /**
+     * Getter to return the terms sharing the most trigrams with a query word. Only the
+     * postings of the given trigrams are read, through the term_trigram primary key, and the
+     * grouping runs over those postings alone.
+     * @param trigrams Trigrams of the query word (List of type String)
+     * @param limit Maximum number of terms (int)
+     * @return List of the terms, most shared trigrams first
+     */
+    @Query("SELECT search_term.id AS id, search_term.term AS term, COUNT(*) AS shared "
+            + "FROM term_trigram JOIN search_term ON search_term.id = term_trigram.term_id "
+            + "WHERE term_trigram.trigram IN (:trigrams) "
+            + "GROUP BY term_trigram.term_id ORDER BY shared DESC LIMIT :limit")
+    List<TermMatch> getTermCandidates(List<String> trigrams, int limit);
+
+    /**
+     * Getter to return the Books the given terms appear in.
+     * @param termIds IDs of the terms (List of type Integer)
+     * @return List of the term and Book pairs
+     */
+    @Query("SELECT term_id, book_id FROM book_term WHERE term_id IN (:termIds)")
+    List<BookTerm> getPostings(List<Integer> termIds);
+
+    /**
+     * Method that deletes terms that no Book uses anymore.
+     */
+    @Query("DELETE FROM search_term WHERE NOT EXISTS "
+            + "(SELECT 1 FROM book_term WHERE book_term.term_id = search_term.id)")
+    void deleteUnusedTerms();
+
+    /**
+     * Method that deletes the trigrams of terms that were deleted.
+     */
+    @Query("DELETE FROM term_trigram WHERE NOT EXISTS "
+            + "(SELECT 1 FROM search_term WHERE search_term.id = term_trigram.term_id)")
+    void deleteUnusedTrigrams();
+}
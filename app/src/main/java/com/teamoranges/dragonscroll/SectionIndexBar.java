@@ -0,0 +1,183 @@
+package com.teamoranges.dragonscroll;
+
+import android.annotation.SuppressLint;
+import android.content.Context;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Typeface;
+import android.util.AttributeSet;
+import android.util.TypedValue;
+import android.view.MotionEvent;
+import android.view.View;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.google.android.material.color.MaterialColors;
+
+/**
+ * SectionIndexBar is a java class that extends {@link View} to draw the section labels of the
+ * alphabetical home list down the edge of the screen. Touching or dragging along the bar picks
+ * the section under the finger, which the home list jumps to.
+ * @author Joshua Duque
+ * @author Mateo Garcia
+ * @author Emiliano Garza
+ * @author Samatha Poole
+ * @author Alaine Liserio
+ * UTSA CS 3443 - Team Oranges Project
+ * Fall 2024
+ */
+public class SectionIndexBar extends View {
+
+    // Text size of the labels in sp
+    private static final float LABEL_TEXT_SIZE_SP = 12;
+
+    /**
+     * OnSectionSelectedListener is an interface for the section picked on the bar.
+     */
+    public interface OnSectionSelectedListener {
+        /**
+         * Method that runs when a section is picked.
+         * @param section Index of the section (int)
+         */
+        void onSectionSelected(int section);
+    }
+
+    private final Paint labelPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final Paint selectedPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+
+    private String[] labels = new String[0];
+    // Section of the first visible row, drawn highlighted
+    private int selectedSection = -1;
+    // Section last handed to the listener during the current touch
+    private int touchedSection = -1;
+    private OnSectionSelectedListener onSectionSelectedListener;
+
+    /**
+     * Constructor to initialize the {@link SectionIndexBar} object from a layout.
+     * @param context Context of the view (Context)
+     * @param attrs Attributes from the layout or null (AttributeSet)
+     */
+    public SectionIndexBar(Context context, @Nullable AttributeSet attrs) {
+        super(context, attrs);
+
+        float textSize = TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_SP, LABEL_TEXT_SIZE_SP,
+                getResources().getDisplayMetrics());
+        labelPaint.setTextSize(textSize);
+        labelPaint.setTextAlign(Paint.Align.CENTER);
+        labelPaint.setColor(MaterialColors.getColor(this, android.R.attr.textColorSecondary));
+        selectedPaint.set(labelPaint);
+        selectedPaint.setTypeface(Typeface.DEFAULT_BOLD);
+        selectedPaint.setColor(MaterialColors.getColor(this, com.google.android.material.R.attr.colorPrimary));
+    }
+
+    /**
+     * Setter to set the labels drawn on the bar.
+     * @param labels Section labels in order (String[])
+     */
+    public void setLabels(String[] labels) {
+        this.labels = labels;
+        selectedSection = -1;
+        invalidate();
+    }
+
+    /**
+     * Setter to set the highlighted section, only redrawing when it changed.
+     * @param section Index of the section (int)
+     */
+    public void setSelectedSection(int section) {
+        if (section != selectedSection) {
+            selectedSection = section;
+            invalidate();
+        }
+    }
+
+    /**
+     * Setter to set the listener of the picked sections.
+     * @param onSectionSelectedListener Listener of the picked sections (OnSectionSelectedListener)
+     */
+    public void setOnSectionSelectedListener(OnSectionSelectedListener onSectionSelectedListener) {
+        this.onSectionSelectedListener = onSectionSelectedListener;
+    }
+
+    /**
+     * Method that measures the bar as wide as its widest label plus padding.
+     * @param widthMeasureSpec Horizontal space requirements imposed by the parent (int)
+     * @param heightMeasureSpec Vertical space requirements imposed by the parent (int)
+     */
+    @Override
+    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        int width = (int) Math.ceil(selectedPaint.measureText("W")) + getPaddingLeft() + getPaddingRight();
+        setMeasuredDimension(resolveSize(width, widthMeasureSpec),
+                getDefaultSize(getSuggestedMinimumHeight(), heightMeasureSpec));
+    }
+
+    /**
+     * Method that draws the labels spread evenly over the height of the bar.
+     * @param canvas Canvas to draw on (Canvas)
+     */
+    @Override
+    protected void onDraw(@NonNull Canvas canvas) {
+        if (labels.length == 0) {
+            return;
+        }
+
+        float slot = (float) (getHeight() - getPaddingTop() - getPaddingBottom()) / labels.length;
+        float x = getPaddingLeft() + (getWidth() - getPaddingLeft() - getPaddingRight()) / 2f;
+        // Center the text vertically in its slot
+        float baseline = (slot - labelPaint.ascent() - labelPaint.descent()) / 2f;
+
+        for (int i = 0; i < labels.length; i++) {
+            canvas.drawText(labels[i], x, getPaddingTop() + i * slot + baseline,
+                    i == selectedSection ? selectedPaint : labelPaint);
+        }
+    }
+
+    /**
+     * Method that picks the section under the finger while the bar is touched.
+     * @param event Touch event (MotionEvent)
+     * @return boolean of whether the event was handled
+     */
+    @SuppressLint("ClickableViewAccessibility")
+    @Override
+    public boolean onTouchEvent(MotionEvent event) {
+        if (labels.length == 0) {
+            return false;
+        }
+
+        switch (event.getActionMasked()) {
+            case MotionEvent.ACTION_DOWN:
+                touchedSection = -1;
+                // Keep the list from scrolling while the finger drags along the bar
+                getParent().requestDisallowInterceptTouchEvent(true);
+                // Fall through to pick the touched section
+            case MotionEvent.ACTION_MOVE:
+                selectSectionAt(event.getY());
+                return true;
+            case MotionEvent.ACTION_UP:
+            case MotionEvent.ACTION_CANCEL:
+                touchedSection = -1;
+                return true;
+            default:
+                return super.onTouchEvent(event);
+        }
+    }
+
+    /**
+     * Method that hands the section at a height to the listener, once per section touched.
+     * @param y Height of the finger in the view (float)
+     */
+    private void selectSectionAt(float y) {
+        float height = getHeight() - getPaddingTop() - getPaddingBottom();
+        int section = (int) ((y - getPaddingTop()) / height * labels.length);
+        section = Math.max(0, Math.min(labels.length - 1, section));
+
+        if (section != touchedSection) {
+            touchedSection = section;
+            setSelectedSection(section);
+            if (onSectionSelectedListener != null) {
+                onSectionSelectedListener.onSectionSelected(section);
+            }
+        }
+    }
+}
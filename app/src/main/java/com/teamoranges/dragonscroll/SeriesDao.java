@@ -0,0 +1,135 @@
+package com.teamoranges.dragonscroll;
+
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.Query;
+
+import com.teamoranges.dragonscroll.models.Book;
+import com.teamoranges.dragonscroll.models.Series;
+import com.teamoranges.dragonscroll.models.SeriesVolume;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * SeriesDao is a direct access java object interface for the app's Room database.
+ * It defines methods that translate to SQLite queries for reading and writing
+ * {@link Series} data and the ordered {@link Book} volumes inside of them.
+ * @author Joshua Duque
+ * @author Mateo Garcia
+ * @author Emiliano Garza
+ * @author Samatha Poole
+ * @author Alaine Liserio
+ * UTSA CS 3443 - Team Oranges Project
+ * Fall 2024
+ */
+@Dao
+public interface SeriesDao {
+    /**
+     * Getter to return a Series from the table by ID.
+     * @param id ID of the Series (int)
+     * @return Series that matches the ID or null
+     */
+    @Query("SELECT * FROM series WHERE id = :id LIMIT 1")
+    Series getSeries(int id);
+
+    /**
+     * Getter to return a Series from the table by name. Names are compared without case.
+     * @param name Name of the Series (String)
+     * @return Series that matches the name or null
+     */
+    @Query("SELECT * FROM series WHERE name = :name LIMIT 1")
+    Series getSeriesByName(String name);
+
+    /**
+     * Getter to return the first unread volume of a Series. A volume is unread when it has
+     * no reading end date. Served by the (series_id, volume_index) index on the book table.
+     * @param seriesId ID of the Series (int)
+     * @return Book of the next unread volume or null if every volume is read
+     */
+    @Query("SELECT * FROM book WHERE series_id = :seriesId " +
+            "AND (end_date IS NULL OR end_date = '') " +
+            "ORDER BY volume_index LIMIT 1")
+    Book getNextUnreadVolume(int seriesId);
+
+    /**
+     * Getter to return one page of the grouped home list after a given volume. Books are ordered
+     * by series name and then by volume index, with standalone books last, so consecutive rows
+     * of the same series can be placed under a single header. Each page seeks past the last
+     * volume of the previous one through the series name and (series_id, volume_index) indexes,
+     * so later pages cost the same as the first.
+     * @param after Last volume of the previous page or null for the first page (SeriesVolume)
+     * @param limit Maximum number of rows in the page (int)
+     * @return List of the volumes in the page
+     */
+    default List<SeriesVolume> getVolumePage(SeriesVolume after, int limit) {
+        List<SeriesVolume> page = new ArrayList<>();
+        Book last = after != null ? after.getBook() : null;
+        boolean afterSeries = last == null || last.getSeriesId() != null;
+
+        // Volumes of series first, starting before every name and ID when nothing was loaded
+        if (afterSeries) {
+            page.addAll(last == null
+                    ? getSeriesVolumePage("", 0, Integer.MIN_VALUE, 0, limit)
+                    : getSeriesVolumePage(after.getSeriesName(), last.getSeriesId(), last.getVolumeIndex(), last.getId(), limit));
+        }
+
+        // Then the standalone books, from the start once the series run out
+        if (page.size() < limit) {
+            page.addAll(afterSeries
+                    ? getStandaloneVolumePage(Integer.MIN_VALUE, 0, limit - page.size())
+                    : getStandaloneVolumePage(last.getVolumeIndex(), last.getId(), limit - page.size()));
+        }
+        return page;
+    }
+
+    /**
+     * Getter to return the volumes of series that come after a volume, ordered by series name,
+     * series ID, volume index and book ID.
+     * @param afterName Series name of the last loaded volume (String)
+     * @param afterSeriesId Series ID of the last loaded volume (int)
+     * @param afterVolumeIndex Volume index of the last loaded volume (int)
+     * @param afterId Book ID of the last loaded volume (int)
+     * @param limit Maximum number of rows (int)
+     * @return List of the volumes
+     */
+    @Query("SELECT book.*, series.name AS series_name FROM series " +
+            "JOIN book ON book.series_id = series.id " +
+            "WHERE (series.name, series.id, book.volume_index, book.id) " +
+            "> (:afterName, :afterSeriesId, :afterVolumeIndex, :afterId) " +
+            "ORDER BY series.name, series.id, book.volume_index, book.id LIMIT :limit")
+    List<SeriesVolume> getSeriesVolumePage(String afterName, int afterSeriesId, int afterVolumeIndex, int afterId, int limit);
+
+    /**
+     * Getter to return the standalone books that come after a book, ordered by volume index
+     * and book ID.
+     * @param afterVolumeIndex Volume index of the last loaded book (int)
+     * @param afterId ID of the last loaded book (int)
+     * @param limit Maximum number of rows (int)
+     * @return List of the books as volumes without a series name
+     */
+    @Query("SELECT book.*, NULL AS series_name FROM book " +
+            "WHERE book.series_id IS NULL AND (book.volume_index, book.id) > (:afterVolumeIndex, :afterId) " +
+            "ORDER BY book.volume_index, book.id LIMIT :limit")
+    List<SeriesVolume> getStandaloneVolumePage(int afterVolumeIndex, int afterId, int limit);
+
+    /**
+     * Method that inserts a Series into the table and returns its ID.
+     * @param series Inserted Series (Series)
+     * @return long of the ID of the Series
+     */
+    @Insert
+    long insert(Series series);
+
+    /**
+     * Method that deletes every Series without any books left in it.
+     */
+    @Query("DELETE FROM series WHERE id NOT IN (SELECT series_id FROM book WHERE series_id IS NOT NULL)")
+    void deleteEmptySeries();
+
+    /**
+     * Method that deletes every Series from the table.
+     */
+    @Query("DELETE FROM series")
+    void nukeTable();
+}
@@ -2,10 +2,13 @@ package com.teamoranges.dragonscroll;
 
 import android.app.AlertDialog;
 import android.content.Context;
-import android.content.SharedPreferences;
+import android.content.pm.ApplicationInfo;
 import android.os.Bundle;
 import android.widget.Toast;
 
+import androidx.appcompat.app.AppCompatDelegate;
+import androidx.lifecycle.ViewModelProvider;
+import androidx.navigation.fragment.NavHostFragment;
 import androidx.preference.ListPreference;
 import androidx.preference.Preference;
 import androidx.preference.PreferenceFragmentCompat;
@@ -24,7 +27,7 @@ import androidx.preference.SeekBarPreference;
  */
 public class SettingsFragment extends PreferenceFragmentCompat {
 
-    private SharedPreferences sharedPreferences;
+    private SettingsStore settings;
 
     /**
      * Method that runs when preferences are changed by the user.
@@ -35,25 +38,21 @@ public class SettingsFragment extends PreferenceFragmentCompat {
      */
     @Override
     public void onCreatePreferences(Bundle savedInstanceState, String rootKey) {
-        setPreferencesFromResource(R.xml.root_preferences, rootKey);
-
         // Get Context
         Context context = requireContext();
 
-        // Get SharedPreferences
-        sharedPreferences = context.getSharedPreferences(
-                getString(R.string.preference_file_key),
-                Context.MODE_PRIVATE
-        );
+        // Get settings, the preferences below read and write them instead of their own file
+        settings = SettingsStore.getInstance(context);
+        getPreferenceManager().setPreferenceDataStore(settings.getPreferenceDataStore());
+
+        setPreferencesFromResource(R.xml.root_preferences, rootKey);
 
         // Clear Preferences Button
         Preference clearPreferencesButton = findPreference(getString(R.string.clear_prefs_key));
         if (clearPreferencesButton != null) {
             clearPreferencesButton.setOnPreferenceClickListener(preference -> {
-                // Clear SharedPreferences
-                SharedPreferences.Editor editor = sharedPreferences.edit();
-                editor.clear();
-                editor.apply();
+                // Clear settings
+                settings.edit().clear().apply();
                 // Reset UI elements to their default values
                 resetPreferencesUI();
                 Toast.makeText(context, "Preferences cleared successfully", Toast.LENGTH_SHORT).show();
@@ -73,6 +72,12 @@ public class SettingsFragment extends PreferenceFragmentCompat {
                             // Nuke the database
                             BookDao bookDao = ((MainActivity) requireActivity()).getBookDao();
                             bookDao.nukeTable();
+                            ((MainActivity) requireActivity()).getSeriesDao().nukeTable();
+                            CoverStore.deleteAll(requireContext());
+                            ((MainActivity) requireActivity()).getBookDetails().clear();
+                            ((MainActivity) requireActivity()).getBookSuggestions().invalidate();
+                            // Rows kept for the home list are gone too
+                            new ViewModelProvider(requireActivity()).get(LibraryViewModel.class).invalidate();
                             Toast.makeText(requireContext(), "Database nuked successfully", Toast.LENGTH_SHORT).show();
                         })
                         .setNegativeButton("Cancel", (dialog, which) -> dialog.dismiss())
@@ -81,6 +86,17 @@ public class SettingsFragment extends PreferenceFragmentCompat {
             });
         }
 
+        // Setup debug statistics button, only shown in debuggable builds
+        Preference debugStatsButton = findPreference(getString(R.string.debug_stats_key));
+        if (debugStatsButton != null) {
+            boolean debuggable = (context.getApplicationInfo().flags & ApplicationInfo.FLAG_DEBUGGABLE) != 0;
+            debugStatsButton.setVisible(debuggable);
+            debugStatsButton.setOnPreferenceClickListener(preference -> {
+                NavHostFragment.findNavController(this).navigate(R.id.navigation_debug);
+                return true;
+            });
+        }
+
         // Setup themes list
         ListPreference themesList = findPreference(getString(R.string.themes_preference_key));
         if(themesList != null) {
@@ -91,14 +107,12 @@ public class SettingsFragment extends PreferenceFragmentCompat {
         SeekBarPreference textSizeSlider = findPreference(getString(R.string.text_size_preference_key));
         if (textSizeSlider != null) {
             textSizeSlider.setOnPreferenceChangeListener((preference, newValue) -> {
+                // The slider stores its value through the settings before the views are rebuilt
                 int sliderValue = (Integer) newValue;
-                float textSizeMultiplier = sliderValue / 100f;
-                SharedPreferences.Editor editor = sharedPreferences.edit();
-                editor.putFloat(getString(R.string.text_size_preference_key), textSizeMultiplier);
-                editor.apply();
+                settings.edit().setTextSize(sliderValue / 100f).apply();
 
-                // Restart the activity to apply font size
-                requireActivity().recreate();
+                // Rebuild the activity's views to apply font size
+                ((MainActivity) requireActivity()).applyAppearance();
                 return true;
             });
         }
@@ -116,13 +130,11 @@ public class SettingsFragment extends PreferenceFragmentCompat {
      * @return boolean that represents a successful change
      */
     private boolean onThemesPreferenceChanged(Preference preference, Object o) {
-        // Why do I have to commit the preference manually?
-        SharedPreferences.Editor editor = sharedPreferences.edit();
-        editor.putString(getString(R.string.themes_preference_key), o.toString());
-        editor.commit();
+        // Store the theme before the views are rebuilt, writing to disk happens in the background
+        settings.edit().setTheme(o.toString()).apply();
 
-        // Recreate the activity to update the theme
-        requireActivity().recreate();
+        // Rebuild the activity's views to update the theme
+        ((MainActivity) requireActivity()).applyAppearance();
         return true;
     }
 
@@ -133,16 +145,15 @@ public class SettingsFragment extends PreferenceFragmentCompat {
      * @return
      */
     private boolean onDarkModePreferenceChanged(Preference preference, Object o) {
-        SharedPreferences.Editor editor = sharedPreferences.edit();
-        editor.putString(getString(R.string.dark_mode_key), o.toString());
-        editor.commit();
+        settings.edit().setDarkMode(o.toString()).apply();
 
-        requireActivity().recreate();
+        // AppCompat updates the activity itself, and only if the resulting mode is different
+        AppCompatDelegate.setDefaultNightMode(MainActivity.getNightMode(o.toString()));
         return true;
     }
 
     /**
-     * Method that resets all SharedPreferences entries to their defaults.
+     * Method that resets all settings entries to their defaults.
      */
     private void resetPreferencesUI() {
         SeekBarPreference textSizeSlider = findPreference(getString(R.string.text_size_preference_key));
@@ -160,6 +171,7 @@ public class SettingsFragment extends PreferenceFragmentCompat {
         if (darkMode != null) {
             darkMode.setValue(getString(R.string.default_dark_mode_value));
         }
-        requireActivity().recreate();
+        AppCompatDelegate.setDefaultNightMode(MainActivity.getNightMode(getString(R.string.default_dark_mode_value)));
+        ((MainActivity) requireActivity()).applyAppearance();
     }
 }
\ No newline at end of file
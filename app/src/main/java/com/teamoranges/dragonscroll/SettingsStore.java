@@ -0,0 +1,480 @@
+package com.teamoranges.dragonscroll;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.util.Log;
+
+import androidx.preference.PreferenceDataStore;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * SettingsStore is a java class that holds the app's settings behind typed getters and setters.
+ * The settings file is read once on the disk executor when the app starts, reads are served from
+ * an in-memory snapshot, and writes update the snapshot right away and reach the disk in batches.
+ * @author Joshua Duque
+ * @author Mateo Garcia
+ * @author Emiliano Garza
+ * @author Samatha Poole
+ * @author Alaine Liserio
+ * UTSA CS 3443 - Team Oranges Project
+ * Fall 2024
+ */
+public class SettingsStore {
+
+    // Default values of the settings
+    public static final String DEFAULT_DARK_MODE = "system";
+    public static final float DEFAULT_TEXT_SIZE = 1.0f;
+
+    private static final String TAG = "SettingsStore";
+
+    private static SettingsStore instance;
+
+    private final SharedPreferences sharedPreferences;
+
+    // Keys of the settings in the settings file
+    private final String themeKey;
+    private final String darkModeKey;
+    private final String textSizeKey;
+    private final String profileNameKey;
+    private final String profileUriKey;
+    private final String favoriteBookKey;
+    private final String coversMigratedKey;
+    private final String profileNameDefault;
+
+    // Released once the settings file is read
+    private final CountDownLatch loaded = new CountDownLatch(1);
+    // Snapshot of every setting, replaced as a whole on every write
+    private volatile Map<String, Object> values;
+    // Callbacks waiting for the settings file to be read, run on the main thread
+    private final List<Runnable> loadedCallbacks = new ArrayList<>();
+
+    // Writes that haven't reached the disk yet, a null value removes the key
+    private final Map<String, Object> pendingWrites = new HashMap<>();
+    // Whether the settings file is cleared before the pending writes
+    private boolean pendingClear;
+    // Whether a flush of the pending writes is queued on the disk executor
+    private boolean flushQueued;
+
+    // Adapter the settings screen reads and writes through
+    private final PreferenceDataStore preferenceDataStore = new SettingsDataStore();
+
+    /**
+     * Getter to return the settings store of the app, creating it on first use.
+     * @param context Context of the app (Context)
+     * @return SettingsStore of the app
+     */
+    public static synchronized SettingsStore getInstance(Context context) {
+        if (instance == null) {
+            instance = new SettingsStore(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    /**
+     * Constructor to initialize the {@link SettingsStore} object and start reading the settings.
+     * @param context Context of the app (Context)
+     */
+    private SettingsStore(Context context) {
+        sharedPreferences = context.getSharedPreferences(
+                context.getString(R.string.preference_file_key), Context.MODE_PRIVATE);
+
+        themeKey = context.getString(R.string.themes_preference_key);
+        darkModeKey = context.getString(R.string.dark_mode_key);
+        textSizeKey = context.getString(R.string.text_size_preference_key);
+        profileNameKey = context.getString(R.string.profile_name_key);
+        profileUriKey = context.getString(R.string.profile_uri_key);
+        favoriteBookKey = context.getString(R.string.favorite_book_key);
+        coversMigratedKey = context.getString(R.string.covers_migrated_key);
+        profileNameDefault = context.getString(R.string.profile_name_default);
+
+        // Read the settings file off the main thread
+        AppExecutors.diskIO().execute(() -> {
+            Map<String, Object> read = Collections.emptyMap();
+            List<Runnable> callbacks;
+            try {
+                read = Collections.unmodifiableMap(new HashMap<>(sharedPreferences.getAll()));
+            } catch (RuntimeException e) {
+                // An unreadable file leaves every setting at its default instead of blocking
+                // the getters forever
+                Log.w(TAG, "Could not read the settings", e);
+            } finally {
+                synchronized (this) {
+                    values = read;
+                    callbacks = new ArrayList<>(loadedCallbacks);
+                    loadedCallbacks.clear();
+                }
+                loaded.countDown();
+            }
+            for (Runnable callback : callbacks) {
+                AppExecutors.runOnMainThread(callback);
+            }
+        });
+    }
+
+    /**
+     * Getter to return whether the settings file was read, so the getters won't wait.
+     * @return boolean of whether the settings are loaded
+     */
+    public boolean isLoaded() {
+        return values != null;
+    }
+
+    /**
+     * Method that runs a callback on the main thread once the settings file is read. Code that
+     * must not wait, such as the first activity's launch, starts with the defaults and applies
+     * the stored settings from here.
+     * @param callback Callback to run (Runnable)
+     */
+    public void runWhenLoaded(Runnable callback) {
+        synchronized (this) {
+            if (values == null) {
+                loadedCallbacks.add(callback);
+                return;
+            }
+        }
+        AppExecutors.runOnMainThread(callback);
+    }
+
+    /**
+     * Getter to return the snapshot of every setting. The file is read as soon as the app
+     * starts, so this only waits if it's called before that is done. The launch path checks
+     * {@link #isLoaded()} instead of waiting.
+     * @return Map of the settings by key
+     */
+    private Map<String, Object> getValues() {
+        boolean interrupted = false;
+        while (values == null) {
+            try {
+                loaded.await();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        return values;
+    }
+
+    /**
+     * Getter to return the selected theme.
+     * @return String of the theme value or null if none was selected
+     */
+    public String getTheme() {
+        return (String) getValues().get(themeKey);
+    }
+
+    /**
+     * Getter to return the selected dark mode.
+     * @return String of the dark mode value
+     */
+    public String getDarkMode() {
+        Object darkMode = getValues().get(darkModeKey);
+        return darkMode != null ? (String) darkMode : DEFAULT_DARK_MODE;
+    }
+
+    /**
+     * Getter to return the text size multiplier.
+     * @return float of the text size multiplier
+     */
+    public float getTextSize() {
+        Object textSize = getValues().get(textSizeKey);
+        return textSize != null ? (Float) textSize : DEFAULT_TEXT_SIZE;
+    }
+
+    /**
+     * Getter to return the user's profile name.
+     * @return String of the profile name
+     */
+    public String getProfileName() {
+        Object profileName = getValues().get(profileNameKey);
+        return profileName != null ? (String) profileName : profileNameDefault;
+    }
+
+    /**
+     * Getter to return the user's profile picture URI.
+     * @return String of the URI or null if none was picked
+     */
+    public String getProfileUri() {
+        return (String) getValues().get(profileUriKey);
+    }
+
+    /**
+     * Getter to return the favorite book title older versions stored in the settings.
+     * @return String of the title or null if there is none
+     */
+    public String getLegacyFavoriteBookTitle() {
+        return (String) getValues().get(favoriteBookKey);
+    }
+
+    /**
+     * Getter to return whether covers stored as content URIs were copied into app storage.
+     * @return boolean of whether the covers were migrated
+     */
+    public boolean isCoversMigrated() {
+        Object coversMigrated = getValues().get(coversMigratedKey);
+        return coversMigrated != null && (Boolean) coversMigrated;
+    }
+
+    /**
+     * Method that starts a batch of changes to the settings.
+     * @return Editor to make the changes with
+     */
+    public Editor edit() {
+        return new Editor();
+    }
+
+    /**
+     * Getter to return an adapter that lets preference screens read and write through the store.
+     * @return PreferenceDataStore of the store
+     */
+    public PreferenceDataStore getPreferenceDataStore() {
+        return preferenceDataStore;
+    }
+
+    /**
+     * Method that applies a batch of changes to the snapshot and queues them for the disk.
+     * @param changes Changed settings by key, a null value removes the key (Map of String to Object)
+     * @param clear Whether every setting is removed before the changes (boolean)
+     */
+    private void apply(Map<String, Object> changes, boolean clear) {
+        // Wait for the file outside of the lock, the read takes it to publish the settings
+        getValues();
+        applyLoaded(changes, clear);
+    }
+
+    /**
+     * Method that applies a batch of changes once the settings file is read.
+     * @param changes Changed settings by key, a null value removes the key (Map of String to Object)
+     * @param clear Whether every setting is removed before the changes (boolean)
+     */
+    private synchronized void applyLoaded(Map<String, Object> changes, boolean clear) {
+        // Readers see the changes right away, on top of the latest snapshot
+        Map<String, Object> updated = clear ? new HashMap<>() : new HashMap<>(values);
+        for (Map.Entry<String, Object> change : changes.entrySet()) {
+            if (change.getValue() == null) {
+                updated.remove(change.getKey());
+            } else {
+                updated.put(change.getKey(), change.getValue());
+            }
+        }
+        values = Collections.unmodifiableMap(updated);
+
+        // Changes made before the queued flush runs are written together
+        if (clear) {
+            pendingWrites.clear();
+            pendingClear = true;
+        }
+        pendingWrites.putAll(changes);
+        if (!flushQueued) {
+            flushQueued = true;
+            AppExecutors.diskIO().execute(this::flush);
+        }
+    }
+
+    /**
+     * Method that writes the pending changes to the settings file on the disk executor.
+     */
+    private void flush() {
+        Map<String, Object> writes;
+        boolean clear;
+        synchronized (this) {
+            writes = new HashMap<>(pendingWrites);
+            clear = pendingClear;
+            pendingWrites.clear();
+            pendingClear = false;
+            flushQueued = false;
+        }
+
+        SharedPreferences.Editor editor = sharedPreferences.edit();
+        if (clear) {
+            editor.clear();
+        }
+        for (Map.Entry<String, Object> write : writes.entrySet()) {
+            Object value = write.getValue();
+            if (value == null) {
+                editor.remove(write.getKey());
+            } else if (value instanceof String) {
+                editor.putString(write.getKey(), (String) value);
+            } else if (value instanceof Float) {
+                editor.putFloat(write.getKey(), (Float) value);
+            } else if (value instanceof Boolean) {
+                editor.putBoolean(write.getKey(), (Boolean) value);
+            }
+        }
+
+        // Already off the main thread, so the write can be synchronous
+        editor.commit();
+    }
+
+    /**
+     * Editor is a java class that collects typed changes to the settings and applies them at once.
+     */
+    public class Editor {
+        private final Map<String, Object> changes = new HashMap<>();
+        private boolean clear;
+
+        /**
+         * Private constructor, editors are started with {@link SettingsStore#edit()}.
+         */
+        private Editor() {
+        }
+
+        /**
+         * Setter to select a theme.
+         * @param theme Theme value (String)
+         * @return this Editor
+         */
+        public Editor setTheme(String theme) {
+            changes.put(themeKey, theme);
+            return this;
+        }
+
+        /**
+         * Setter to select a dark mode.
+         * @param darkMode Dark mode value (String)
+         * @return this Editor
+         */
+        public Editor setDarkMode(String darkMode) {
+            changes.put(darkModeKey, darkMode);
+            return this;
+        }
+
+        /**
+         * Setter to change the text size multiplier.
+         * @param textSize Text size multiplier (float)
+         * @return this Editor
+         */
+        public Editor setTextSize(float textSize) {
+            changes.put(textSizeKey, textSize);
+            return this;
+        }
+
+        /**
+         * Setter to change the user's profile name.
+         * @param profileName Profile name (String)
+         * @return this Editor
+         */
+        public Editor setProfileName(String profileName) {
+            changes.put(profileNameKey, profileName);
+            return this;
+        }
+
+        /**
+         * Setter to change the user's profile picture URI.
+         * @param profileUri Profile picture URI (String)
+         * @return this Editor
+         */
+        public Editor setProfileUri(String profileUri) {
+            changes.put(profileUriKey, profileUri);
+            return this;
+        }
+
+        /**
+         * Method that removes the favorite book title older versions stored.
+         * @return this Editor
+         */
+        public Editor removeLegacyFavoriteBookTitle() {
+            changes.put(favoriteBookKey, null);
+            return this;
+        }
+
+        /**
+         * Setter to record whether covers were copied into app storage.
+         * @param coversMigrated Whether the covers were migrated (boolean)
+         * @return this Editor
+         */
+        public Editor setCoversMigrated(boolean coversMigrated) {
+            changes.put(coversMigratedKey, coversMigrated);
+            return this;
+        }
+
+        /**
+         * Method that removes every setting before the other changes of the batch.
+         * @return this Editor
+         */
+        public Editor clear() {
+            clear = true;
+            return this;
+        }
+
+        /**
+         * Method that applies the changes. They are visible right away and written to disk in
+         * the background.
+         */
+        public void apply() {
+            SettingsStore.this.apply(changes, clear);
+        }
+    }
+
+    /**
+     * SettingsDataStore is a java class that extends {@link PreferenceDataStore} so the settings
+     * screen's preferences read and write the typed settings instead of their own file.
+     */
+    private class SettingsDataStore extends PreferenceDataStore {
+
+        /**
+         * Getter to return a string setting for a preference.
+         * @param key Key of the preference (String)
+         * @param defValue Value used if the setting isn't set (String)
+         * @return String of the setting
+         */
+        @Override
+        public String getString(String key, String defValue) {
+            if (themeKey.equals(key)) {
+                String theme = getTheme();
+                return theme != null ? theme : defValue;
+            }
+            if (darkModeKey.equals(key)) {
+                return getDarkMode();
+            }
+            return defValue;
+        }
+
+        /**
+         * Setter to store a string setting from a preference.
+         * @param key Key of the preference (String)
+         * @param value Value of the preference (String)
+         */
+        @Override
+        public void putString(String key, String value) {
+            if (themeKey.equals(key)) {
+                edit().setTheme(value).apply();
+            } else if (darkModeKey.equals(key)) {
+                edit().setDarkMode(value).apply();
+            }
+        }
+
+        /**
+         * Getter to return an int setting for a preference. The text size is shown as a percent.
+         * @param key Key of the preference (String)
+         * @param defValue Value used if the setting isn't set (int)
+         * @return int of the setting
+         */
+        @Override
+        public int getInt(String key, int defValue) {
+            if (textSizeKey.equals(key)) {
+                return Math.round(getTextSize() * 100);
+            }
+            return defValue;
+        }
+
+        /**
+         * Setter to store an int setting from a preference. The text size is stored as a multiplier.
+         * @param key Key of the preference (String)
+         * @param value Value of the preference (int)
+         */
+        @Override
+        public void putInt(String key, int value) {
+            if (textSizeKey.equals(key)) {
+                edit().setTextSize(value / 100f).apply();
+            }
+        }
+    }
+}
@@ -0,0 +1,279 @@
+package com.teamoranges.dragonscroll;
+
+import com.teamoranges.dragonscroll.models.LetterCount;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * TitleSections is a java class that lays out the alphabetical home list from the number of
+ * books per first letter, without loading any book. Every section is a header row followed by
+ * its books, so the position of any header and the book behind any row are simple arithmetic.
+ * Titles that don't start with a letter from A to Z are grouped under one "#" section in front.
+ * Their books come from both ends of the title order, digits before "a" and everything else
+ * after "z", so the books are loaded by runs of normalized titles that follow the shown order.
+ * @author Joshua Duque
+ * @author Mateo Garcia
+ * @author Emiliano Garza
+ * @author Samatha Poole
+ * @author Alaine Liserio
+ * UTSA CS 3443 - Team Oranges Project
+ * Fall 2024
+ */
+public class TitleSections {
+
+    // Label of the section for titles that don't start with a letter
+    public static final String OTHER_LABEL = "#";
+
+    // Sections without any book
+    public static final TitleSections EMPTY = new TitleSections(new ArrayList<>(), false);
+
+    // Normalized prefixes around the titles that start with a letter
+    private static final String FIRST_LETTER = "a";
+    private static final String AFTER_LAST_LETTER = "{";
+
+    // Labels shown in the headers and on the index bar
+    private final String[] labels;
+    // Index of the first book of each section in title order
+    private final int[] bookStarts;
+    // Adapter position of the header of each section
+    private final int[] headerPositions;
+    // Normalized prefix each run of books starts at
+    private final String[] runFroms;
+    // Normalized prefix each run of books stops before, null for the end of the title order
+    private final String[] runTos;
+    // Index of the first book of each run in the shown order
+    private final int[] runStarts;
+    // Number of books in every section
+    private final int bookCount;
+    // Whether only favorite books were counted
+    private final boolean favoritesOnly;
+
+    /**
+     * Constructor to initialize the {@link TitleSections} object from the section query.
+     * @param letterCounts Counts per first character in title order (List of type LetterCount)
+     * @param favoritesOnly Whether only favorite books were counted (boolean)
+     */
+    public TitleSections(List<LetterCount> letterCounts, boolean favoritesOnly) {
+        this.favoritesOnly = favoritesOnly;
+
+        List<String> labelList = new ArrayList<>();
+        List<Integer> countList = new ArrayList<>();
+        List<String> runFromList = new ArrayList<>();
+        List<String> runToList = new ArrayList<>();
+        List<Integer> runCountList = new ArrayList<>();
+        int beforeLetters = 0;
+        int afterLetters = 0;
+
+        for (LetterCount letterCount : letterCounts) {
+            String letter = letterCount.getLetter() != null ? letterCount.getLetter() : "";
+            if (letter.compareTo(FIRST_LETTER) < 0) {
+                beforeLetters += letterCount.getCount();
+            } else if (letter.compareTo(AFTER_LAST_LETTER) >= 0) {
+                afterLetters += letterCount.getCount();
+            } else {
+                // Every letter is one section and one run up to the next letter
+                labelList.add(letter.toUpperCase(Locale.ROOT));
+                countList.add(letterCount.getCount());
+                runFromList.add(letter);
+                runToList.add(String.valueOf((char) (letter.charAt(0) + 1)));
+                runCountList.add(letterCount.getCount());
+            }
+        }
+
+        // The titles on either side of the letters are one section in front of them, the ones
+        // after "z" are loaded right after the ones before "a"
+        if (afterLetters > 0) {
+            runFromList.add(0, AFTER_LAST_LETTER);
+            runToList.add(0, null);
+            runCountList.add(0, afterLetters);
+        }
+        if (beforeLetters > 0) {
+            runFromList.add(0, "");
+            runToList.add(0, FIRST_LETTER);
+            runCountList.add(0, beforeLetters);
+        }
+        if (beforeLetters + afterLetters > 0) {
+            labelList.add(0, OTHER_LABEL);
+            countList.add(0, beforeLetters + afterLetters);
+        }
+
+        int size = labelList.size();
+        labels = labelList.toArray(new String[0]);
+        bookStarts = new int[size];
+        headerPositions = new int[size];
+
+        int books = 0;
+        for (int i = 0; i < size; i++) {
+            bookStarts[i] = books;
+            headerPositions[i] = books + i;
+            books += countList.get(i);
+        }
+        bookCount = books;
+
+        int runs = runFromList.size();
+        runFroms = runFromList.toArray(new String[0]);
+        runTos = runToList.toArray(new String[0]);
+        runStarts = new int[runs];
+        for (int i = 0, start = 0; i < runs; i++) {
+            runStarts[i] = start;
+            start += runCountList.get(i);
+        }
+    }
+
+    /**
+     * Getter to return the number of sections.
+     * @return int of the number of sections
+     */
+    public int getSectionCount() {
+        return labels.length;
+    }
+
+    /**
+     * Getter to return the label of a section.
+     * @param section Index of the section (int)
+     * @return String of the label, a letter or "#"
+     */
+    public String getLabel(int section) {
+        return labels[section];
+    }
+
+    /**
+     * Getter to return the labels of every section, for the index bar.
+     * @return String[] of the labels in order
+     */
+    public String[] getLabels() {
+        return labels.clone();
+    }
+
+    /**
+     * Getter to return the number of header and book rows.
+     * @return int of the number of rows
+     */
+    public int getItemCount() {
+        return bookCount + labels.length;
+    }
+
+    /**
+     * Getter to return the number of books.
+     * @return int of the number of books
+     */
+    public int getBookCount() {
+        return bookCount;
+    }
+
+    /**
+     * Getter to return the adapter position of a section's header.
+     * @param section Index of the section (int)
+     * @return int of the header position
+     */
+    public int getHeaderPosition(int section) {
+        return headerPositions[section];
+    }
+
+    /**
+     * Getter to return the section a row belongs to.
+     * @param position Adapter position of a header or book row (int)
+     * @return int of the index of the section
+     */
+    public int getSectionForPosition(int position) {
+        return floorIndex(headerPositions, position);
+    }
+
+    /**
+     * Getter to return whether a row is a section header.
+     * @param position Adapter position of the row (int)
+     * @return boolean of whether the row is a header
+     */
+    public boolean isHeader(int position) {
+        return Arrays.binarySearch(headerPositions, position) >= 0;
+    }
+
+    /**
+     * Getter to return the index in title order of the book shown in a row.
+     * @param position Adapter position of a book row (int)
+     * @return int of the index of the book
+     */
+    public int getBookIndex(int position) {
+        // Every header up to and including the row's own section comes before it
+        return position - getSectionForPosition(position) - 1;
+    }
+
+    /**
+     * Getter to return the adapter position of the row showing a book.
+     * @param bookIndex Index of the book in title order (int)
+     * @return int of the position of the row
+     */
+    public int getBookPosition(int bookIndex) {
+        // The headers of the book's section and every section before it come first
+        return bookIndex + floorIndex(bookStarts, bookIndex) + 1;
+    }
+
+    /**
+     * Getter to return whether only favorite books were counted, so their pages are loaded the
+     * same way.
+     * @return boolean of whether the sections only hold favorite books
+     */
+    public boolean isFavoritesOnly() {
+        return favoritesOnly;
+    }
+
+    /**
+     * Getter to return the number of runs of books, each a range of normalized titles.
+     * @return int of the number of runs
+     */
+    public int getRunCount() {
+        return runFroms.length;
+    }
+
+    /**
+     * Getter to return the run holding a book.
+     * @param bookIndex Index of the book in the shown order (int)
+     * @return int of the index of the run
+     */
+    public int getRunForBook(int bookIndex) {
+        return floorIndex(runStarts, bookIndex);
+    }
+
+    /**
+     * Getter to return the index of the first book of a run, a page starting at a book skips
+     * the books of its run before it.
+     * @param run Index of the run (int)
+     * @return int of the index of the book in the shown order
+     */
+    public int getRunStart(int run) {
+        return runStarts[run];
+    }
+
+    /**
+     * Getter to return the normalized prefix a run of books starts at.
+     * @param run Index of the run (int)
+     * @return String of the prefix
+     */
+    public String getRunFrom(int run) {
+        return runFroms[run];
+    }
+
+    /**
+     * Getter to return the normalized prefix a run of books stops before.
+     * @param run Index of the run (int)
+     * @return String of the prefix, null if the run goes to the end of the title order
+     */
+    public String getRunTo(int run) {
+        return runTos[run];
+    }
+
+    /**
+     * Method that finds the last index whose value is at most a target.
+     * @param sorted Values in ascending order (int[])
+     * @param target Target value (int)
+     * @return int of the index, 0 if every value is larger
+     */
+    private static int floorIndex(int[] sorted, int target) {
+        // Sections and runs are never empty, so the values are distinct
+        int index = Arrays.binarySearch(sorted, target);
+        return Math.max(index >= 0 ? index : -index - 2, 0);
+    }
+}
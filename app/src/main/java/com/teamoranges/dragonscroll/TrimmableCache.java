@@ -0,0 +1,57 @@
+package com.teamoranges.dragonscroll;
+
+/**
+ * TrimmableCache is a java Interface for in-memory caches that are registered with the
+ * {@link CacheRegistry}. They release memory when the system reports memory pressure and report
+ * their statistics to the debug screen.
+ * @author Joshua Duque
+ * @author Mateo Garcia
+ * @author Emiliano Garza
+ * @author Samatha Poole
+ * @author Alaine Liserio
+ * UTSA CS 3443 - Team Oranges Project
+ * Fall 2024
+ */
+public interface TrimmableCache {
+    /**
+     * Getter to return the name of the cache shown on the debug screen.
+     * @return String of the name of the cache
+     */
+    String getName();
+
+    /**
+     * Getter to return the current size of the cache in the cache's own unit.
+     * @return int of the current size
+     */
+    int size();
+
+    /**
+     * Getter to return the maximum size of the cache in the cache's own unit.
+     * @return int of the maximum size
+     */
+    int maxSize();
+
+    /**
+     * Getter to return the number of lookups that found a value.
+     * @return int of the number of hits
+     */
+    int hitCount();
+
+    /**
+     * Getter to return the number of lookups that didn't find a value.
+     * @return int of the number of misses
+     */
+    int missCount();
+
+    /**
+     * Getter to return the number of values evicted to make room or to trim.
+     * @return int of the number of evictions
+     */
+    int evictionCount();
+
+    /**
+     * Method that releases memory for a trim level from {@link android.content.ComponentCallbacks2}.
+     * @param level Trim level reported by the system (int)
+     */
+    void trim(int level);
+}
@@ -0,0 +1,63 @@
+package com.teamoranges.dragonscroll;
+
+import android.content.ComponentCallbacks2;
+import android.util.LruCache;
+
+/**
+ * TrimmableLruCache is a java class that extends {@link LruCache} with a name and a trim policy so
+ * it can be registered with the {@link CacheRegistry}. Light memory pressure shrinks the cache
+ * and heavy pressure empties it.
+ * @param <K> Type of the cache keys
+ * @param <V> Type of the cache values
+ * @author Joshua Duque
+ * @author Mateo Garcia
+ * @author Emiliano Garza
+ * @author Samatha Poole
+ * @author Alaine Liserio
+ * UTSA CS 3443 - Team Oranges Project
+ * Fall 2024
+ */
+public class TrimmableLruCache<K, V> extends LruCache<K, V> implements TrimmableCache {
+
+    private final String name;
+
+    /**
+     * Constructor to initialize the {@link TrimmableLruCache} object.
+     * @param name Name of the cache shown on the debug screen (String)
+     * @param maxSize Maximum size of the cache, in entries unless sizeOf is overridden (int)
+     */
+    public TrimmableLruCache(String name, int maxSize) {
+        super(maxSize);
+        this.name = name;
+    }
+
+    /**
+     * Getter to return the name of the cache.
+     * @return String of the name of the cache
+     */
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Method that shrinks or empties the cache depending on the trim level.
+     * @param level Trim level reported by the system (int)
+     */
+    @Override
+    @SuppressWarnings("deprecation")
+    public void trim(int level) {
+        if (level >= ComponentCallbacks2.TRIM_MEMORY_MODERATE
+                || level == ComponentCallbacks2.TRIM_MEMORY_RUNNING_CRITICAL) {
+            // The process is likely to be killed next, keep nothing
+            evictAll();
+        } else if (level >= ComponentCallbacks2.TRIM_MEMORY_BACKGROUND) {
+            trimToSize(maxSize() / 4);
+        } else if (level >= ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW) {
+            // Includes TRIM_MEMORY_UI_HIDDEN, the UI can be warmed again when it comes back
+            trimToSize(maxSize() / 2);
+        } else if (level >= ComponentCallbacks2.TRIM_MEMORY_RUNNING_MODERATE) {
+            trimToSize(maxSize() * 3 / 4);
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.teamoranges.dragonscroll.models;
 
 import androidx.room.ColumnInfo;
 import androidx.room.Entity;
+import androidx.room.Index;
 import androidx.room.PrimaryKey;
 
 /**
@@ -14,7 +15,12 @@ import androidx.room.PrimaryKey;
  * UTSA CS 3443 - Team Oranges Project
  * Fall 2024
  */
-@Entity
+@Entity(indices = {
+        @Index(value = {"series_id", "volume_index"}),
+        @Index(value = {"favorited_at"}),
+        @Index(value = {"dedupe_key"}),
+        @Index(value = {"tbr_key"})
+})
 public class Book {
 
     // Primary key used to store books in the database
@@ -53,6 +59,26 @@ public class Book {
     @ColumnInfo(name = "end_date")
     private String endDate;
 
+    // ID of the series the book belongs to, null for standalone books
+    @ColumnInfo(name = "series_id")
+    private Integer seriesId;
+
+    // Position of the book inside of its series
+    @ColumnInfo(name = "volume_index", defaultValue = "0")
+    private int volumeIndex;
+
+    // Time in milliseconds the book was favorited at, null for books that aren't favorites
+    @ColumnInfo(name = "favorited_at")
+    private Long favoritedAt;
+
+    // Normalized title and author, written by a database trigger and used to find duplicates
+    @ColumnInfo(name = "dedupe_key")
+    private String dedupeKey;
+
+    // Order key of the book in the reading queue, null for books that aren't queued
+    @ColumnInfo(name = "tbr_key")
+    private String tbrKey;
+
     /**
      * Getter to return the ID of the Book.
      * @return int of the ID of the Book
@@ -196,4 +222,85 @@ public class Book {
     public void setEndDate(String endDate) {
         this.endDate = endDate;
     }
+
+    /**
+     * Getter to return the series ID of the Book.
+     * @return Integer of the series ID or null if the Book is standalone
+     */
+    public Integer getSeriesId() {
+        return seriesId;
+    }
+
+    /**
+     * Setter to set the series ID of the Book.
+     * @param seriesId Series ID of the Book (Integer)
+     */
+    public void setSeriesId(Integer seriesId) {
+        this.seriesId = seriesId;
+    }
+
+    /**
+     * Getter to return the volume index of the Book inside of its series.
+     * @return int of the volume index of the Book
+     */
+    public int getVolumeIndex() {
+        return volumeIndex;
+    }
+
+    /**
+     * Setter to set the volume index of the Book inside of its series.
+     * @param volumeIndex Volume index of the Book (int)
+     */
+    public void setVolumeIndex(int volumeIndex) {
+        this.volumeIndex = volumeIndex;
+    }
+
+    /**
+     * Getter to return the time the Book was favorited at.
+     * @return Long of the time in milliseconds or null if the Book isn't a favorite
+     */
+    public Long getFavoritedAt() {
+        return favoritedAt;
+    }
+
+    /**
+     * Setter to set the time the Book was favorited at.
+     * @param favoritedAt Time in milliseconds or null if the Book isn't a favorite (Long)
+     */
+    public void setFavoritedAt(Long favoritedAt) {
+        this.favoritedAt = favoritedAt;
+    }
+
+    /**
+     * Getter to return the normalized title and author the database stored for the Book.
+     * @return String of the duplicate key or null if the Book wasn't stored yet
+     */
+    public String getDedupeKey() {
+        return dedupeKey;
+    }
+
+    /**
+     * Setter to set the duplicate key, only called by Room. The database computes the key
+     * whenever the title or author changes.
+     * @param dedupeKey Duplicate key of the Book (String)
+     */
+    public void setDedupeKey(String dedupeKey) {
+        this.dedupeKey = dedupeKey;
+    }
+
+    /**
+     * Getter to return the order key of the Book in the reading queue.
+     * @return String of the order key or null if the Book isn't queued
+     */
+    public String getTbrKey() {
+        return tbrKey;
+    }
+
+    /**
+     * Setter to set the order key of the Book in the reading queue.
+     * @param tbrKey Order key or null if the Book isn't queued (String)
+     */
+    public void setTbrKey(String tbrKey) {
+        this.tbrKey = tbrKey;
+    }
 }
@@ -0,0 +1,62 @@
+package com.teamoranges.dragonscroll.models;
+
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.Index;
+
+/**
+ * BookTerm is a java class that defines the model for a {@link SearchTerm} appearing in the
+ * title or author of a {@link Book}. The primary key leads from a term to its books and the
+ * book_id index removes a book's terms when it changes.
+ * @author Joshua Duque
+ * @author Mateo Garcia
+ * @author Emiliano Garza
+ * @author Samatha Poole
+ * @author Alaine Liserio
+ * UTSA CS 3443 - Team Oranges Project
+ * Fall 2024
+ */
+@Entity(tableName = "book_term", primaryKeys = {"term_id", "book_id"},
+        indices = {@Index(value = {"book_id"})})
+public class BookTerm {
+
+    // ID of the term
+    @ColumnInfo(name = "term_id")
+    private int termId;
+
+    // ID of the book the term appears in
+    @ColumnInfo(name = "book_id")
+    private int bookId;
+
+    /**
+     * Getter to return the ID of the term.
+     * @return int of the term ID
+     */
+    public int getTermId() {
+        return termId;
+    }
+
+    /**
+     * Setter to set the ID of the term.
+     * @param termId ID of the term (int)
+     */
+    public void setTermId(int termId) {
+        this.termId = termId;
+    }
+
+    /**
+     * Getter to return the ID of the book.
+     * @return int of the book ID
+     */
+    public int getBookId() {
+        return bookId;
+    }
+
+    /**
+     * Setter to set the ID of the book.
+     * @param bookId ID of the book (int)
+     */
+    public void setBookId(int bookId) {
+        this.bookId = bookId;
+    }
+}
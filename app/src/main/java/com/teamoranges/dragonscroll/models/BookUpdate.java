@@ -0,0 +1,207 @@
+package com.teamoranges.dragonscroll.models;
+
+/**
+ * BookUpdate is a java class that defines a partial update of a {@link Book}. Only the columns
+ * set on it are written, so many updates can be applied at once without reading the Books first.
+ * @author Joshua Duque
+ * @author Mateo Garcia
+ * @author Emiliano Garza
+ * @author Samatha Poole
+ * @author Alaine Liserio
+ * UTSA CS 3443 - Team Oranges Project
+ * Fall 2024
+ */
+public class BookUpdate {
+
+    // Columns an update can change, the index of a column is its bit in the changed columns mask
+    private static final String[] COLUMNS = {
+            "title", "author", "rating", "cover_uri", "summary", "notes", "start_date", "end_date",
+            "series_id", "volume_index", "favorited_at"
+    };
+    private static final int TITLE = 0;
+    private static final int AUTHOR = 1;
+    private static final int RATING = 2;
+    private static final int COVER_URI = 3;
+    private static final int SUMMARY = 4;
+    private static final int NOTES = 5;
+    private static final int START_DATE = 6;
+    private static final int END_DATE = 7;
+    private static final int SERIES_ID = 8;
+    private static final int VOLUME_INDEX = 9;
+    private static final int FAVORITED_AT = 10;
+
+    // ID of the updated Book
+    private final int id;
+    // Bit mask of the changed columns
+    private int changedColumns;
+    // New values by column, only meaningful for changed columns
+    private final Object[] values = new Object[COLUMNS.length];
+
+    /**
+     * Constructor to initialize the {@link BookUpdate} object.
+     * @param id ID of the updated Book (int)
+     */
+    public BookUpdate(int id) {
+        this.id = id;
+    }
+
+    /**
+     * Method that sets the new value of a column.
+     * @param column Index of the column (int)
+     * @param value New value of the column (Object)
+     * @return this BookUpdate
+     */
+    private BookUpdate set(int column, Object value) {
+        values[column] = value;
+        changedColumns |= 1 << column;
+        return this;
+    }
+
+    /**
+     * Setter to update the Book's title.
+     * @param title Title of the Book (String)
+     * @return this BookUpdate
+     */
+    public BookUpdate setTitle(String title) {
+        return set(TITLE, title);
+    }
+
+    /**
+     * Setter to update the Book's author.
+     * @param author Author of the Book (String)
+     * @return this BookUpdate
+     */
+    public BookUpdate setAuthor(String author) {
+        return set(AUTHOR, author);
+    }
+
+    /**
+     * Setter to update the Book's rating.
+     * @param rating Rating of the Book (int)
+     * @return this BookUpdate
+     */
+    public BookUpdate setRating(int rating) {
+        return set(RATING, rating);
+    }
+
+    /**
+     * Setter to update the Book's cover URI.
+     * @param coverUri Cover URI of the Book (String)
+     * @return this BookUpdate
+     */
+    public BookUpdate setCoverUri(String coverUri) {
+        return set(COVER_URI, coverUri);
+    }
+
+    /**
+     * Setter to update the Book's summary.
+     * @param summary Summary of the Book (String)
+     * @return this BookUpdate
+     */
+    public BookUpdate setSummary(String summary) {
+        return set(SUMMARY, summary);
+    }
+
+    /**
+     * Setter to update the Book's notes.
+     * @param notes Notes of the Book (String)
+     * @return this BookUpdate
+     */
+    public BookUpdate setNotes(String notes) {
+        return set(NOTES, notes);
+    }
+
+    /**
+     * Setter to update the Book's reading start date.
+     * @param startDate Reading start date of the Book (String)
+     * @return this BookUpdate
+     */
+    public BookUpdate setStartDate(String startDate) {
+        return set(START_DATE, startDate);
+    }
+
+    /**
+     * Setter to update the Book's reading end date.
+     * @param endDate Reading end date of the Book (String)
+     * @return this BookUpdate
+     */
+    public BookUpdate setEndDate(String endDate) {
+        return set(END_DATE, endDate);
+    }
+
+    /**
+     * Setter to update the Book's series and volume index.
+     * @param seriesId ID of the series or null to make the Book standalone (Integer)
+     * @param volumeIndex Volume index of the Book inside of the series (int)
+     * @return this BookUpdate
+     */
+    public BookUpdate setSeries(Integer seriesId, int volumeIndex) {
+        set(SERIES_ID, seriesId);
+        return set(VOLUME_INDEX, volumeIndex);
+    }
+
+    /**
+     * Setter to update the time the Book was favorited at.
+     * @param favoritedAt Time in milliseconds or null to remove the Book from the favorites (Long)
+     * @return this BookUpdate
+     */
+    public BookUpdate setFavoritedAt(Long favoritedAt) {
+        return set(FAVORITED_AT, favoritedAt);
+    }
+
+    /**
+     * Getter to return the ID of the updated Book.
+     * @return int of the ID of the Book
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Getter to return the bit mask of the changed columns. Updates with the same mask share
+     * the same UPDATE statement.
+     * @return int of the changed columns mask
+     */
+    public int getChangedColumns() {
+        return changedColumns;
+    }
+
+    /**
+     * Getter to return the number of columns an update can change.
+     * @return int of the number of columns
+     */
+    public static int getColumnCount() {
+        return COLUMNS.length;
+    }
+
+    /**
+     * Getter to return the new value of a column.
+     * @param column Index of the column (int)
+     * @return Object of the new value, which is a String, a Number or null
+     */
+    public Object getValue(int column) {
+        return values[column];
+    }
+
+    /**
+     * Method that builds the UPDATE statement for a changed columns mask. Its parameters are the
+     * changed columns in index order followed by the Book's ID.
+     * @param changedColumns Bit mask of the changed columns (int)
+     * @return String of the UPDATE statement
+     */
+    public static String buildSql(int changedColumns) {
+        StringBuilder sql = new StringBuilder("UPDATE book SET ");
+        boolean first = true;
+        for (int column = 0; column < COLUMNS.length; column++) {
+            if ((changedColumns & (1 << column)) == 0) {
+                continue;
+            }
+            if (!first) {
+                sql.append(", ");
+            }
+            sql.append(COLUMNS[column]).append(" = ?");
+            first = false;
+        }
+        return sql.append(" WHERE id = ?").toString();
+    }
+}
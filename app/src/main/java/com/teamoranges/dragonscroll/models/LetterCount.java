@@ -0,0 +1,57 @@
+package com.teamoranges.dragonscroll.models;
+
+import androidx.room.ColumnInfo;
+
+/**
+ * LetterCount is a java class that holds the number of {@link Book} objects whose normalized
+ * title starts with a character. It is the row type of the alphabetical section query.
+ * @author Joshua Duque
+ * @author Mateo Garcia
+ * @author Emiliano Garza
+ * @author Samatha Poole
+ * @author Alaine Liserio
+ * UTSA CS 3443 - Team Oranges Project
+ * Fall 2024
+ */
+public class LetterCount {
+
+    // First character of the normalized titles
+    @ColumnInfo(name = "letter")
+    private String letter;
+
+    // Number of books whose normalized title starts with the character
+    @ColumnInfo(name = "count")
+    private int count;
+
+    /**
+     * Getter to return the first character of the normalized titles.
+     * @return String of the character
+     */
+    public String getLetter() {
+        return letter;
+    }
+
+    /**
+     * Setter to set the first character of the normalized titles.
+     * @param letter First character (String)
+     */
+    public void setLetter(String letter) {
+        this.letter = letter;
+    }
+
+    /**
+     * Getter to return the number of books starting with the character.
+     * @return int of the number of books
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Setter to set the number of books starting with the character.
+     * @param count Number of books (int)
+     */
+    public void setCount(int count) {
+        this.count = count;
+    }
+}
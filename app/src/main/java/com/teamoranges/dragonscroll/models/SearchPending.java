@@ -0,0 +1,42 @@
+package com.teamoranges.dragonscroll.models;
+
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.PrimaryKey;
+
+/**
+ * SearchPending is a java class that defines the model for a {@link Book} whose title or author
+ * changed since it was last added to the search index. Rows are added by triggers on the book
+ * table and removed once the book is indexed again.
+ * @author Joshua Duque
+ * @author Mateo Garcia
+ * @author Emiliano Garza
+ * @author Samatha Poole
+ * @author Alaine Liserio
+ * UTSA CS 3443 - Team Oranges Project
+ * Fall 2024
+ */
+@Entity(tableName = "search_pending")
+public class SearchPending {
+
+    // ID of the book to index
+    @PrimaryKey
+    @ColumnInfo(name = "book_id")
+    private int bookId;
+
+    /**
+     * Getter to return the ID of the book to index.
+     * @return int of the book ID
+     */
+    public int getBookId() {
+        return bookId;
+    }
+
+    /**
+     * Setter to set the ID of the book to index.
+     * @param bookId ID of the book (int)
+     */
+    public void setBookId(int bookId) {
+        this.bookId = bookId;
+    }
+}
@@ -0,0 +1,63 @@
+package com.teamoranges.dragonscroll.models;
+
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.Index;
+import androidx.room.PrimaryKey;
+
+/**
+ * SearchTerm is a java class that defines the model for a distinct normalized word of the book
+ * titles and authors. Fuzzy search matches query words against these terms through their
+ * {@link TermTrigram} rows, and {@link BookTerm} rows lead from a term to its books.
+ * @author Joshua Duque
+ * @author Mateo Garcia
+ * @author Emiliano Garza
+ * @author Samatha Poole
+ * @author Alaine Liserio
+ * UTSA CS 3443 - Team Oranges Project
+ * Fall 2024
+ */
+@Entity(tableName = "search_term", indices = {@Index(value = {"term"}, unique = true)})
+public class SearchTerm {
+
+    // Primary key of the term
+    @PrimaryKey(autoGenerate = true)
+    @ColumnInfo(name = "id")
+    private int id;
+
+    // Lowercase word without accents
+    @ColumnInfo(name = "term")
+    private String term;
+
+    /**
+     * Getter to return the ID of the term.
+     * @return int of the ID
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Setter to set the ID of the term.
+     * @param id ID of the term (int)
+     */
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    /**
+     * Getter to return the normalized word.
+     * @return String of the term
+     */
+    public String getTerm() {
+        return term;
+    }
+
+    /**
+     * Setter to set the normalized word.
+     * @param term Normalized word (String)
+     */
+    public void setTerm(String term) {
+        this.term = term;
+    }
+}
@@ -0,0 +1,61 @@
+package com.teamoranges.dragonscroll.models;
+
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.Index;
+import androidx.room.PrimaryKey;
+
+/**
+ * Series is a java class that defines the model for a book series in the app's Room database.
+ * {@link Book} objects reference a Series by ID and are ordered inside of it by volume index.
+ * @author Joshua Duque
+ * @author Mateo Garcia
+ * @author Emiliano Garza
+ * @author Samatha Poole
+ * @author Alaine Liserio
+ * UTSA CS 3443 - Team Oranges Project
+ * Fall 2024
+ */
+@Entity(indices = {@Index(value = {"name"}, unique = true)})
+public class Series {
+
+    // Primary key used to store series in the database
+    @PrimaryKey(autoGenerate = true)
+    private int id;
+
+    // Name of the series, compared without case so "dune" and "Dune" are the same series
+    @ColumnInfo(name = "name", collate = ColumnInfo.NOCASE)
+    private String name;
+
+    /**
+     * Getter to return the ID of the Series.
+     * @return int of the ID of the Series
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Setter to set the ID of the Series.
+     * @param id ID of the Series (int)
+     */
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    /**
+     * Getter to return the name of the Series.
+     * @return String of the name of the Series
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Setter to set the name of the Series.
+     * @param name Name of the Series (String)
+     */
+    public void setName(String name) {
+        this.name = name;
+    }
+}
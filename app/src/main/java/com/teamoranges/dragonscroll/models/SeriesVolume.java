@@ -0,0 +1,58 @@
+package com.teamoranges.dragonscroll.models;
+
+import androidx.room.ColumnInfo;
+import androidx.room.Embedded;
+
+/**
+ * SeriesVolume is a java class that holds a {@link Book} together with the name of the
+ * {@link Series} it belongs to. It is the row type of the grouped home list query.
+ * @author Joshua Duque
+ * @author Mateo Garcia
+ * @author Emiliano Garza
+ * @author Samatha Poole
+ * @author Alaine Liserio
+ * UTSA CS 3443 - Team Oranges Project
+ * Fall 2024
+ */
+public class SeriesVolume {
+
+    // Book of the row
+    @Embedded
+    private Book book;
+
+    // Name of the book's series, null for standalone books
+    @ColumnInfo(name = "series_name")
+    private String seriesName;
+
+    /**
+     * Getter to return the Book of the row.
+     * @return Book of the row
+     */
+    public Book getBook() {
+        return book;
+    }
+
+    /**
+     * Setter to set the Book of the row.
+     * @param book Book of the row (Book)
+     */
+    public void setBook(Book book) {
+        this.book = book;
+    }
+
+    /**
+     * Getter to return the name of the Book's series.
+     * @return String of the series name or null for standalone books
+     */
+    public String getSeriesName() {
+        return seriesName;
+    }
+
+    /**
+     * Setter to set the name of the Book's series.
+     * @param seriesName Name of the series (String)
+     */
+    public void setSeriesName(String seriesName) {
+        this.seriesName = seriesName;
+    }
+}
@@ -0,0 +1,78 @@
+package com.teamoranges.dragonscroll.models;
+
+import androidx.room.ColumnInfo;
+
+/**
+ * TermMatch is a java class that holds a {@link SearchTerm} sharing trigrams with a query word,
+ * together with the number of shared trigrams. It is the row type of the fuzzy search candidate
+ * query.
+ * @author Joshua Duque
+ * @author Mateo Garcia
+ * @author Emiliano Garza
+ * @author Samatha Poole
+ * @author Alaine Liserio
+ * UTSA CS 3443 - Team Oranges Project
+ * Fall 2024
+ */
+public class TermMatch {
+
+    // ID of the term
+    @ColumnInfo(name = "id")
+    private int id;
+
+    // Normalized word of the term
+    @ColumnInfo(name = "term")
+    private String term;
+
+    // Number of trigrams the term shares with the query word
+    @ColumnInfo(name = "shared")
+    private int shared;
+
+    /**
+     * Getter to return the ID of the term.
+     * @return int of the ID
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Setter to set the ID of the term.
+     * @param id ID of the term (int)
+     */
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    /**
+     * Getter to return the normalized word of the term.
+     * @return String of the term
+     */
+    public String getTerm() {
+        return term;
+    }
+
+    /**
+     * Setter to set the normalized word of the term.
+     * @param term Normalized word (String)
+     */
+    public void setTerm(String term) {
+        this.term = term;
+    }
+
+    /**
+     * Getter to return the number of trigrams shared with the query word.
+     * @return int of the shared trigrams
+     */
+    public int getShared() {
+        return shared;
+    }
+
+    /**
+     * Setter to set the number of trigrams shared with the query word.
+     * @param shared Number of shared trigrams (int)
+     */
+    public void setShared(int shared) {
+        this.shared = shared;
+    }
+}
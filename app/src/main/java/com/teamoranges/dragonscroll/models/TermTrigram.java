@@ -0,0 +1,63 @@
+package com.teamoranges.dragonscroll.models;
+
+import androidx.annotation.NonNull;
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+
+/**
+ * TermTrigram is a java class that defines the model for one trigram of a {@link SearchTerm}.
+ * The primary key starts with the trigram, so the terms sharing a trigram are read from it
+ * without touching the table.
+ * @author Joshua Duque
+ * @author Mateo Garcia
+ * @author Emiliano Garza
+ * @author Samatha Poole
+ * @author Alaine Liserio
+ * UTSA CS 3443 - Team Oranges Project
+ * Fall 2024
+ */
+@Entity(tableName = "term_trigram", primaryKeys = {"trigram", "term_id"})
+public class TermTrigram {
+
+    // Three characters of the padded term
+    @NonNull
+    @ColumnInfo(name = "trigram")
+    private String trigram = "";
+
+    // ID of the term the trigram belongs to
+    @ColumnInfo(name = "term_id")
+    private int termId;
+
+    /**
+     * Getter to return the trigram.
+     * @return String of the trigram
+     */
+    @NonNull
+    public String getTrigram() {
+        return trigram;
+    }
+
+    /**
+     * Setter to set the trigram.
+     * @param trigram Three characters of the padded term (String)
+     */
+    public void setTrigram(@NonNull String trigram) {
+        this.trigram = trigram;
+    }
+
+    /**
+     * Getter to return the ID of the term.
+     * @return int of the term ID
+     */
+    public int getTermId() {
+        return termId;
+    }
+
+    /**
+     * Setter to set the ID of the term.
+     * @param termId ID of the term (int)
+     */
+    public void setTermId(int termId) {
+        this.termId = termId;
+    }
+}
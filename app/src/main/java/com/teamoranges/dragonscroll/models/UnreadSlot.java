@@ -0,0 +1,65 @@
+package com.teamoranges.dragonscroll.models;
+
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.Index;
+import androidx.room.PrimaryKey;
+
+/**
+ * UnreadSlot is a java class that defines the model for one slot of the unread book table. Every
+ * unread {@link Book} holds exactly one slot, and the slots are numbered 1 to the number of
+ * unread books without gaps, so a uniformly random unread book is a single primary key lookup.
+ * The table is kept up to date by triggers on the book table, see
+ * {@link com.teamoranges.dragonscroll.AppDatabase#CALLBACK}.
+ * @author Joshua Duque
+ * @author Mateo Garcia
+ * @author Emiliano Garza
+ * @author Samatha Poole
+ * @author Alaine Liserio
+ * UTSA CS 3443 - Team Oranges Project
+ * Fall 2024
+ */
+@Entity(tableName = "unread_slot", indices = {@Index(value = {"book_id"})})
+public class UnreadSlot {
+
+    // Position of the slot, between 1 and the number of unread books
+    @PrimaryKey
+    @ColumnInfo(name = "slot")
+    private int slot;
+
+    // ID of the unread book in the slot
+    @ColumnInfo(name = "book_id")
+    private int bookId;
+
+    /**
+     * Getter to return the position of the slot.
+     * @return int of the slot
+     */
+    public int getSlot() {
+        return slot;
+    }
+
+    /**
+     * Setter to set the position of the slot.
+     * @param slot Position of the slot (int)
+     */
+    public void setSlot(int slot) {
+        this.slot = slot;
+    }
+
+    /**
+     * Getter to return the ID of the unread book in the slot.
+     * @return int of the ID of the book
+     */
+    public int getBookId() {
+        return bookId;
+    }
+
+    /**
+     * Setter to set the ID of the unread book in the slot.
+     * @param bookId ID of the book (int)
+     */
+    public void setBookId(int bookId) {
+        this.bookId = bookId;
+    }
+}
@@ -0,0 +1,79 @@
+package com.teamoranges.dragonscroll;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import androidx.appcompat.view.ContextThemeWrapper;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+import androidx.test.core.app.ApplicationProvider;
+
+import com.teamoranges.dragonscroll.benchmark.AllocationMeter;
+import com.teamoranges.dragonscroll.benchmark.BindPathInspector;
+import com.teamoranges.dragonscroll.benchmark.SyntheticLibrary;
+import com.teamoranges.dragonscroll.models.Book;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Keeps the bind paths of the home list adapters free of per-bind work: no findViewById, no
+ * listener lambdas and no Uri.parse in onBindViewHolder, and no allocation when a holder is
+ * bound to the row it already shows.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class BookAdapterBindPathTest {
+
+    private static final int LIST_SIZE = 100;
+    private static final int REBINDS = 1_000;
+
+    @Test
+    public void bookAdapter_bindPathIsClean() throws Exception {
+        assertEquals(Collections.emptyList(), BindPathInspector.inspect(BookAdapter.class));
+    }
+
+    @Test
+    public void groupedBookAdapter_bindPathIsClean() throws Exception {
+        assertEquals(Collections.emptyList(), BindPathInspector.inspect(GroupedBookAdapter.class));
+    }
+
+    @Test
+    public void alphabeticalBookAdapter_bindPathIsClean() throws Exception {
+        assertEquals(Collections.emptyList(), BindPathInspector.inspect(AlphabeticalBookAdapter.class));
+    }
+
+    @Test
+    public void bookAdapter_rebindingTheSameRowDoesNotAllocate() throws Exception {
+        assumeTrue("Needs per-thread allocation counters", AllocationMeter.isSupported());
+
+        Random random = new Random(3443);
+        List<Book> books = new ArrayList<>(LIST_SIZE);
+        for (int i = 0; i < LIST_SIZE; i++) {
+            Book book = SyntheticLibrary.createBook(random);
+            book.setId(i + 1);
+            books.add(book);
+        }
+
+        ContextThemeWrapper context = new ContextThemeWrapper(
+                ApplicationProvider.getApplicationContext(), R.style.Base_Theme_DragonScroll);
+        RecyclerView recyclerView = new RecyclerView(context);
+        recyclerView.setLayoutManager(new LinearLayoutManager(context));
+        BookAdapter adapter = new BookAdapter(BookRow.wrap(books), (book, position) -> { }, (book, position) -> false);
+        BookAdapter.BookViewHolder holder = adapter.onCreateViewHolder(recyclerView, BookAdapter.VIEW_TYPE_ROW);
+
+        // The first binds fill the row's caches, later ones must reuse them
+        for (int i = 0; i < REBINDS; i++) {
+            adapter.onBindViewHolder(holder, 0);
+        }
+        double bytesPerRebind = AllocationMeter.bytesPerIteration(REBINDS, i -> adapter.onBindViewHolder(holder, 0));
+
+        assertTrue("Rebinding the same row allocated " + bytesPerRebind + " bytes per bind", bytesPerRebind < 1.0);
+    }
+}
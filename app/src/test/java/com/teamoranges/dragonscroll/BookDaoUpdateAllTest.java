@@ -0,0 +1,117 @@
+package com.teamoranges.dragonscroll;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import androidx.test.core.app.ApplicationProvider;
+
+import com.teamoranges.dragonscroll.benchmark.SyntheticLibrary;
+import com.teamoranges.dragonscroll.models.Book;
+import com.teamoranges.dragonscroll.models.BookUpdate;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.SQLiteMode;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+/**
+ * Checks that {@link BookDao#updateAll} writes only the columns each {@link BookUpdate} set,
+ * including null values, skips updates that change nothing, and keeps the values of different
+ * updates apart when they share a compiled statement.
+ */
+@RunWith(RobolectricTestRunner.class)
+@SQLiteMode(SQLiteMode.Mode.NATIVE)
+public class BookDaoUpdateAllTest {
+
+    private AppDatabase database;
+    private BookDao bookDao;
+
+    @Before
+    public void setUp() {
+        database = SyntheticLibrary.createDatabase(ApplicationProvider.getApplicationContext());
+        bookDao = database.bookDao();
+    }
+
+    @After
+    public void tearDown() {
+        database.close();
+    }
+
+    @Test
+    public void updateAll_writesOnlyTheChangedColumns() {
+        int id = insertBook("The Fifth Season", "N. K. Jemisin", "Summary", "Notes");
+
+        assertEquals(1, bookDao.updateAll(Collections.singletonList(
+                new BookUpdate(id).setRating(5).setNotes("Reread"))));
+
+        Book book = bookDao.getBook(id);
+        assertEquals("The Fifth Season", book.getTitle());
+        assertEquals("N. K. Jemisin", book.getAuthor());
+        assertEquals(5, book.getRating());
+        assertEquals("Summary", book.getSummary());
+        assertEquals("Reread", book.getNotes());
+    }
+
+    @Test
+    public void updateAll_writesNullValues() {
+        int id = insertBook("The Obelisk Gate", "N. K. Jemisin", "Summary", "Notes");
+        bookDao.setFavoritedAt(id, 1_000L);
+
+        bookDao.updateAll(Collections.singletonList(
+                new BookUpdate(id).setSummary(null).setFavoritedAt(null).setSeries(null, 0)));
+
+        Book book = bookDao.getBook(id);
+        assertNull(book.getSummary());
+        assertNull(book.getFavoritedAt());
+        assertNull(book.getSeriesId());
+        assertEquals("Notes", book.getNotes());
+    }
+
+    @Test
+    public void updateAll_skipsUpdatesWithoutChanges() {
+        int id = insertBook("The Stone Sky", "N. K. Jemisin", "Summary", "Notes");
+
+        assertEquals(0, bookDao.updateAll(Collections.singletonList(new BookUpdate(id))));
+        assertEquals(0, bookDao.updateAll(Collections.emptyList()));
+        assertEquals("The Stone Sky", bookDao.getBook(id).getTitle());
+    }
+
+    @Test
+    public void updateAll_keepsValuesApartAcrossMixedMasks() {
+        int first = insertBook("A", "Author A", "Summary A", "Notes A");
+        int second = insertBook("B", "Author B", "Summary B", "Notes B");
+        int third = insertBook("C", "Author C", "Summary C", "Notes C");
+
+        // The first and third updates share a statement, the second one has its own in between
+        int updated = bookDao.updateAll(Arrays.asList(
+                new BookUpdate(first).setTitle("A2").setSummary("Summary A2"),
+                new BookUpdate(second).setAuthor("Author B2"),
+                new BookUpdate(third).setTitle("C2").setSummary(null),
+                new BookUpdate(-1).setTitle("Missing")));
+
+        assertEquals(3, updated);
+        assertEquals("A2", bookDao.getBook(first).getTitle());
+        assertEquals("Summary A2", bookDao.getBook(first).getSummary());
+        assertEquals("Author A", bookDao.getBook(first).getAuthor());
+        assertEquals("B", bookDao.getBook(second).getTitle());
+        assertEquals("Author B2", bookDao.getBook(second).getAuthor());
+        assertEquals("Summary B", bookDao.getBook(second).getSummary());
+        assertEquals("C2", bookDao.getBook(third).getTitle());
+        assertNull(bookDao.getBook(third).getSummary());
+        assertEquals("Notes C", bookDao.getBook(third).getNotes());
+    }
+
+    private int insertBook(String title, String author, String summary, String notes) {
+        Book book = new Book();
+        book.setTitle(title);
+        book.setAuthor(author);
+        book.setSummary(summary);
+        book.setNotes(notes);
+        return (int) bookDao.insert(book);
+    }
+}
@@ -0,0 +1,102 @@
+package com.teamoranges.dragonscroll;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import androidx.test.core.app.ApplicationProvider;
+
+import com.teamoranges.dragonscroll.benchmark.SyntheticLibrary;
+import com.teamoranges.dragonscroll.models.Book;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.SQLiteMode;
+
+/**
+ * Checks that {@link BookDetailCache} hands out the book a press prefetched, keeps it until it's
+ * invalidated, and reads the database again afterwards.
+ */
+@RunWith(RobolectricTestRunner.class)
+@SQLiteMode(SQLiteMode.Mode.NATIVE)
+public class BookDetailCacheTest {
+
+    private AppDatabase database;
+    private BookDao bookDao;
+    private BookDetailCache bookDetails;
+
+    @Before
+    public void setUp() {
+        database = SyntheticLibrary.createDatabase(ApplicationProvider.getApplicationContext());
+        bookDao = database.bookDao();
+        bookDetails = new BookDetailCache(bookDao);
+    }
+
+    @After
+    public void tearDown() {
+        database.close();
+    }
+
+    @Test
+    public void get_returnsPrefetchedBook() {
+        int id = (int) bookDao.insert(createBook("Piranesi", "Susanna Clarke"));
+
+        bookDetails.prefetch(id);
+        Book book = bookDetails.get(id);
+
+        assertEquals("Piranesi", book.getTitle());
+        assertSame(book, bookDetails.get(id));
+    }
+
+    @Test
+    public void invalidate_readsTheBookAgain() {
+        int id = (int) bookDao.insert(createBook("Working Title", "Susanna Clarke"));
+        Book book = bookDetails.get(id);
+
+        bookDao.setTitle(id, "Jonathan Strange & Mr Norrell");
+        assertSame(book, bookDetails.get(id));
+
+        bookDetails.invalidate(id);
+        Book reloaded = bookDetails.get(id);
+        assertNotSame(book, reloaded);
+        assertEquals("Jonathan Strange & Mr Norrell", reloaded.getTitle());
+    }
+
+    @Test
+    public void get_doesNotKeepBookInvalidatedDuringItsRead() {
+        int id = (int) bookDao.insert(createBook("Working Title", "Susanna Clarke"));
+
+        // A merge lands between the read and the put of an uncached book
+        BookDetailCache[] racing = new BookDetailCache[1];
+        racing[0] = new BookDetailCache(new InstrumentedBookDao(database, bookDao) {
+            @Override
+            public Book getBook(int bookId) {
+                Book book = super.getBook(bookId);
+                bookDao.setTitle(bookId, "Piranesi");
+                racing[0].invalidate(bookId);
+                return book;
+            }
+        });
+
+        assertEquals("Working Title", racing[0].get(id).getTitle());
+        assertEquals("Piranesi", racing[0].get(id).getTitle());
+    }
+
+    @Test
+    public void get_returnsNullForMissingBook() {
+        bookDetails.prefetch(-5);
+
+        assertNull(bookDetails.get(-5));
+    }
+
+    private static Book createBook(String title, String author) {
+        Book book = new Book();
+        book.setTitle(title);
+        book.setAuthor(author);
+        return book;
+    }
+}
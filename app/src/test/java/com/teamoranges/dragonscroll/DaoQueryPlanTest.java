@@ -0,0 +1,188 @@
+package com.teamoranges.dragonscroll;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import android.content.Context;
+
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.test.core.app.ApplicationProvider;
+
+import com.teamoranges.dragonscroll.benchmark.QueryPlanInspector;
+import com.teamoranges.dragonscroll.benchmark.SyntheticLibrary;
+import com.teamoranges.dragonscroll.models.BookUpdate;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.SQLiteMode;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Explains every {@link BookDao} and {@link SearchDao} query on a library of realistic size and
+ * keeps the plans indexed. A query fails if it reads a whole table or sorts in a temporary
+ * b-tree, unless it is listed in {@link #UNINDEXED} with the reason it has to. The plans are also
+ * compared with the golden files in src/test/resources/query-plans, so plan changes show up in
+ * review. After an intended change, regenerate them with
+ * {@code ./gradlew :app:testDebugUnitTest -PupdateGoldens --tests '*DaoQueryPlanTest'}.
+ * <p>
+ * The database isn't analyzed, just like on devices, where the app never runs ANALYZE.
+ */
+@RunWith(RobolectricTestRunner.class)
+@SQLiteMode(SQLiteMode.Mode.NATIVE)
+public class DaoQueryPlanTest {
+
+    private static final int LIBRARY_SIZE = 10_000;
+    private static final String GOLDEN_DIRECTORY = "query-plans";
+
+    // Queries that scan or sort without an index by design, by DAO and method, with the reason
+    private static final Map<String, String> UNINDEXED = new HashMap<>();
+
+    static {
+        UNINDEXED.put("BookDao/getAll", "loads the whole library for the home list");
+        UNINDEXED.put("BookDao/getBookByTitle", "one-time migration of the old favorite book setting");
+        UNINDEXED.put("BookDao/getDistinctTitles", "read once per process for the add dialog suggestions");
+        UNINDEXED.put("BookDao/getDistinctAuthors", "read once per process for the add dialog suggestions");
+        UNINDEXED.put("BookDao/getTitleLetterCounts", "groups an index-only scan into a few dozen first letters");
+        UNINDEXED.put("BookDao/getFavoriteTitleLetterCounts", "groups the favorites into a few dozen first letters");
+        UNINDEXED.put("BookDao/getBooksWithContentCovers", "one-time migration of old cover URIs");
+        UNINDEXED.put("BookDao/nukeTable", "deletes every row");
+        UNINDEXED.put("SearchDao/getPendingBookIds", "the queue only holds books changed since the last search");
+        UNINDEXED.put("SearchDao/getTermCandidates", "sorts the few terms sharing a trigram with one query word");
+        UNINDEXED.put("SearchDao/deleteUnusedTerms", "background cleanup that visits every term once");
+        UNINDEXED.put("SearchDao/deleteUnusedTrigrams", "background cleanup that visits every trigram once");
+    }
+
+    private AppDatabase database;
+    private SupportSQLiteDatabase db;
+
+    @Before
+    public void setUp() {
+        Context context = ApplicationProvider.getApplicationContext();
+        database = SyntheticLibrary.createDatabase(context);
+        SyntheticLibrary.populate(database, LIBRARY_SIZE, 3443);
+        new FuzzySearch(database).catchUp();
+        db = database.getOpenHelper().getWritableDatabase();
+    }
+
+    @After
+    public void tearDown() {
+        database.close();
+    }
+
+    @Test
+    public void everyQuery_usesAnIndex() throws Exception {
+        List<String> failures = new ArrayList<>();
+
+        for (Map.Entry<String, String> query : readQueries().entrySet()) {
+            if (UNINDEXED.containsKey(query.getKey())) {
+                continue;
+            }
+
+            List<String> flagged = QueryPlanInspector.findUnindexedSteps(
+                    QueryPlanInspector.explain(db, query.getValue()));
+            if (!flagged.isEmpty()) {
+                failures.add(query.getKey() + ": " + flagged);
+            }
+        }
+
+        assertEquals("Queries without an index", new ArrayList<String>(), failures);
+    }
+
+    @Test
+    public void everyQuery_matchesItsGoldenPlan() throws Exception {
+        boolean update = Boolean.getBoolean("dragonscroll.goldens.update");
+        List<String> mismatches = new ArrayList<>();
+
+        for (Map.Entry<String, String> query : readQueries().entrySet()) {
+            String actual = render(query.getValue(), QueryPlanInspector.explain(db, query.getValue()));
+            String name = GOLDEN_DIRECTORY + "/" + query.getKey() + ".txt";
+
+            if (update) {
+                writeGolden(name, actual);
+                continue;
+            }
+
+            String expected = readGolden(name);
+            if (expected == null) {
+                mismatches.add(name + " is missing");
+            } else if (!expected.equals(actual)) {
+                mismatches.add(name + " changed, expected\n" + expected + "but was\n" + actual);
+            }
+        }
+
+        if (!mismatches.isEmpty()) {
+            fail(String.join("\n", mismatches) + "\nRegenerate the plans with -PupdateGoldens");
+        }
+    }
+
+    @Test
+    public void unindexedAllowList_onlyNamesExistingQueries() throws Exception {
+        Map<String, String> queries = readQueries();
+        for (String name : UNINDEXED.keySet()) {
+            assertTrue(name + " is no longer a query", queries.containsKey(name));
+        }
+    }
+
+    /**
+     * Every {@code @Query} method by DAO and method name, plus the widest statement of the bulk
+     * update.
+     */
+    private static Map<String, String> readQueries() throws IOException {
+        Map<String, String> queries = new TreeMap<>();
+        for (Class<?> daoClass : new Class<?>[]{BookDao.class, SearchDao.class}) {
+            for (Map.Entry<String, String> query : QueryPlanInspector.readQueries(daoClass).entrySet()) {
+                queries.put(daoClass.getSimpleName() + "/" + query.getKey(), query.getValue());
+            }
+        }
+        queries.put("BookDao/updateAll", BookUpdate.buildSql((1 << BookUpdate.getColumnCount()) - 1));
+        return queries;
+    }
+
+    private static String render(String sql, List<String> plan) {
+        StringBuilder builder = new StringBuilder(sql).append('\n');
+        for (String line : plan) {
+            builder.append(line).append('\n');
+        }
+        return builder.toString();
+    }
+
+    private static String readGolden(String name) throws IOException {
+        try (InputStream input = DaoQueryPlanTest.class.getClassLoader().getResourceAsStream(name)) {
+            if (input == null) {
+                return null;
+            }
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            int read;
+            while ((read = input.read(buffer)) != -1) {
+                output.write(buffer, 0, read);
+            }
+            return new String(output.toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static void writeGolden(String name, String plan) throws IOException {
+        String directory = System.getProperty("dragonscroll.goldens.dir");
+        assertNotNull("dragonscroll.goldens.dir is set by the Gradle build", directory);
+
+        File file = new File(directory, name);
+        Files.createDirectories(file.getParentFile().toPath());
+        Files.write(file.toPath(), plan.getBytes(StandardCharsets.UTF_8));
+    }
+}
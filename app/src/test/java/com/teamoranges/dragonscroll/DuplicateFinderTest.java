@@ -0,0 +1,129 @@
+package com.teamoranges.dragonscroll;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import androidx.test.core.app.ApplicationProvider;
+
+import com.teamoranges.dragonscroll.benchmark.SyntheticLibrary;
+import com.teamoranges.dragonscroll.models.Book;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.SQLiteMode;
+
+import java.util.Arrays;
+
+/**
+ * Checks that {@link DuplicateFinder} finds exact duplicates through the dedupe_key column the
+ * triggers maintain, finds misspelled ones through the search index, and merges duplicates on
+ * import.
+ */
+@RunWith(RobolectricTestRunner.class)
+@SQLiteMode(SQLiteMode.Mode.NATIVE)
+public class DuplicateFinderTest {
+
+    private AppDatabase database;
+    private BookDao bookDao;
+    private BookDetailCache bookDetails;
+    private DuplicateFinder duplicateFinder;
+
+    @Before
+    public void setUp() {
+        database = SyntheticLibrary.createDatabase(ApplicationProvider.getApplicationContext());
+        bookDao = database.bookDao();
+        bookDetails = new BookDetailCache(bookDao);
+        duplicateFinder = new DuplicateFinder(database, bookDao, new FuzzySearch(database), bookDetails);
+    }
+
+    @After
+    public void tearDown() {
+        database.close();
+    }
+
+    @Test
+    public void findDuplicate_ignoresCaseSpacesAndPunctuation() {
+        int id = (int) bookDao.insert(createBook("The Fellowship of the Ring", "J.R.R. Tolkien"));
+
+        assertEquals(id, duplicateFinder.findDuplicate("the fellowship of the ring ", "J. R. R. Tolkien").getId());
+        assertEquals(id, duplicateFinder.findDuplicate("The Fellowship: of the Ring", "jrr tolkien").getId());
+        assertNull(duplicateFinder.findDuplicate("The Two Towers", "J.R.R. Tolkien"));
+        assertNull(duplicateFinder.findDuplicate("The Fellowship of the Ring", "Someone Else"));
+    }
+
+    @Test
+    public void findDuplicate_followsRenames() {
+        int id = (int) bookDao.insert(createBook("Working Title", "Ann Leckie"));
+
+        bookDao.setTitle(id, "Ancillary Justice");
+
+        assertNull(duplicateFinder.findDuplicate("Working Title", "Ann Leckie"));
+        assertEquals(id, duplicateFinder.findDuplicate("ancillary justice", "ann leckie").getId());
+    }
+
+    @Test
+    public void findSimilar_findsMisspelledBooks() {
+        int id = (int) bookDao.insert(createBook("The Left Hand of Darkness", "Ursula K. Le Guin"));
+        bookDao.insert(createBook("Darkness Visible", "William Styron"));
+
+        Book similar = duplicateFinder.findSimilar("The Left Hand of Darknes", "Ursula Le Guin");
+        assertNotNull(similar);
+        assertEquals(id, similar.getId());
+        assertNull(duplicateFinder.findSimilar("The Dispossessed", "Ursula K. Le Guin"));
+    }
+
+    @Test
+    public void importBooks_mergesDuplicatesInsteadOfInsertingThem() {
+        int id = (int) bookDao.insert(createBook("Kindred", "Octavia E. Butler"));
+        // Open the book first, the merge must not leave it cached without the summary
+        bookDetails.get(id);
+
+        Book duplicate = createBook("kindred", "Octavia E Butler");
+        duplicate.setSummary("A time travel novel");
+        duplicate.setRating(5);
+        Book repeated = createBook("Parable of the Sower", "Octavia E. Butler");
+        Book repeatedAgain = createBook("Parable of the Sower", "Octavia E. Butler");
+        repeatedAgain.setNotes("Read it twice");
+
+        assertEquals(1, duplicateFinder.importBooks(Arrays.asList(duplicate, repeated, repeatedAgain)));
+        assertEquals(2, bookDao.getCount());
+
+        Book merged = bookDao.getBook(id);
+        assertEquals("Kindred", merged.getTitle());
+        assertEquals("A time travel novel", merged.getSummary());
+        assertEquals(5, merged.getRating());
+        assertEquals("Read it twice", bookDao.getBook(repeated.getId()).getNotes());
+        assertEquals("A time travel novel", bookDetails.get(id).getSummary());
+    }
+
+    @Test
+    public void importBooks_keepsTheFirstValueWhenTwoDuplicatesMergeIntoOneBook() {
+        int id = (int) bookDao.insert(createBook("Kindred", "Octavia E. Butler"));
+
+        Book first = createBook("Kindred", "Octavia E. Butler");
+        first.setRating(5);
+        Book second = createBook("KINDRED", "Octavia E Butler");
+        second.setRating(3);
+        second.setNotes("Borrowed copy");
+        Book third = createBook("kindred", "octavia e butler");
+        third.setNotes("Own copy");
+
+        assertEquals(0, duplicateFinder.importBooks(Arrays.asList(first, second, third)));
+        assertEquals(1, bookDao.getCount());
+
+        Book merged = bookDao.getBook(id);
+        assertEquals(5, merged.getRating());
+        assertEquals("Borrowed copy", merged.getNotes());
+    }
+
+    private static Book createBook(String title, String author) {
+        Book book = new Book();
+        book.setTitle(title);
+        book.setAuthor(author);
+        return book;
+    }
+}
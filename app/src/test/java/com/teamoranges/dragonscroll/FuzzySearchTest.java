@@ -0,0 +1,130 @@
+package com.teamoranges.dragonscroll;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import androidx.test.core.app.ApplicationProvider;
+
+import com.teamoranges.dragonscroll.benchmark.SyntheticLibrary;
+import com.teamoranges.dragonscroll.models.Book;
+import com.teamoranges.dragonscroll.models.BookUpdate;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.SQLiteMode;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Checks that {@link FuzzySearch} finds books through misspelled words and that the trigram
+ * index follows inserts, updates and deletes. The timing on large libraries is measured by
+ * FuzzySearchBenchmark.
+ */
+@RunWith(RobolectricTestRunner.class)
+@SQLiteMode(SQLiteMode.Mode.NATIVE)
+public class FuzzySearchTest {
+
+    private AppDatabase database;
+    private BookDao bookDao;
+    private FuzzySearch fuzzySearch;
+
+    @Before
+    public void setUp() {
+        database = SyntheticLibrary.createDatabase(ApplicationProvider.getApplicationContext());
+        bookDao = database.bookDao();
+        fuzzySearch = new FuzzySearch(database);
+    }
+
+    @After
+    public void tearDown() {
+        database.close();
+    }
+
+    @Test
+    public void tokenize_dropsCaseAccentsAndPunctuation() {
+        assertEquals(Arrays.asList("les", "miserables", "victor", "hugo"),
+                FuzzySearch.tokenize("Les Misérables -- Victor HUGO, victor"));
+        assertEquals(Collections.emptyList(), FuzzySearch.tokenize(null));
+    }
+
+    @Test
+    public void search_toleratesTypos() {
+        int dune = insert("Dune", "Frank Herbert");
+        int hobbit = insert("The Hobbit", "J. R. R. Tolkien");
+        insert("Neuromancer", "William Gibson");
+
+        assertEquals(Collections.singletonList(hobbit), ids(fuzzySearch.search("hobit", 10)));
+        assertEquals(Collections.singletonList(hobbit), ids(fuzzySearch.search("tolkein", 10)));
+        assertEquals(dune, (int) ids(fuzzySearch.search("frank herbet", 10)).get(0));
+        assertTrue(fuzzySearch.search("zzzzzz", 10).isEmpty());
+        assertTrue(fuzzySearch.search("  ", 10).isEmpty());
+    }
+
+    @Test
+    public void search_ranksBooksMatchingMoreWordsFirst() {
+        int river = insert("River of Stars", "Guy Gavriel Kay");
+        int stars = insert("Stars", "Someone Else");
+
+        assertEquals(Arrays.asList(river, stars), ids(fuzzySearch.search("rivr stars", 10)));
+        assertEquals(1, fuzzySearch.search("rivr stars", 1).size());
+    }
+
+    @Test
+    public void index_followsInsertsUpdatesAndDeletes() {
+        int id = insert("Piranesi", "Susanna Clarke");
+        assertEquals(Collections.singletonList(id), ids(fuzzySearch.search("piranesy", 10)));
+
+        bookDao.setTitle(id, "Jonathan Strange");
+        assertTrue(fuzzySearch.search("piranesi", 10).isEmpty());
+        assertEquals(Collections.singletonList(id), ids(fuzzySearch.search("jonathon", 10)));
+
+        bookDao.updateAll(Collections.singletonList(new BookUpdate(id).setAuthor("Neil Gaiman")));
+        assertTrue(fuzzySearch.search("clarke", 10).isEmpty());
+        assertEquals(Collections.singletonList(id), ids(fuzzySearch.search("gaiman", 10)));
+
+        Book book = new Book();
+        book.setId(id);
+        bookDao.delete(book);
+        assertTrue(fuzzySearch.search("jonathan", 10).isEmpty());
+    }
+
+    @Test
+    public void deleteUnusedTerms_keepsOnlyTermsOfExistingBooks() {
+        int id = insert("Solaris", "Stanislaw Lem");
+        insert("Solaris Again", "Someone Else");
+        fuzzySearch.catchUp();
+
+        Book book = new Book();
+        book.setId(id);
+        bookDao.delete(book);
+        fuzzySearch.deleteUnusedTerms();
+
+        SearchDao searchDao = database.searchDao();
+        assertNull(searchDao.getTermId("lem"));
+        assertNotNull(searchDao.getTermId("solaris"));
+        assertEquals(1, fuzzySearch.search("solaris", 10).size());
+    }
+
+    private int insert(String title, String author) {
+        Book book = new Book();
+        book.setTitle(title);
+        book.setAuthor(author);
+        return (int) bookDao.insert(book);
+    }
+
+    private static List<Integer> ids(List<Book> books) {
+        List<Integer> ids = new ArrayList<>();
+        for (Book book : books) {
+            ids.add(book.getId());
+        }
+        return ids;
+    }
+}
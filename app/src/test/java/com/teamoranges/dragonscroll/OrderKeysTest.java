@@ -0,0 +1,70 @@
+package com.teamoranges.dragonscroll;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Checks that {@link OrderKeys} always makes a key between two others, keeps appended keys
+ * short and spreads keys out evenly in order.
+ */
+public class OrderKeysTest {
+
+    @Test
+    public void between_sortsStrictlyBetweenItsNeighbours() {
+        Random random = new Random(42);
+        List<String> keys = new ArrayList<>();
+
+        // Insert at random places, the way drags land
+        for (int i = 0; i < 2000; i++) {
+            int position = random.nextInt(keys.size() + 1);
+            String before = position > 0 ? keys.get(position - 1) : null;
+            String after = position < keys.size() ? keys.get(position) : null;
+
+            String key = OrderKeys.between(before, after);
+            assertTrue(before == null || before.compareTo(key) < 0);
+            assertTrue(after == null || key.compareTo(after) < 0);
+            assertFalse(key.endsWith("0"));
+            keys.add(position, key);
+        }
+    }
+
+    @Test
+    public void between_keepsAppendedKeysShort() {
+        String key = null;
+        for (int i = 0; i < 100; i++) {
+            key = OrderKeys.between(key, null);
+        }
+        assertEquals(3, key.length());
+    }
+
+    @Test
+    public void between_makesRoomBelowTheFirstKey() {
+        assertEquals("0V", OrderKeys.between(null, "1"));
+        assertEquals("A0V", OrderKeys.between("A", "A1"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void between_rejectsKeysOutOfOrder() {
+        OrderKeys.between("b", "a");
+    }
+
+    @Test
+    public void spread_makesEvenlySpacedKeysOfTheShortestLength() {
+        List<String> keys = OrderKeys.spread(100);
+
+        assertEquals(100, keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+            assertTrue(keys.get(i).length() <= 2);
+            assertTrue(i == 0 || keys.get(i - 1).compareTo(keys.get(i)) < 0);
+        }
+        assertEquals(5, OrderKeys.spread(5).size());
+        assertEquals(1, OrderKeys.spread(5).get(0).length());
+    }
+}
@@ -0,0 +1,50 @@
+package com.teamoranges.dragonscroll;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+/**
+ * Checks that {@link PrefixIndex} finds values by prefix regardless of case, keeps one value per
+ * key and stays sorted as values are added.
+ */
+public class PrefixIndexTest {
+
+    @Test
+    public void find_returnsValuesStartingWithThePrefixInOrder() {
+        PrefixIndex index = PrefixIndex.of(Arrays.asList(
+                "Ursula K. Le Guin", "Terry Pratchett", "Tamsyn Muir", "ted chiang", "N. K. Jemisin"));
+
+        assertEquals(Arrays.asList("Tamsyn Muir", "ted chiang", "Terry Pratchett"), index.find("t", 10));
+        assertEquals(Arrays.asList("ted chiang", "Terry Pratchett"), index.find("TE", 10));
+        assertEquals(Collections.singletonList("ted chiang"), index.find("ted ", 10));
+        assertEquals(Collections.singletonList("Tamsyn Muir"), index.find("t", 1));
+        assertEquals(Collections.emptyList(), index.find("x", 10));
+        assertEquals(Collections.emptyList(), index.find(" ", 10));
+    }
+
+    @Test
+    public void of_keepsOneValuePerKeyAndSkipsBlanks() {
+        PrefixIndex index = PrefixIndex.of(Arrays.asList("Dune", "dune", " Dune ", "", null, "Dune Messiah"));
+
+        assertEquals(2, index.size());
+        assertEquals(Arrays.asList("Dune", "Dune Messiah"), index.find("du", 10));
+    }
+
+    @Test
+    public void plus_insertsInSortedOrderWithoutChangingTheOriginal() {
+        PrefixIndex index = PrefixIndex.of(Arrays.asList("Anne", "Carl"));
+        PrefixIndex added = index.plus("Beth").plus("anne").plus(null);
+
+        assertEquals(3, added.size());
+        assertEquals(Collections.singletonList("Anne"), added.find("a", 10));
+        assertEquals(Collections.singletonList("Beth"), added.find("b", 10));
+        assertEquals(Collections.singletonList("Carl"), added.find("c", 10));
+        assertEquals(2, index.size());
+        assertSame(added, added.plus("BETH"));
+    }
+}
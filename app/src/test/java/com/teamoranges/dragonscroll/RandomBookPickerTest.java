@@ -0,0 +1,212 @@
+package com.teamoranges.dragonscroll;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import android.database.Cursor;
+
+import androidx.test.core.app.ApplicationProvider;
+
+import com.teamoranges.dragonscroll.benchmark.SyntheticLibrary;
+import com.teamoranges.dragonscroll.models.Book;
+import com.teamoranges.dragonscroll.models.BookUpdate;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.SQLiteMode;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Checks that the unread slot triggers keep one gapless slot per unread book through every kind
+ * of write, and that {@link RandomBookPicker} picks unread books uniformly. The timing at 100k
+ * books is measured by RandomBookPickerBenchmark.
+ */
+@RunWith(RobolectricTestRunner.class)
+@SQLiteMode(SQLiteMode.Mode.NATIVE)
+public class RandomBookPickerTest {
+
+    // Chi-squared critical values at p = 0.001, so a fair picker fails one seed in a thousand
+    private static final double CHI_SQUARED_9_DOF = 27.877;
+    private static final double CHI_SQUARED_4_DOF = 18.467;
+
+    private AppDatabase database;
+    private BookDao bookDao;
+
+    @Before
+    public void setUp() {
+        database = SyntheticLibrary.createDatabase(ApplicationProvider.getApplicationContext());
+        bookDao = database.bookDao();
+    }
+
+    @After
+    public void tearDown() {
+        database.close();
+    }
+
+    @Test
+    public void unreadSlots_followInsertsUpdatesAndDeletes() {
+        Random random = new Random(3443);
+        List<Integer> ids = new ArrayList<>();
+
+        for (int step = 0; step < 2_000; step++) {
+            int operation = random.nextInt(10);
+            if (operation < 4 || ids.isEmpty()) {
+                ids.add((int) bookDao.insert(createBook(random.nextBoolean() ? null : "2024/1/1")));
+            } else if (operation < 6) {
+                Book book = new Book();
+                book.setId(ids.remove(random.nextInt(ids.size())));
+                bookDao.delete(book);
+            } else if (operation < 8) {
+                bookDao.setEndDate(ids.get(random.nextInt(ids.size())), randomEndDate(random));
+            } else {
+                List<BookUpdate> updates = new ArrayList<>();
+                for (int i = 0; i < 5; i++) {
+                    updates.add(new BookUpdate(ids.get(random.nextInt(ids.size())))
+                            .setEndDate(randomEndDate(random)));
+                }
+                bookDao.updateAll(updates);
+            }
+
+            if (step % 100 == 0) {
+                assertSlotsMatchUnreadBooks();
+            }
+        }
+        assertSlotsMatchUnreadBooks();
+
+        bookDao.nukeTable();
+        assertEquals(0, bookDao.getUnreadCount());
+    }
+
+    @Test
+    public void pickUnread_isUniform() {
+        // Ten unread books between read ones
+        List<Integer> unread = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            long id = bookDao.insert(createBook(i % 2 == 0 ? null : "2024/1/1"));
+            if (i % 2 == 0) {
+                unread.add((int) id);
+            }
+        }
+
+        RandomBookPicker picker = new RandomBookPicker(bookDao, new Random(3443));
+        Map<Integer, Integer> counts = pick(picker, false, 20_000);
+
+        assertEquals(unread.size(), counts.size());
+        assertTrue(counts.keySet().containsAll(unread));
+        assertTrue("Picks aren't uniform: " + counts, chiSquared(counts, 20_000) < CHI_SQUARED_9_DOF);
+    }
+
+    @Test
+    public void pickUnread_favoritesOnly_isUniformAmongUnreadFavorites() {
+        // Five unread and five read favorites among many other books, so most picks fall back
+        // to the favorited_at index
+        List<Integer> unreadFavorites = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            boolean read = i % 2 == 1;
+            long id = bookDao.insert(createBook(read ? "2024/1/1" : null));
+            if (i % 100 == 0 || i % 100 == 1) {
+                bookDao.setFavoritedAt((int) id, (long) i);
+                if (!read) {
+                    unreadFavorites.add((int) id);
+                }
+            }
+        }
+
+        RandomBookPicker picker = new RandomBookPicker(bookDao, new Random(3443));
+        Map<Integer, Integer> counts = pick(picker, true, 10_000);
+
+        assertEquals(unreadFavorites, sorted(counts));
+        assertTrue("Picks aren't uniform: " + counts, chiSquared(counts, 10_000) < CHI_SQUARED_4_DOF);
+    }
+
+    @Test
+    public void pickUnread_everyBookRead_returnsNull() {
+        bookDao.insert(createBook("2024/1/1"));
+        RandomBookPicker picker = new RandomBookPicker(bookDao, new Random(3443));
+
+        assertNull(picker.pickUnread(false));
+        assertNull(picker.pickUnread(true));
+    }
+
+    private static Book createBook(String endDate) {
+        Book book = new Book();
+        book.setTitle("Title");
+        book.setAuthor("Author");
+        book.setEndDate(endDate);
+        return book;
+    }
+
+    private static String randomEndDate(Random random) {
+        switch (random.nextInt(3)) {
+            case 0:
+                return null;
+            case 1:
+                return "";
+            default:
+                return "2024/1/1";
+        }
+    }
+
+    private void assertSlotsMatchUnreadBooks() {
+        List<Integer> slots = new ArrayList<>();
+        List<Integer> slotBookIds = new ArrayList<>();
+        try (Cursor cursor = database.query("SELECT slot, book_id FROM unread_slot ORDER BY slot", null)) {
+            while (cursor.moveToNext()) {
+                slots.add(cursor.getInt(0));
+                slotBookIds.add(cursor.getInt(1));
+            }
+        }
+
+        List<Integer> unreadIds = new ArrayList<>();
+        try (Cursor cursor = database.query(
+                "SELECT id FROM book WHERE end_date IS NULL OR end_date = '' ORDER BY id", null)) {
+            while (cursor.moveToNext()) {
+                unreadIds.add(cursor.getInt(0));
+            }
+        }
+
+        // Slots are numbered 1 to the number of unread books and hold every unread book once
+        for (int i = 0; i < slots.size(); i++) {
+            assertEquals(i + 1, (int) slots.get(i));
+        }
+        Collections.sort(slotBookIds);
+        assertEquals(unreadIds, slotBookIds);
+        assertEquals(unreadIds.size(), bookDao.getUnreadCount());
+    }
+
+    private static Map<Integer, Integer> pick(RandomBookPicker picker, boolean favoritesOnly, int picks) {
+        Map<Integer, Integer> counts = new HashMap<>();
+        for (int i = 0; i < picks; i++) {
+            Book book = picker.pickUnread(favoritesOnly);
+            assertNotNull(book);
+            counts.merge(book.getId(), 1, Integer::sum);
+        }
+        return counts;
+    }
+
+    private static double chiSquared(Map<Integer, Integer> counts, int picks) {
+        double expected = (double) picks / counts.size();
+        double chiSquared = 0;
+        for (int count : counts.values()) {
+            chiSquared += (count - expected) * (count - expected) / expected;
+        }
+        return chiSquared;
+    }
+
+    private static List<Integer> sorted(Map<Integer, Integer> counts) {
+        List<Integer> ids = new ArrayList<>(counts.keySet());
+        Collections.sort(ids);
+        return ids;
+    }
+}
@@ -0,0 +1,156 @@
+package com.teamoranges.dragonscroll;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import androidx.test.core.app.ApplicationProvider;
+
+import com.teamoranges.dragonscroll.benchmark.SyntheticLibrary;
+import com.teamoranges.dragonscroll.models.Book;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.SQLiteMode;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Checks that {@link ReadingQueue} keeps the queue in order through adds, moves and removals,
+ * pages it by key, and keeps the order when the keys are rebalanced.
+ */
+@RunWith(RobolectricTestRunner.class)
+@SQLiteMode(SQLiteMode.Mode.NATIVE)
+public class ReadingQueueTest {
+
+    private AppDatabase database;
+    private BookDao bookDao;
+    private ReadingQueue readingQueue;
+
+    @Before
+    public void setUp() {
+        database = SyntheticLibrary.createDatabase(ApplicationProvider.getApplicationContext());
+        bookDao = database.bookDao();
+        readingQueue = new ReadingQueue(database, bookDao);
+    }
+
+    @After
+    public void tearDown() {
+        database.close();
+    }
+
+    @Test
+    public void add_appendsOnceAndRemoveLeavesTheQueue() {
+        int first = insertBook("Piranesi");
+        int second = insertBook("Jonathan Strange & Mr Norrell");
+
+        String key = readingQueue.add(first);
+        readingQueue.add(second);
+
+        assertEquals(key, readingQueue.add(first));
+        assertEquals(Arrays.asList(first, second), queueIds());
+
+        readingQueue.remove(first);
+        assertNull(bookDao.getQueueKey(first));
+        assertEquals(Arrays.asList(second), queueIds());
+    }
+
+    @Test
+    public void move_placesTheBookAfterItsNewNeighbour() {
+        int a = insertBook("A");
+        int b = insertBook("B");
+        int c = insertBook("C");
+        for (int id : new int[] {a, b, c}) {
+            readingQueue.add(id);
+        }
+
+        readingQueue.move(c, null);
+        assertEquals(Arrays.asList(c, a, b), queueIds());
+
+        readingQueue.move(c, b);
+        assertEquals(Arrays.asList(a, b, c), queueIds());
+
+        readingQueue.move(a, b);
+        assertEquals(Arrays.asList(b, a, c), queueIds());
+    }
+
+    @Test
+    public void rebalance_keepsTheOrderAndShortensTheKeys() {
+        int a = insertBook("A");
+        int b = insertBook("B");
+        int c = insertBook("C");
+        for (int id : new int[] {a, b, c}) {
+            readingQueue.add(id);
+        }
+
+        // Keep moving the last book in between the first two until its key grows too long
+        int moved = c;
+        String key = "";
+        while (!ReadingQueue.needsRebalance(key)) {
+            key = readingQueue.move(moved, a);
+            moved = moved == c ? b : c;
+        }
+        List<Integer> order = queueIds();
+
+        assertEquals(3, readingQueue.rebalance());
+        assertEquals(order, queueIds());
+        for (int id : order) {
+            assertEquals(1, bookDao.getQueueKey(id).length());
+        }
+    }
+
+    @Test
+    public void add_rebalancesOnceAppendedKeysGrowTooLong() {
+        List<Integer> ids = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            ids.add(insertBook("Book " + i));
+            String key = readingQueue.add(ids.get(i));
+            assertFalse(ReadingQueue.needsRebalance(key));
+        }
+
+        assertEquals(ids, queueIds());
+    }
+
+    @Test
+    public void getPage_continuesAfterTheLastLoadedBook() {
+        List<Integer> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ids.add(insertBook("Book " + i));
+            readingQueue.add(ids.get(i));
+        }
+        // A book that isn't queued never shows up
+        insertBook("Unqueued");
+
+        List<Book> first = readingQueue.getPage(null, 2);
+        List<Book> second = readingQueue.getPage(first.get(1).getId(), 10);
+
+        assertEquals(ids.subList(0, 2), idsOf(first));
+        assertEquals(ids.subList(2, 5), idsOf(second));
+        assertTrue(readingQueue.getPage(ids.get(4), 10).isEmpty());
+    }
+
+    private int insertBook(String title) {
+        Book book = new Book();
+        book.setTitle(title);
+        book.setAuthor("Susanna Clarke");
+        return (int) bookDao.insert(book);
+    }
+
+    private List<Integer> queueIds() {
+        return bookDao.getQueueIds();
+    }
+
+    private static List<Integer> idsOf(List<Book> books) {
+        List<Integer> ids = new ArrayList<>();
+        for (Book book : books) {
+            ids.add(book.getId());
+        }
+        return ids;
+    }
+}
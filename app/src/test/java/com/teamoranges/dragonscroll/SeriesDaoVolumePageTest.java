@@ -0,0 +1,118 @@
+package com.teamoranges.dragonscroll;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import androidx.test.core.app.ApplicationProvider;
+
+import com.teamoranges.dragonscroll.benchmark.SyntheticLibrary;
+import com.teamoranges.dragonscroll.models.Book;
+import com.teamoranges.dragonscroll.models.Series;
+import com.teamoranges.dragonscroll.models.SeriesVolume;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.SQLiteMode;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Checks that {@link SeriesDao#getVolumePage(SeriesVolume, int)} pages the grouped home list
+ * in series name and volume order, with standalone books last, without skipping or repeating a
+ * volume at page boundaries.
+ */
+@RunWith(RobolectricTestRunner.class)
+@SQLiteMode(SQLiteMode.Mode.NATIVE)
+public class SeriesDaoVolumePageTest {
+
+    private AppDatabase database;
+    private BookDao bookDao;
+    private SeriesDao seriesDao;
+
+    @Before
+    public void setUp() {
+        database = SyntheticLibrary.createDatabase(ApplicationProvider.getApplicationContext());
+        bookDao = database.bookDao();
+        seriesDao = database.seriesDao();
+    }
+
+    @After
+    public void tearDown() {
+        database.close();
+    }
+
+    @Test
+    public void getVolumePage_pagesSeriesInOrderThenStandaloneBooks() {
+        int discworld = insertSeries("discworld");
+        int earthsea = insertSeries("Earthsea");
+        insertBook("Standalone One", null, 0);
+        insertBook("Mort", discworld, 4);
+        insertBook("Tehanu", earthsea, 4);
+        insertBook("The Colour of Magic", discworld, 1);
+        insertBook("A Wizard of Earthsea", earthsea, 1);
+        insertBook("Standalone Two", null, 0);
+        insertBook("Equal Rites", discworld, 3);
+
+        List<String> expected = Arrays.asList("The Colour of Magic", "Equal Rites", "Mort",
+                "A Wizard of Earthsea", "Tehanu", "Standalone One", "Standalone Two");
+
+        // Every page size crosses a different boundary between series and standalone books
+        for (int pageSize = 1; pageSize <= expected.size() + 1; pageSize++) {
+            assertEquals("Page size " + pageSize, expected, readAllTitles(pageSize));
+        }
+    }
+
+    @Test
+    public void getVolumePage_keepsSeriesNamesOnVolumesOnly() {
+        int series = insertSeries("Earthsea");
+        insertBook("A Wizard of Earthsea", series, 1);
+        insertBook("Piranesi", null, 0);
+
+        List<SeriesVolume> page = seriesDao.getVolumePage(null, 10);
+
+        assertEquals(2, page.size());
+        assertEquals("Earthsea", page.get(0).getSeriesName());
+        assertNull(page.get(1).getSeriesName());
+    }
+
+    @Test
+    public void getVolumePage_isEmptyForEmptyLibrary() {
+        assertEquals(0, seriesDao.getVolumePage(null, 10).size());
+    }
+
+    private List<String> readAllTitles(int pageSize) {
+        List<String> titles = new ArrayList<>();
+        SeriesVolume after = null;
+        List<SeriesVolume> page;
+        do {
+            page = seriesDao.getVolumePage(after, pageSize);
+            for (SeriesVolume volume : page) {
+                titles.add(volume.getBook().getTitle());
+            }
+            if (!page.isEmpty()) {
+                after = page.get(page.size() - 1);
+            }
+        } while (page.size() == pageSize);
+        return titles;
+    }
+
+    private int insertSeries(String name) {
+        Series series = new Series();
+        series.setName(name);
+        return (int) seriesDao.insert(series);
+    }
+
+    private void insertBook(String title, Integer seriesId, int volumeIndex) {
+        Book book = new Book();
+        book.setTitle(title);
+        book.setAuthor("Author");
+        book.setSeriesId(seriesId);
+        book.setVolumeIndex(volumeIndex);
+        bookDao.insert(book);
+    }
+}
@@ -0,0 +1,103 @@
+package com.teamoranges.dragonscroll;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.teamoranges.dragonscroll.models.LetterCount;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Checks that {@link TitleSections} lays headers and books out from the letter counts, groups
+ * titles that don't start with a letter under one "#" section, and starts every page at the
+ * right run and offset.
+ */
+public class TitleSectionsTest {
+
+    /**
+     * Method that builds the rows of the section query.
+     * @param lettersAndCounts Alternating characters and counts (Object...)
+     * @return List of type LetterCount
+     */
+    private static List<LetterCount> counts(Object... lettersAndCounts) {
+        List<LetterCount> counts = new ArrayList<>();
+        for (int i = 0; i < lettersAndCounts.length; i += 2) {
+            LetterCount count = new LetterCount();
+            count.setLetter((String) lettersAndCounts[i]);
+            count.setCount((Integer) lettersAndCounts[i + 1]);
+            counts.add(count);
+        }
+        return counts;
+    }
+
+    @Test
+    public void constructor_groupsEveryNonLetterUnderOneLeadingLabel() {
+        TitleSections sections = new TitleSections(counts("1", 2, "9", 1, "a", 3, "b", 1, "|", 1), false);
+
+        assertArrayEquals(new String[] {"#", "A", "B"}, sections.getLabels());
+        assertEquals(8, sections.getBookCount());
+        assertEquals(11, sections.getItemCount());
+        assertEquals(5, sections.getHeaderPosition(1));
+    }
+
+    @Test
+    public void positions_mapHeadersAndBooks() {
+        // Rows: 0 header A, 1-3 books 0-2, 4 header B, 5 book 3, 6 header C, 7-8 books 4-5
+        TitleSections sections = new TitleSections(counts("a", 3, "b", 1, "c", 2), false);
+
+        assertEquals(0, sections.getHeaderPosition(0));
+        assertEquals(4, sections.getHeaderPosition(1));
+        assertEquals(6, sections.getHeaderPosition(2));
+
+        assertTrue(sections.isHeader(4));
+        assertFalse(sections.isHeader(5));
+        assertEquals(1, sections.getSectionForPosition(5));
+        assertEquals(2, sections.getSectionForPosition(8));
+
+        for (int book = 0; book < sections.getBookCount(); book++) {
+            int position = sections.getBookPosition(book);
+            assertFalse(sections.isHeader(position));
+            assertEquals(book, sections.getBookIndex(position));
+        }
+    }
+
+    @Test
+    public void pages_startAtTheRunHoldingTheirFirstBook() {
+        // Runs: books 0-1 before "a", 2-3 after "z", 4-123 "a", 124-128 "b"
+        TitleSections sections = new TitleSections(counts("0", 1, "7", 1, "a", 120, "b", 5, "é", 2), true);
+
+        assertArrayEquals(new String[] {"#", "A", "B"}, sections.getLabels());
+        assertEquals(4, sections.getRunCount());
+        assertTrue(sections.isFavoritesOnly());
+
+        assertEquals(0, sections.getRunForBook(1));
+        assertEquals("", sections.getRunFrom(0));
+        assertEquals("a", sections.getRunTo(0));
+
+        assertEquals(1, sections.getRunForBook(3));
+        assertEquals(2, sections.getRunStart(1));
+        assertEquals("{", sections.getRunFrom(1));
+        assertNull(sections.getRunTo(1));
+
+        assertEquals(2, sections.getRunForBook(50));
+        assertEquals(4, sections.getRunStart(2));
+        assertEquals("a", sections.getRunFrom(2));
+        assertEquals("b", sections.getRunTo(2));
+
+        assertEquals(3, sections.getRunForBook(125));
+        assertEquals(124, sections.getRunStart(3));
+        assertEquals("c", sections.getRunTo(3));
+    }
+
+    @Test
+    public void empty_hasNoRows() {
+        assertEquals(0, TitleSections.EMPTY.getSectionCount());
+        assertEquals(0, TitleSections.EMPTY.getItemCount());
+    }
+}
@@ -0,0 +1,50 @@
+package com.teamoranges.dragonscroll.benchmark;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Measures bytes allocated by the current thread using HotSpot's thread allocation counters.
+ * The cost of reading the counter is measured once and subtracted from every reading.
+ */
+public final class AllocationMeter {
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private AllocationMeter() {
+    }
+
+    /**
+     * @return whether the running JVM supports per-thread allocation counters
+     */
+    public static boolean isSupported() {
+        return THREADS.isThreadAllocatedMemorySupported() && THREADS.isThreadAllocatedMemoryEnabled();
+    }
+
+    /**
+     * Runs an iteration body {@code iterations} times and returns the average number of bytes
+     * it allocated per iteration.
+     */
+    public static double bytesPerIteration(int iterations, BenchmarkRunner.Iteration body) throws Exception {
+        long overhead = allocatedBytes(() -> { });
+
+        long total = allocatedBytes(() -> {
+            for (int i = 0; i < iterations; i++) {
+                body.run(i);
+            }
+        });
+
+        return Math.max(0, total - overhead) / (double) iterations;
+    }
+
+    private static long allocatedBytes(ThrowingRunnable runnable) throws Exception {
+        long threadId = Thread.currentThread().getId();
+        long before = THREADS.getThreadAllocatedBytes(threadId);
+        runnable.run();
+        return THREADS.getThreadAllocatedBytes(threadId) - before;
+    }
+
+    private interface ThrowingRunnable {
+        void run() throws Exception;
+    }
+}
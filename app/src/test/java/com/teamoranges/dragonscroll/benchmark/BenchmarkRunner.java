@@ -0,0 +1,223 @@
+package com.teamoranges.dragonscroll.benchmark;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Small timing harness shared by the JVM benchmarks. Each measurement runs a number of warmup
+ * iterations, times every measured iteration with {@link System#nanoTime()}, and keeps the
+ * samples so percentiles can be reported. Results of a suite are written as JSON to the
+ * directory given by the {@code dragonscroll.benchmark.output} system property, so runs on
+ * different commits can be diffed.
+ */
+public final class BenchmarkRunner {
+
+    /**
+     * Body of a measured iteration.
+     */
+    public interface Iteration {
+        /**
+         * Runs one iteration.
+         * @param iteration index of the iteration, counting warmup iterations first
+         */
+        void run(int iteration) throws Exception;
+    }
+
+    private final String suite;
+    private final List<Result> results = new ArrayList<>();
+    private final Map<String, String> notes = new LinkedHashMap<>();
+
+    /**
+     * @param suite name of the suite, used as the JSON file name
+     */
+    public BenchmarkRunner(String suite) {
+        this.suite = suite;
+    }
+
+    /**
+     * @return whether benchmarks were requested with -Pbenchmark
+     */
+    public static boolean isEnabled() {
+        return Boolean.getBoolean("dragonscroll.benchmark");
+    }
+
+    /**
+     * Times an iteration body.
+     * @param name name of the measurement
+     * @param rows number of rows in the library the measurement ran against
+     * @param warmup number of untimed iterations
+     * @param iterations number of timed iterations
+     * @param body iteration body
+     * @return the recorded result
+     */
+    public Result measure(String name, int rows, int warmup, int iterations, Iteration body) throws Exception {
+        for (int i = 0; i < warmup; i++) {
+            body.run(i);
+        }
+
+        long[] samples = new long[iterations];
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            body.run(warmup + i);
+            samples[i] = System.nanoTime() - start;
+        }
+
+        Result result = new Result(name, rows, samples);
+        results.add(result);
+        System.out.println(result);
+        return result;
+    }
+
+    /**
+     * Attaches a note, such as the settings a measurement ran with, to the suite's JSON.
+     * @param key note name
+     * @param value note text
+     */
+    public void note(String key, String value) {
+        notes.put(key, value);
+    }
+
+    /**
+     * Writes every recorded result of the suite to {@code <output>/<suite>.json}.
+     * @return the written file
+     */
+    public File writeJson() throws IOException {
+        StringBuilder json = new StringBuilder();
+        json.append("{\n");
+        json.append("  \"suite\": ").append(quote(suite)).append(",\n");
+        json.append("  \"label\": ").append(quote(System.getProperty("dragonscroll.benchmark.label", "local"))).append(",\n");
+        json.append("  \"timestamp\": ").append(System.currentTimeMillis()).append(",\n");
+        if (!notes.isEmpty()) {
+            json.append("  \"notes\": {");
+            int index = 0;
+            for (Map.Entry<String, String> note : notes.entrySet()) {
+                json.append(index++ == 0 ? "\n" : ",\n").append("    ")
+                        .append(quote(note.getKey())).append(": ").append(quote(note.getValue()));
+            }
+            json.append("\n  },\n");
+        }
+        json.append("  \"results\": [");
+        for (int i = 0; i < results.size(); i++) {
+            json.append(i == 0 ? "\n" : ",\n").append(results.get(i).toJson());
+        }
+        json.append("\n  ]\n}\n");
+
+        return write(suite + ".json", json.toString());
+    }
+
+    /**
+     * Writes a file of the suite, such as a results table, to the output directory.
+     * @param fileName name of the file
+     * @param contents contents of the file
+     * @return the written file
+     */
+    public File write(String fileName, String contents) throws IOException {
+        File directory = new File(System.getProperty("dragonscroll.benchmark.output", "build/benchmarks"));
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Unable to create " + directory);
+        }
+
+        File file = new File(directory, fileName);
+        try (Writer writer = new FileWriter(file)) {
+            writer.write(contents);
+        }
+        System.out.println("Benchmark results written to " + file);
+        return file;
+    }
+
+    private static String quote(String value) {
+        return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"")
+                .replace("\n", "\\n") + "\"";
+    }
+
+    /**
+     * Timing samples of one measurement plus any extra metrics attached to it.
+     */
+    public static final class Result {
+        private final String name;
+        private final int rows;
+        private final long[] sorted;
+        private final Map<String, Number> metrics = new LinkedHashMap<>();
+
+        Result(String name, int rows, long[] samples) {
+            this.name = name;
+            this.rows = rows;
+            this.sorted = samples.clone();
+            Arrays.sort(this.sorted);
+        }
+
+        /**
+         * Attaches an extra metric, such as allocations per iteration, to the result.
+         * @param key metric name
+         * @param value metric value
+         * @return this result
+         */
+        public Result putMetric(String key, Number value) {
+            metrics.put(key, value);
+            return this;
+        }
+
+        public long percentileNs(double percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+        }
+
+        /**
+         * @param thresholdNs threshold in nanoseconds
+         * @return number of samples slower than the threshold
+         */
+        public int countAbove(long thresholdNs) {
+            int count = 0;
+            for (int i = sorted.length - 1; i >= 0 && sorted[i] > thresholdNs; i--) {
+                count++;
+            }
+            return count;
+        }
+
+        public long medianNs() {
+            return percentileNs(50);
+        }
+
+        public double meanNs() {
+            long total = 0;
+            for (long sample : sorted) {
+                total += sample;
+            }
+            return sorted.length == 0 ? 0 : (double) total / sorted.length;
+        }
+
+        String toJson() {
+            StringBuilder json = new StringBuilder();
+            json.append("    {")
+                    .append("\"name\": ").append(quote(name))
+                    .append(", \"rows\": ").append(rows)
+                    .append(", \"iterations\": ").append(sorted.length)
+                    .append(", \"minNs\": ").append(sorted.length == 0 ? 0 : sorted[0])
+                    .append(", \"medianNs\": ").append(medianNs())
+                    .append(", \"p90Ns\": ").append(percentileNs(90))
+                    .append(", \"p99Ns\": ").append(percentileNs(99))
+                    .append(", \"meanNs\": ").append(String.format(Locale.US, "%.1f", meanNs()));
+            for (Map.Entry<String, Number> metric : metrics.entrySet()) {
+                json.append(", ").append(quote(metric.getKey())).append(": ").append(metric.getValue());
+            }
+            return json.append("}").toString();
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.US, "%-40s rows=%-7d median=%9.1f us  p90=%9.1f us  mean=%9.1f us",
+                    name, rows, medianNs() / 1000.0, percentileNs(90) / 1000.0, meanNs() / 1000.0);
+        }
+    }
+}
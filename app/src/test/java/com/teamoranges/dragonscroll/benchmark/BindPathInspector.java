@@ -0,0 +1,101 @@
+package com.teamoranges.dragonscroll.benchmark;
+
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.tree.AbstractInsnNode;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.InvokeDynamicInsnNode;
+import org.objectweb.asm.tree.MethodInsnNode;
+import org.objectweb.asm.tree.MethodNode;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Reads an adapter's bytecode and flags work in its bind path that should happen once per view
+ * holder instead of once per bind: {@code findViewById} lookups, lambdas or method references
+ * (each one allocates a listener when it captures state), and {@code Uri.parse} calls.
+ * The bind path is {@code onBindViewHolder} plus every method of the same class it calls.
+ */
+public final class BindPathInspector {
+
+    private BindPathInspector() {
+    }
+
+    /**
+     * @param adapterClass adapter to inspect
+     * @return one human readable line per flagged instruction, empty if the bind path is clean
+     */
+    public static List<String> inspect(Class<?> adapterClass) throws IOException {
+        ClassNode classNode = readClass(adapterClass);
+        List<String> flags = new ArrayList<>();
+
+        // Start from the non-bridge onBindViewHolder methods
+        Deque<MethodNode> queue = new ArrayDeque<>();
+        Set<String> visited = new HashSet<>();
+        for (MethodNode method : classNode.methods) {
+            if (method.name.equals("onBindViewHolder") && (method.access & Opcodes.ACC_BRIDGE) == 0) {
+                queue.add(method);
+                visited.add(method.name + method.desc);
+            }
+        }
+
+        while (!queue.isEmpty()) {
+            MethodNode method = queue.poll();
+
+            for (AbstractInsnNode instruction : method.instructions) {
+                if (instruction instanceof InvokeDynamicInsnNode) {
+                    InvokeDynamicInsnNode invokeDynamic = (InvokeDynamicInsnNode) instruction;
+                    if (invokeDynamic.bsm.getOwner().equals("java/lang/invoke/LambdaMetafactory")) {
+                        flags.add(method.name + ": lambda allocated per bind (" + invokeDynamic.name + ")");
+                    }
+                } else if (instruction instanceof MethodInsnNode) {
+                    MethodInsnNode call = (MethodInsnNode) instruction;
+
+                    if (call.name.equals("findViewById")) {
+                        flags.add(method.name + ": findViewById in bind path");
+                    } else if (call.owner.equals("android/net/Uri") && call.name.equals("parse")) {
+                        flags.add(method.name + ": Uri.parse in bind path");
+                    }
+
+                    // Follow calls into the adapter's own methods
+                    if (call.owner.equals(classNode.name) && visited.add(call.name + call.desc)) {
+                        MethodNode callee = findMethod(classNode, call.name, call.desc);
+                        if (callee != null) {
+                            queue.add(callee);
+                        }
+                    }
+                }
+            }
+        }
+
+        return flags;
+    }
+
+    private static ClassNode readClass(Class<?> type) throws IOException {
+        String resource = type.getName().replace('.', '/') + ".class";
+        try (InputStream input = type.getClassLoader().getResourceAsStream(resource)) {
+            if (input == null) {
+                throw new IOException("Unable to read " + resource);
+            }
+            ClassNode classNode = new ClassNode();
+            new ClassReader(input).accept(classNode, ClassReader.SKIP_DEBUG);
+            return classNode;
+        }
+    }
+
+    private static MethodNode findMethod(ClassNode classNode, String name, String desc) {
+        for (MethodNode method : classNode.methods) {
+            if (method.name.equals(name) && method.desc.equals(desc)) {
+                return method;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,173 @@
+package com.teamoranges.dragonscroll.benchmark;
+
+import static org.junit.Assume.assumeTrue;
+
+import android.content.Context;
+import android.view.LayoutInflater;
+import android.view.View;
+
+import androidx.appcompat.view.ContextThemeWrapper;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+import androidx.test.core.app.ApplicationProvider;
+
+import com.teamoranges.dragonscroll.BookAdapter;
+import com.teamoranges.dragonscroll.BookRow;
+import com.teamoranges.dragonscroll.R;
+import com.teamoranges.dragonscroll.models.Book;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Measures {@link BookAdapter} view holder creation, binding and simulated scroll frames over a
+ * large synthetic list, and records the bytes allocated per bind. Row inflation, row measure and
+ * layout and the first layout of the list are measured on their own. It also reports bind path
+ * regressions found by {@link BindPathInspector}.
+ * Run with {@code ./gradlew :app:testDebugUnitTest -Pbenchmark --tests '*BookAdapterBindBenchmark'}.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class BookAdapterBindBenchmark {
+
+    private static final int LIST_SIZE = 5_000;
+    private static final int VIEWPORT_WIDTH = 1080;
+    private static final int VIEWPORT_HEIGHT = 2200;
+    // Pixels scrolled per simulated frame, roughly a fast fling on a 60 Hz screen
+    private static final int FRAME_SCROLL_PX = 120;
+    private static final long FRAME_BUDGET_NS = 16_666_667L;
+
+    private static BenchmarkRunner runner;
+
+    @BeforeClass
+    public static void setUpRunner() {
+        runner = new BenchmarkRunner("BookAdapterBindBenchmark");
+    }
+
+    @AfterClass
+    public static void writeResults() throws Exception {
+        if (BenchmarkRunner.isEnabled()) {
+            runner.writeJson();
+        }
+    }
+
+    /**
+     * Creates a themed context like the one the home list inflates its rows with.
+     */
+    static Context createThemedContext() {
+        return new ContextThemeWrapper(ApplicationProvider.getApplicationContext(), R.style.Base_Theme_DragonScroll);
+    }
+
+    /**
+     * Creates {@code size} synthetic books with IDs, as the home list gets them from the DAO.
+     */
+    static List<Book> createBooks(int size) {
+        Random random = new Random(3443);
+        List<Book> books = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Book book = SyntheticLibrary.createBook(random);
+            book.setId(i + 1);
+            books.add(book);
+        }
+        return books;
+    }
+
+    @Test
+    public void benchmarkBindAndScroll() throws Exception {
+        assumeTrue("Run with -Pbenchmark", BenchmarkRunner.isEnabled());
+
+        Context context = createThemedContext();
+        BookAdapter adapter = new BookAdapter(BookRow.wrap(createBooks(LIST_SIZE)), (book, position) -> { }, (book, position) -> false);
+        RecyclerView recyclerView = new RecyclerView(context);
+        recyclerView.setLayoutManager(new LinearLayoutManager(context));
+
+        // View holder creation, which is dominated by inflation
+        runner.measure("onCreateViewHolder", LIST_SIZE, 20, 300, i -> adapter.onCreateViewHolder(recyclerView, BookAdapter.VIEW_TYPE_ROW));
+
+        // Binding every row of the list into a single holder
+        BookAdapter.BookViewHolder holder = adapter.onCreateViewHolder(recyclerView, BookAdapter.VIEW_TYPE_ROW);
+        BenchmarkRunner.Result bind = runner.measure("onBindViewHolder", LIST_SIZE, 1_000, 10_000,
+                i -> adapter.onBindViewHolder(holder, i % LIST_SIZE));
+        if (AllocationMeter.isSupported()) {
+            bind.putMetric("bytesPerBind", AllocationMeter.bytesPerIteration(LIST_SIZE,
+                    i -> adapter.onBindViewHolder(holder, i % LIST_SIZE)));
+        }
+
+        // Rebinding the row a holder already shows, as after notifyItemChanged
+        BenchmarkRunner.Result rebind = runner.measure("onBindViewHolder (same row)", LIST_SIZE, 1_000, 10_000,
+                i -> adapter.onBindViewHolder(holder, 0));
+        if (AllocationMeter.isSupported()) {
+            // BookAdapterBindPathTest keeps this at zero in every test run
+            rebind.putMetric("bytesPerBind", AllocationMeter.bytesPerIteration(LIST_SIZE,
+                    i -> adapter.onBindViewHolder(holder, 0)));
+        }
+
+        // Bind path regressions found in the adapter's bytecode
+        List<String> flags = BindPathInspector.inspect(BookAdapter.class);
+        bind.putMetric("bindPathFlags", flags.size());
+        for (String flag : flags) {
+            System.out.println("Bind path regression: " + flag);
+        }
+
+        // Simulated frames: each scrollBy lays out, binds and recycles rows synchronously
+        recyclerView.setAdapter(adapter);
+        layout(recyclerView);
+        BenchmarkRunner.Result frames = runner.measure("scrollFrame", LIST_SIZE, 60, 1_500, i -> {
+            // Turn around at either end of the list
+            if (!recyclerView.canScrollVertically(1)) {
+                recyclerView.scrollToPosition(0);
+                layout(recyclerView);
+            }
+            recyclerView.scrollBy(0, FRAME_SCROLL_PX);
+        });
+        frames.putMetric("framesOverBudget", frames.countAbove(FRAME_BUDGET_NS));
+    }
+
+    @Test
+    public void benchmarkRowLayout() throws Exception {
+        assumeTrue("Run with -Pbenchmark", BenchmarkRunner.isEnabled());
+
+        Context context = createThemedContext();
+        LayoutInflater inflater = LayoutInflater.from(context);
+        RecyclerView parent = new RecyclerView(context);
+
+        // Inflating a row, the cost AsyncRowInflater moves off the main thread
+        runner.measure("inflate book_item", 1, 20, 300, i -> inflater.inflate(R.layout.book_item, parent, false));
+
+        // Measuring and laying out a bound row, paid by every row that scrolls into view
+        BookAdapter adapter = new BookAdapter(BookRow.wrap(createBooks(LIST_SIZE)), (book, position) -> { }, (book, position) -> false);
+        BookAdapter.BookViewHolder holder = adapter.onCreateViewHolder(parent, BookAdapter.VIEW_TYPE_ROW);
+        runner.measure("measure and layout book_item", LIST_SIZE, 200, 5_000, i -> {
+            adapter.onBindViewHolder(holder, i % LIST_SIZE);
+            View row = holder.itemView;
+            row.measure(
+                    View.MeasureSpec.makeMeasureSpec(VIEWPORT_WIDTH, View.MeasureSpec.EXACTLY),
+                    View.MeasureSpec.makeMeasureSpec(0, View.MeasureSpec.UNSPECIFIED));
+            row.layout(0, 0, row.getMeasuredWidth(), row.getMeasuredHeight());
+        });
+
+        // First layout of the home list, which creates a screen of rows at once
+        runner.measure("firstLayout", LIST_SIZE, 5, 50, i -> {
+            RecyclerView recyclerView = new RecyclerView(context);
+            recyclerView.setLayoutManager(new LinearLayoutManager(context));
+            recyclerView.setAdapter(adapter);
+            layout(recyclerView);
+        });
+    }
+
+    /**
+     * Measures and lays out a view at the viewport size.
+     */
+    static void layout(View view) {
+        view.measure(
+                View.MeasureSpec.makeMeasureSpec(VIEWPORT_WIDTH, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(VIEWPORT_HEIGHT, View.MeasureSpec.EXACTLY));
+        view.layout(0, 0, VIEWPORT_WIDTH, VIEWPORT_HEIGHT);
+    }
+}
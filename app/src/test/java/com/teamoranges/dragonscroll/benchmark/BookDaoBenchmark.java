@@ -0,0 +1,122 @@
+package com.teamoranges.dragonscroll.benchmark;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assume.assumeTrue;
+
+import androidx.test.core.app.ApplicationProvider;
+
+import com.teamoranges.dragonscroll.AppDatabase;
+import com.teamoranges.dragonscroll.BookDao;
+import com.teamoranges.dragonscroll.models.Book;
+import com.teamoranges.dragonscroll.models.BookUpdate;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.SQLiteMode;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Measures the {@link BookDao} queries against synthetic libraries of 1k, 10k and 100k books,
+ * using Robolectric's native SQLite so it runs on a Linux machine without a device.
+ * Run with {@code ./gradlew :app:testDebugUnitTest -Pbenchmark --tests '*BookDaoBenchmark'}.
+ */
+@RunWith(RobolectricTestRunner.class)
+@SQLiteMode(SQLiteMode.Mode.NATIVE)
+public class BookDaoBenchmark {
+
+    private static final long SEED = 3443;
+    // Number of rows changed by every bulk update iteration
+    private static final int BATCH_SIZE = 500;
+
+    private static BenchmarkRunner runner;
+
+    @BeforeClass
+    public static void setUpRunner() {
+        runner = new BenchmarkRunner("BookDaoBenchmark");
+    }
+
+    @AfterClass
+    public static void writeResults() throws Exception {
+        if (BenchmarkRunner.isEnabled()) {
+            runner.writeJson();
+        }
+    }
+
+    @Test
+    public void benchmarkBookDao() throws Exception {
+        assumeTrue("Run with -Pbenchmark", BenchmarkRunner.isEnabled());
+
+        for (int size : SyntheticLibrary.SIZES) {
+            AppDatabase database = SyntheticLibrary.createDatabase(ApplicationProvider.getApplicationContext());
+            try {
+                benchmarkLibrary(database, size);
+            } finally {
+                database.close();
+            }
+        }
+    }
+
+    private void benchmarkLibrary(AppDatabase database, int size) throws Exception {
+        BookDao bookDao = database.bookDao();
+        SyntheticLibrary.populate(database, size, SEED);
+        assertEquals(size, bookDao.getCount());
+
+        Random random = new Random(SEED);
+        // Full table reads get fewer iterations on the larger libraries
+        int scanIterations = size >= 100_000 ? 5 : 20;
+
+        runner.measure("getAll", size, 2, scanIterations, i -> {
+            assertEquals(size, bookDao.getAll().size());
+        });
+
+        runner.measure("getCount", size, 20, 200, i -> bookDao.getCount());
+
+        runner.measure("getBook", size, 100, 2_000, i -> {
+            assertNotNull(bookDao.getBook(1 + random.nextInt(size)));
+        });
+
+        runner.measure("insert", size, 50, 1_000, i -> bookDao.insert(SyntheticLibrary.createBook(random)));
+
+        runner.measure("setRating", size, 50, 1_000, i -> {
+            bookDao.setRating(1 + random.nextInt(size), 1 + random.nextInt(5));
+        });
+
+        runner.measure("setTitle", size, 50, 1_000, i -> {
+            bookDao.setTitle(1 + random.nextInt(size), "Renamed " + i);
+        });
+
+        // Batch edits of rating and title: looping the single setters, each its own transaction,
+        // against one updateAll call with a reused statement
+        runner.measure("setRating+setTitle loop x" + BATCH_SIZE, size, 3, 20, i -> {
+            for (int j = 0; j < BATCH_SIZE; j++) {
+                int id = 1 + random.nextInt(size);
+                bookDao.setRating(id, 1 + random.nextInt(5));
+                bookDao.setTitle(id, "Batch " + i + " " + j);
+            }
+        }).putMetric("rowsPerBatch", BATCH_SIZE);
+
+        runner.measure("updateAll x" + BATCH_SIZE, size, 3, 20, i -> {
+            List<BookUpdate> updates = new ArrayList<>(BATCH_SIZE);
+            for (int j = 0; j < BATCH_SIZE; j++) {
+                updates.add(new BookUpdate(1 + random.nextInt(size))
+                        .setRating(1 + random.nextInt(5))
+                        .setTitle("Batch " + i + " " + j));
+            }
+            assertEquals(BATCH_SIZE, bookDao.updateAll(updates));
+        }).putMetric("rowsPerBatch", BATCH_SIZE);
+
+        // Delete the original rows in order so every iteration deletes an existing book
+        Book book = new Book();
+        runner.measure("delete", size, 50, 1_000, i -> {
+            book.setId(1 + i);
+            bookDao.delete(book);
+        });
+    }
+}
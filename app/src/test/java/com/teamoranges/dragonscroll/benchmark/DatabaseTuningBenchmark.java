@@ -0,0 +1,123 @@
+package com.teamoranges.dragonscroll.benchmark;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assume.assumeTrue;
+
+import android.content.Context;
+
+import androidx.room.Room;
+import androidx.room.RoomDatabase;
+import androidx.test.core.app.ApplicationProvider;
+
+import com.teamoranges.dragonscroll.AppDatabase;
+import com.teamoranges.dragonscroll.BookDao;
+import com.teamoranges.dragonscroll.DatabaseTuning;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.SQLiteMode;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Compares read and write workloads on a file backed database opened with
+ * {@link DatabaseTuning#UNTUNED} and with {@link DatabaseTuning#DEFAULT}. The effective PRAGMA
+ * values of each profile are noted in the JSON, and the medians are written side by side to
+ * {@code DatabaseTuningBenchmark.md} for the README.
+ * Run with {@code ./gradlew :app:testDebugUnitTest -Pbenchmark --tests '*DatabaseTuningBenchmark'}.
+ */
+@RunWith(RobolectricTestRunner.class)
+@SQLiteMode(SQLiteMode.Mode.NATIVE)
+public class DatabaseTuningBenchmark {
+
+    private static final long SEED = 3443;
+    private static final int LIBRARY_SIZE = 10_000;
+    // Workloads in table order
+    private static final String[] WORKLOADS = {"getAll", "getBook", "insert", "setRating", "populate 1k"};
+
+    private static BenchmarkRunner runner;
+
+    @BeforeClass
+    public static void setUpRunner() {
+        runner = new BenchmarkRunner("DatabaseTuningBenchmark");
+    }
+
+    @AfterClass
+    public static void writeResults() throws Exception {
+        if (BenchmarkRunner.isEnabled()) {
+            runner.writeJson();
+        }
+    }
+
+    @Test
+    public void benchmarkProfiles() throws Exception {
+        assumeTrue("Run with -Pbenchmark", BenchmarkRunner.isEnabled());
+
+        Map<String, BenchmarkRunner.Result> untuned = benchmarkProfile("untuned", DatabaseTuning.UNTUNED);
+        Map<String, BenchmarkRunner.Result> tuned = benchmarkProfile("tuned", DatabaseTuning.DEFAULT);
+
+        StringBuilder table = new StringBuilder("| Workload | Untuned median | Tuned median | Speedup |\n"
+                + "| --- | --- | --- | --- |\n");
+        for (String workload : WORKLOADS) {
+            long before = untuned.get(workload).medianNs();
+            long after = tuned.get(workload).medianNs();
+            table.append(String.format(Locale.US, "| `%s` | %.1f us | %.1f us | %.2fx |\n",
+                    workload, before / 1000.0, after / 1000.0, (double) before / Math.max(1, after)));
+        }
+        runner.write("DatabaseTuningBenchmark.md", table.toString());
+    }
+
+    private Map<String, BenchmarkRunner.Result> benchmarkProfile(String label, DatabaseTuning profile) throws Exception {
+        Context context = ApplicationProvider.getApplicationContext();
+        String name = "tuning-" + label.replace(' ', '-') + ".db";
+        context.deleteDatabase(name);
+
+        RoomDatabase.Builder<AppDatabase> builder = Room.databaseBuilder(context, AppDatabase.class, name)
+                .allowMainThreadQueries()
+                .addCallback(AppDatabase.CALLBACK);
+        AppDatabase database = profile.applyTo(builder).build();
+        Map<String, BenchmarkRunner.Result> results = new HashMap<>();
+        try {
+            // Switch the vacuum mode before measuring, the app does this in the background
+            profile.runMaintenance(database.getOpenHelper().getWritableDatabase());
+
+            BookDao bookDao = database.bookDao();
+            SyntheticLibrary.populate(database, LIBRARY_SIZE, SEED);
+            assertEquals(LIBRARY_SIZE, bookDao.getCount());
+
+            runner.note("PRAGMAs [" + label + "]",
+                    DatabaseTuning.describe(database.getOpenHelper().getWritableDatabase()));
+
+            Random random = new Random(SEED);
+
+            // Read workloads: the home list scan and the detail screen lookup
+            results.put("getAll", runner.measure("getAll [" + label + "]", LIBRARY_SIZE, 3, 30, i -> {
+                assertEquals(LIBRARY_SIZE, bookDao.getAll().size());
+            }));
+            results.put("getBook", runner.measure("getBook [" + label + "]", LIBRARY_SIZE, 100, 2_000, i -> {
+                assertNotNull(bookDao.getBook(1 + random.nextInt(LIBRARY_SIZE)));
+            }));
+
+            // Write workloads: single autocommit writes, where the sync mode is paid per commit,
+            // and a batch insert in one transaction
+            results.put("insert", runner.measure("insert [" + label + "]", LIBRARY_SIZE, 50, 1_000,
+                    i -> bookDao.insert(SyntheticLibrary.createBook(random))));
+            results.put("setRating", runner.measure("setRating [" + label + "]", LIBRARY_SIZE, 50, 1_000, i -> {
+                bookDao.setRating(1 + random.nextInt(LIBRARY_SIZE), 1 + random.nextInt(5));
+            }));
+            results.put("populate 1k", runner.measure("populate 1k [" + label + "]", 1_000, 1, 10,
+                    i -> SyntheticLibrary.populate(database, 1_000, SEED + i)));
+        } finally {
+            database.close();
+            context.deleteDatabase(name);
+        }
+        return results;
+    }
+}
@@ -0,0 +1,91 @@
+package com.teamoranges.dragonscroll.benchmark;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import android.database.Cursor;
+
+import androidx.test.core.app.ApplicationProvider;
+
+import com.teamoranges.dragonscroll.AppDatabase;
+import com.teamoranges.dragonscroll.FuzzySearch;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.SQLiteMode;
+
+/**
+ * Measures {@link FuzzySearch} against libraries of 1k, 10k, 50k and 100k books next to the
+ * {@code LIKE} scan it replaces, which can't even find misspelled words, and records how long
+ * indexing the whole library takes. The search must stay within a few milliseconds at 50k
+ * books. Run with
+ * {@code ./gradlew :app:testDebugUnitTest -Pbenchmark --tests '*FuzzySearchBenchmark'}.
+ */
+@RunWith(RobolectricTestRunner.class)
+@SQLiteMode(SQLiteMode.Mode.NATIVE)
+public class FuzzySearchBenchmark {
+
+    private static final long SEED = 3443;
+    // Library sizes of the benchmark, with the 50k library the search is held to
+    private static final int[] SIZES = {1_000, 10_000, 50_000, 100_000};
+    private static final int TARGET_SIZE = 50_000;
+    // A search at the target size may take this long at the median
+    private static final long MAX_MEDIAN_NS = 5_000_000L;
+
+    private static BenchmarkRunner runner;
+
+    @BeforeClass
+    public static void setUpRunner() {
+        runner = new BenchmarkRunner("FuzzySearchBenchmark");
+    }
+
+    @AfterClass
+    public static void writeResults() throws Exception {
+        if (BenchmarkRunner.isEnabled()) {
+            runner.writeJson();
+        }
+    }
+
+    @Test
+    public void benchmarkSearch() throws Exception {
+        assumeTrue("Run with -Pbenchmark", BenchmarkRunner.isEnabled());
+
+        long targetMedianNs = 0;
+        for (int size : SIZES) {
+            AppDatabase database = SyntheticLibrary.createDatabase(ApplicationProvider.getApplicationContext());
+            try {
+                SyntheticLibrary.populate(database, size, SEED);
+                FuzzySearch fuzzySearch = new FuzzySearch(database);
+
+                // Index the whole library once, like after the upgrade that adds the index
+                runner.measure("catchUp", size, 0, 1, i -> fuzzySearch.catchUp());
+
+                // Misspelled title word and author name
+                long medianNs = runner.measure("search", size, 20, 200, i -> {
+                    assertFalse(fuzzySearch.search("dragn fatma", 50).isEmpty());
+                }).medianNs();
+                if (size == TARGET_SIZE) {
+                    targetMedianNs = medianNs;
+                }
+
+                // The substring scan reads every row and only finds correct spellings
+                int scanIterations = size >= 100_000 ? 5 : 20;
+                runner.measure("LIKE scan", size, 2, scanIterations, i -> {
+                    try (Cursor cursor = database.query("SELECT * FROM book WHERE title LIKE '%dragon%' "
+                            + "OR author LIKE '%fatima%' LIMIT 50", null)) {
+                        assertTrue(cursor.moveToFirst());
+                    }
+                });
+            } finally {
+                database.close();
+            }
+        }
+
+        assertTrue("search took " + targetMedianNs + " ns at the median on " + TARGET_SIZE + " books",
+                targetMedianNs <= MAX_MEDIAN_NS);
+    }
+}
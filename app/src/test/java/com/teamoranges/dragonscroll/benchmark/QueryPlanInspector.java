@@ -0,0 +1,132 @@
+package com.teamoranges.dragonscroll.benchmark;
+
+import android.database.Cursor;
+
+import androidx.sqlite.db.SupportSQLiteDatabase;
+
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.tree.AnnotationNode;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.MethodNode;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+/**
+ * Reads the SQL of a DAO's {@code @Query} methods from its bytecode and explains it with
+ * {@code EXPLAIN QUERY PLAN}. Room's annotations aren't visible to reflection, so they are read
+ * with ASM like {@link BindPathInspector} reads the bind path.
+ */
+public final class QueryPlanInspector {
+
+    private static final String QUERY_DESCRIPTOR = "Landroidx/room/Query;";
+
+    // Room's named parameters, which SQLite explains the same as positional ones
+    private static final Pattern NAMED_PARAMETER = Pattern.compile(":\\w+");
+    // A scan of a table that doesn't go through an index
+    private static final Pattern FULL_SCAN = Pattern.compile("^\\s*SCAN (TABLE )?(?!TABLE |CONSTANT ROW)\\w+\\b(?! USING).*$",
+            Pattern.CASE_INSENSITIVE);
+
+    private QueryPlanInspector() {
+    }
+
+    /**
+     * @param daoClass DAO whose queries are read
+     * @return the SQL of every {@code @Query} method by method name, sorted by name, with Room's
+     *         named parameters replaced by positional ones
+     */
+    public static Map<String, String> readQueries(Class<?> daoClass) throws IOException {
+        ClassNode classNode = readClass(daoClass);
+        Map<String, String> queries = new TreeMap<>();
+
+        for (MethodNode method : classNode.methods) {
+            List<AnnotationNode> annotations = new ArrayList<>();
+            if (method.invisibleAnnotations != null) {
+                annotations.addAll(method.invisibleAnnotations);
+            }
+            if (method.visibleAnnotations != null) {
+                annotations.addAll(method.visibleAnnotations);
+            }
+
+            for (AnnotationNode annotation : annotations) {
+                if (annotation.desc.equals(QUERY_DESCRIPTOR) && annotation.values != null) {
+                    // Annotation values are stored as alternating names and values
+                    for (int i = 0; i + 1 < annotation.values.size(); i += 2) {
+                        if ("value".equals(annotation.values.get(i))) {
+                            String sql = (String) annotation.values.get(i + 1);
+                            queries.put(method.name, NAMED_PARAMETER.matcher(sql).replaceAll("?"));
+                        }
+                    }
+                }
+            }
+        }
+
+        return queries;
+    }
+
+    /**
+     * Runs {@code EXPLAIN QUERY PLAN} without binding any parameters, which doesn't change the
+     * plan, and renders it as one line per step indented by its depth.
+     * @param db open database
+     * @param sql statement with positional parameters
+     * @return the plan lines
+     */
+    public static List<String> explain(SupportSQLiteDatabase db, String sql) {
+        List<String> lines = new ArrayList<>();
+        Map<Integer, Integer> depths = new HashMap<>();
+
+        try (Cursor cursor = db.query("EXPLAIN QUERY PLAN " + sql)) {
+            while (cursor.moveToNext()) {
+                int id = cursor.getInt(0);
+                int parent = cursor.getInt(1);
+                String detail = cursor.getString(3);
+
+                Integer parentDepth = depths.get(parent);
+                int depth = parentDepth == null ? 0 : parentDepth + 1;
+                depths.put(id, depth);
+
+                StringBuilder line = new StringBuilder();
+                for (int i = 0; i < depth; i++) {
+                    line.append("  ");
+                }
+                lines.add(line.append(detail).toString());
+            }
+        }
+
+        return lines;
+    }
+
+    /**
+     * @param plan lines from {@link #explain}
+     * @return the lines that read a whole table or sort rows in a temporary b-tree
+     */
+    public static List<String> findUnindexedSteps(List<String> plan) {
+        List<String> flagged = new ArrayList<>();
+        for (String line : plan) {
+            if (FULL_SCAN.matcher(line).matches()
+                    || line.toUpperCase(Locale.ROOT).contains("USE TEMP B-TREE")) {
+                flagged.add(line.trim());
+            }
+        }
+        return flagged;
+    }
+
+    private static ClassNode readClass(Class<?> type) throws IOException {
+        String resource = type.getName().replace('.', '/') + ".class";
+        try (InputStream input = type.getClassLoader().getResourceAsStream(resource)) {
+            if (input == null) {
+                throw new IOException("Unable to read " + resource);
+            }
+            ClassNode classNode = new ClassNode();
+            new ClassReader(input).accept(classNode, ClassReader.SKIP_CODE);
+            return classNode;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.teamoranges.dragonscroll.benchmark;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import android.database.Cursor;
+
+import androidx.test.core.app.ApplicationProvider;
+
+import com.teamoranges.dragonscroll.AppDatabase;
+import com.teamoranges.dragonscroll.RandomBookPicker;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.SQLiteMode;
+
+import java.util.Random;
+
+/**
+ * Measures {@link RandomBookPicker} against libraries of 1k, 10k and 100k books next to the
+ * {@code ORDER BY RANDOM()} query it replaces, and checks that a pick at 100k books costs about
+ * the same as at 1k books.
+ * Run with {@code ./gradlew :app:testDebugUnitTest -Pbenchmark --tests '*RandomBookPickerBenchmark'}.
+ */
+@RunWith(RobolectricTestRunner.class)
+@SQLiteMode(SQLiteMode.Mode.NATIVE)
+public class RandomBookPickerBenchmark {
+
+    private static final long SEED = 3443;
+    // A pick at the largest size may cost this many times a pick at the smallest size
+    private static final double MAX_GROWTH = 3.0;
+
+    private static BenchmarkRunner runner;
+
+    @BeforeClass
+    public static void setUpRunner() {
+        runner = new BenchmarkRunner("RandomBookPickerBenchmark");
+    }
+
+    @AfterClass
+    public static void writeResults() throws Exception {
+        if (BenchmarkRunner.isEnabled()) {
+            runner.writeJson();
+        }
+    }
+
+    @Test
+    public void benchmarkPickUnread() throws Exception {
+        assumeTrue("Run with -Pbenchmark", BenchmarkRunner.isEnabled());
+
+        long smallestMedianNs = 0;
+        long largestMedianNs = 0;
+        for (int size : SyntheticLibrary.SIZES) {
+            AppDatabase database = SyntheticLibrary.createDatabase(ApplicationProvider.getApplicationContext());
+            try {
+                SyntheticLibrary.populate(database, size, SEED);
+                RandomBookPicker picker = new RandomBookPicker(database.bookDao(), new Random(SEED));
+
+                long medianNs = runner.measure("pickUnread", size, 200, 5_000, i -> {
+                    assertNotNull(picker.pickUnread(false));
+                }).medianNs();
+                if (smallestMedianNs == 0) {
+                    smallestMedianNs = medianNs;
+                }
+                largestMedianNs = medianNs;
+
+                runner.measure("pickUnread favoritesOnly", size, 20, 500,
+                        i -> picker.pickUnread(true));
+
+                // The naive pick sorts every unread row by a random key
+                int scanIterations = size >= 100_000 ? 5 : 20;
+                runner.measure("ORDER BY RANDOM()", size, 2, scanIterations, i -> {
+                    try (Cursor cursor = database.query("SELECT * FROM book "
+                            + "WHERE end_date IS NULL OR end_date = '' ORDER BY RANDOM() LIMIT 1", null)) {
+                        assertTrue(cursor.moveToFirst());
+                    }
+                });
+            } finally {
+                database.close();
+            }
+        }
+
+        assertTrue("pickUnread grew from " + smallestMedianNs + " ns to " + largestMedianNs + " ns",
+                largestMedianNs <= smallestMedianNs * MAX_GROWTH);
+    }
+}
@@ -0,0 +1,79 @@
+package com.teamoranges.dragonscroll.benchmark;
+
+import android.content.Context;
+
+import androidx.room.Room;
+
+import com.teamoranges.dragonscroll.AppDatabase;
+import com.teamoranges.dragonscroll.models.Book;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Builds in-memory databases filled with deterministic synthetic books for the benchmarks.
+ * The same size and seed always produce the same library.
+ */
+public final class SyntheticLibrary {
+
+    // Library sizes every DAO benchmark runs against
+    public static final int[] SIZES = {1_000, 10_000, 100_000};
+
+    private static final String[] WORDS = {
+            "Dragon", "Scroll", "Shadow", "River", "Crown", "Storm", "Winter", "Glass", "Iron",
+            "Silent", "Garden", "Empire", "Star", "Ember", "Tide", "Forest", "Night", "Song"
+    };
+    private static final String[] NAMES = {
+            "Ada", "Brandon", "Chen", "Diana", "Emil", "Fatima", "Gregor", "Hana", "Ivan",
+            "Jun", "Katarina", "Luis", "Mira", "Nnedi", "Omar", "Priya", "Quinn", "Rosa"
+    };
+
+    private SyntheticLibrary() {
+    }
+
+    /**
+     * Creates an in-memory database that allows main thread queries, with the app's triggers.
+     */
+    public static AppDatabase createDatabase(Context context) {
+        return Room.inMemoryDatabaseBuilder(context, AppDatabase.class)
+                .allowMainThreadQueries()
+                .addCallback(AppDatabase.CALLBACK)
+                .build();
+    }
+
+    /**
+     * Generates a single synthetic book.
+     */
+    public static Book createBook(Random random) {
+        Book book = new Book();
+        book.setTitle(WORDS[random.nextInt(WORDS.length)] + " of the "
+                + WORDS[random.nextInt(WORDS.length)] + " " + random.nextInt(1000));
+        book.setAuthor(NAMES[random.nextInt(NAMES.length)] + " "
+                + NAMES[random.nextInt(NAMES.length)] + "son");
+        book.setRating(1 + random.nextInt(5));
+        if (random.nextInt(4) == 0) {
+            book.setEndDate("2024/" + random.nextInt(12) + "/" + (1 + random.nextInt(28)));
+        }
+        if (random.nextInt(3) == 0) {
+            book.setSummary("A synthetic summary of book number " + random.nextInt());
+        }
+        return book;
+    }
+
+    /**
+     * Inserts {@code size} synthetic books in batches inside transactions.
+     */
+    public static void populate(AppDatabase database, int size, long seed) {
+        Random random = new Random(seed);
+        int batchSize = 1_000;
+
+        for (int inserted = 0; inserted < size; inserted += batchSize) {
+            List<Book> batch = new ArrayList<>();
+            for (int i = inserted; i < Math.min(size, inserted + batchSize); i++) {
+                batch.add(createBook(random));
+            }
+            database.runInTransaction(() -> database.bookDao().insertAll(batch.toArray(new Book[0])));
+        }
+    }
+}